@@ -1,9 +1,12 @@
 package com.github.scribejava.apis;
 
+import com.github.scribejava.apis.openid.IdTokenValidator;
+import com.github.scribejava.apis.openid.JwksCache;
 import com.github.scribejava.apis.openid.OpenIdJsonTokenExtractor;
 import com.github.scribejava.core.builder.api.DefaultApi20;
 import com.github.scribejava.core.extractors.TokenExtractor;
 import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.oauth.OAuth20Service;
 
 public class GoogleApi20 extends DefaultApi20 {
 
@@ -37,4 +40,24 @@ public class GoogleApi20 extends DefaultApi20 {
     public String getRevokeTokenEndpoint() {
         return "https://accounts.google.com/o/oauth2/revoke";
     }
+
+    @Override
+    public String getDeviceAuthorizationEndpoint() {
+        return "https://oauth2.googleapis.com/device/code";
+    }
+
+    public String getJwksUri() {
+        return "https://www.googleapis.com/oauth2/v3/certs";
+    }
+
+    /**
+     * Google issues id_tokens with both "https://accounts.google.com" and "accounts.google.com" issuers.
+     *
+     * @param service service to fetch Google keys with, its api key is the expected audience
+     * @return validator for Google id_tokens, keep and reuse it
+     */
+    public IdTokenValidator createIdTokenValidator(OAuth20Service service) {
+        return new IdTokenValidator(new JwksCache(getJwksUri(), service), service.getApiKey(),
+                "https://accounts.google.com", "accounts.google.com");
+    }
 }
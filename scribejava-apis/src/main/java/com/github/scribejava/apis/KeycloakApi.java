@@ -1,9 +1,13 @@
 package com.github.scribejava.apis;
 
+import com.github.scribejava.apis.openid.IdTokenValidator;
+import com.github.scribejava.apis.openid.JwksCache;
 import com.github.scribejava.apis.openid.OpenIdJsonTokenExtractor;
 import com.github.scribejava.core.builder.api.DefaultApi20;
 import com.github.scribejava.core.extractors.TokenExtractor;
 import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.oauth2.clientauthentication.ClientAuthentication;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -13,9 +17,15 @@ public class KeycloakApi extends DefaultApi20 {
     private static final ConcurrentMap<String, KeycloakApi> INSTANCES = new ConcurrentHashMap<>();
 
     private final String baseUrlWithRealm;
+    private final ClientAuthentication clientAuthentication;
 
     protected KeycloakApi(String baseUrlWithRealm) {
+        this(baseUrlWithRealm, null);
+    }
+
+    protected KeycloakApi(String baseUrlWithRealm, ClientAuthentication clientAuthentication) {
         this.baseUrlWithRealm = baseUrlWithRealm;
+        this.clientAuthentication = clientAuthentication;
     }
 
     public static KeycloakApi instance() {
@@ -37,6 +47,18 @@ public class KeycloakApi extends DefaultApi20 {
         return api;
     }
 
+    /**
+     * @param baseUrl baseUrl
+     * @param realm realm
+     * @param clientAuthentication e.g. {@link
+     * com.github.scribejava.core.oauth2.clientauthentication.PrivateKeyJwtAuthenticationScheme} for the "Signed JWT"
+     * client authenticator
+     * @return not cached api instance
+     */
+    public static KeycloakApi custom(String baseUrl, String realm, ClientAuthentication clientAuthentication) {
+        return new KeycloakApi(composeBaseUrlWithRealm(baseUrl, realm), clientAuthentication);
+    }
+
     protected static String composeBaseUrlWithRealm(String baseUrl, String realm) {
         return baseUrl + (baseUrl.endsWith("/") ? "" : "/") + "auth/realms/" + realm;
     }
@@ -60,4 +82,26 @@ public class KeycloakApi extends DefaultApi20 {
     public String getRevokeTokenEndpoint() {
         throw new RuntimeException("Not implemented yet");
     }
+
+    @Override
+    public String getDeviceAuthorizationEndpoint() {
+        return baseUrlWithRealm + "/protocol/openid-connect/auth/device";
+    }
+
+    @Override
+    public ClientAuthentication getClientAuthentication() {
+        return clientAuthentication == null ? super.getClientAuthentication() : clientAuthentication;
+    }
+
+    public String getJwksUri() {
+        return baseUrlWithRealm + "/protocol/openid-connect/certs";
+    }
+
+    /**
+     * @param service service to fetch the realm keys with, its api key is the expected audience
+     * @return validator for the realm's id_tokens, keep and reuse it
+     */
+    public IdTokenValidator createIdTokenValidator(OAuth20Service service) {
+        return new IdTokenValidator(new JwksCache(getJwksUri(), service), service.getApiKey(), baseUrlWithRealm);
+    }
 }
@@ -2,7 +2,11 @@ package com.github.scribejava.apis;
 
 import com.github.scribejava.apis.microsoftazureactivedirectory.BaseMicrosoftAzureActiveDirectoryApi;
 import com.github.scribejava.apis.microsoftazureactivedirectory.MicrosoftAzureActiveDirectory20BearerSignature;
+import com.github.scribejava.apis.openid.IdTokenValidator;
+import com.github.scribejava.apis.openid.JwksCache;
+import com.github.scribejava.core.oauth.OAuth20Service;
 import com.github.scribejava.core.oauth2.bearersignature.BearerSignature;
+import com.github.scribejava.core.oauth2.clientauthentication.ClientAuthentication;
 
 /**
  * Microsoft Azure Active Directory Api v 2.0
@@ -23,6 +27,10 @@ public class MicrosoftAzureActiveDirectory20Api extends BaseMicrosoftAzureActive
         super(tenant);
     }
 
+    protected MicrosoftAzureActiveDirectory20Api(String tenant, ClientAuthentication clientAuthentication) {
+        super(tenant, clientAuthentication);
+    }
+
     private static class InstanceHolder {
 
         private static final MicrosoftAzureActiveDirectory20Api INSTANCE = new MicrosoftAzureActiveDirectory20Api();
@@ -36,6 +44,17 @@ public class MicrosoftAzureActiveDirectory20Api extends BaseMicrosoftAzureActive
         return new MicrosoftAzureActiveDirectory20Api(tenant);
     }
 
+    /**
+     * @param tenant tenant
+     * @param clientAuthentication e.g. {@link
+     * com.github.scribejava.core.oauth2.clientauthentication.PrivateKeyJwtAuthenticationScheme} for the certificate
+     * credentials (with the "x5t" header, see PrivateKeyJwtAuthenticationScheme#createHeader())
+     * @return api instance
+     */
+    public static MicrosoftAzureActiveDirectory20Api custom(String tenant, ClientAuthentication clientAuthentication) {
+        return new MicrosoftAzureActiveDirectory20Api(tenant, clientAuthentication);
+    }
+
     @Override
     public BearerSignature getBearerSignature() {
         return MicrosoftAzureActiveDirectory20BearerSignature.instance();
@@ -45,4 +64,33 @@ public class MicrosoftAzureActiveDirectory20Api extends BaseMicrosoftAzureActive
     protected String getEndpointVersionPath() {
         return "/v2.0";
     }
+
+    public String getJwksUri() {
+        return MSFT_LOGIN_URL + getTenant() + "/discovery/v2.0/keys";
+    }
+
+    /**
+     * @return issuer of the id_tokens: the tenant's own for a single tenant, with the
+     * {@link IdTokenValidator#TENANT_ID_PLACEHOLDER} for the "common", "organizations" and "consumers" tenants, whose
+     * tokens carry the tenant id (GUID) of the user
+     */
+    public String getIdTokenIssuer() {
+        final String tenant = getTenant();
+        final boolean multiTenant = COMMON_TENANT.equalsIgnoreCase(tenant)
+                || ORGANIZATIONS_TENANT.equalsIgnoreCase(tenant) || CONSUMERS_TENANT.equalsIgnoreCase(tenant);
+        return MSFT_LOGIN_URL + (multiTenant ? IdTokenValidator.TENANT_ID_PLACEHOLDER : tenant) + "/v2.0";
+    }
+
+    /**
+     * For a single tenant the issuer is pinned to it, so the api must be created with the tenant id (GUID), the
+     * issuer never contains a domain name. For the "common", "organizations" and "consumers" tenants the issuer is
+     * checked against the token's own "tid" claim, applications accepting only some tenants should check "tid"
+     * themselves.
+     *
+     * @param service service to fetch the keys with, its api key is the expected audience
+     * @return validator for the id_tokens, keep and reuse it
+     */
+    public IdTokenValidator createIdTokenValidator(OAuth20Service service) {
+        return new IdTokenValidator(new JwksCache(getJwksUri(), service), service.getApiKey(), getIdTokenIssuer());
+    }
 }
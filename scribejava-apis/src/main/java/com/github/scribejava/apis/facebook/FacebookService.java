@@ -5,42 +5,125 @@ import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
 import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.utils.HexEncoder;
 
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.util.Formatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
 public class FacebookService extends OAuth20Service {
 
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int APPSECRET_PROOF_CACHE_STRIPES = 16;
+    private static final int APPSECRET_PROOF_STRIPE_SIZE = 4096 / APPSECRET_PROOF_CACHE_STRIPES;
+
+    /**
+     * Mac.getInstance is expensive, so every thread keeps one Mac, initialised with the key of the last secret it
+     * signed with. Static, so that the threads don't get one per service.
+     */
+    private static final ThreadLocal<KeyedMac> APPSECRET_PROOF_MAC = new ThreadLocal<KeyedMac>() {
+        @Override
+        protected KeyedMac initialValue() {
+            try {
+                return new KeyedMac(Mac.getInstance(HMAC_SHA256));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("There is a problem while generating Facebook appsecret_proof.", e);
+            }
+        }
+    };
+
+    /**
+     * appsecret_proof depends only on the api secret and the access token, so we can cache it per access token.<br>
+     * LRU, striped by the token hash, so that the threads signing with different tokens rarely wait for each other.
+     */
+    private final AppsecretProofStripe[] appsecretProofCache = new AppsecretProofStripe[APPSECRET_PROOF_CACHE_STRIPES];
+    private final byte[] appsecretProofKey;
+
     public FacebookService(FacebookApi api, String apiKey, String apiSecret, String callback, String defaultScope,
             String responseType, OutputStream debugStream, String userAgent, HttpClientConfig httpClientConfig,
             HttpClient httpClient) {
         super(api, apiKey, apiSecret, callback, defaultScope, responseType, debugStream, userAgent, httpClientConfig,
                 httpClient);
+        appsecretProofKey = apiSecret == null ? null : apiSecret.getBytes(UTF_8);
+        for (int i = 0; i < appsecretProofCache.length; i++) {
+            appsecretProofCache[i] = new AppsecretProofStripe(APPSECRET_PROOF_STRIPE_SIZE);
+        }
     }
 
     @Override
     public void signRequest(String accessToken, OAuthRequest request) {
         super.signRequest(accessToken, request);
 
-        final Mac mac;
-        try {
-            mac = Mac.getInstance("HmacSHA256");
-            final SecretKeySpec secretKey = new SecretKeySpec(getApiSecret().getBytes(), "HmacSHA256");
-            mac.init(secretKey);
-
-            final Formatter appsecretProof = new Formatter();
+        request.addParameter("appsecret_proof", getAppsecretProof(accessToken));
+    }
 
-            for (byte b : mac.doFinal(accessToken.getBytes())) {
-                appsecretProof.format("%02x", b);
+    protected String getAppsecretProof(String accessToken) {
+        final int hash = accessToken.hashCode();
+        final AppsecretProofStripe stripe
+                = appsecretProofCache[(hash ^ hash >>> 16) & (APPSECRET_PROOF_CACHE_STRIPES - 1)];
+        String appsecretProof;
+        synchronized (stripe) {
+            appsecretProof = stripe.get(accessToken);
+        }
+        if (appsecretProof == null) {
+            //Mac.doFinal resets the Mac, so the thread-local instance is ready for the next call
+            appsecretProof = HexEncoder.encode(APPSECRET_PROOF_MAC.get().init(appsecretProofKey)
+                    .doFinal(accessToken.getBytes(UTF_8)));
+            synchronized (stripe) {
+                stripe.put(accessToken, appsecretProof);
             }
+        }
+        return appsecretProof;
+    }
+
+    /**
+     * Access-ordered, drops the least recently used proof when full. Guarded by its own monitor.
+     */
+    private static class AppsecretProofStripe extends LinkedHashMap<String, String> {
 
-            request.addParameter("appsecret_proof", appsecretProof.toString());
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new IllegalStateException("There is a problem while generating Facebook appsecret_proof.", e);
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        AppsecretProofStripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static class KeyedMac {
+
+        private final Mac mac;
+        private byte[] key;
+
+        KeyedMac(Mac mac) {
+            this.mac = mac;
+        }
+
+        Mac init(byte[] newKey) {
+            if (!Arrays.equals(key, newKey)) {
+                key = null;
+                try {
+                    mac.init(new SecretKeySpec(newKey, HMAC_SHA256));
+                } catch (InvalidKeyException e) {
+                    throw new IllegalStateException("There is a problem while generating Facebook appsecret_proof.",
+                            e);
+                }
+                key = newKey;
+            }
+            return mac;
         }
     }
 }
@@ -1,23 +1,43 @@
 package com.github.scribejava.apis.mailru;
 
 import com.github.scribejava.apis.MailruApi;
-import java.net.URLDecoder;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
 import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Parameter;
 import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.utils.HexEncoder;
 
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Formatter;
 
 public class MailruOAuthService extends OAuth20Service {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ThreadLocal<MessageDigest> MD5 = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 is unsupported?", e);
+            }
+        }
+    };
+
+    private static final Comparator<Parameter> KEY_COMPARATOR = new Comparator<Parameter>() {
+        @Override
+        public int compare(Parameter o1, Parameter o2) {
+            return o1.getKey().compareTo(o2.getKey());
+        }
+    };
+
     public MailruOAuthService(MailruApi api, String apiKey, String apiSecret, String callback, String defaultScope,
             String responseType, OutputStream debugStream, String userAgent, HttpClientConfig httpClientConfig,
             HttpClient httpClient) {
@@ -30,45 +50,28 @@ public class MailruOAuthService extends OAuth20Service {
         // sig = md5(params + secret_key)
         request.addQuerystringParameter("session_key", accessToken);
         request.addQuerystringParameter("app_id", getApiKey());
-        final String completeUrl = request.getCompleteUrl();
-
-        try {
-            final String clientSecret = getApiSecret();
-            final int queryIndex = completeUrl.indexOf('?');
-            if (queryIndex != -1) {
-                final String urlPart = completeUrl.substring(queryIndex + 1);
-                final Map<String, String> map = new TreeMap<>();
-                for (String param : urlPart.split("&")) {
-                    final String[] parts = param.split("=");
-                    map.put(parts[0], (parts.length == 1) ? "" : parts[1]);
-                }
 
-                final StringBuilder urlNew = new StringBuilder();
-                for (Map.Entry<String, String> entry : map.entrySet()) {
-                    urlNew.append(entry.getKey());
-                    urlNew.append('=');
-                    urlNew.append(entry.getValue());
-                }
+        // already decoded params from the url and the ones added to the request
+        final List<Parameter> params = request.getQueryStringParams().getParams();
+        // stable sort by key only, so the last of the params with the same key wins
+        Collections.sort(params, KEY_COMPARATOR);
 
-                final String sigSource = URLDecoder.decode(urlNew.toString(), "UTF-8") + clientSecret;
-                request.addQuerystringParameter("sig", md5(sigSource));
+        final String clientSecret = getApiSecret();
+        final StringBuilder sigSource = new StringBuilder(params.size() * 32 + clientSecret.length());
+        final int size = params.size();
+        for (int i = 0; i < size; i++) {
+            final Parameter param = params.get(i);
+            if (i + 1 < size && param.getKey().equals(params.get(i + 1).getKey())) {
+                continue;
             }
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException(e);
+            sigSource.append(param.getKey()).append('=').append(param.getValue());
         }
+        sigSource.append(clientSecret);
+
+        request.addQuerystringParameter("sig", md5(sigSource.toString()));
     }
 
     public static String md5(String orgString) {
-        try {
-            final MessageDigest md = MessageDigest.getInstance("MD5");
-            final byte[] array = md.digest(orgString.getBytes(Charset.forName("UTF-8")));
-            final Formatter builder = new Formatter();
-            for (byte b : array) {
-                builder.format("%02x", b);
-            }
-            return builder.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("MD5 is unsupported?", e);
-        }
+        return HexEncoder.encode(MD5.get().digest(orgString.getBytes(UTF_8)));
     }
 }
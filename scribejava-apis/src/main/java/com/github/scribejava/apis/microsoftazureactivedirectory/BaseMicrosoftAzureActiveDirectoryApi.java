@@ -7,17 +7,25 @@ import com.github.scribejava.core.oauth2.clientauthentication.RequestBodyAuthent
 public abstract class BaseMicrosoftAzureActiveDirectoryApi extends DefaultApi20 {
 
     protected static final String COMMON_TENANT = "common";
+    protected static final String ORGANIZATIONS_TENANT = "organizations";
+    protected static final String CONSUMERS_TENANT = "consumers";
 
-    private static final String MSFT_LOGIN_URL = "https://login.microsoftonline.com/";
+    protected static final String MSFT_LOGIN_URL = "https://login.microsoftonline.com/";
     private static final String OAUTH_2 = "/oauth2";
     private final String tenant;
+    private final ClientAuthentication clientAuthentication;
 
     protected BaseMicrosoftAzureActiveDirectoryApi() {
         this(COMMON_TENANT);
     }
 
     protected BaseMicrosoftAzureActiveDirectoryApi(String tenant) {
+        this(tenant, null);
+    }
+
+    protected BaseMicrosoftAzureActiveDirectoryApi(String tenant, ClientAuthentication clientAuthentication) {
         this.tenant = tenant == null || tenant.isEmpty() ? COMMON_TENANT : tenant;
+        this.clientAuthentication = clientAuthentication;
     }
 
     @Override
@@ -30,9 +38,18 @@ public abstract class BaseMicrosoftAzureActiveDirectoryApi extends DefaultApi20
         return MSFT_LOGIN_URL + tenant + OAUTH_2 + getEndpointVersionPath() + "/authorize";
     }
 
+    @Override
+    public String getDeviceAuthorizationEndpoint() {
+        return MSFT_LOGIN_URL + tenant + OAUTH_2 + getEndpointVersionPath() + "/devicecode";
+    }
+
     @Override
     public ClientAuthentication getClientAuthentication() {
-        return RequestBodyAuthenticationScheme.instance();
+        return clientAuthentication == null ? RequestBodyAuthenticationScheme.instance() : clientAuthentication;
+    }
+
+    protected String getTenant() {
+        return tenant;
     }
 
     protected String getEndpointVersionPath() {
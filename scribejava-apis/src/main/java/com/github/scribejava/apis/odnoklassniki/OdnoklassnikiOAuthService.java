@@ -5,22 +5,32 @@ import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
 import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.model.Parameter;
-import com.github.scribejava.core.model.ParameterList;
 import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.utils.HexEncoder;
 
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
 
-import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
-import java.util.Formatter;
 import java.util.List;
 
 public class OdnoklassnikiOAuthService extends OAuth20Service {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ThreadLocal<MessageDigest> MD5 = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 is unsupported?", e);
+            }
+        }
+    };
+
     public OdnoklassnikiOAuthService(OdnoklassnikiApi api, String apiKey, String apiSecret, String callback,
             String defaultScope, String responseType, OutputStream debugStream, String userAgent,
             HttpClientConfig httpClientConfig, HttpClient httpClient) {
@@ -31,42 +41,27 @@ public class OdnoklassnikiOAuthService extends OAuth20Service {
     @Override
     public void signRequest(String accessToken, OAuthRequest request) {
         //sig = lower(md5( sorted_request_params_composed_string + md5(access_token + application_secret_key)))
-        try {
-            final String tokenDigest = md5(accessToken + getApiSecret());
-
-            final ParameterList queryParams = request.getQueryStringParams();
-            queryParams.addAll(request.getBodyParams());
-            final List<Parameter> allParams = queryParams.getParams();
+        final String tokenDigest = md5(accessToken + getApiSecret());
 
-            Collections.sort(allParams);
+        // already decoded params from the url, the ones added to the request and the body ones
+        final List<Parameter> allParams = request.getQueryStringParams().getParams();
+        allParams.addAll(request.getBodyParams().getParams());
+        Collections.sort(allParams);
 
-            final StringBuilder stringParams = new StringBuilder();
-            for (Parameter param : allParams) {
-                stringParams.append(param.getKey())
-                        .append('=')
-                        .append(param.getValue());
-            }
+        final StringBuilder sigSource = new StringBuilder(allParams.size() * 32 + tokenDigest.length());
+        for (Parameter param : allParams) {
+            sigSource.append(param.getKey())
+                    .append('=')
+                    .append(param.getValue());
+        }
+        sigSource.append(tokenDigest);
 
-            final String sigSource = URLDecoder.decode(stringParams.toString(), "UTF-8") + tokenDigest;
-            request.addQuerystringParameter("sig", md5(sigSource).toLowerCase());
+        request.addQuerystringParameter("sig", md5(sigSource.toString()));
 
-            super.signRequest(accessToken, request);
-        } catch (UnsupportedEncodingException unex) {
-            throw new IllegalStateException(unex);
-        }
+        super.signRequest(accessToken, request);
     }
 
     public static String md5(String orgString) {
-        try {
-            final MessageDigest md = MessageDigest.getInstance("MD5");
-            final byte[] array = md.digest(orgString.getBytes(Charset.forName("UTF-8")));
-            final Formatter builder = new Formatter();
-            for (byte b : array) {
-                builder.format("%02x", b);
-            }
-            return builder.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("MD5 is unsupported?", e);
-        }
+        return HexEncoder.encode(MD5.get().digest(orgString.getBytes(UTF_8)));
     }
 }
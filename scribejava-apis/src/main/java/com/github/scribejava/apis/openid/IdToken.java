@@ -0,0 +1,188 @@
+package com.github.scribejava.apis.openid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scribejava.core.java8.Base64;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed OpenID Connect id_token (JWS compact serialization). Parsing alone doesn't prove anything, use
+ * {@link IdTokenValidator} to check the signature and the claims.
+ *
+ * @see <a href="https://openid.net/specs/openid-connect-core-1_0.html#IDToken">ID Token</a>
+ */
+public class IdToken {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    private final String rawToken;
+    private final JsonNode header;
+    private final JsonNode claims;
+    private final byte[] signingInput;
+    private final byte[] signature;
+
+    protected IdToken(String rawToken, JsonNode header, JsonNode claims, byte[] signingInput, byte[] signature) {
+        this.rawToken = rawToken;
+        this.header = header;
+        this.claims = claims;
+        this.signingInput = signingInput;
+        this.signature = signature;
+    }
+
+    /**
+     * @param rawToken encoded id_token
+     * @return parsed, not validated, id_token
+     * @throws IdTokenValidationException if rawToken isn't a JWS compact serialization with JSON header and claims
+     */
+    public static IdToken parse(String rawToken) {
+        if (rawToken == null) {
+            throw new IdTokenValidationException("id_token is missing");
+        }
+        final int headerEnd = rawToken.indexOf('.');
+        final int claimsEnd = rawToken.indexOf('.', headerEnd + 1);
+        if (headerEnd < 0 || claimsEnd < 0 || rawToken.indexOf('.', claimsEnd + 1) >= 0) {
+            throw new IdTokenValidationException("id_token is not a JWS compact serialization");
+        }
+        try {
+            final Base64.Decoder decoder = Base64.getUrlDecoder();
+            final JsonNode header = OBJECT_MAPPER.readTree(decoder.decode(rawToken.substring(0, headerEnd)));
+            final JsonNode claims = OBJECT_MAPPER.readTree(decoder.decode(rawToken.substring(headerEnd + 1,
+                    claimsEnd)));
+            if (header == null || !header.isObject() || claims == null || !claims.isObject()) {
+                throw new IdTokenValidationException("id_token header and claims must be JSON objects");
+            }
+            return new IdToken(rawToken, header, claims, rawToken.substring(0, claimsEnd).getBytes(US_ASCII),
+                    decoder.decode(rawToken.substring(claimsEnd + 1)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IdTokenValidationException("Can't parse id_token", e);
+        }
+    }
+
+    public String getRawToken() {
+        return rawToken;
+    }
+
+    /**
+     * @return JWS header "alg"
+     */
+    public String getAlgorithm() {
+        return getText(header, "alg");
+    }
+
+    /**
+     * @return JWS header "kid" or null
+     */
+    public String getKeyId() {
+        return getText(header, "kid");
+    }
+
+    public String getIssuer() {
+        return getStringClaim("iss");
+    }
+
+    public String getSubject() {
+        return getStringClaim("sub");
+    }
+
+    /**
+     * @return "aud" claim, both single string and array forms
+     */
+    public List<String> getAudience() {
+        final JsonNode audience = claims.get("aud");
+        if (audience == null || audience.isNull()) {
+            return Collections.emptyList();
+        }
+        if (!audience.isArray()) {
+            return Collections.singletonList(audience.asText());
+        }
+        final List<String> audiences = new ArrayList<>(audience.size());
+        for (JsonNode value : audience) {
+            audiences.add(value.asText());
+        }
+        return audiences;
+    }
+
+    /**
+     * @return "azp" claim or null
+     */
+    public String getAuthorizedParty() {
+        return getStringClaim("azp");
+    }
+
+    /**
+     * @return "exp" claim in seconds since the epoch or null
+     */
+    public Long getExpirationTime() {
+        return getNumericDateClaim("exp");
+    }
+
+    /**
+     * @return "iat" claim in seconds since the epoch or null
+     */
+    public Long getIssuedAt() {
+        return getNumericDateClaim("iat");
+    }
+
+    /**
+     * @return "nbf" claim in seconds since the epoch or null
+     */
+    public Long getNotBefore() {
+        return getNumericDateClaim("nbf");
+    }
+
+    public String getNonce() {
+        return getStringClaim("nonce");
+    }
+
+    /**
+     * @param name claim name
+     * @return claim or null
+     */
+    public JsonNode getClaim(String name) {
+        return claims.get(name);
+    }
+
+    /**
+     * @param name claim name
+     * @return claim as text or null
+     */
+    public String getStringClaim(String name) {
+        return getText(claims, name);
+    }
+
+    public JsonNode getClaims() {
+        return claims;
+    }
+
+    public JsonNode getHeader() {
+        return header;
+    }
+
+    byte[] getSigningInput() {
+        return signingInput;
+    }
+
+    byte[] getSignature() {
+        return signature;
+    }
+
+    private Long getNumericDateClaim(String name) {
+        final JsonNode value = claims.get(name);
+        return value == null || !value.isNumber() ? null : value.asLong();
+    }
+
+    private static String getText(JsonNode node, String name) {
+        final JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    @Override
+    public String toString() {
+        return "IdToken{header=" + header + ", claims=" + claims + '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.scribejava.apis.openid;
+
+import com.github.scribejava.core.exceptions.OAuthException;
+
+/**
+ * id_token is malformed, isn't signed by the provider's key or its claims don't match (issuer, audience, expiration,
+ * nonce).
+ */
+public class IdTokenValidationException extends OAuthException {
+
+    private static final long serialVersionUID = 4623871549357270463L;
+
+    public IdTokenValidationException(String message) {
+        super(message);
+    }
+
+    public IdTokenValidationException(String message, Exception e) {
+        super(message, e);
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.scribejava.apis.openid;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates OpenID Connect id_tokens locally: the JWS signature (RS256/384/512, ES256/384/512) against the provider's
+ * {@link JwksCache} and the iss, aud, azp, exp, nbf, iat and (optionally) nonce claims. The keys and the verifiers are
+ * cached, so after the first call no request is sent to the provider until it rotates its keys.<br>
+ * Thread safe, create one per client and provider and reuse it.
+ *
+ * @see <a href="https://openid.net/specs/openid-connect-core-1_0.html#IDTokenValidation">ID Token Validation</a>
+ */
+public class IdTokenValidator {
+
+    public static final long DEFAULT_CLOCK_SKEW_SECONDS = 60;
+    /**
+     * placeholder in the expected issuer replaced with the token's "tid" claim (Microsoft multi-tenant endpoints)
+     */
+    public static final String TENANT_ID_PLACEHOLDER = "{tenantid}";
+
+    private static final Set<String> SUPPORTED_ALGORITHMS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("RS256", "RS384", "RS512", "ES256", "ES384", "ES512")));
+
+    private final JwksCache jwksCache;
+    private final String clientId;
+    private final long clockSkewSeconds;
+    private final List<String> issuers;
+
+    /**
+     * @param jwksCache provider's keys
+     * @param clientId expected audience, your client_id (api key)
+     * @param issuers accepted "iss" values
+     */
+    public IdTokenValidator(JwksCache jwksCache, String clientId, String... issuers) {
+        this(jwksCache, clientId, DEFAULT_CLOCK_SKEW_SECONDS, issuers);
+    }
+
+    public IdTokenValidator(JwksCache jwksCache, String clientId, long clockSkewSeconds, String... issuers) {
+        this.jwksCache = jwksCache;
+        this.clientId = clientId;
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.issuers = Arrays.asList(issuers);
+    }
+
+    public JwksCache getJwksCache() {
+        return jwksCache;
+    }
+
+    /**
+     * @param idToken encoded id_token
+     * @return validated id_token
+     * @throws IdTokenValidationException if the token is not valid
+     * @throws IOException while fetching the keys
+     * @throws InterruptedException while fetching the keys
+     * @throws ExecutionException while fetching the keys
+     */
+    public IdToken validate(String idToken) throws IOException, InterruptedException, ExecutionException {
+        return validate(idToken, null);
+    }
+
+    /**
+     * @param idToken encoded id_token
+     * @param nonce nonce sent in the authorization request or null to not check it
+     * @return validated id_token
+     * @throws IdTokenValidationException if the token is not valid
+     * @throws IOException while fetching the keys
+     * @throws InterruptedException while fetching the keys
+     * @throws ExecutionException while fetching the keys
+     */
+    public IdToken validate(String idToken, String nonce) throws IOException, InterruptedException,
+            ExecutionException {
+        final IdToken token = IdToken.parse(idToken);
+        verifySignature(token);
+        validateClaims(token, nonce, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        return token;
+    }
+
+    protected void verifySignature(IdToken token) throws IOException, InterruptedException, ExecutionException {
+        final String algorithm = token.getAlgorithm();
+        if (!SUPPORTED_ALGORITHMS.contains(algorithm)) {
+            throw new IdTokenValidationException("Unsupported id_token algorithm '" + algorithm + '\'');
+        }
+        final JsonWebKey key = jwksCache.getKey(token.getKeyId());
+        if (key == null) {
+            throw new IdTokenValidationException("Unknown id_token key '" + token.getKeyId() + "' in "
+                    + jwksCache.getJwksUri());
+        }
+        final boolean valid;
+        try {
+            valid = key.verify(algorithm, token.getSigningInput(), token.getSignature());
+        } catch (GeneralSecurityException e) {
+            throw new IdTokenValidationException("Can't verify id_token signature", e);
+        }
+        if (!valid) {
+            throw new IdTokenValidationException("Invalid id_token signature");
+        }
+    }
+
+    protected void validateClaims(IdToken token, String nonce, long nowSeconds) {
+        final String issuer = token.getIssuer();
+        if (issuer == null || !isExpectedIssuer(token, issuer)) {
+            throw new IdTokenValidationException("Unexpected id_token issuer '" + issuer + '\'');
+        }
+
+        final List<String> audience = token.getAudience();
+        if (!audience.contains(clientId)) {
+            throw new IdTokenValidationException("id_token is not issued for '" + clientId + "' but " + audience);
+        }
+        final String authorizedParty = token.getAuthorizedParty();
+        if ((audience.size() > 1 || authorizedParty != null) && !clientId.equals(authorizedParty)) {
+            throw new IdTokenValidationException("Unexpected id_token authorized party '" + authorizedParty + '\'');
+        }
+
+        final Long expirationTime = token.getExpirationTime();
+        if (expirationTime == null) {
+            throw new IdTokenValidationException("id_token has no expiration time");
+        }
+        if (nowSeconds - clockSkewSeconds >= expirationTime) {
+            throw new IdTokenValidationException("id_token expired at " + expirationTime);
+        }
+        final Long notBefore = token.getNotBefore();
+        if (notBefore != null && nowSeconds + clockSkewSeconds < notBefore) {
+            throw new IdTokenValidationException("id_token is not valid before " + notBefore);
+        }
+        final Long issuedAt = token.getIssuedAt();
+        if (issuedAt != null && nowSeconds + clockSkewSeconds < issuedAt) {
+            throw new IdTokenValidationException("id_token is issued in the future " + issuedAt);
+        }
+
+        if (nonce != null && !nonce.equals(token.getNonce())) {
+            throw new IdTokenValidationException("Unexpected id_token nonce");
+        }
+    }
+
+    private boolean isExpectedIssuer(IdToken token, String issuer) {
+        for (String expectedIssuer : issuers) {
+            if (expectedIssuer.contains(TENANT_ID_PLACEHOLDER)) {
+                final String tenantId = token.getStringClaim("tid");
+                if (tenantId != null && issuer.equals(expectedIssuer.replace(TENANT_ID_PLACEHOLDER, tenantId))) {
+                    return true;
+                }
+            } else if (issuer.equals(expectedIssuer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.scribejava.apis.openid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.scribejava.core.java8.Base64;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Public signing key from the JWKS (RSA or EC) with its ready-to-use verifiers.<br>
+ * {@link Signature} isn't thread safe, but after {@link Signature#verify(byte[])} it's reset to the state after
+ * initVerify, so the initialized verifiers are pooled per JWS algorithm instead of being created for every id_token.
+ */
+class JsonWebKey {
+
+    private final String keyId;
+    private final String algorithm;
+    private final PublicKey publicKey;
+    private final ConcurrentMap<String, Queue<Signature>> verifiers = new ConcurrentHashMap<>();
+
+    JsonWebKey(String keyId, String algorithm, PublicKey publicKey) {
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * @param jwk one of the JWKS "keys"
+     * @return key or null if it's not a supported signing key
+     * @throws GeneralSecurityException if the key material is invalid
+     */
+    static JsonWebKey parse(JsonNode jwk) throws GeneralSecurityException {
+        final String use = getText(jwk, "use");
+        if (use != null && !"sig".equals(use)) {
+            return null;
+        }
+        final String keyType = getText(jwk, "kty");
+        final PublicKey publicKey;
+        if ("RSA".equals(keyType)) {
+            publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    decodeUnsigned(jwk, "n"), decodeUnsigned(jwk, "e")));
+        } else if ("EC".equals(keyType)) {
+            final String curve = getStandardCurveName(getText(jwk, "crv"));
+            if (curve == null) {
+                return null;
+            }
+            final AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curve));
+            publicKey = KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                    new ECPoint(decodeUnsigned(jwk, "x"), decodeUnsigned(jwk, "y")),
+                    parameters.getParameterSpec(ECParameterSpec.class)));
+        } else {
+            return null;
+        }
+        return new JsonWebKey(getText(jwk, "kid"), getText(jwk, "alg"), publicKey);
+    }
+
+    String getKeyId() {
+        return keyId;
+    }
+
+    PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * @param jwsAlgorithm JWS "alg", one of RS256, RS384, RS512, ES256, ES384, ES512
+     * @param signingInput header.payload
+     * @param signature decoded JWS signature
+     * @return whether the signature is valid
+     * @throws GeneralSecurityException if the algorithm can't be used with this key
+     */
+    boolean verify(String jwsAlgorithm, byte[] signingInput, byte[] signature) throws GeneralSecurityException {
+        if (algorithm != null && !algorithm.equals(jwsAlgorithm)) {
+            throw new GeneralSecurityException("Key '" + keyId + "' is for " + algorithm + ", not " + jwsAlgorithm);
+        }
+        final String jcaAlgorithm = getJcaAlgorithm(jwsAlgorithm);
+        final boolean ecKey = "EC".equals(publicKey.getAlgorithm());
+        if (jcaAlgorithm == null || !jwsAlgorithm.startsWith(ecKey ? "ES" : "RS")) {
+            throw new GeneralSecurityException("Algorithm " + jwsAlgorithm + " can't be used with the "
+                    + publicKey.getAlgorithm() + " key '" + keyId + '\'');
+        }
+        final byte[] encodedSignature;
+        if (ecKey) {
+            final int expectedLength = getEcSignatureLength(jwsAlgorithm);
+            if (signature.length != expectedLength) {
+                return false;
+            }
+            encodedSignature = toDer(signature);
+        } else {
+            encodedSignature = signature;
+        }
+
+        Queue<Signature> pool = verifiers.get(jwsAlgorithm);
+        if (pool == null) {
+            pool = new ConcurrentLinkedQueue<>();
+            final Queue<Signature> existingPool = verifiers.putIfAbsent(jwsAlgorithm, pool);
+            if (existingPool != null) {
+                pool = existingPool;
+            }
+        }
+        Signature verifier = pool.poll();
+        if (verifier == null) {
+            verifier = Signature.getInstance(jcaAlgorithm);
+            verifier.initVerify(publicKey);
+        }
+        verifier.update(signingInput);
+        final boolean valid = verifier.verify(encodedSignature);
+        //not returned to the pool on exceptions, its state is unknown
+        pool.offer(verifier);
+        return valid;
+    }
+
+    private static String getJcaAlgorithm(String jwsAlgorithm) {
+        if (jwsAlgorithm == null) {
+            return null;
+        }
+        switch (jwsAlgorithm) {
+            case "RS256":
+                return "SHA256withRSA";
+            case "RS384":
+                return "SHA384withRSA";
+            case "RS512":
+                return "SHA512withRSA";
+            case "ES256":
+                return "SHA256withECDSA";
+            case "ES384":
+                return "SHA384withECDSA";
+            case "ES512":
+                return "SHA512withECDSA";
+            default:
+                return null;
+        }
+    }
+
+    private static int getEcSignatureLength(String jwsAlgorithm) {
+        switch (jwsAlgorithm) {
+            case "ES256":
+                return 64;
+            case "ES384":
+                return 96;
+            default:
+                return 132;
+        }
+    }
+
+    private static String getStandardCurveName(String jwkCurve) {
+        if (jwkCurve == null) {
+            return null;
+        }
+        switch (jwkCurve) {
+            case "P-256":
+                return "secp256r1";
+            case "P-384":
+                return "secp384r1";
+            case "P-521":
+                return "secp521r1";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * JWS carries ECDSA signatures as R | S of the fixed length, JCA expects ASN.1 DER SEQUENCE { INTEGER r, INTEGER
+     * s }.
+     */
+    private static byte[] toDer(byte[] joseSignature) {
+        final int half = joseSignature.length / 2;
+        final byte[] r = toDerInteger(Arrays.copyOfRange(joseSignature, 0, half));
+        final byte[] s = toDerInteger(Arrays.copyOfRange(joseSignature, half, joseSignature.length));
+        final ByteArrayOutputStream der = new ByteArrayOutputStream(joseSignature.length + 9);
+        der.write(0x30);
+        writeDerLength(der, r.length + s.length);
+        der.write(r, 0, r.length);
+        der.write(s, 0, s.length);
+        return der.toByteArray();
+    }
+
+    private static byte[] toDerInteger(byte[] unsigned) {
+        int start = 0;
+        while (start < unsigned.length - 1 && unsigned[start] == 0) {
+            start++;
+        }
+        final int padding = (unsigned[start] & 0x80) == 0 ? 0 : 1;
+        final int length = unsigned.length - start + padding;
+        final ByteArrayOutputStream integer = new ByteArrayOutputStream(length + 3);
+        integer.write(0x02);
+        writeDerLength(integer, length);
+        if (padding == 1) {
+            integer.write(0);
+        }
+        integer.write(unsigned, start, unsigned.length - start);
+        return integer.toByteArray();
+    }
+
+    private static void writeDerLength(ByteArrayOutputStream out, int length) {
+        if (length > 0x7f) {
+            out.write(0x81);
+        }
+        out.write(length);
+    }
+
+    private static BigInteger decodeUnsigned(JsonNode jwk, String name) throws GeneralSecurityException {
+        final String value = getText(jwk, name);
+        if (value == null) {
+            throw new GeneralSecurityException("JWK parameter '" + name + "' is missing");
+        }
+        try {
+            return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+        } catch (IllegalArgumentException e) {
+            throw new GeneralSecurityException("JWK parameter '" + name + "' is not base64url", e);
+        }
+    }
+
+    private static String getText(JsonNode node, String name) {
+        final JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.scribejava.apis.openid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuthService;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached JSON Web Key Set (the provider's "jwks_uri") with the parsed public keys.<br>
+ * Keys are looked up without any locking. The set is refetched when it's older than maxAge or when an id_token is
+ * signed by an unknown key id (the provider rotated its keys), but not more often than once per minRefreshInterval, so
+ * tokens with made-up key ids can't make us hammer the provider. Only one thread fetches at a time, the others waiting
+ * for the same key get the fetched result.
+ */
+public class JwksCache {
+
+    public static final long DEFAULT_MIN_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String NO_KEY_ID = "";
+
+    private final String jwksUri;
+    private final OAuthService service;
+    private final long minRefreshIntervalMillis;
+    private final long maxAgeMillis;
+    private final Object refreshLock = new Object();
+
+    private volatile Map<String, JsonWebKey> keys = Collections.emptyMap();
+    private volatile long fetchedAt;
+    private long lastRefreshAttempt;
+
+    /**
+     * @param jwksUri jwksUri
+     * @param service service, its HttpClient is used to fetch the keys
+     */
+    public JwksCache(String jwksUri, OAuthService service) {
+        this(jwksUri, service, DEFAULT_MIN_REFRESH_INTERVAL_MILLIS, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+    public JwksCache(String jwksUri, OAuthService service, long minRefreshIntervalMillis, long maxAgeMillis) {
+        this.jwksUri = jwksUri;
+        this.service = service;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        lastRefreshAttempt = System.currentTimeMillis() - minRefreshIntervalMillis;
+    }
+
+    public String getJwksUri() {
+        return jwksUri;
+    }
+
+    /**
+     * @param keyId "kid" from the JWS header. If null, the only key of the set is returned.
+     * @return key or null if the set (even refreshed if allowed) doesn't contain it
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     * @throws ExecutionException ExecutionException
+     */
+    JsonWebKey getKey(String keyId) throws IOException, InterruptedException, ExecutionException {
+        JsonWebKey key = find(keys, keyId);
+        if (key != null && isFresh(System.currentTimeMillis())) {
+            return key;
+        }
+        synchronized (refreshLock) {
+            final long now = System.currentTimeMillis();
+            key = find(keys, keyId);
+            if (key != null && isFresh(now) || now - lastRefreshAttempt < minRefreshIntervalMillis) {
+                return key;
+            }
+            lastRefreshAttempt = now;
+            try {
+                keys = fetch();
+            } catch (IOException | OAuthException e) {
+                if (key == null) {
+                    throw e;
+                }
+                //keep using the stale keys, the provider is down
+                return key;
+            }
+            fetchedAt = now;
+            return find(keys, keyId);
+        }
+    }
+
+    /**
+     * Forgets the fetched keys, the next lookup fetches them (still obeying minRefreshInterval).
+     */
+    public void invalidate() {
+        keys = Collections.emptyMap();
+    }
+
+    private boolean isFresh(long now) {
+        return now - fetchedAt < maxAgeMillis;
+    }
+
+    private static JsonWebKey find(Map<String, JsonWebKey> keys, String keyId) {
+        if (keyId == null) {
+            return keys.size() == 1 ? keys.values().iterator().next() : null;
+        }
+        return keys.get(keyId);
+    }
+
+    private Map<String, JsonWebKey> fetch() throws IOException, InterruptedException, ExecutionException {
+        final JsonNode jwks;
+        try (Response response = service.execute(new OAuthRequest(Verb.GET, jwksUri))) {
+            if (response.getCode() != 200) {
+                throw new OAuthException("Can't fetch JWKS from " + jwksUri + ", response code "
+                        + response.getCode());
+            }
+            jwks = OBJECT_MAPPER.readTree(response.getBody());
+        }
+        final JsonNode keysNode = jwks == null ? null : jwks.get("keys");
+        if (keysNode == null || !keysNode.isArray()) {
+            throw new OAuthException("Response from " + jwksUri + " is not a JWKS");
+        }
+        final Map<String, JsonWebKey> fetched = new HashMap<>();
+        for (JsonNode jwk : keysNode) {
+            final JsonWebKey key;
+            try {
+                key = JsonWebKey.parse(jwk);
+            } catch (GeneralSecurityException e) {
+                service.log("skipping invalid JWK from " + jwksUri + ": " + e.getMessage());
+                continue;
+            }
+            if (key != null) {
+                fetched.put(key.getKeyId() == null ? NO_KEY_ID : key.getKeyId(), key);
+            }
+        }
+        return Collections.unmodifiableMap(fetched);
+    }
+}
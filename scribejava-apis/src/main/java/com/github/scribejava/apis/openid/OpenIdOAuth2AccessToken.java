@@ -32,6 +32,15 @@ public class OpenIdOAuth2AccessToken extends OAuth2AccessToken {
         return openIdToken;
     }
 
+    /**
+     * Parses the id_token without validating it, see {@link IdTokenValidator}.
+     *
+     * @return parsed id_token or null, if not defined
+     */
+    public IdToken parseOpenIdToken() {
+        return openIdToken == null ? null : IdToken.parse(openIdToken);
+    }
+
     @Override
     public int hashCode() {
         int hash = super.hashCode();
@@ -24,7 +24,7 @@ public class PolarOAuthService extends OAuth20Service {
     protected OAuthRequest createAccessTokenRequest(AccessTokenRequestParams params) {
         final OAuthRequest request = new OAuthRequest(getApi().getAccessTokenVerb(), getApi().getAccessTokenEndpoint());
 
-        getApi().getClientAuthentication().addClientAuthentication(request, getApiKey(), getApiSecret());
+        addClientAuthentication(request);
 
         request.addParameter(OAuthConstants.CODE, params.getCode());
         final String callback = getCallback();
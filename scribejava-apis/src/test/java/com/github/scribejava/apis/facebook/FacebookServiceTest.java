@@ -0,0 +1,48 @@
+package com.github.scribejava.apis.facebook;
+
+import com.github.scribejava.apis.FacebookApi;
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.utils.HexEncoder;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class FacebookServiceTest {
+
+    private static final String PROOF = "c1204aba47936eb1173a954d6f383f1c78df89567b733705e9dd9518d1966749";
+
+    private final FacebookService service = (FacebookService) new ServiceBuilder("your_api_key")
+            .apiSecret("your_api_secret")
+            .build(FacebookApi.instance());
+
+    @Test
+    public void shouldAddAppsecretProof() {
+        for (int i = 0; i < 2; i++) {
+            final OAuthRequest request = new OAuthRequest(Verb.GET, "https://graph.facebook.com/v3.2/me");
+            service.signRequest("EAACEdEose0cBA", request);
+            assertEquals("https://graph.facebook.com/v3.2/me?appsecret_proof=" + PROOF, request.getCompleteUrl());
+        }
+    }
+
+    @Test
+    public void shouldSignWithSecretOfEachServiceOnSameThread() throws Exception {
+        final FacebookService other = (FacebookService) new ServiceBuilder("your_api_key")
+                .apiSecret("other_api_secret")
+                .build(FacebookApi.instance());
+        //new tokens, so that the proofs aren't cached and the Mac of the thread switches between the secrets
+        for (int i = 0; i < 3; i++) {
+            final String token = "EAACEdEose0cBA" + i;
+            assertEquals(hmac("your_api_secret", token), service.getAppsecretProof(token));
+            assertEquals(hmac("other_api_secret", token), other.getAppsecretProof(token));
+        }
+    }
+
+    private static String hmac(String secret, String token) throws Exception {
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes("UTF-8"), "HmacSHA256"));
+        return HexEncoder.encode(mac.doFinal(token.getBytes("UTF-8")));
+    }
+}
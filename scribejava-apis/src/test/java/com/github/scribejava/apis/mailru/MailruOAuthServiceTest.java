@@ -0,0 +1,32 @@
+package com.github.scribejava.apis.mailru;
+
+import com.github.scribejava.apis.MailruApi;
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Parameter;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class MailruOAuthServiceTest {
+
+    private static final String URL = "http://www.appsmail.ru/platform/api?method=users.getInfo&secure=0&uids=1%2C2";
+
+    private final OAuth20Service service = new ServiceBuilder("423004")
+            .apiSecret("7815696ecbf1c96e6894b779456d330e")
+            .build(MailruApi.instance());
+
+    @Test
+    public void testSigGeneration() {
+        final OAuthRequest request = new OAuthRequest(Verb.GET, URL);
+        service.signRequest("be6ef89965d58e56dec21acb9b62bdaa", request);
+        String sig = null;
+        for (Parameter param : request.getQueryStringParams().getParams()) {
+            if ("sig".equals(param.getKey())) {
+                sig = param.getValue();
+            }
+        }
+        assertEquals("419dbeec9c183560a7fc0ee4b331b67a", sig);
+    }
+}
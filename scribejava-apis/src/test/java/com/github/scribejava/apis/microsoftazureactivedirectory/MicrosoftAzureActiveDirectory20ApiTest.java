@@ -0,0 +1,25 @@
+package com.github.scribejava.apis.microsoftazureactivedirectory;
+
+import com.github.scribejava.apis.MicrosoftAzureActiveDirectory20Api;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MicrosoftAzureActiveDirectory20ApiTest {
+
+    private static final String TENANT_ID = "72f988bf-86f1-41af-91ab-2d7cd011db47";
+
+    @Test
+    public void shouldPinIssuerOfSingleTenant() {
+        assertEquals("https://login.microsoftonline.com/" + TENANT_ID + "/v2.0",
+                MicrosoftAzureActiveDirectory20Api.custom(TENANT_ID).getIdTokenIssuer());
+    }
+
+    @Test
+    public void shouldTakeIssuerOfMultiTenantFromToken() {
+        final String issuer = "https://login.microsoftonline.com/{tenantid}/v2.0";
+        assertEquals(issuer, MicrosoftAzureActiveDirectory20Api.instance().getIdTokenIssuer());
+        assertEquals(issuer, MicrosoftAzureActiveDirectory20Api.custom("organizations").getIdTokenIssuer());
+        assertEquals(issuer, MicrosoftAzureActiveDirectory20Api.custom("consumers").getIdTokenIssuer());
+    }
+}
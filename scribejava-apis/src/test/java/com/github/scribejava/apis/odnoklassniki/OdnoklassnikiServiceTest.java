@@ -31,6 +31,18 @@ public class OdnoklassnikiServiceTest {
         assertEquals("96127f5ca29a8351399e94bbd284ab16", findParam(request.getQueryStringParams(), "sig"));
     }
 
+    @Test
+    public void shouldSignDecodedValuesWithPlusAndPercent() {
+        final OAuth2AccessToken accessToken = new OAuth2AccessToken("d3iwa.403gvrs194740652m1k4w2a503k3c");
+        final OAuthRequest request = new OAuthRequest(Verb.GET, "https://api.ok.ru/fb.do?method=mediatopic.post"
+                + "&attachment=a%2Bb&application_key=AAAAAAAAAAAAAAAA&format=json");
+        request.addQuerystringParameter("text", "c+d%2Be");
+        service.signRequest(accessToken, request);
+        //md5("application_key=AAAAAAAAAAAAAAAAattachment=a+bformat=jsonmethod=mediatopic.posttext=c+d%2Be"
+        //        + md5(access_token + application_secret_key)), the values are decoded exactly once
+        assertEquals("98c38312857e89712b341d10d4b8996f", findParam(request.getQueryStringParams(), "sig"));
+    }
+
     private static String findParam(ParameterList list, String key) {
         for (Parameter param : list.getParams()) {
             if (param.getKey().equals(key)) {
@@ -0,0 +1,189 @@
+package com.github.scribejava.apis.openid;
+
+import com.github.scribejava.apis.KeycloakApi;
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.java8.Base64;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.function.ThrowingRunnable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class IdTokenValidatorTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String CLIENT_ID = "client-id";
+
+    private MockWebServer server;
+    private OAuth20Service service;
+    private IdTokenValidator validator;
+    private String issuer;
+    private KeyPair rsaKeyPair;
+    private KeyPair ecKeyPair;
+
+    @Before
+    public void setUp() throws IOException, GeneralSecurityException {
+        final KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        rsaKeyPair = rsaGenerator.generateKeyPair();
+        final KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeyPair = ecGenerator.generateKeyPair();
+
+        server = new MockWebServer();
+        server.start();
+        final KeycloakApi api = KeycloakApi.instance(server.url("/").toString(), "test");
+        issuer = server.url("/auth/realms/test").toString();
+        service = new ServiceBuilder(CLIENT_ID).apiSecret("client-secret").build(api);
+        validator = api.createIdTokenValidator(service);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        service.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void shouldValidateRsaAndEcTokensWithCachedKeys() throws Exception {
+        server.enqueue(jwks());
+
+        final String rsaToken = sign("RS256", "rsa-key", rsaKeyPair.getPrivate(), claims(CLIENT_ID, 300, "n-0"));
+        final String ecToken = sign("ES256", "ec-key", ecKeyPair.getPrivate(), claims(CLIENT_ID, 300, null));
+        for (int i = 0; i < 3; i++) {
+            assertEquals("user-1", validator.validate(rsaToken, "n-0").getSubject());
+            assertEquals("user-1", validator.validate(ecToken).getSubject());
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/auth/realms/test/protocol/openid-connect/certs", server.takeRequest().getPath());
+    }
+
+    @Test
+    public void shouldRejectInvalidTokens() throws Exception {
+        server.enqueue(jwks());
+
+        assertInvalid(sign("RS256", "rsa-key", rsaKeyPair.getPrivate(), claims("other-client", 300, null)), null);
+        assertInvalid(sign("RS256", "rsa-key", rsaKeyPair.getPrivate(), claims(CLIENT_ID, -300, null)), null);
+        assertInvalid(sign("RS256", "rsa-key", rsaKeyPair.getPrivate(), claims(CLIENT_ID, 300, "n-1")), "n-2");
+        //signed by the EC key, but claims to be signed by the RSA one
+        assertInvalid(sign("ES256", "rsa-key", ecKeyPair.getPrivate(), claims(CLIENT_ID, 300, null)), null);
+        final String valid = sign("RS256", "rsa-key", rsaKeyPair.getPrivate(), claims(CLIENT_ID, 300, null));
+        assertInvalid(valid.substring(0, valid.lastIndexOf('.') + 1) + "AAAA", null);
+        assertInvalid(valid.substring(0, valid.indexOf('.')) + ".e30.", null);
+        assertInvalid("not-a-jwt", null);
+    }
+
+    @Test
+    public void shouldRefreshOnUnknownKeyIdAtMostOncePerInterval() throws Exception {
+        server.enqueue(jwks());
+        server.enqueue(jwks());
+
+        final String unknownKeyToken = sign("RS256", "rotated-key", rsaKeyPair.getPrivate(),
+                claims(CLIENT_ID, 300, null));
+        validator.validate(sign("RS256", "rsa-key", rsaKeyPair.getPrivate(), claims(CLIENT_ID, 300, null)));
+        assertInvalid(unknownKeyToken, null);
+        assertInvalid(unknownKeyToken, null);
+        assertEquals(1, server.getRequestCount());
+
+        final JwksCache eagerCache = new JwksCache(validator.getJwksCache().getJwksUri(), service, 0,
+                TimeUnit.HOURS.toMillis(1));
+        final IdTokenValidator eagerValidator = new IdTokenValidator(eagerCache, CLIENT_ID, issuer);
+        assertInvalid(eagerValidator, unknownKeyToken);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private void assertInvalid(final String idToken, final String nonce) {
+        assertThrows(IdTokenValidationException.class, new ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                validator.validate(idToken, nonce);
+            }
+        });
+    }
+
+    private static void assertInvalid(final IdTokenValidator validator, final String idToken) {
+        assertThrows(IdTokenValidationException.class, new ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                validator.validate(idToken);
+            }
+        });
+    }
+
+    private MockResponse jwks() {
+        final RSAPublicKey rsaKey = (RSAPublicKey) rsaKeyPair.getPublic();
+        final ECPublicKey ecKey = (ECPublicKey) ecKeyPair.getPublic();
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody("{\"keys\":["
+                + "{\"kty\":\"RSA\",\"kid\":\"rsa-key\",\"use\":\"sig\",\"alg\":\"RS256\",\"n\":\""
+                + encode(rsaKey.getModulus(), 0) + "\",\"e\":\"" + encode(rsaKey.getPublicExponent(), 0) + "\"},"
+                + "{\"kty\":\"EC\",\"kid\":\"ec-key\",\"crv\":\"P-256\",\"x\":\""
+                + encode(ecKey.getW().getAffineX(), 32) + "\",\"y\":\"" + encode(ecKey.getW().getAffineY(), 32)
+                + "\"},"
+                + "{\"kty\":\"RSA\",\"kid\":\"enc-key\",\"use\":\"enc\",\"n\":\"AQAB\",\"e\":\"AQAB\"}]}");
+    }
+
+    private String claims(String audience, long expiresInSeconds, String nonce) {
+        final long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        return "{\"iss\":\"" + issuer + "\",\"sub\":\"user-1\",\"aud\":\"" + audience + "\",\"iat\":" + now
+                + ",\"exp\":" + (now + expiresInSeconds) + (nonce == null ? "" : ",\"nonce\":\"" + nonce + '"')
+                + '}';
+    }
+
+    private static String sign(String algorithm, String keyId, PrivateKey privateKey, String claims)
+            throws GeneralSecurityException {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String signingInput = encoder.encodeToString(("{\"alg\":\"" + algorithm + "\",\"kid\":\"" + keyId
+                + "\"}").getBytes(UTF_8)) + '.' + encoder.encodeToString(claims.getBytes(UTF_8));
+        final boolean ec = algorithm.startsWith("ES");
+        final Signature signature = Signature.getInstance(ec ? "SHA256withECDSA" : "SHA256withRSA");
+        signature.initSign(privateKey);
+        signature.update(signingInput.getBytes(UTF_8));
+        final byte[] signed = signature.sign();
+        return signingInput + '.' + encoder.encodeToString(ec ? derToJose(signed) : signed);
+    }
+
+    private static byte[] derToJose(byte[] der) {
+        //SEQUENCE (short form length for P-256) { INTEGER r, INTEGER s }
+        final int rLength = der[3];
+        final byte[] r = Arrays.copyOfRange(der, 4, 4 + rLength);
+        final int sLength = der[5 + rLength];
+        final byte[] s = Arrays.copyOfRange(der, 6 + rLength, 6 + rLength + sLength);
+        final byte[] jose = new byte[64];
+        System.arraycopy(unsigned(r, 32), 0, jose, 0, 32);
+        System.arraycopy(unsigned(s, 32), 0, jose, 32, 32);
+        return jose;
+    }
+
+    private static String encode(BigInteger value, int length) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned(value.toByteArray(), length));
+    }
+
+    private static byte[] unsigned(byte[] twosComplement, int length) {
+        int start = 0;
+        while (start < twosComplement.length - 1 && twosComplement[start] == 0) {
+            start++;
+        }
+        final int significant = twosComplement.length - start;
+        final byte[] result = new byte[Math.max(length, significant)];
+        System.arraycopy(twosComplement, start, result, result.length - significant, significant);
+        return result;
+    }
+}
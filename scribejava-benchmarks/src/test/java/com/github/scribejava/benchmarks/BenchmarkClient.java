@@ -0,0 +1,81 @@
+package com.github.scribejava.benchmarks;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.httpclient.ahc.AhcHttpClient;
+import com.github.scribejava.httpclient.ahc.AhcHttpClientConfig;
+import com.github.scribejava.httpclient.apache.ApacheHttpClient;
+import com.github.scribejava.httpclient.ning.NingHttpClient;
+import com.github.scribejava.httpclient.ning.NingHttpClientConfig;
+import com.github.scribejava.httpclient.okhttp.OkHttpHttpClient;
+import com.ning.http.client.AsyncHttpClientConfig;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+
+/**
+ * HttpClient modules under the test. The clients are configured with the connection pools big enough for the
+ * concurrency level, otherwise we would measure the pool limits (e.g. 2 connections per route in the Apache client by
+ * default). Tune them here to benchmark your deployment settings.
+ */
+enum BenchmarkClient {
+    JDK("jdk") {
+        @Override
+        HttpClient createClient(int concurrency) {
+            //keep-alive cache size is the http.maxConnections system property, HttpClientBenchmark sets it
+            return new JDKHttpClient(JDKHttpClientConfig.defaultConfig());
+        }
+    },
+    OKHTTP("okhttp") {
+        @Override
+        HttpClient createClient(int concurrency) {
+            return new OkHttpHttpClient(new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(concurrency, 5, TimeUnit.MINUTES)).build());
+        }
+    },
+    APACHE("apache") {
+        @Override
+        HttpClient createClient(int concurrency) {
+            return new ApacheHttpClient(HttpAsyncClientBuilder.create().setMaxConnPerRoute(concurrency)
+                    .setMaxConnTotal(concurrency));
+        }
+    },
+    AHC("ahc") {
+        @Override
+        HttpClient createClient(int concurrency) {
+            return new AhcHttpClient(new AhcHttpClientConfig(new DefaultAsyncHttpClientConfig.Builder()
+                    .setMaxConnectionsPerHost(concurrency).build()));
+        }
+    },
+    NING("ning") {
+        @Override
+        HttpClient createClient(int concurrency) {
+            return new NingHttpClient(new NingHttpClientConfig(new AsyncHttpClientConfig.Builder()
+                    .setMaxConnectionsPerHost(concurrency).build()));
+        }
+    };
+
+    private final String id;
+
+    BenchmarkClient(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    abstract HttpClient createClient(int concurrency);
+
+    static BenchmarkClient fromId(String id) {
+        for (BenchmarkClient client : values()) {
+            if (client.id.equals(id)) {
+                return client;
+            }
+        }
+        throw new IllegalArgumentException("Unknown client '" + id + "'");
+    }
+}
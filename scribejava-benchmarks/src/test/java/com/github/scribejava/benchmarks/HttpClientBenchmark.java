@@ -0,0 +1,271 @@
+package com.github.scribejava.benchmarks;
+
+import com.github.scribejava.core.testserver.MockAuthorizationServer;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the same {@link Workload}s through every {@link BenchmarkClient} at increasing concurrency against the local
+ * {@link MockAuthorizationServer} and reports throughput, latency percentiles, client side allocation rate and thread
+ * counts.<br>
+ * Run it with {@code mvn -B -Pbenchmark verify -DskipTests}, see scribejava-benchmarks/pom.xml for the parameters.
+ * Results are printed and written as CSV to benchmark.output.
+ */
+public class HttpClientBenchmark {
+
+    private static final String WORKER_THREAD_NAME_PREFIX = "benchmark-worker-";
+    private static final String HEADER_FORMAT = "%-8s %-13s %5s %10s %8s %9s %9s %9s %9s %9s %10s %10s %8s%n";
+    private static final String ROW_FORMAT
+            = "%-8s %-13s %5d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f %10.1f %10d %8d%n";
+    private static final String CSV_HEADER = "client,workload,concurrency,throughput_ops_per_s,errors,p50_ms,p90_ms,"
+            + "p99_ms,p999_ms,max_ms,alloc_mb_per_s,alloc_bytes_per_op,client_threads";
+    private static final long THREAD_SAMPLING_MILLIS = 100;
+
+    private final PrintStream out;
+    private final MockAuthorizationServer server;
+    private final long warmupMillis;
+    private final long durationMillis;
+
+    public HttpClientBenchmark(PrintStream out, MockAuthorizationServer server, long warmupMillis,
+            long durationMillis) {
+        this.out = out;
+        this.server = server;
+        this.warmupMillis = warmupMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    public static void main(String... args) throws Exception {
+        final List<BenchmarkClient> clients = new ArrayList<>();
+        for (String id : property("benchmark.clients", "jdk,okhttp,apache,ahc,ning").split(",")) {
+            clients.add(BenchmarkClient.fromId(id.trim()));
+        }
+        final List<Workload> workloads = new ArrayList<>();
+        for (String id : property("benchmark.workloads", "oauth2-token,oauth2-api,oauth1-token,oauth1-api")
+                .split(",")) {
+            workloads.add(Workload.fromId(id.trim()));
+        }
+        final List<Integer> concurrencyLevels = new ArrayList<>();
+        int maxConcurrency = 1;
+        for (String level : property("benchmark.concurrency", "1,4,16,64").split(",")) {
+            final int concurrency = Integer.parseInt(level.trim());
+            concurrencyLevels.add(concurrency);
+            maxConcurrency = Math.max(maxConcurrency, concurrency);
+        }
+        //JDK keep-alive cache size, read once by HttpURLConnection
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(maxConcurrency));
+        }
+
+        final String output = property("benchmark.output", "target/benchmark-results.csv");
+        final File outputFile = new File(output);
+        if (outputFile.getParentFile() != null) {
+            outputFile.getParentFile().mkdirs();
+        }
+        try (MockAuthorizationServer server = new MockAuthorizationServer()
+                .latency(Long.parseLong(property("benchmark.latencyMillis", "0")), TimeUnit.MILLISECONDS).start();
+                Writer csv = new OutputStreamWriter(new FileOutputStream(outputFile), Charset.forName("UTF-8"))) {
+            final HttpClientBenchmark benchmark = new HttpClientBenchmark(System.out, server,
+                    TimeUnit.SECONDS.toMillis(Long.parseLong(property("benchmark.warmupSeconds", "5"))),
+                    TimeUnit.SECONDS.toMillis(Long.parseLong(property("benchmark.durationSeconds", "10"))));
+            benchmark.run(clients, workloads, concurrencyLevels, csv);
+        }
+    }
+
+    public void run(List<BenchmarkClient> clients, List<Workload> workloads, List<Integer> concurrencyLevels,
+            Writer csv) throws Exception {
+        out.printf(Locale.ROOT, "JVM %s %s, %d CPUs, %d JVM threads before the run%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), ThreadStats.liveThreads(WORKER_THREAD_NAME_PREFIX));
+        out.printf(Locale.ROOT, HEADER_FORMAT, "client", "workload", "conc", "ops/s", "errors", "p50 ms", "p90 ms",
+                "p99 ms", "p99.9 ms", "max ms", "alloc MB/s", "alloc B/op", "threads");
+        csv.write(CSV_HEADER);
+        csv.write('\n');
+        for (Workload workload : workloads) {
+            for (BenchmarkClient client : clients) {
+                for (int concurrency : concurrencyLevels) {
+                    final Result result = run(client, workload, concurrency);
+                    out.printf(Locale.ROOT, ROW_FORMAT, client.getId(), workload.getId(), concurrency,
+                            result.getThroughput(), result.errors, toMillis(result.percentile(50)),
+                            toMillis(result.percentile(90)), toMillis(result.percentile(99)),
+                            toMillis(result.percentile(99.9)), toMillis(result.percentile(100)),
+                            result.getAllocationRate(), result.getAllocationPerOperation(), result.peakThreads);
+                    csv.write(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f,%d,%d%n",
+                            client.getId(), workload.getId(), concurrency, result.getThroughput(), result.errors,
+                            toMillis(result.percentile(50)), toMillis(result.percentile(90)),
+                            toMillis(result.percentile(99)), toMillis(result.percentile(99.9)),
+                            toMillis(result.percentile(100)), result.getAllocationRate(),
+                            result.getAllocationPerOperation(), result.peakThreads));
+                    csv.flush();
+                }
+            }
+        }
+    }
+
+    Result run(BenchmarkClient client, Workload workload, int concurrency) throws Exception {
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency, new WorkerThreadFactory());
+        try (Workload.Operation operation = workload.createOperation(server, client.createClient(concurrency))) {
+            final long start = System.nanoTime();
+            final long measurementStart = start + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+            final long measurementEnd = measurementStart + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+            final List<Future<Worker>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(new Worker(operation, measurementStart, measurementEnd)));
+            }
+
+            sleepUntil(measurementStart);
+            final Map<Long, Long> allocatedBefore = ThreadStats.allocatedBytes();
+            int peakThreads = 0;
+            while (System.nanoTime() < measurementEnd) {
+                peakThreads = Math.max(peakThreads, ThreadStats.liveThreads(WORKER_THREAD_NAME_PREFIX));
+                sleepUntil(Math.min(measurementEnd,
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(THREAD_SAMPLING_MILLIS)));
+            }
+            final Map<Long, Long> allocatedAfter = ThreadStats.allocatedBytes();
+
+            final List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                final Worker worker = future.get();
+                recorders.add(worker.recorder);
+                errors += worker.errors;
+            }
+            return new Result(LatencyRecorder.merge(recorders), errors, durationMillis,
+                    ThreadStats.allocatedBetween(allocatedBefore, allocatedAfter), peakThreads);
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+            server.clearTokens();
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        final long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    private static String property(String name, String defaultValue) {
+        final String value = System.getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static class Worker implements Callable<Worker> {
+
+        private final Workload.Operation operation;
+        private final long measurementStart;
+        private final long measurementEnd;
+        private final LatencyRecorder recorder = new LatencyRecorder();
+        private long errors;
+
+        Worker(Workload.Operation operation, long measurementStart, long measurementEnd) {
+            this.operation = operation;
+            this.measurementStart = measurementStart;
+            this.measurementEnd = measurementEnd;
+        }
+
+        @Override
+        public Worker call() {
+            while (true) {
+                final long start = System.nanoTime();
+                if (start >= measurementEnd) {
+                    return this;
+                }
+                boolean failed;
+                try {
+                    operation.run();
+                    failed = false;
+                } catch (Exception e) {
+                    failed = true;
+                }
+                if (start >= measurementStart) {
+                    if (failed) {
+                        errors++;
+                    } else {
+                        recorder.record(System.nanoTime() - start);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, WORKER_THREAD_NAME_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    static class Result {
+
+        private final long[] sortedLatencies;
+        private final long errors;
+        private final long durationMillis;
+        private final long allocatedBytes;
+        private final int peakThreads;
+
+        Result(long[] sortedLatencies, long errors, long durationMillis, long allocatedBytes, int peakThreads) {
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+            this.durationMillis = durationMillis;
+            this.allocatedBytes = allocatedBytes;
+            this.peakThreads = peakThreads;
+        }
+
+        double getThroughput() {
+            return sortedLatencies.length * 1000d / durationMillis;
+        }
+
+        long getErrors() {
+            return errors;
+        }
+
+        int getPeakThreads() {
+            return peakThreads;
+        }
+
+        long percentile(double percentile) {
+            return LatencyRecorder.percentile(sortedLatencies, percentile);
+        }
+
+        /**
+         * @return MB/s or -1 if the allocation can't be measured on this JVM
+         */
+        double getAllocationRate() {
+            return allocatedBytes < 0 ? -1 : allocatedBytes * 1000d / durationMillis / (1024 * 1024);
+        }
+
+        long getAllocationPerOperation() {
+            if (allocatedBytes < 0) {
+                return -1;
+            }
+            final long operations = sortedLatencies.length + errors;
+            return operations == 0 ? 0 : allocatedBytes / operations;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.scribejava.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-threaded recorder of all the latencies (every worker has its own one). Exact percentiles are cheap enough for
+ * the benchmark durations, so there is no histogram approximation.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+
+    void record(long latencyNanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param recorders recorders
+     * @return all the latencies sorted
+     */
+    static long[] merge(List<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+        }
+        final long[] merged = new long[total];
+        int position = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, merged, position, recorder.size);
+            position += recorder.size;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param sorted sorted latencies
+     * @param percentile from 0 to 100
+     * @return latency or 0 if there are no latencies
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+}
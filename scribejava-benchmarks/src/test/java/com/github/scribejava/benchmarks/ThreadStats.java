@@ -0,0 +1,100 @@
+package com.github.scribejava.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread allocation and live thread counts of the client side. Threads of the mock server (in the same JVM) are
+ * excluded.<br>
+ * Allocated bytes come from the HotSpot com.sun.management.ThreadMXBean, looked up reflectively to keep the
+ * benchmark compilable for any JDK; on other JVMs the allocation is reported as -1.
+ */
+abstract class ThreadStats {
+
+    private static final String SERVER_THREAD_NAME_PREFIX = "MockWebServer";
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final Method GET_THREAD_ALLOCATED_BYTES = findGetThreadAllocatedBytes();
+
+    /**
+     * @return thread id -> allocated bytes of the live client side threads, empty if not supported
+     */
+    static Map<Long, Long> allocatedBytes() {
+        final Map<Long, Long> allocated = new HashMap<>();
+        if (GET_THREAD_ALLOCATED_BYTES == null) {
+            return allocated;
+        }
+        final long[] ids = THREAD_MX_BEAN.getAllThreadIds();
+        final long[] bytes;
+        try {
+            bytes = (long[]) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, (Object) ids);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return allocated;
+        }
+        final ThreadInfo[] infos = THREAD_MX_BEAN.getThreadInfo(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && bytes[i] >= 0 && !infos[i].getThreadName().startsWith(SERVER_THREAD_NAME_PREFIX)) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Threads that died in between are not counted, so the result is the lower bound.
+     *
+     * @param before before
+     * @param after after
+     * @return allocated bytes or -1 if not supported
+     */
+    static long allocatedBetween(Map<Long, Long> before, Map<Long, Long> after) {
+        if (GET_THREAD_ALLOCATED_BYTES == null) {
+            return -1;
+        }
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : after.entrySet()) {
+            final Long previous = before.get(thread.getKey());
+            allocated += thread.getValue() - (previous == null ? 0 : previous);
+        }
+        return allocated;
+    }
+
+    /**
+     * @param excludedThreadNamePrefix prefix of the thread names not to count (the load generating workers)
+     * @return live threads except the server ones and the excluded ones
+     */
+    static int liveThreads(String excludedThreadNamePrefix) {
+        int count = 0;
+        for (ThreadInfo info : THREAD_MX_BEAN.getThreadInfo(THREAD_MX_BEAN.getAllThreadIds())) {
+            if (info != null && !info.getThreadName().startsWith(SERVER_THREAD_NAME_PREFIX)
+                    && !info.getThreadName().startsWith(excludedThreadNamePrefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Method findGetThreadAllocatedBytes() {
+        try {
+            final Class<?> hotSpotThreadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!hotSpotThreadMXBean.isInstance(THREAD_MX_BEAN)) {
+                return null;
+            }
+            final Method method = hotSpotThreadMXBean.getMethod("getThreadAllocatedBytes", long[].class);
+            final Method isSupported = hotSpotThreadMXBean.getMethod("isThreadAllocatedMemorySupported");
+            if (!(Boolean) isSupported.invoke(THREAD_MX_BEAN)) {
+                return null;
+            }
+            final Method enable = hotSpotThreadMXBean.getMethod("setThreadAllocatedMemoryEnabled", boolean.class);
+            enable.invoke(THREAD_MX_BEAN, true);
+            return method;
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException
+                | InvocationTargetException e) {
+            return null;
+        }
+    }
+}
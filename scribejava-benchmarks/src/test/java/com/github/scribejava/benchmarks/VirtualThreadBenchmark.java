@@ -0,0 +1,193 @@
+package com.github.scribejava.benchmarks;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.testserver.MockAuthorizationServer;
+import com.github.scribejava.virtualthreads.VirtualThreadHttpClient;
+import com.github.scribejava.virtualthreads.VirtualThreads;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking client credentials calls against the (slow) {@link MockAuthorizationServer} at concurrency levels far above
+ * a sensible platform thread pool size: a bounded platform pool, the blocking API on virtual threads and the async API
+ * of {@link VirtualThreadHttpClient}. Every round submits all the calls of the concurrency level at once, latency is
+ * measured from the submission, so queueing in the platform pool shows up in it.<br>
+ * The virtual thread modes need Java 21, run it with
+ * {@code mvn -B -Pbenchmark verify -DskipTests -Dbenchmark.java=/path/to/jdk21/bin/java}.
+ */
+public class VirtualThreadBenchmark {
+
+    private static final String PLATFORM_POOL = "platform-pool";
+    private static final String VIRTUAL_THREADS = "virtual-threads";
+    private static final String VIRTUAL_CLIENT = "virtual-client";
+    private static final String NO_EXCLUDED_THREADS = "\u0000";
+    private static final String HEADER_FORMAT = "%-16s %6s %10s %8s %9s %9s %9s %9s %8s%n";
+    private static final String ROW_FORMAT = "%-16s %6d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %8d%n";
+    private static final long THREAD_SAMPLING_MILLIS = 50;
+
+    private final PrintStream out;
+    private final MockAuthorizationServer server;
+    private final int platformThreads;
+    private final int rounds;
+
+    public VirtualThreadBenchmark(PrintStream out, MockAuthorizationServer server, int platformThreads, int rounds) {
+        this.out = out;
+        this.server = server;
+        this.platformThreads = platformThreads;
+        this.rounds = rounds;
+    }
+
+    public static void main(String... args) throws Exception {
+        final List<Integer> concurrencyLevels = new ArrayList<>();
+        int maxConcurrency = 1;
+        for (String level : property("benchmark.vt.concurrency", "1000,5000").split(",")) {
+            final int concurrency = Integer.parseInt(level.trim());
+            concurrencyLevels.add(concurrency);
+            maxConcurrency = Math.max(maxConcurrency, concurrency);
+        }
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(maxConcurrency));
+        }
+        try (MockAuthorizationServer server = new MockAuthorizationServer()
+                .latency(Long.parseLong(property("benchmark.vt.latencyMillis", "100")), TimeUnit.MILLISECONDS)
+                .start()) {
+            new VirtualThreadBenchmark(System.out, server,
+                    Integer.parseInt(property("benchmark.vt.platformThreads", "200")),
+                    Integer.parseInt(property("benchmark.vt.rounds", "5")))
+                    .run(concurrencyLevels);
+        }
+    }
+
+    public void run(List<Integer> concurrencyLevels) throws Exception {
+        out.printf(Locale.ROOT, "JVM %s %s, %d CPUs, virtual threads %s, platform pool of %d threads%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), VirtualThreads.isAvailable() ? "available" : "unavailable",
+                platformThreads);
+        out.printf(Locale.ROOT, HEADER_FORMAT, "mode", "conc", "ops/s", "errors", "p50 ms", "p99 ms", "p99.9 ms",
+                "max ms", "threads");
+        for (String mode : new String[]{PLATFORM_POOL, VIRTUAL_THREADS, VIRTUAL_CLIENT}) {
+            if (!PLATFORM_POOL.equals(mode) && !VirtualThreads.isAvailable()) {
+                out.printf(Locale.ROOT, "%-16s skipped, needs Java 21 or newer%n", mode);
+                continue;
+            }
+            for (int concurrency : concurrencyLevels) {
+                final HttpClientBenchmark.Result result = run(mode, concurrency);
+                out.printf(Locale.ROOT, ROW_FORMAT, mode, concurrency, result.getThroughput(), result.getErrors(),
+                        toMillis(result.percentile(50)), toMillis(result.percentile(99)),
+                        toMillis(result.percentile(99.9)), toMillis(result.percentile(100)),
+                        result.getPeakThreads());
+            }
+        }
+    }
+
+    HttpClientBenchmark.Result run(String mode, int concurrency) throws Exception {
+        final ExecutorService workers = PLATFORM_POOL.equals(mode) ? Executors.newFixedThreadPool(platformThreads)
+                : VirtualThreads.newThreadPerTaskExecutor();
+        final JDKHttpClient jdkHttpClient = new JDKHttpClient(JDKHttpClientConfig.defaultConfig());
+        final ServiceBuilder serviceBuilder = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET);
+        final boolean async = VIRTUAL_CLIENT.equals(mode);
+        serviceBuilder.httpClient(async ? new VirtualThreadHttpClient(jdkHttpClient) : jdkHttpClient);
+        try (OAuth20Service service = serviceBuilder.build(server.getApi20())) {
+            //warmup round
+            runRound(service, workers, async, concurrency, new LatencyRecorder());
+
+            final LatencyRecorder recorder = new LatencyRecorder();
+            long errors = 0;
+            int peakThreads = 0;
+            final long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                final Round result = runRound(service, workers, async, concurrency, recorder);
+                errors += result.errors;
+                peakThreads = Math.max(peakThreads, result.peakThreads);
+            }
+            final long durationMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            final List<LatencyRecorder> recorders = new ArrayList<>(1);
+            recorders.add(recorder);
+            return new HttpClientBenchmark.Result(LatencyRecorder.merge(recorders), errors, durationMillis, -1,
+                    peakThreads);
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+            server.clearTokens();
+        }
+    }
+
+    private Round runRound(final OAuth20Service service, ExecutorService workers, boolean async, int concurrency,
+            LatencyRecorder recorder) throws InterruptedException {
+        //written before the Future completes, so visible after get()
+        final long[] completed = new long[concurrency];
+        final long submitted = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            final int call = i;
+            if (async) {
+                futures.add(service.getAccessTokenClientCredentialsGrant(
+                        new OAuthAsyncRequestCallback<OAuth2AccessToken>() {
+                    @Override
+                    public void onCompleted(OAuth2AccessToken response) {
+                        completed[call] = System.nanoTime();
+                    }
+
+                    @Override
+                    public void onThrowable(Throwable t) {
+                    }
+                }));
+            } else {
+                futures.add(workers.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        final OAuth2AccessToken token = service.getAccessTokenClientCredentialsGrant();
+                        completed[call] = System.nanoTime();
+                        return token;
+                    }
+                }));
+            }
+        }
+        final Round round = new Round();
+        long nextSample = 0;
+        for (int i = 0; i < concurrency; i++) {
+            final long now = System.nanoTime();
+            if (now >= nextSample) {
+                //virtual threads are not reported by the ThreadMXBean, their carriers are
+                round.peakThreads = Math.max(round.peakThreads, ThreadStats.liveThreads(NO_EXCLUDED_THREADS));
+                nextSample = now + TimeUnit.MILLISECONDS.toNanos(THREAD_SAMPLING_MILLIS);
+            }
+            try {
+                futures.get(i).get();
+                recorder.record(completed[i] - submitted);
+            } catch (ExecutionException eE) {
+                round.errors++;
+            }
+        }
+        return round;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    private static String property(String name, String defaultValue) {
+        final String value = System.getProperty(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static class Round {
+
+        private long errors;
+        private int peakThreads;
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.scribejava.benchmarks;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.model.OAuth1AccessToken;
+import com.github.scribejava.core.model.OAuth1RequestToken;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth10aService;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.testserver.MockAuthorizationServer;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Token-fetch and signed-API-call workloads through {@link OAuth20Service} and {@link OAuth10aService}.
+ */
+enum Workload {
+    /**
+     * client_credentials grant, one request per operation
+     */
+    OAUTH2_TOKEN("oauth2-token") {
+        @Override
+        Operation createOperation(MockAuthorizationServer server, HttpClient httpClient) {
+            final OAuth20Service service = createOAuth20Service(server, httpClient);
+            return new Operation(service) {
+                @Override
+                void run() throws Exception {
+                    service.getAccessTokenClientCredentialsGrant();
+                }
+            };
+        }
+    },
+    /**
+     * Bearer signed GET of the protected resource, one request per operation
+     */
+    OAUTH2_API_CALL("oauth2-api") {
+        @Override
+        Operation createOperation(MockAuthorizationServer server, HttpClient httpClient) throws Exception {
+            final OAuth20Service service = createOAuth20Service(server, httpClient);
+            final OAuth2AccessToken accessToken = service.getAccessTokenClientCredentialsGrant();
+            final String resourceUrl = server.getResourceUrl() + "?fields=id,name";
+            return new Operation(service) {
+                @Override
+                void run() throws Exception {
+                    final OAuthRequest request = new OAuthRequest(Verb.GET, resourceUrl);
+                    service.signRequest(accessToken, request);
+                    readResponse(service.execute(request));
+                }
+            };
+        }
+    },
+    /**
+     * request token and access token, two requests per operation
+     */
+    OAUTH1_TOKEN("oauth1-token") {
+        @Override
+        Operation createOperation(MockAuthorizationServer server, HttpClient httpClient) {
+            final OAuth10aService service = createOAuth10aService(server, httpClient);
+            return new Operation(service) {
+                @Override
+                void run() throws Exception {
+                    final OAuth1RequestToken requestToken = service.getRequestToken();
+                    service.getAccessToken(requestToken, "verifier");
+                }
+            };
+        }
+    },
+    /**
+     * HMAC-SHA1 signed GET of the protected resource, one request per operation
+     */
+    OAUTH1_API_CALL("oauth1-api") {
+        @Override
+        Operation createOperation(MockAuthorizationServer server, HttpClient httpClient) throws Exception {
+            final OAuth10aService service = createOAuth10aService(server, httpClient);
+            final OAuth1AccessToken accessToken = service.getAccessToken(service.getRequestToken(), "verifier");
+            final String resourceUrl = server.getResourceUrl() + "?fields=id,name";
+            return new Operation(service) {
+                @Override
+                void run() throws Exception {
+                    final OAuthRequest request = new OAuthRequest(Verb.GET, resourceUrl);
+                    service.signRequest(accessToken, request);
+                    readResponse(service.execute(request));
+                }
+            };
+        }
+    };
+
+    private final String id;
+
+    Workload(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * @param server server
+     * @param httpClient client, closed with the returned operation
+     * @return operation, safe to run concurrently
+     * @throws Exception any problem while preparing (e.g. obtaining the access token)
+     */
+    abstract Operation createOperation(MockAuthorizationServer server, HttpClient httpClient) throws Exception;
+
+    static Workload fromId(String id) {
+        for (Workload workload : values()) {
+            if (workload.id.equals(id)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload '" + id + "'");
+    }
+
+    private static OAuth20Service createOAuth20Service(MockAuthorizationServer server, HttpClient httpClient) {
+        return new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).httpClient(httpClient)
+                .build(server.getApi20());
+    }
+
+    private static OAuth10aService createOAuth10aService(MockAuthorizationServer server, HttpClient httpClient) {
+        return new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).httpClient(httpClient)
+                .build(server.getApi10a());
+    }
+
+    private static void readResponse(Response response) throws IOException {
+        try (Response closeable = response) {
+            if (closeable.getCode() != 200) {
+                throw new IOException("Unexpected response " + closeable.getCode() + ": " + closeable.getBody());
+            }
+            closeable.getBodyAsBytes();
+        }
+    }
+
+    abstract static class Operation implements Closeable {
+
+        private final Closeable service;
+
+        Operation(Closeable service) {
+            this.service = service;
+        }
+
+        abstract void run() throws Exception;
+
+        @Override
+        public void close() throws IOException {
+            service.close();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.github.scribejava.core.batch;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs batches of requests signed with one access token ("for each of N resources sign and GET") with the async API
+ * of the service's HttpClient, keeping a bounded window of the requests in flight, see {@link BatchPolicy}. The
+ * requests are taken from the iterator lazily, so the batch may be of any size, every one of them ends up as a
+ * {@link BatchItem} (the response or the failure) delivered to the {@link BatchListener}.<br>
+ * With the async clients (ahc, ning, okhttp, apache) the thread starting the batch only sends the first window of
+ * requests, the JDK one runs the whole batch in it, one request at a time.
+ *
+ * <pre>
+ * final BatchResult result = new BatchExecutor(service, BatchPolicy.defaultPolicy().maxInFlight(32))
+ *         .execute(accessToken, requests, listener).get();
+ * </pre>
+ */
+public class BatchExecutor {
+
+    private final OAuth20Service service;
+    private final BatchPolicy policy;
+
+    public BatchExecutor(OAuth20Service service) {
+        this(service, BatchPolicy.defaultPolicy());
+    }
+
+    public BatchExecutor(OAuth20Service service, BatchPolicy policy) {
+        Preconditions.checkNotNull(service, "service can't be null");
+        Preconditions.checkNotNull(policy, "policy can't be null");
+        this.service = service;
+        this.policy = policy;
+    }
+
+    public Future<BatchResult> execute(String accessToken, Iterable<OAuthRequest> requests, BatchListener listener) {
+        Preconditions.checkNotNull(requests, "requests can't be null");
+        return execute(accessToken, requests.iterator(), listener);
+    }
+
+    /**
+     * Starts the batch.
+     *
+     * @param accessToken access token to sign every request with
+     * @param requests requests, taken as the window allows, by one thread at a time
+     * @param listener listener
+     * @return Future of the summary, completed when every sent request is delivered, failed if the iterator or the
+     * listener threw. Cancelling it cancels the requests in flight and drops their items
+     */
+    public Future<BatchResult> execute(String accessToken, Iterator<OAuthRequest> requests, BatchListener listener) {
+        Preconditions.checkNotNull(requests, "requests can't be null");
+        Preconditions.checkNotNull(listener, "listener can't be null");
+        final Batch batch = new Batch(accessToken, requests, listener);
+        batch.pump();
+        return batch;
+    }
+
+    public BatchPolicy getPolicy() {
+        return policy;
+    }
+
+    private static void closeQuietly(Response response) {
+        if (response != null) {
+            try {
+                response.close();
+            } catch (IOException ioE) {
+                //the item is delivered (or dropped), nobody reads the response anymore
+            }
+        }
+    }
+
+    private class Batch implements Future<BatchResult> {
+
+        private final String accessToken;
+        private final Iterator<OAuthRequest> requests;
+        private final BatchListener listener;
+        private final int maxInFlight = policy.getMaxInFlight();
+        private final int maxFailures = policy.getMaxFailures();
+        private final BatchOrder order = policy.getOrder();
+        /**
+         * the thread sending the requests and the count of the wake-ups it has to loop for
+         */
+        private final AtomicInteger pumping = new AtomicInteger();
+        private final Set<Item> inFlight = Collections.newSetFromMap(new ConcurrentHashMap<Item, Boolean>());
+        /**
+         * completed items waiting for the ones before them, {@link BatchOrder#SUBMISSION} only. Guards the delivery
+         */
+        private final Map<Integer, BatchItem> reorderBuffer = new HashMap<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        //guarded by this
+        private int submitted;
+        private int window;
+        private int succeeded;
+        private int failed;
+        private boolean exhausted;
+        private boolean stopped;
+        private boolean stoppedEarly;
+        //guarded by reorderBuffer
+        private int nextToDeliver;
+        private volatile BatchResult result;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        Batch(String accessToken, Iterator<OAuthRequest> requests, BatchListener listener) {
+            this.accessToken = accessToken;
+            this.requests = requests;
+            this.listener = listener;
+        }
+
+        /**
+         * Sends the requests while the window allows, then completes the batch if everything is delivered. One
+         * thread at a time, a completion in the middle (even a synchronous one, in the same thread) makes it loop once
+         * more instead of recursing.
+         */
+        void pump() {
+            if (pumping.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                Item item = nextItem();
+                while (item != null) {
+                    send(item);
+                    item = nextItem();
+                }
+                completeIfDone();
+            } while (pumping.decrementAndGet() != 0);
+        }
+
+        private synchronized Item nextItem() {
+            if (stopped || finished.get() || window >= maxInFlight) {
+                return null;
+            }
+            final OAuthRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    exhausted = true;
+                    return null;
+                }
+                request = requests.next();
+                Preconditions.checkNotNull(request, "requests can't contain null");
+            } catch (RuntimeException rE) {
+                fail(rE);
+                return null;
+            }
+            window++;
+            return new Item(submitted++, request);
+        }
+
+        private void send(Item item) {
+            inFlight.add(item);
+            try {
+                service.signRequest(accessToken, item.request);
+                item.future = service.execute(item.request, item);
+            } catch (RuntimeException rE) {
+                item.onThrowable(rE);
+                return;
+            }
+            //cancelled before the Future was known
+            if (cancelled) {
+                item.cancel();
+            }
+        }
+
+        private synchronized void fail(Throwable t) {
+            if (failure == null) {
+                failure = t;
+            }
+            stopped = true;
+        }
+
+        private synchronized void count(BatchItem item) {
+            if (item.isSuccessful()) {
+                succeeded++;
+            } else {
+                failed++;
+                if (maxFailures > 0 && failed >= maxFailures && !stopped) {
+                    stopped = true;
+                    stoppedEarly = true;
+                }
+            }
+        }
+
+        private void deliver(BatchItem item) {
+            synchronized (reorderBuffer) {
+                if (cancelled) {
+                    closeQuietly(item.getResponse());
+                    return;
+                }
+                if (order == BatchOrder.COMPLETION) {
+                    notifyListener(item);
+                    return;
+                }
+                reorderBuffer.put(item.getIndex(), item);
+                BatchItem next = reorderBuffer.remove(nextToDeliver);
+                while (next != null) {
+                    nextToDeliver++;
+                    notifyListener(next);
+                    next = reorderBuffer.remove(nextToDeliver);
+                }
+            }
+        }
+
+        private void notifyListener(BatchItem item) {
+            try {
+                //a failed batch still waits for its requests in flight, but doesn't bother the listener
+                if (failure == null) {
+                    listener.onItem(item);
+                }
+            } catch (RuntimeException rE) {
+                fail(rE);
+            }
+            closeQuietly(item.getResponse());
+            synchronized (this) {
+                window--;
+            }
+        }
+
+        private void completeIfDone() {
+            final BatchResult summary;
+            synchronized (this) {
+                if (window > 0 || !exhausted && !stopped) {
+                    return;
+                }
+                summary = new BatchResult(submitted, succeeded, failed, stoppedEarly);
+            }
+            if (finished.compareAndSet(false, true)) {
+                result = summary;
+                done.countDown();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelled = true;
+            for (Item item : inFlight) {
+                item.cancel();
+            }
+            synchronized (reorderBuffer) {
+                for (BatchItem item : reorderBuffer.values()) {
+                    closeQuietly(item.getResponse());
+                }
+                reorderBuffer.clear();
+            }
+            done.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public BatchResult get() throws InterruptedException, ExecutionException {
+            done.await();
+            return getResult();
+        }
+
+        @Override
+        public BatchResult get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+
+        private BatchResult getResult() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return result;
+        }
+
+        private class Item implements OAuthAsyncRequestCallback<Response> {
+
+            private final int index;
+            private final OAuthRequest request;
+            private final AtomicBoolean completed = new AtomicBoolean();
+            private volatile Future<Response> future;
+
+            Item(int index, OAuthRequest request) {
+                this.index = index;
+                this.request = request;
+            }
+
+            void cancel() {
+                final Future<Response> f = future;
+                if (f != null) {
+                    f.cancel(true);
+                }
+            }
+
+            @Override
+            public void onCompleted(Response response) {
+                complete(response, null);
+            }
+
+            @Override
+            public void onThrowable(Throwable t) {
+                complete(null, t);
+            }
+
+            private void complete(Response response, Throwable t) {
+                if (!completed.compareAndSet(false, true)) {
+                    closeQuietly(response);
+                    return;
+                }
+                inFlight.remove(this);
+                if (cancelled) {
+                    closeQuietly(response);
+                    return;
+                }
+                final BatchItem item = new BatchItem(index, request, response, t);
+                count(item);
+                deliver(item);
+                pump();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.scribejava.core.batch;
+
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+
+/**
+ * Outcome of one request of a batch, either the response (of any status code) or the failure.
+ */
+public class BatchItem {
+
+    private final int index;
+    private final OAuthRequest request;
+    private final Response response;
+    private final Throwable failure;
+
+    public BatchItem(int index, OAuthRequest request, Response response, Throwable failure) {
+        this.index = index;
+        this.request = request;
+        this.response = response;
+        this.failure = failure;
+    }
+
+    /**
+     * @return position of the request in the batch, from 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public OAuthRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return response, null if the request failed. Closed after {@link BatchListener#onItem(BatchItem)} returns
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * @return why the request failed, null if there is a response
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return true if there is a response with a 2xx status code
+     */
+    public boolean isSuccessful() {
+        return response != null && response.isSuccessful();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItem{index=" + index + ", code=" + (response == null ? null : response.getCode())
+                + ", failure=" + failure + '}';
+    }
+}
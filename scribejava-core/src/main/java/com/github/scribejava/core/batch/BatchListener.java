@@ -0,0 +1,15 @@
+package com.github.scribejava.core.batch;
+
+/**
+ * Receives the items of a batch run by {@link BatchExecutor}.
+ */
+public interface BatchListener {
+
+    /**
+     * Called once per item, never concurrently, from the threads completing the requests (or the one starting the
+     * batch). A RuntimeException thrown stops the batch and fails it.
+     *
+     * @param item item, its response is closed after the method returns, so the body must be read here
+     */
+    void onItem(BatchItem item);
+}
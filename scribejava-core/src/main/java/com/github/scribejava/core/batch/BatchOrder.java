@@ -0,0 +1,17 @@
+package com.github.scribejava.core.batch;
+
+/**
+ * Order {@link BatchExecutor} delivers the items of a batch to the {@link BatchListener} in.
+ */
+public enum BatchOrder {
+
+    /**
+     * Every item is delivered as soon as its response arrives.
+     */
+    COMPLETION,
+    /**
+     * The items are delivered in the order of the requests. The completed items wait for the slower ones before
+     * them and keep their slots in the window meanwhile, so one slow request holds the batch back.
+     */
+    SUBMISSION
+}
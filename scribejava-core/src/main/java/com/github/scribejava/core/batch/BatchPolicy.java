@@ -0,0 +1,73 @@
+package com.github.scribejava.core.batch;
+
+import com.github.scribejava.core.utils.Preconditions;
+
+/**
+ * How {@link BatchExecutor} runs a batch.
+ * <ul>
+ * <li>up to maxInFlight (16 by default) requests are sent and not yet delivered at any time, the next request is
+ * taken from the iterator only when a slot is freed, so a batch of any size takes maxInFlight responses of memory.
+ * The connection pool of the HttpClient should allow as many connections per host</li>
+ * <li>the items are delivered in the {@link BatchOrder} ({@link BatchOrder#COMPLETION} by default)</li>
+ * <li>after maxFailures failed items no more requests are sent, 0 (default) runs the whole batch whatever fails</li>
+ * </ul>
+ */
+public class BatchPolicy {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private BatchOrder order = BatchOrder.COMPLETION;
+    private int maxFailures;
+
+    public static BatchPolicy defaultPolicy() {
+        return new BatchPolicy();
+    }
+
+    /**
+     * @param maxInFlight size of the window of the requests sent and not yet delivered
+     * @return this
+     */
+    public BatchPolicy maxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * @param order order
+     * @return this
+     */
+    public BatchPolicy order(BatchOrder order) {
+        Preconditions.checkNotNull(order, "order can't be null");
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * @param maxFailures count of the failed items (see {@link BatchItem#isSuccessful()}) to stop the batch after, the
+     * requests already sent still complete and are delivered. 0 never stops
+     * @return this
+     */
+    public BatchPolicy maxFailures(int maxFailures) {
+        if (maxFailures < 0) {
+            throw new IllegalArgumentException("maxFailures can't be negative");
+        }
+        this.maxFailures = maxFailures;
+        return this;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public BatchOrder getOrder() {
+        return order;
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.scribejava.core.batch;
+
+/**
+ * Summary of a batch run by {@link BatchExecutor}.
+ */
+public class BatchResult {
+
+    private final int submitted;
+    private final int succeeded;
+    private final int failed;
+    private final boolean stoppedEarly;
+
+    public BatchResult(int submitted, int succeeded, int failed, boolean stoppedEarly) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.stoppedEarly = stoppedEarly;
+    }
+
+    /**
+     * @return count of the requests sent, all of them delivered
+     */
+    public int getSubmitted() {
+        return submitted;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return true if the batch reached maxFailures before the end of the requests
+     */
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{submitted=" + submitted + ", succeeded=" + succeeded + ", failed=" + failed
+                + ", stoppedEarly=" + stoppedEarly + '}';
+    }
+}
@@ -8,6 +8,7 @@ import com.github.scribejava.core.model.OAuth2AccessToken;
 import com.github.scribejava.core.model.OAuthConstants;
 import com.github.scribejava.core.model.ParameterList;
 import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.AuthorizationUrlTemplate;
 import com.github.scribejava.core.oauth.OAuth20Service;
 import com.github.scribejava.core.oauth2.bearersignature.BearerSignature;
 import com.github.scribejava.core.oauth2.bearersignature.BearerSignatureAuthorizationRequestHeaderField;
@@ -32,6 +33,21 @@ import java.util.Map;
  */
 public abstract class DefaultApi20 {
 
+    /**
+     * Whether the API class keeps the default getAuthorizationUrl, looked up by reflection once per class.
+     */
+    private static final ClassValue<Boolean> DEFAULT_AUTHORIZATION_URL = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getAuthorizationUrl", String.class, String.class, String.class, String.class,
+                        String.class, Map.class).getDeclaringClass() == DefaultApi20.class;
+            } catch (NoSuchMethodException nsme) {
+                return false;
+            }
+        }
+    };
+
     /**
      * Returns the access token extractor.
      *
@@ -73,6 +89,29 @@ public abstract class DefaultApi20 {
                 "This API doesn't support revoking tokens or we have no info about this");
     }
 
+    /**
+     * As stated in RFC 7662 OAuth 2.0 Token Introspection
+     *
+     * @return endpoint, which allows protected resources to query the authorization server whether the token is
+     * active and its meta-information.
+     * @see <a href="https://tools.ietf.org/html/rfc7662">RFC 7662</a>
+     */
+    public String getIntrospectionEndpoint() {
+        throw new UnsupportedOperationException(
+                "This API doesn't support token introspection or we have no info about this");
+    }
+
+    /**
+     * As stated in RFC 8628 OAuth 2.0 Device Authorization Grant
+     *
+     * @return endpoint, which issues the device and user codes to the input-constrained devices (TVs, CLIs)
+     * @see <a href="https://tools.ietf.org/html/rfc8628">RFC 8628</a>
+     */
+    public String getDeviceAuthorizationEndpoint() {
+        throw new UnsupportedOperationException(
+                "This API doesn't support device authorization grant or we have no info about this");
+    }
+
     protected abstract String getAuthorizationBaseUrl();
 
     /**
@@ -107,6 +146,25 @@ public abstract class DefaultApi20 {
         return parameters.appendTo(getAuthorizationBaseUrl());
     }
 
+    /**
+     * Precompiles the static part of {@link #getAuthorizationUrl(String, String, String, String, String, Map)} for one
+     * service and one scope.
+     *
+     * @param responseType responseType
+     * @param apiKey apiKey
+     * @param callback callback
+     * @param scope scope
+     * @return the template or null if this API builds the authorization URL its own way (overrides
+     * getAuthorizationUrl). In that case getAuthorizationUrl is called for every URL.
+     */
+    public AuthorizationUrlTemplate createAuthorizationUrlTemplate(String responseType, String apiKey, String callback,
+            String scope) {
+        if (!DEFAULT_AUTHORIZATION_URL.get(getClass())) {
+            return null;
+        }
+        return new AuthorizationUrlTemplate(getAuthorizationBaseUrl(), responseType, apiKey, callback, scope);
+    }
+
     public OAuth20Service createService(String apiKey, String apiSecret, String callback, String defaultScope,
             String responseType, OutputStream debugStream, String userAgent, HttpClientConfig httpClientConfig,
             HttpClient httpClient) {
@@ -0,0 +1,112 @@
+package com.github.scribejava.core.deviceauthorization;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Device Authorization Response as stated in RFC 8628, 3.2.<br>
+ * Show {@link #getUserCode()} and {@link #getVerificationUri()} to the user, then poll the token endpoint with
+ * {@link DeviceAuthorizationPoller}.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc8628#section-3.2">RFC 8628, 3.2. Device Authorization Response</a>
+ */
+public class DeviceAuthorization implements Serializable {
+
+    /**
+     * polling interval to use if the authorization server didn't return one
+     */
+    public static final int DEFAULT_INTERVAL_SECONDS = 5;
+
+    private static final long serialVersionUID = 8417291368276409123L;
+
+    private final String deviceCode;
+    private final String userCode;
+    private final String verificationUri;
+    private final String verificationUriComplete;
+    private final int expiresInSeconds;
+    private final int intervalSeconds;
+    private final String rawResponse;
+
+    public DeviceAuthorization(String deviceCode, String userCode, String verificationUri,
+            String verificationUriComplete, int expiresInSeconds, int intervalSeconds, String rawResponse) {
+        this.deviceCode = deviceCode;
+        this.userCode = userCode;
+        this.verificationUri = verificationUri;
+        this.verificationUriComplete = verificationUriComplete;
+        this.expiresInSeconds = expiresInSeconds;
+        this.intervalSeconds = intervalSeconds;
+        this.rawResponse = rawResponse;
+    }
+
+    public String getDeviceCode() {
+        return deviceCode;
+    }
+
+    public String getUserCode() {
+        return userCode;
+    }
+
+    public String getVerificationUri() {
+        return verificationUri;
+    }
+
+    /**
+     * @return verification URI with the user code included (e.g. for QR codes) or null
+     */
+    public String getVerificationUriComplete() {
+        return verificationUriComplete;
+    }
+
+    public int getExpiresInSeconds() {
+        return expiresInSeconds;
+    }
+
+    /**
+     * @return minimum amount of time in seconds the client should wait between polling requests
+     */
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public String getRawResponse() {
+        return rawResponse;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(deviceCode);
+        hash = 41 * hash + Objects.hashCode(userCode);
+        hash = 41 * hash + Objects.hashCode(verificationUri);
+        hash = 41 * hash + Objects.hashCode(verificationUriComplete);
+        hash = 41 * hash + expiresInSeconds;
+        hash = 41 * hash + intervalSeconds;
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final DeviceAuthorization other = (DeviceAuthorization) obj;
+        return expiresInSeconds == other.expiresInSeconds
+                && intervalSeconds == other.intervalSeconds
+                && Objects.equals(deviceCode, other.deviceCode)
+                && Objects.equals(userCode, other.userCode)
+                && Objects.equals(verificationUri, other.verificationUri)
+                && Objects.equals(verificationUriComplete, other.verificationUriComplete);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceAuthorization{userCode=" + userCode + ", verificationUri=" + verificationUri
+                + ", expiresInSeconds=" + expiresInSeconds + ", intervalSeconds=" + intervalSeconds + '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.scribejava.core.deviceauthorization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.extractors.OAuth2AccessTokenJsonExtractor;
+import com.github.scribejava.core.model.Response;
+import java.io.IOException;
+
+/**
+ * Parses RFC 8628 Device Authorization Response, error responses are thrown as
+ * {@link com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse}.<br>
+ * Google and Azure AD v1 still name "verification_uri" "verification_url", both are accepted.
+ */
+public class DeviceAuthorizationJsonExtractor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    protected DeviceAuthorizationJsonExtractor() {
+    }
+
+    private static class InstanceHolder {
+
+        private static final DeviceAuthorizationJsonExtractor INSTANCE = new DeviceAuthorizationJsonExtractor();
+    }
+
+    public static DeviceAuthorizationJsonExtractor instance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public DeviceAuthorization extract(Response response) throws IOException {
+        final String body = response.getBody();
+        if (response.getCode() != 200) {
+            OAuth2AccessTokenJsonExtractor.instance().generateError(body);
+        }
+        final JsonNode json = OBJECT_MAPPER.readTree(body);
+        if (json == null || !json.isObject()) {
+            throw new OAuthException("Response body is not a device authorization response: '" + body + '\'');
+        }
+        return createDeviceAuthorization(json, body);
+    }
+
+    protected DeviceAuthorization createDeviceAuthorization(JsonNode json, String rawResponse) {
+        String verificationUri = getText(json, "verification_uri");
+        if (verificationUri == null) {
+            verificationUri = getText(json, "verification_url");
+        }
+        final JsonNode interval = json.get("interval");
+        return new DeviceAuthorization(getRequiredText(json, "device_code", rawResponse),
+                getRequiredText(json, "user_code", rawResponse), verificationUri,
+                getText(json, "verification_uri_complete"), getRequired(json, "expires_in", rawResponse).asInt(),
+                interval == null || interval.isNull() ? DeviceAuthorization.DEFAULT_INTERVAL_SECONDS
+                : interval.asInt(DeviceAuthorization.DEFAULT_INTERVAL_SECONDS), rawResponse);
+    }
+
+    private static JsonNode getRequired(JsonNode json, String name, String rawResponse) {
+        final JsonNode value = json.get(name);
+        if (value == null || value.isNull()) {
+            throw new OAuthException("Response body is incorrect. Can't extract a '" + name
+                    + "' from this: '" + rawResponse + '\'');
+        }
+        return value;
+    }
+
+    private static String getRequiredText(JsonNode json, String name, String rawResponse) {
+        return getRequired(json, name, rawResponse).asText();
+    }
+
+    private static String getText(JsonNode json, String name) {
+        final JsonNode value = json.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
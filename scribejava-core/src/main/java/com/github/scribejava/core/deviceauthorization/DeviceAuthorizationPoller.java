@@ -0,0 +1,287 @@
+package com.github.scribejava.core.deviceauthorization;
+
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.oauth2.OAuth2Error;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Polls the token endpoint for any number of pending RFC 8628 device logins from one scheduler, without a sleeping
+ * thread per device.
+ * <ul>
+ * <li>every device code is polled not more often than its "interval"</li>
+ * <li>"authorization_pending" schedules the next poll, "slow_down" and failed connections (RFC 8628, 3.5) increase
+ * the device's interval by 5 seconds</li>
+ * <li>the returned Future completes with the access token, any other error response or the expiration of the device
+ * code fail it, cancelling it stops the polling</li>
+ * </ul>
+ * The polls are sent with the async API of the service's HttpClient, so with the async clients (ahc, ning, okhttp,
+ * apache) the scheduler thread only fires the requests.
+ *
+ * <pre>
+ * final DeviceAuthorization deviceAuthorization = service.getDeviceAuthorizationCodes();
+ * display(deviceAuthorization.getVerificationUri(), deviceAuthorization.getUserCode());
+ * final OAuth2AccessToken token = poller.poll(service, deviceAuthorization).get();
+ * </pre>
+ */
+public class DeviceAuthorizationPoller implements Closeable {
+
+    public static final long SLOW_DOWN_INCREMENT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final ScheduledExecutorService scheduler;
+    private final long slowDownIncrementMillis;
+    private final Set<PendingDevice> pending = Collections.newSetFromMap(
+            new ConcurrentHashMap<PendingDevice, Boolean>());
+
+    /**
+     * Uses the scheduler shared by all the default pollers, one daemon thread.
+     */
+    public DeviceAuthorizationPoller() {
+        this(DefaultSchedulerHolder.SCHEDULER, SLOW_DOWN_INCREMENT_MILLIS);
+    }
+
+    public DeviceAuthorizationPoller(ScheduledExecutorService scheduler) {
+        this(scheduler, SLOW_DOWN_INCREMENT_MILLIS);
+    }
+
+    /**
+     * @param scheduler scheduler to poll from, not shut down by {@link #close()}
+     * @param slowDownIncrementMillis how much to increase the interval on "slow_down", RFC 8628 mandates 5 seconds
+     */
+    public DeviceAuthorizationPoller(ScheduledExecutorService scheduler, long slowDownIncrementMillis) {
+        Preconditions.checkNotNull(scheduler, "scheduler can't be null");
+        if (slowDownIncrementMillis < 0) {
+            throw new IllegalArgumentException("slowDownIncrementMillis can't be negative");
+        }
+        this.scheduler = scheduler;
+        this.slowDownIncrementMillis = slowDownIncrementMillis;
+    }
+
+    public Future<OAuth2AccessToken> poll(OAuth20Service service, DeviceAuthorization deviceAuthorization) {
+        return poll(service, deviceAuthorization, null);
+    }
+
+    /**
+     * Starts polling after the device's interval.
+     *
+     * @param service service the device codes were requested with
+     * @param deviceAuthorization deviceAuthorization
+     * @param callback optional callback, not called on cancellation
+     * @return Future of the access token
+     */
+    public Future<OAuth2AccessToken> poll(OAuth20Service service, DeviceAuthorization deviceAuthorization,
+            OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+        Preconditions.checkNotNull(service, "service can't be null");
+        Preconditions.checkNotNull(deviceAuthorization, "deviceAuthorization can't be null");
+        final PendingDevice device = new PendingDevice(service, deviceAuthorization, callback);
+        pending.add(device);
+        device.schedule();
+        return device;
+    }
+
+    /**
+     * @return count of the device logins still being polled
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Cancels all the pending device logins.
+     */
+    @Override
+    public void close() {
+        for (PendingDevice device : new ArrayList<>(pending)) {
+            device.cancel(false);
+        }
+    }
+
+    private class PendingDevice implements Runnable, Future<OAuth2AccessToken>,
+            OAuthAsyncRequestCallback<OAuth2AccessToken> {
+
+        private final OAuth20Service service;
+        private final DeviceAuthorization deviceAuthorization;
+        private final OAuthAsyncRequestCallback<OAuth2AccessToken> callback;
+        private final long expiresAt;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile long intervalMillis;
+        private volatile ScheduledFuture<?> nextPoll;
+        private volatile OAuth2AccessToken accessToken;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        PendingDevice(OAuth20Service service, DeviceAuthorization deviceAuthorization,
+                OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+            this.service = service;
+            this.deviceAuthorization = deviceAuthorization;
+            this.callback = callback;
+            expiresAt = System.currentTimeMillis()
+                    + TimeUnit.SECONDS.toMillis(deviceAuthorization.getExpiresInSeconds());
+            intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(0, deviceAuthorization.getIntervalSeconds()));
+        }
+
+        void schedule() {
+            if (isDone()) {
+                return;
+            }
+            try {
+                nextPoll = scheduler.schedule(this, intervalMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException reE) {
+                fail(reE);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= expiresAt) {
+                fail(new OAuthException("device_code expired before the user authorized the device"));
+                return;
+            }
+            try {
+                service.getAccessTokenDeviceAuthorizationGrant(deviceAuthorization, this);
+            } catch (RuntimeException rE) {
+                fail(rE);
+            }
+        }
+
+        @Override
+        public void onCompleted(OAuth2AccessToken response) {
+            if (finished.compareAndSet(false, true)) {
+                accessToken = response;
+                finish();
+                if (callback != null) {
+                    callback.onCompleted(response);
+                }
+            }
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            if (t instanceof OAuth2AccessTokenErrorResponse) {
+                final OAuth2Error error = ((OAuth2AccessTokenErrorResponse) t).getError();
+                if (error == OAuth2Error.AUTHORIZATION_PENDING) {
+                    schedule();
+                    return;
+                }
+                if (error == OAuth2Error.SLOW_DOWN) {
+                    intervalMillis += slowDownIncrementMillis;
+                    schedule();
+                    return;
+                }
+            } else if (t instanceof IOException) {
+                intervalMillis += slowDownIncrementMillis;
+                schedule();
+                return;
+            }
+            fail(t);
+        }
+
+        private void fail(Throwable t) {
+            if (finished.compareAndSet(false, true)) {
+                failure = t;
+                finish();
+                if (callback != null) {
+                    callback.onThrowable(t);
+                }
+            }
+        }
+
+        private void finish() {
+            pending.remove(this);
+            done.countDown();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelled = true;
+            final ScheduledFuture<?> poll = nextPoll;
+            if (poll != null) {
+                poll.cancel(false);
+            }
+            finish();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return finished.get();
+        }
+
+        @Override
+        public OAuth2AccessToken get() throws InterruptedException, ExecutionException {
+            done.await();
+            return getResult();
+        }
+
+        @Override
+        public OAuth2AccessToken get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+
+        private OAuth2AccessToken getResult() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return accessToken;
+        }
+    }
+
+    private static class DefaultSchedulerHolder {
+
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "scribejava-device-authorization-poller");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            //cancelled logins shouldn't stay in the queue until their next poll time
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
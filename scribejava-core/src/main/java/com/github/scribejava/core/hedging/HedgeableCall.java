@@ -0,0 +1,20 @@
+package com.github.scribejava.core.hedging;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import java.util.concurrent.Future;
+
+/**
+ * Idempotent async operation {@link RequestHedger} may start twice.
+ *
+ * @param <T> result type
+ */
+public interface HedgeableCall<T> {
+
+    /**
+     * Sends a new request on every invocation.
+     *
+     * @param callback callback to complete, the result of the returned Future is not used
+     * @return Future to cancel the request with
+     */
+    Future<T> start(OAuthAsyncRequestCallback<T> callback);
+}
@@ -0,0 +1,60 @@
+package com.github.scribejava.core.hedging;
+
+/**
+ * Snapshot of the {@link RequestHedger} counters.
+ */
+public class HedgingMetrics {
+
+    private final long calls;
+    private final long hedges;
+    private final long hedgeWins;
+    private final long budgetExhausted;
+
+    public HedgingMetrics(long calls, long hedges, long hedgeWins, long budgetExhausted) {
+        this.calls = calls;
+        this.hedges = hedges;
+        this.hedgeWins = hedgeWins;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    /**
+     * @return count of the hedged operations started
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return count of the second requests sent
+     */
+    public long getHedges() {
+        return hedges;
+    }
+
+    /**
+     * @return count of the calls completed by the second request
+     */
+    public long getHedgeWins() {
+        return hedgeWins;
+    }
+
+    /**
+     * @return count of the second requests not sent, because the budget was used up
+     */
+    public long getBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    /**
+     * @return share of the hedges which completed their call, 0 without hedges
+     */
+    public double getHedgeWinRate() {
+        return hedges == 0 ? 0 : (double) hedgeWins / hedges;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingMetrics{calls=" + calls + ", hedges=" + hedges + ", hedgeWins=" + hedgeWins
+                + ", budgetExhausted=" + budgetExhausted + '}';
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.scribejava.core.hedging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When and how often {@link RequestHedger} sends the second copy of a request.
+ * <ul>
+ * <li>the hedge is sent when the first request hasn't completed after the percentile (p95 by default) of the recent
+ * latencies of the same operation, until minSamples latencies are known after the initial delay, never earlier than
+ * the min delay</li>
+ * <li>the budget caps the hedges at maxHedgeRatio (5% by default) of the calls, with bursts of up to burst hedges, so
+ * a struggling authorization server doesn't get twice the load</li>
+ * <li>refresh token requests are hedged only after {@link #hedgeRefreshTokens(boolean)}: an authorization server
+ * rotating the refresh tokens accepts the first request only and may even revoke the grant on the reuse</li>
+ * </ul>
+ */
+public class HedgingPolicy {
+
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 500;
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 5;
+    public static final int DEFAULT_MIN_SAMPLES = 20;
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+    public static final int DEFAULT_BURST = 10;
+
+    private double percentile = DEFAULT_PERCENTILE;
+    private long initialDelayMillis = DEFAULT_INITIAL_DELAY_MILLIS;
+    private long minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+    private int minSamples = DEFAULT_MIN_SAMPLES;
+    private double maxHedgeRatio = DEFAULT_MAX_HEDGE_RATIO;
+    private int burst = DEFAULT_BURST;
+    private boolean hedgeRefreshTokens;
+
+    public static HedgingPolicy defaultPolicy() {
+        return new HedgingPolicy();
+    }
+
+    /**
+     * @param percentile percentile of the recent latencies to send the hedge after, from 0 (exclusive) to 100
+     * @return this
+     */
+    public HedgingPolicy percentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be from 0 (exclusive) to 100");
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * @param initialDelay delay to send the hedge after until minSamples latencies are known
+     * @param unit unit
+     * @return this
+     */
+    public HedgingPolicy initialDelay(long initialDelay, TimeUnit unit) {
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException("initialDelay can't be negative");
+        }
+        initialDelayMillis = unit.toMillis(initialDelay);
+        return this;
+    }
+
+    /**
+     * @param minDelay lower bound of the hedge delay, keeps a fast authorization server from getting a hedge on every
+     * hiccup
+     * @param unit unit
+     * @return this
+     */
+    public HedgingPolicy minDelay(long minDelay, TimeUnit unit) {
+        if (minDelay < 0) {
+            throw new IllegalArgumentException("minDelay can't be negative");
+        }
+        minDelayMillis = unit.toMillis(minDelay);
+        return this;
+    }
+
+    /**
+     * @param minSamples count of the latencies to know before the percentile is used
+     * @return this
+     */
+    public HedgingPolicy minSamples(int minSamples) {
+        if (minSamples <= 0) {
+            throw new IllegalArgumentException("minSamples must be positive");
+        }
+        this.minSamples = minSamples;
+        return this;
+    }
+
+    /**
+     * @param maxHedgeRatio hedges per call in the long run, from 0 (never hedge) to 1 (hedge every slow call)
+     * @param burst hedges which can be sent in a row, the budget starts full
+     * @return this
+     */
+    public HedgingPolicy budget(double maxHedgeRatio, int burst) {
+        if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("maxHedgeRatio must be from 0 to 1");
+        }
+        if (burst < 0) {
+            throw new IllegalArgumentException("burst can't be negative");
+        }
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.burst = burst;
+        return this;
+    }
+
+    /**
+     * @param hedgeRefreshTokens whether the refresh token requests are hedged too, only for the authorization servers
+     * not rotating the refresh tokens
+     * @return this
+     */
+    public HedgingPolicy hedgeRefreshTokens(boolean hedgeRefreshTokens) {
+        this.hedgeRefreshTokens = hedgeRefreshTokens;
+        return this;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public boolean isHedgeRefreshTokens() {
+        return hedgeRefreshTokens;
+    }
+}
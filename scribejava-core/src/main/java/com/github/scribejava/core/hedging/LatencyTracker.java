@@ -0,0 +1,78 @@
+package com.github.scribejava.core.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the last {@link #WINDOW_SIZE} latencies of one operation. The percentile is recomputed every
+ * {@link #RECOMPUTE_INTERVAL} latencies, not on every call.
+ * <p>
+ * A request that lost to its hedge or was cancelled is a censored sample: its latency is only known to be longer than
+ * recorded. Dropping those would keep just the fast requests and shrink the delay, so the percentile is the
+ * Kaplan-Meier estimate over both kinds of samples.
+ */
+class LatencyTracker {
+
+    static final int WINDOW_SIZE = 256;
+    static final int RECOMPUTE_INTERVAL = 16;
+
+    private static final double ROUNDING_TOLERANCE = 1e-9;
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private final boolean[] censored = new boolean[WINDOW_SIZE];
+    private long count;
+    private long percentileMillis = -1;
+
+    /**
+     * @param latencyMillis latency, from the start of the first request
+     * @param isCensored true if the request didn't complete, the latency is only its lower bound
+     */
+    synchronized void record(long latencyMillis, boolean isCensored) {
+        final int slot = (int) (count % WINDOW_SIZE);
+        latencies[slot] = latencyMillis;
+        censored[slot] = isCensored;
+        count++;
+        if (count % RECOMPUTE_INTERVAL == 0) {
+            percentileMillis = -1;
+        }
+    }
+
+    /**
+     * @param policy policy
+     * @return the delay to send the hedge after
+     */
+    synchronized long getDelayMillis(HedgingPolicy policy) {
+        if (count < policy.getMinSamples()) {
+            return Math.max(policy.getMinDelayMillis(), policy.getInitialDelayMillis());
+        }
+        if (percentileMillis < 0) {
+            percentileMillis = computePercentile(policy.getPercentile() / 100);
+        }
+        return Math.max(policy.getMinDelayMillis(), percentileMillis);
+    }
+
+    /**
+     * Without censored samples the same as the nearest-rank percentile.
+     */
+    private long computePercentile(double fraction) {
+        final int size = (int) Math.min(count, WINDOW_SIZE);
+        //the lowest bit orders the completed latencies before the censored ones of the same value
+        final long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = latencies[i] << 1 | (censored[i] ? 1 : 0);
+        }
+        Arrays.sort(sorted);
+        double survival = 1;
+        int atRisk = size;
+        for (long sample : sorted) {
+            if ((sample & 1) == 0) {
+                survival *= (atRisk - 1) / (double) atRisk;
+                if (1 - survival >= fraction - ROUNDING_TOLERANCE) {
+                    return sample >>> 1;
+                }
+            }
+            atRisk--;
+        }
+        //the percentile is beyond every completed latency, the longest known lower bound is the best guess
+        return sorted[size - 1] >>> 1;
+    }
+}
@@ -0,0 +1,487 @@
+package com.github.scribejava.core.hedging;
+
+import com.github.scribejava.core.introspection.OAuth2TokenIntrospection;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.revoke.TokenTypeHint;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedged requests for the idempotent, latency critical calls of an {@link OAuth20Service}: client credentials grant,
+ * refresh token grant (opt-in, see {@link HedgingPolicy#hedgeRefreshTokens(boolean)}), token introspection and GET
+ * requests. When the request hasn't completed after the {@link HedgingPolicy} delay, a second one is sent, the first
+ * successful response completes the call and the other request is cancelled. The call fails only when both requests
+ * fail (or the first one fails before the hedge is sent).<br>
+ * The hedges are sent from the scheduler with the async API of the service's HttpClient, use it with the async
+ * clients (ahc, ning, okhttp, apache), the JDK one completes the first request before the hedge could be scheduled.
+ *
+ * <pre>
+ * final RequestHedger hedger = new RequestHedger(service, HedgingPolicy.defaultPolicy().percentile(90));
+ * final OAuth2AccessToken token = hedger.getAccessTokenClientCredentialsGrant("read");
+ * </pre>
+ */
+public class RequestHedger {
+
+    private static final String CLIENT_CREDENTIALS = "client_credentials";
+    private static final String REFRESH_TOKEN = "refresh_token";
+    private static final String INTROSPECTION = "introspection";
+    private static final String GET = "GET";
+
+    private static final int HEDGE_PENDING = 0;
+    private static final int HEDGE_SENT = 1;
+    private static final int HEDGE_SKIPPED = 2;
+
+    private final OAuth20Service service;
+    private final HedgingPolicy policy;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+    private final Object budgetLock = new Object();
+    private double budget;
+
+    public RequestHedger(OAuth20Service service) {
+        this(service, HedgingPolicy.defaultPolicy());
+    }
+
+    /**
+     * Uses the scheduler shared by all the default hedgers, one daemon thread.
+     *
+     * @param service service
+     * @param policy policy
+     */
+    public RequestHedger(OAuth20Service service, HedgingPolicy policy) {
+        this(service, policy, DefaultSchedulerHolder.SCHEDULER);
+    }
+
+    /**
+     * @param service service
+     * @param policy policy
+     * @param scheduler scheduler to send the hedges from, it should remove the cancelled tasks (most hedges are
+     * cancelled)
+     */
+    public RequestHedger(OAuth20Service service, HedgingPolicy policy, ScheduledExecutorService scheduler) {
+        Preconditions.checkNotNull(service, "service can't be null");
+        Preconditions.checkNotNull(policy, "policy can't be null");
+        Preconditions.checkNotNull(scheduler, "scheduler can't be null");
+        this.service = service;
+        this.policy = policy;
+        this.scheduler = scheduler;
+        budget = policy.getBurst();
+    }
+
+    public OAuth2AccessToken getAccessTokenClientCredentialsGrant(String scope)
+            throws IOException, InterruptedException, ExecutionException {
+        return get(getAccessTokenClientCredentialsGrant(scope, null));
+    }
+
+    public Future<OAuth2AccessToken> getAccessTokenClientCredentialsGrant(final String scope,
+            OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+        return execute(CLIENT_CREDENTIALS, new HedgeableCall<OAuth2AccessToken>() {
+            @Override
+            public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+                return service.getAccessTokenClientCredentialsGrant(scope, callback);
+            }
+        }, callback);
+    }
+
+    public OAuth2AccessToken refreshAccessToken(String refreshToken, String scope)
+            throws IOException, InterruptedException, ExecutionException {
+        return get(refreshAccessToken(refreshToken, scope, null));
+    }
+
+    /**
+     * Not hedged unless {@link HedgingPolicy#isHedgeRefreshTokens()}.
+     *
+     * @param refreshToken refreshToken
+     * @param scope optional scope
+     * @param callback optional callback
+     * @return Future
+     */
+    public Future<OAuth2AccessToken> refreshAccessToken(final String refreshToken, final String scope,
+            OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+        if (!policy.isHedgeRefreshTokens()) {
+            return service.refreshAccessToken(refreshToken, scope, callback);
+        }
+        return execute(REFRESH_TOKEN, new HedgeableCall<OAuth2AccessToken>() {
+            @Override
+            public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+                return service.refreshAccessToken(refreshToken, scope, callback);
+            }
+        }, callback);
+    }
+
+    public OAuth2TokenIntrospection introspectToken(String tokenToIntrospect)
+            throws IOException, InterruptedException, ExecutionException {
+        return get(introspectToken(tokenToIntrospect, null, null));
+    }
+
+    public Future<OAuth2TokenIntrospection> introspectToken(final String tokenToIntrospect,
+            OAuthAsyncRequestCallback<OAuth2TokenIntrospection> callback, final TokenTypeHint tokenTypeHint) {
+        return execute(INTROSPECTION, new HedgeableCall<OAuth2TokenIntrospection>() {
+            @Override
+            public Future<OAuth2TokenIntrospection> start(
+                    OAuthAsyncRequestCallback<OAuth2TokenIntrospection> callback) {
+                return service.introspectToken(tokenToIntrospect, callback, tokenTypeHint);
+            }
+        }, callback);
+    }
+
+    /**
+     * Hedged {@link OAuth20Service#execute(OAuthRequest, OAuthAsyncRequestCallback, OAuthRequest.ResponseConverter)}
+     * of a signed GET request. The response of the losing request is closed, if it completes anyway.
+     *
+     * @param <R> result type
+     * @param request GET request
+     * @param callback optional callback
+     * @param converter optional converter
+     * @return Future
+     */
+    public <R> Future<R> execute(final OAuthRequest request, OAuthAsyncRequestCallback<R> callback,
+            final OAuthRequest.ResponseConverter<R> converter) {
+        if (request.getVerb() != Verb.GET) {
+            throw new IllegalArgumentException("only GET requests can be hedged, got " + request.getVerb());
+        }
+        return execute(GET, new HedgeableCall<R>() {
+            @Override
+            public Future<R> start(OAuthAsyncRequestCallback<R> callback) {
+                return service.execute(request, callback, converter);
+            }
+        }, callback);
+    }
+
+    /**
+     * Hedges any idempotent operation, the hedge delay is computed from the latencies of the same operation.
+     *
+     * @param <T> result type
+     * @param operation name of the operation
+     * @param call call
+     * @param callback optional callback, not called on cancellation
+     * @return Future
+     */
+    public <T> Future<T> execute(String operation, HedgeableCall<T> call, OAuthAsyncRequestCallback<T> callback) {
+        Preconditions.checkNotNull(operation, "operation can't be null");
+        Preconditions.checkNotNull(call, "call can't be null");
+        LatencyTracker tracker = trackers.get(operation);
+        if (tracker == null) {
+            final LatencyTracker newTracker = new LatencyTracker();
+            tracker = trackers.putIfAbsent(operation, newTracker);
+            if (tracker == null) {
+                tracker = newTracker;
+            }
+        }
+        calls.incrementAndGet();
+        depositBudget();
+        final HedgedFuture<T> future = new HedgedFuture<>(tracker, call, callback);
+        future.start();
+        return future;
+    }
+
+    public HedgingMetrics getMetrics() {
+        return new HedgingMetrics(calls.get(), hedges.get(), hedgeWins.get(), budgetExhausted.get());
+    }
+
+    private void depositBudget() {
+        synchronized (budgetLock) {
+            budget = Math.min(policy.getBurst(), budget + policy.getMaxHedgeRatio());
+        }
+    }
+
+    private boolean withdrawBudget() {
+        synchronized (budgetLock) {
+            if (budget < 1) {
+                return false;
+            }
+            budget--;
+            return true;
+        }
+    }
+
+    private static <T> T get(Future<T> future) throws IOException, InterruptedException, ExecutionException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Object lateResult) {
+        if (lateResult instanceof Closeable) {
+            try {
+                ((Closeable) lateResult).close();
+            } catch (IOException ioE) {
+                //nobody waits for this response
+            }
+        }
+    }
+
+    private class HedgedFuture<T> implements Future<T>, Runnable {
+
+        private final LatencyTracker tracker;
+        private final HedgeableCall<T> call;
+        private final OAuthAsyncRequestCallback<T> callback;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final AtomicInteger hedgeState = new AtomicInteger(HEDGE_PENDING);
+        /**
+         * the primary request and the (maybe never sent) hedge, the call fails when both are gone
+         */
+        private final AtomicInteger remaining = new AtomicInteger(2);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final Attempt primary = new Attempt(false);
+        private final Attempt hedge = new Attempt(true);
+        private volatile ScheduledFuture<?> hedgeTimer;
+        private volatile Attempt winner;
+        private volatile T result;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        HedgedFuture(LatencyTracker tracker, HedgeableCall<T> call, OAuthAsyncRequestCallback<T> callback) {
+            this.tracker = tracker;
+            this.call = call;
+            this.callback = callback;
+        }
+
+        void start() {
+            final long delayMillis = tracker.getDelayMillis(policy);
+            primary.start();
+            if (hedgeState.get() != HEDGE_PENDING || finished.get()) {
+                return;
+            }
+            try {
+                hedgeTimer = scheduler.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException reE) {
+                skipHedge();
+                return;
+            }
+            if (hedgeState.get() != HEDGE_PENDING) {
+                hedgeTimer.cancel(false);
+            }
+        }
+
+        /**
+         * fires the hedge
+         */
+        @Override
+        public void run() {
+            if (finished.get()) {
+                skipHedge();
+                return;
+            }
+            if (!withdrawBudget()) {
+                if (hedgeState.get() == HEDGE_PENDING) {
+                    budgetExhausted.incrementAndGet();
+                }
+                skipHedge();
+                return;
+            }
+            if (hedgeState.compareAndSet(HEDGE_PENDING, HEDGE_SENT)) {
+                hedges.incrementAndGet();
+                hedge.start();
+            } else {
+                depositUnusedHedge();
+            }
+        }
+
+        private void depositUnusedHedge() {
+            synchronized (budgetLock) {
+                budget = Math.min(policy.getBurst(), budget + 1);
+            }
+        }
+
+        private void skipHedge() {
+            if (hedgeState.compareAndSet(HEDGE_PENDING, HEDGE_SKIPPED)) {
+                final ScheduledFuture<?> timer = hedgeTimer;
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                attemptFailed(null);
+            }
+        }
+
+        private void completed(Attempt attempt, T response) {
+            if (!finished.compareAndSet(false, true)) {
+                closeQuietly(response);
+                return;
+            }
+            winner = attempt;
+            result = response;
+            //time to the first success from the primary's start, the primary's own latency is longer if it lost
+            tracker.record(getElapsedMillis(), attempt != primary);
+            if (attempt == hedge) {
+                hedgeWins.incrementAndGet();
+            }
+            skipHedge();
+            (attempt == hedge ? primary : hedge).cancel();
+            try {
+                if (callback != null) {
+                    callback.onCompleted(response);
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void attemptFailed(Throwable t) {
+            if (t != null && failure == null) {
+                failure = t;
+            }
+            if (remaining.decrementAndGet() == 0 && finished.compareAndSet(false, true)) {
+                try {
+                    if (callback != null) {
+                        callback.onThrowable(failure);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelled = true;
+            //the primary took at least this long
+            tracker.record(getElapsedMillis(), true);
+            skipHedge();
+            primary.cancel();
+            hedge.cancel();
+            done.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - primary.startNanos);
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            done.await();
+            return getResult();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+
+        private T getResult() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (winner == null) {
+                throw new ExecutionException(failure);
+            }
+            return result;
+        }
+
+        private class Attempt implements OAuthAsyncRequestCallback<T> {
+
+            private final boolean isHedge;
+            private volatile long startNanos;
+            private volatile Future<T> future;
+
+            Attempt(boolean isHedge) {
+                this.isHedge = isHedge;
+            }
+
+            void start() {
+                startNanos = System.nanoTime();
+                try {
+                    future = call.start(this);
+                } catch (RuntimeException rE) {
+                    onThrowable(rE);
+                    return;
+                }
+                //lost (or cancelled) before the Future was known
+                if (finished.get() && winner != this) {
+                    future.cancel(true);
+                }
+            }
+
+            void cancel() {
+                final Future<T> f = future;
+                if (f != null) {
+                    f.cancel(true);
+                }
+            }
+
+            @Override
+            public void onCompleted(T response) {
+                completed(this, response);
+            }
+
+            @Override
+            public void onThrowable(Throwable t) {
+                if (!isHedge) {
+                    //the first request failed before the hedge was sent, not a slow one to hedge
+                    skipHedge();
+                }
+                attemptFailed(t);
+            }
+        }
+    }
+
+    private static class DefaultSchedulerHolder {
+
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "scribejava-request-hedger");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            //nearly every hedge is cancelled long before its delay
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
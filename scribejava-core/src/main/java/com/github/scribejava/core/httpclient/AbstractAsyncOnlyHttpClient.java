@@ -5,17 +5,31 @@ import com.github.scribejava.core.model.Response;
 import com.github.scribejava.core.model.Verb;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public abstract class AbstractAsyncOnlyHttpClient implements HttpClient {
 
+    /**
+     * The sync calls wait for the async ones at most this long and cancel them then. Clients bound to a per-call
+     * timeout (see {@link TimeoutAwareHttpClient}) return it.
+     *
+     * @return timeout of the sync calls, 0 for none
+     */
+    protected long getTimeoutMillis() {
+        return 0;
+    }
+
     @Override
     public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
             byte[] bodyContents) throws InterruptedException, ExecutionException, IOException {
 
-        return executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
-                (OAuthRequest.ResponseConverter<Response>) null).get();
+        return await(executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
+                (OAuthRequest.ResponseConverter<Response>) null));
     }
 
     @Override
@@ -23,23 +37,42 @@ public abstract class AbstractAsyncOnlyHttpClient implements HttpClient {
             com.github.scribejava.core.httpclient.multipart.MultipartPayload bodyContents)
             throws InterruptedException, ExecutionException, IOException {
 
-        return executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
-                (OAuthRequest.ResponseConverter<Response>) null).get();
+        return await(executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
+                (OAuthRequest.ResponseConverter<Response>) null));
     }
 
     @Override
     public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
             String bodyContents) throws InterruptedException, ExecutionException, IOException {
 
-        return executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
-                (OAuthRequest.ResponseConverter<Response>) null).get();
+        return await(executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
+                (OAuthRequest.ResponseConverter<Response>) null));
     }
 
     @Override
     public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
             File bodyContents) throws InterruptedException, ExecutionException, IOException {
 
-        return executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
-                (OAuthRequest.ResponseConverter<Response>) null).get();
+        return await(executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, null,
+                (OAuthRequest.ResponseConverter<Response>) null));
+    }
+
+    /**
+     * Aborts the call, if the waiting thread is interrupted or the timeout elapses.
+     */
+    private Response await(Future<Response> future) throws InterruptedException, ExecutionException, IOException {
+        final long timeoutMillis = getTimeoutMillis();
+        try {
+            return timeoutMillis > 0 ? future.get(timeoutMillis, TimeUnit.MILLISECONDS) : future.get();
+        } catch (InterruptedException iE) {
+            future.cancel(true);
+            throw iE;
+        } catch (TimeoutException tE) {
+            future.cancel(true);
+            final InterruptedIOException timeout
+                    = new InterruptedIOException("Call timed out after " + timeoutMillis + " ms");
+            timeout.initCause(tE);
+            throw timeout;
+        }
     }
 }
@@ -0,0 +1,227 @@
+package com.github.scribejava.core.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Content-coding negotiation shared by all the {@link HttpClient}s.<br>
+ * Clients advertise {@link #getAcceptEncoding()} (unless the request has its own Accept-Encoding header) and
+ * {@link com.github.scribejava.core.model.Response} decodes the body stream with
+ * {@link #decode(java.lang.String, java.io.InputStream)}. So the behaviour doesn't depend on whether the underlying
+ * library decompresses itself (if it does, it removes the Content-Encoding header and nothing is decoded twice).<br>
+ * gzip and deflate are always supported, br only if org.brotli:dec is on the classpath.
+ */
+public abstract class ContentEncoding {
+
+    public static final String GZIP = "gzip";
+    public static final String X_GZIP = "x-gzip";
+    public static final String DEFLATE = "deflate";
+    public static final String BROTLI = "br";
+    public static final String IDENTITY = "identity";
+
+    private static final String BROTLI_INPUT_STREAM_CLASS_NAME = "org.brotli.dec.BrotliInputStream";
+    private static final Constructor<? extends InputStream> BROTLI_INPUT_STREAM_CONSTRUCTOR
+            = findBrotliInputStreamConstructor();
+    private static final String ACCEPT_ENCODING = BROTLI_INPUT_STREAM_CONSTRUCTOR == null
+            ? GZIP + ", " + DEFLATE
+            : GZIP + ", " + DEFLATE + ", " + BROTLI;
+
+    /**
+     * @return value for the Accept-Encoding request header, e.g. "gzip, deflate, br"
+     */
+    public static String getAcceptEncoding() {
+        return ACCEPT_ENCODING;
+    }
+
+    /**
+     * @param requestHeaders headers of the request, can be null
+     * @return true if the request has its own Accept-Encoding header, in any case of the name, so the clients must not
+     * add {@link #getAcceptEncoding()}
+     */
+    public static boolean hasAcceptEncoding(Map<String, String> requestHeaders) {
+        if (requestHeaders == null) {
+            return false;
+        }
+        for (String name : requestHeaders.keySet()) {
+            if (HttpClient.ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isBrotliSupported() {
+        return BROTLI_INPUT_STREAM_CONSTRUCTOR != null;
+    }
+
+    /**
+     * Wraps the stream with the decoders for the Content-Encoding header value. Decoders are created lazily on the
+     * first read, so nothing is read from the network until the caller actually consumes the body.
+     *
+     * @param contentEncoding Content-Encoding header value, may be null or contain several codings ("gzip, br")
+     * @param stream encoded stream
+     * @return decoding stream or the same stream if there is nothing to decode or the coding is unsupported
+     */
+    public static InputStream decode(String contentEncoding, InputStream stream) {
+        if (stream == null || contentEncoding == null) {
+            return stream;
+        }
+        final List<String> codings = new ArrayList<>();
+        for (String coding : contentEncoding.split(",")) {
+            final String normalized = coding.trim().toLowerCase(Locale.ENGLISH);
+            if (normalized.isEmpty() || IDENTITY.equals(normalized)) {
+                continue;
+            }
+            if (!isSupported(normalized)) {
+                return stream;
+            }
+            codings.add(normalized);
+        }
+        return codings.isEmpty() ? stream : new LazyDecodingInputStream(stream, codings);
+    }
+
+    private static boolean isSupported(String coding) {
+        switch (coding) {
+            case GZIP:
+            case X_GZIP:
+            case DEFLATE:
+                return true;
+            case BROTLI:
+                return BROTLI_INPUT_STREAM_CONSTRUCTOR != null;
+            default:
+                return false;
+        }
+    }
+
+    private static InputStream createDecoder(String coding, InputStream stream) throws IOException {
+        switch (coding) {
+            case GZIP:
+            case X_GZIP:
+                return new GZIPInputStream(stream);
+            case DEFLATE:
+                return createInflater(stream);
+            case BROTLI:
+                return createBrotliDecoder(stream);
+            default:
+                throw new IllegalArgumentException("Unsupported content-coding: " + coding);
+        }
+    }
+
+    /**
+     * RFC 7230 deflate is zlib-wrapped, but some servers send the raw deflate, so we peek at the zlib header.
+     */
+    private static InputStream createInflater(InputStream stream) throws IOException {
+        final PushbackInputStream pushbackStream = new PushbackInputStream(stream, 2);
+        final byte[] header = new byte[2];
+        int read = 0;
+        while (read < header.length) {
+            final int count = pushbackStream.read(header, read, header.length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        if (read > 0) {
+            pushbackStream.unread(header, 0, read);
+        }
+        final boolean zlibWrapped = read == 2 && (header[0] & 0x0F) == 8
+                && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+        return new InflaterInputStream(pushbackStream, new Inflater(!zlibWrapped));
+    }
+
+    private static InputStream createBrotliDecoder(InputStream stream) throws IOException {
+        try {
+            return BROTLI_INPUT_STREAM_CONSTRUCTOR.newInstance(stream);
+        } catch (InvocationTargetException itE) {
+            final Throwable cause = itE.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Can't create brotli decoder", cause);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IOException("Can't create brotli decoder", e);
+        }
+    }
+
+    private static Constructor<? extends InputStream> findBrotliInputStreamConstructor() {
+        try {
+            return Class.forName(BROTLI_INPUT_STREAM_CLASS_NAME).asSubclass(InputStream.class)
+                    .getConstructor(InputStream.class);
+        } catch (ClassNotFoundException | NoSuchMethodException | ClassCastException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static class LazyDecodingInputStream extends InputStream {
+
+        private final InputStream encoded;
+        private final List<String> codings;
+        private InputStream decoded;
+
+        LazyDecodingInputStream(InputStream encoded, List<String> codings) {
+            this.encoded = encoded;
+            this.codings = codings;
+        }
+
+        /**
+         * codings are listed in the order they were applied, so we decode in the reverse order. Empty body (HEAD, 204,
+         * 304) is left as is, decoders would fail on it.
+         */
+        private InputStream getDecoded() throws IOException {
+            if (decoded == null) {
+                final PushbackInputStream pushbackStream = new PushbackInputStream(encoded, 1);
+                final int first = pushbackStream.read();
+                if (first < 0) {
+                    decoded = pushbackStream;
+                    return decoded;
+                }
+                pushbackStream.unread(first);
+                InputStream stream = pushbackStream;
+                for (int i = codings.size() - 1; i >= 0; i--) {
+                    stream = createDecoder(codings.get(i), stream);
+                }
+                decoded = stream;
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return getDecoded().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return getDecoded().read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return getDecoded().skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return decoded == null ? 0 : decoded.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded == null) {
+                encoded.close();
+            } else {
+                decoded.close();
+            }
+        }
+    }
+}
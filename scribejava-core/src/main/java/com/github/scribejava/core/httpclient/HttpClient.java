@@ -17,6 +17,8 @@ public interface HttpClient extends Closeable {
     String DEFAULT_CONTENT_TYPE = "application/x-www-form-urlencoded";
     String CONTENT_TYPE = "Content-Type";
     String CONTENT_LENGTH = "Content-Length";
+    String ACCEPT_ENCODING = "Accept-Encoding";
+    String CONTENT_ENCODING = "Content-Encoding";
 
     <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
             byte[] bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter);
@@ -0,0 +1,278 @@
+package com.github.scribejava.core.httpclient;
+
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reference-counted registry of the {@link HttpClient}s created from the {@link HttpClientConfig}s.<br>
+ * All the services built with equal configs share one underlying client (with all its pools and threads). The
+ * underlying client is closed, when the last service using it is closed.<br>
+ * A config is matched by its equals/hashCode at the time of {@link #acquire(HttpClientConfig)}. If you modify it
+ * afterwards, the next acquire creates a new client for the new values, the clients acquired before are still
+ * released properly.
+ */
+public class HttpClientRegistry {
+
+    private final Map<ConfigKey, SharedClient> clients = new HashMap<>();
+    private volatile List<HttpClientProvider> providers;
+
+    protected HttpClientRegistry() {
+    }
+
+    private static class InstanceHolder {
+
+        private static final HttpClientRegistry INSTANCE = new HttpClientRegistry();
+    }
+
+    public static HttpClientRegistry instance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the client for the config. Every call must be paired with the {@link HttpClient#close()} of the
+     * returned client, which releases the reference only.
+     *
+     * @param config config
+     * @return shared client or null if there is no {@link HttpClientProvider} supporting the config
+     */
+    public HttpClient acquire(HttpClientConfig config) {
+        final ConfigKey key = new ConfigKey(config);
+        synchronized (clients) {
+            final SharedClient sharedClient = clients.get(key);
+            if (sharedClient != null) {
+                sharedClient.references++;
+                return new SharedHttpClient(this, sharedClient);
+            }
+        }
+        //creating a client may start threads and pools, don't block the other configs meanwhile
+        final HttpClient client = createClient(config);
+        if (client == null) {
+            return null;
+        }
+        final SharedClient sharedClient;
+        synchronized (clients) {
+            final SharedClient winner = clients.get(key);
+            if (winner == null) {
+                sharedClient = new SharedClient(key, client);
+                clients.put(key, sharedClient);
+            } else {
+                sharedClient = winner;
+            }
+            sharedClient.references++;
+        }
+        if (sharedClient.client != client) {
+            //another thread created the client for the equal config in the meantime
+            closeQuietly(client);
+        }
+        return new SharedHttpClient(this, sharedClient);
+    }
+
+    private static void closeQuietly(HttpClient client) {
+        try {
+            client.close();
+        } catch (IOException | RuntimeException e) {
+            //the client was never used, nothing to do with its close problems
+        }
+    }
+
+    /**
+     * @return number of underlying clients currently in use
+     */
+    public int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    protected HttpClient createClient(HttpClientConfig config) {
+        for (HttpClientProvider provider : getProviders()) {
+            final HttpClient client = provider.createClient(config);
+            if (client != null) {
+                return client;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ServiceLoader lookup is expensive, it's done once.
+     *
+     * @return available providers
+     */
+    protected List<HttpClientProvider> getProviders() {
+        List<HttpClientProvider> loadedProviders = providers;
+        if (loadedProviders == null) {
+            final List<HttpClientProvider> list = new ArrayList<>();
+            for (HttpClientProvider provider : ServiceLoader.load(HttpClientProvider.class)) {
+                list.add(provider);
+            }
+            loadedProviders = Collections.unmodifiableList(list);
+            providers = loadedProviders;
+        }
+        return loadedProviders;
+    }
+
+    private void release(SharedClient sharedClient) throws IOException {
+        synchronized (clients) {
+            if (--sharedClient.references > 0) {
+                return;
+            }
+            clients.remove(sharedClient.key);
+        }
+        sharedClient.client.close();
+    }
+
+    /**
+     * Freezes the hashCode of the config, so the entry is found on release even if the config was modified in between.
+     */
+    private static class ConfigKey {
+
+        private final HttpClientConfig config;
+        private final int hash;
+
+        ConfigKey(HttpClientConfig config) {
+            this.config = config;
+            this.hash = config.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ConfigKey other = (ConfigKey) obj;
+            return hash == other.hash && config.equals(other.config);
+        }
+    }
+
+    private static class SharedClient {
+
+        private final ConfigKey key;
+        private final HttpClient client;
+        private int references;
+
+        SharedClient(ConfigKey key, HttpClient client) {
+            this.key = key;
+            this.client = client;
+        }
+    }
+
+    /**
+     * Handle to the shared client. Closing it releases the reference (only once, subsequent calls are no-op).
+     */
+    static class SharedHttpClient implements TimeoutAwareHttpClient, PriorityAwareHttpClient {
+
+        private final HttpClientRegistry registry;
+        private final SharedClient sharedClient;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        SharedHttpClient(HttpClientRegistry registry, SharedClient sharedClient) {
+            this.registry = registry;
+            this.sharedClient = sharedClient;
+        }
+
+        HttpClient getDelegate() {
+            return sharedClient.client;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed.compareAndSet(false, true)) {
+                registry.release(sharedClient);
+            }
+        }
+
+        @Override
+        public HttpClient withTimeout(long timeoutMillis) {
+            final HttpClient delegate = getDelegate();
+            return delegate instanceof TimeoutAwareHttpClient
+                    ? ((TimeoutAwareHttpClient) delegate).withTimeout(timeoutMillis) : delegate;
+        }
+
+        @Override
+        public HttpClient withPriority(RequestPriority priority) {
+            final HttpClient delegate = getDelegate();
+            return delegate instanceof PriorityAwareHttpClient
+                    ? ((PriorityAwareHttpClient) delegate).withPriority(priority) : delegate;
+        }
+
+        @Override
+        public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb,
+                String completeUrl, byte[] bodyContents, OAuthAsyncRequestCallback<T> callback,
+                OAuthRequest.ResponseConverter<T> converter) {
+            return getDelegate().executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+
+        @Override
+        public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb,
+                String completeUrl, MultipartPayload bodyContents, OAuthAsyncRequestCallback<T> callback,
+                OAuthRequest.ResponseConverter<T> converter) {
+            return getDelegate().executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+
+        @Override
+        public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb,
+                String completeUrl, String bodyContents, OAuthAsyncRequestCallback<T> callback,
+                OAuthRequest.ResponseConverter<T> converter) {
+            return getDelegate().executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+
+        @Override
+        public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb,
+                String completeUrl, File bodyContents, OAuthAsyncRequestCallback<T> callback,
+                OAuthRequest.ResponseConverter<T> converter) {
+            return getDelegate().executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+
+        @Override
+        public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+                byte[] bodyContents) throws InterruptedException, ExecutionException, IOException {
+            return getDelegate().execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+
+        @Override
+        public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+                MultipartPayload bodyContents) throws InterruptedException, ExecutionException, IOException {
+            return getDelegate().execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+
+        @Override
+        public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+                String bodyContents) throws InterruptedException, ExecutionException, IOException {
+            return getDelegate().execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+
+        @Override
+        public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+                File bodyContents) throws InterruptedException, ExecutionException, IOException {
+            return getDelegate().execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.scribejava.core.httpclient;
+
+import com.github.scribejava.core.model.RequestPriority;
+
+/**
+ * HttpClient scheduling the calls by their priority, see
+ * {@link com.github.scribejava.core.model.OAuthRequest#setPriority(RequestPriority)}.
+ */
+public interface PriorityAwareHttpClient extends HttpClient {
+
+    /**
+     * @param priority priority of every call made by the returned client
+     * @return client executing the calls over the same connections (and queues) with the priority. Closing it does
+     * nothing.
+     */
+    HttpClient withPriority(RequestPriority priority);
+}
@@ -0,0 +1,15 @@
+package com.github.scribejava.core.httpclient;
+
+/**
+ * HttpClient able to bound a single call by a timeout, see
+ * {@link com.github.scribejava.core.model.OAuthRequest#setTimeout(long, java.util.concurrent.TimeUnit)}.
+ */
+public interface TimeoutAwareHttpClient extends HttpClient {
+
+    /**
+     * @param timeoutMillis timeout of every call made by the returned client, counted from its start, &gt; 0
+     * @return client executing the calls over the same connections (and threads) with the timeout mapped to the native
+     * ones. Closing it does nothing, the calls can be cancelled via the returned Futures.
+     */
+    HttpClient withTimeout(long timeoutMillis);
+}
@@ -0,0 +1,68 @@
+package com.github.scribejava.core.httpclient.cache;
+
+import java.util.Locale;
+
+/**
+ * The Cache-Control directives {@link CachingHttpClient} understands, the rest are ignored.
+ */
+class CacheControl {
+
+    private static final CacheControl EMPTY = new CacheControl(false, false, -1);
+
+    private final boolean noStore;
+    private final boolean noCache;
+    private final long maxAgeSeconds;
+
+    private CacheControl(boolean noStore, boolean noCache, long maxAgeSeconds) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    static CacheControl parse(String header) {
+        if (header == null || header.isEmpty()) {
+            return EMPTY;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        long maxAgeSeconds = -1;
+        for (String directive : header.split(",")) {
+            final String trimmed = directive.trim().toLowerCase(Locale.ROOT);
+            if ("no-store".equals(trimmed)) {
+                noStore = true;
+            } else if (trimmed.startsWith("no-cache")) {
+                noCache = true;
+            } else if (trimmed.startsWith("max-age=")) {
+                maxAgeSeconds = parseSeconds(trimmed.substring("max-age=".length()));
+            }
+        }
+        return new CacheControl(noStore, noCache, maxAgeSeconds);
+    }
+
+    /**
+     * @param value delta-seconds, maybe quoted
+     * @return seconds, 0 for the malformed values (RFC 7234, 1.2.1: treat as stale)
+     */
+    static long parseSeconds(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.replace("\"", "").trim()));
+        } catch (NumberFormatException nfE) {
+            return 0;
+        }
+    }
+
+    boolean isNoStore() {
+        return noStore;
+    }
+
+    boolean isNoCache() {
+        return noCache;
+    }
+
+    /**
+     * @return max-age in seconds, -1 if absent
+     */
+    long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+}
@@ -0,0 +1,344 @@
+package com.github.scribejava.core.httpclient.cache;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.ResponseHeaders;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * Response stored by the {@link CachingHttpClient}: status, headers and the decoded body, along with the values of the
+ * request headers named by its Vary header and its freshness. Immutable.
+ */
+public class CachedResponse {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String RFC_1123_DATE = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+    private final int code;
+    private final String message;
+    private final SortedMap<String, List<String>> headers;
+    private final Map<String, String> varyValues;
+    private final byte[] body;
+    private final long storedAtMillis;
+    private final long freshUntilMillis;
+
+    CachedResponse(int code, String message, SortedMap<String, List<String>> headers, Map<String, String> varyValues,
+            byte[] body, long storedAtMillis, long freshUntilMillis) {
+        this.code = code;
+        this.message = message;
+        this.headers = Collections.unmodifiableSortedMap(headers);
+        this.varyValues = Collections.unmodifiableMap(varyValues);
+        this.body = body;
+        this.storedAtMillis = storedAtMillis;
+        this.freshUntilMillis = freshUntilMillis;
+    }
+
+    /**
+     * @param response response, its body is not read
+     * @param body decoded body
+     * @param varyValues values of the request headers named by the Vary header
+     * @param now time the response was received at
+     * @return entry
+     */
+    static CachedResponse of(Response response, byte[] body, Map<String, String> varyValues, long now) {
+        final SortedMap<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        putStorableHeaders(headers, response.getResponseHeaders());
+        return new CachedResponse(response.getCode(), response.getMessage(), headers, varyValues, body, now,
+                freshUntil(headers, now));
+    }
+
+    /**
+     * @param notModified 304 response to the conditional request
+     * @param now time the 304 was received at
+     * @return this entry with the headers of the 304 and the new freshness
+     */
+    CachedResponse revalidate(Response notModified, long now) {
+        final SortedMap<String, List<String>> updated = new TreeMap<>(headers);
+        putStorableHeaders(updated, notModified.getResponseHeaders());
+        return new CachedResponse(code, message, updated, varyValues, body, now, freshUntil(updated, now));
+    }
+
+    /**
+     * @param now now
+     * @return true if the entry may be served without asking the server
+     */
+    public boolean isFresh(long now) {
+        return now < freshUntilMillis;
+    }
+
+    public boolean hasValidators() {
+        return getEtag() != null || getLastModified() != null;
+    }
+
+    public String getEtag() {
+        return getHeader("ETag");
+    }
+
+    public String getLastModified() {
+        return getHeader("Last-Modified");
+    }
+
+    /**
+     * @param name name, case-insensitive
+     * @return first value of the header or null
+     */
+    public String getHeader(String name) {
+        return first(headers, name);
+    }
+
+    /**
+     * @param userAgent User-Agent of the request
+     * @param requestHeaders headers of the request
+     * @return true if the request has the same values of the headers named by the Vary header
+     */
+    boolean matches(String userAgent, Map<String, String> requestHeaders) {
+        for (Map.Entry<String, String> vary : varyValues.entrySet()) {
+            if (!Objects.equals(vary.getValue(), requestHeader(vary.getKey(), userAgent, requestHeaders))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return new Response over the stored body, the caller may read and close it as any other
+     */
+    public Response toResponse() {
+        return Response.of(code, message, ResponseHeaders.ofMultiValued(headers), new ByteArrayInputStream(body));
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return all the values of the headers, by case-insensitive name
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return lowercase names of the headers the response varies by and their values in the request
+     */
+    public Map<String, String> getVaryValues() {
+        return varyValues;
+    }
+
+    /**
+     * @return decoded body, not a copy, do not modify it
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getStoredAtMillis() {
+        return storedAtMillis;
+    }
+
+    public long getFreshUntilMillis() {
+        return freshUntilMillis;
+    }
+
+    /**
+     * @return approximate size of the entry, in bytes
+     */
+    public long getSize() {
+        long size = body.length + 64;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        for (Map.Entry<String, String> vary : varyValues.entrySet()) {
+            size += vary.getKey().length() + (vary.getValue() == null ? 0 : vary.getValue().length());
+        }
+        return size;
+    }
+
+    /**
+     * Serializes the entry, e.g. for the stores of the custom {@link ResponseCacheStore}s.
+     *
+     * @param out out
+     * @throws IOException IOException
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(code);
+        writeNullable(out, message);
+        out.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            writeNullable(out, header.getKey());
+            out.writeInt(header.getValue().size());
+            for (String value : header.getValue()) {
+                writeNullable(out, value);
+            }
+        }
+        out.writeInt(varyValues.size());
+        for (Map.Entry<String, String> vary : varyValues.entrySet()) {
+            writeNullable(out, vary.getKey());
+            writeNullable(out, vary.getValue());
+        }
+        out.writeLong(storedAtMillis);
+        out.writeLong(freshUntilMillis);
+        out.writeInt(body.length);
+        out.write(body);
+    }
+
+    /**
+     * @param in in
+     * @return entry written by {@link #writeTo(DataOutput)}
+     * @throws IOException IOException, also on an unknown format
+     */
+    public static CachedResponse readFrom(DataInput in) throws IOException {
+        final int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("unknown format version " + version);
+        }
+        final int code = in.readInt();
+        final String message = readNullable(in);
+        final SortedMap<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = in.readInt(); i > 0; i--) {
+            final String name = readNullable(in);
+            final int count = in.readInt();
+            final List<String> values = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                values.add(readNullable(in));
+            }
+            headers.put(name, Collections.unmodifiableList(values));
+        }
+        final Map<String, String> varyValues = new HashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            varyValues.put(readNullable(in), readNullable(in));
+        }
+        final long storedAtMillis = in.readLong();
+        final long freshUntilMillis = in.readLong();
+        final byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return new CachedResponse(code, message, headers, varyValues, body, storedAtMillis, freshUntilMillis);
+    }
+
+    /**
+     * @param name header name, lowercase
+     * @param userAgent User-Agent of the request, not among its headers
+     * @param requestHeaders headers of the request
+     * @return value or null
+     */
+    static String requestHeader(String name, String userAgent, Map<String, String> requestHeaders) {
+        if ("user-agent".equals(name) && userAgent != null) {
+            return userAgent;
+        }
+        if (requestHeaders == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Freshness lifetime of RFC 7234, 4.2.1: max-age less Age, otherwise Expires less Date, otherwise none (no
+     * heuristic freshness, the API responses rarely have Last-Modified worth guessing from).
+     */
+    private static long freshUntil(Map<String, List<String>> headers, long now) {
+        final CacheControl cacheControl = CacheControl.parse(first(headers, "Cache-Control"));
+        if (cacheControl.isNoCache() || cacheControl.isNoStore()) {
+            return now;
+        }
+        if (cacheControl.getMaxAgeSeconds() >= 0) {
+            final String age = first(headers, "Age");
+            final long ageSeconds = age == null ? 0 : CacheControl.parseSeconds(age);
+            return now + Math.max(0, cacheControl.getMaxAgeSeconds() - ageSeconds) * 1000;
+        }
+        final long expires = parseDate(first(headers, "Expires"));
+        final long date = parseDate(first(headers, "Date"));
+        return expires > 0 && date > 0 ? now + Math.max(0, expires - date) : now;
+    }
+
+    private static long parseDate(String value) {
+        if (value == null) {
+            return -1;
+        }
+        final SimpleDateFormat format = new SimpleDateFormat(RFC_1123_DATE, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        try {
+            return format.parse(value).getTime();
+        } catch (ParseException pE) {
+            return -1;
+        }
+    }
+
+    /**
+     * The body is stored decoded, so the encoding and the framing headers don't describe it anymore.
+     */
+    private static void putStorableHeaders(SortedMap<String, List<String>> target, ResponseHeaders headers) {
+        for (String name : headers.getNames()) {
+            if (name != null && !HttpClient.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    && !HttpClient.CONTENT_LENGTH.equalsIgnoreCase(name)
+                    && !"Transfer-Encoding".equalsIgnoreCase(name)) {
+                final List<String> values = new ArrayList<>();
+                for (String value : headers.getAll(name)) {
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                if (!values.isEmpty()) {
+                    target.put(name, Collections.unmodifiableList(values));
+                }
+            }
+        }
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        final List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Length and UTF-8 bytes, no 64 KiB limit as with {@link DataOutput#writeUTF(String)}, -1 for null.
+     */
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,482 @@
+package com.github.scribejava.core.httpclient.cache;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.PriorityAwareHttpClient;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpFuture;
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthConstants;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.ResponseHeaders;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.utils.HexEncoder;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Private HTTP cache of the GET responses in front of any HttpClient, for the APIs supporting the conditional
+ * requests (ETag, Last-Modified) and the polling integrations: a 304 is cheap and often doesn't count against the rate
+ * limit.
+ * <ul>
+ * <li>entries are keyed by the URL and the SHA-256 of the access token (the Bearer token or the oauth_token of the
+ * OAuth 1.0a header), so the users never see each other's resources, the request headers named by the Vary header of
+ * the response must match too</li>
+ * <li>the 200 responses are stored, unless "Cache-Control: no-store" or "Vary: *", when they have validators or
+ * freshness (max-age, Expires)</li>
+ * <li>a fresh entry is served without asking the server, a stale one is revalidated with If-None-Match /
+ * If-Modified-Since, and served (refreshed by the headers of the 304) on "304 Not Modified"</li>
+ * <li>requests with "Cache-Control: no-cache" always revalidate, requests with "Cache-Control: no-store" or their own
+ * conditional headers bypass the cache</li>
+ * <li>the bodies are stored decoded, up to maxEntryBytes (1 MiB by default) per response, in the
+ * {@link ResponseCacheStore} (on the heap by default). At most maxEntryBytes + 1 bytes of a body are read to find out,
+ * the bigger bodies are streamed to the caller as they come and not stored</li>
+ * </ul>
+ * The served Responses have the body as a byte stream, read and close them as usual.
+ *
+ * <pre>
+ * final OAuth20Service service = new ServiceBuilder(apiKey).apiSecret(apiSecret)
+ *         .httpClient(new CachingHttpClient(new OkHttpHttpClient(), new DiskResponseCacheStore(cacheDirectory)))
+ *         .build(GitHubApi.instance());
+ * </pre>
+ */
+public class CachingHttpClient implements TimeoutAwareHttpClient, PriorityAwareHttpClient {
+
+    public static final int DEFAULT_MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String OAUTH_TOKEN_PARAM = OAuthConstants.TOKEN + "=\"";
+
+    private final HttpClient delegate;
+    private final ResponseCacheStore store;
+    private final int maxEntryBytes;
+    private final Stats stats;
+    private final boolean view;
+
+    public CachingHttpClient(HttpClient delegate) {
+        this(delegate, new InMemoryResponseCacheStore());
+    }
+
+    public CachingHttpClient(HttpClient delegate, ResponseCacheStore store) {
+        this(delegate, store, DEFAULT_MAX_ENTRY_BYTES);
+    }
+
+    /**
+     * @param delegate client to send the calls with, closed by {@link #close()}
+     * @param store store
+     * @param maxEntryBytes larger responses are passed through, not stored
+     */
+    public CachingHttpClient(HttpClient delegate, ResponseCacheStore store, int maxEntryBytes) {
+        this(delegate, store, maxEntryBytes, new Stats(), false);
+        if (maxEntryBytes <= 0) {
+            throw new IllegalArgumentException("maxEntryBytes must be positive");
+        }
+    }
+
+    private CachingHttpClient(HttpClient delegate, ResponseCacheStore store, int maxEntryBytes, Stats stats,
+            boolean view) {
+        Preconditions.checkNotNull(delegate, "delegate can't be null");
+        Preconditions.checkNotNull(store, "store can't be null");
+        this.delegate = delegate;
+        this.store = store;
+        this.maxEntryBytes = maxEntryBytes;
+        this.stats = stats;
+        this.view = view;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!view) {
+            delegate.close();
+        }
+    }
+
+    /**
+     * @param timeoutMillis timeoutMillis
+     * @return client sharing the store of this one, over the timeout bound view of the delegate, if it supports
+     * per-call timeouts, this client otherwise
+     */
+    @Override
+    public HttpClient withTimeout(long timeoutMillis) {
+        return delegate instanceof TimeoutAwareHttpClient
+                ? new CachingHttpClient(((TimeoutAwareHttpClient) delegate).withTimeout(timeoutMillis), store,
+                        maxEntryBytes, stats, true)
+                : this;
+    }
+
+    /**
+     * @param priority priority
+     * @return client sharing the store of this one, over the priority bound view of the delegate, if it schedules by
+     * the priorities, this client otherwise
+     */
+    @Override
+    public HttpClient withPriority(RequestPriority priority) {
+        return delegate instanceof PriorityAwareHttpClient
+                ? new CachingHttpClient(((PriorityAwareHttpClient) delegate).withPriority(priority), store,
+                        maxEntryBytes, stats, true)
+                : this;
+    }
+
+    public ResponseCacheStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return count of the fresh entries served without a request
+     */
+    public long getHitCount() {
+        return stats.hits.get();
+    }
+
+    /**
+     * @return count of the entries served after a 304
+     */
+    public long getRevalidatedCount() {
+        return stats.revalidated.get();
+    }
+
+    /**
+     * @return count of the cacheable requests which got the response from the server
+     */
+    public long getMissCount() {
+        return stats.misses.get();
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final byte[] bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        if (!isCacheable(httpVerb, bodyContents == null || bodyContents.length == 0, headers)) {
+            return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+        return executeAsync(userAgent, headers, completeUrl, new AsyncCall<T>() {
+            @Override
+            public Future<T> start(Map<String, String> headers, OAuthAsyncRequestCallback<T> callback,
+                    OAuthRequest.ResponseConverter<T> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            MultipartPayload bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final String bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        if (!isCacheable(httpVerb, bodyContents == null || bodyContents.isEmpty(), headers)) {
+            return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+        return executeAsync(userAgent, headers, completeUrl, new AsyncCall<T>() {
+            @Override
+            public Future<T> start(Map<String, String> headers, OAuthAsyncRequestCallback<T> callback,
+                    OAuthRequest.ResponseConverter<T> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            File bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+        return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+    }
+
+    private <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, String completeUrl,
+            AsyncCall<T> call, OAuthAsyncRequestCallback<T> callback,
+            final OAuthRequest.ResponseConverter<T> converter) {
+        final String key = keyOf(completeUrl, headers);
+        final CachedResponse cached = lookup(key, userAgent, headers);
+        if (cached != null && isFresh(cached, headers)) {
+            stats.hits.incrementAndGet();
+            try {
+                final T t = convert(cached.toResponse(), converter);
+                if (callback != null) {
+                    callback.onCompleted(t);
+                }
+                return new JDKHttpFuture<>(t);
+            } catch (IOException | RuntimeException e) {
+                if (callback != null) {
+                    callback.onThrowable(e);
+                }
+                return new JDKHttpFuture<>(e);
+            }
+        }
+        return call.start(conditionalHeaders(headers, cached), callback, new OAuthRequest.ResponseConverter<T>() {
+            @Override
+            public T convert(Response response) throws IOException {
+                return CachingHttpClient.convert(update(key, cached, userAgent, headers, response), converter);
+            }
+        });
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            byte[] bodyContents) throws InterruptedException, ExecutionException, IOException {
+        if (!isCacheable(httpVerb, bodyContents == null || bodyContents.length == 0, headers)) {
+            return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+        final String key = keyOf(completeUrl, headers);
+        final CachedResponse cached = lookup(key, userAgent, headers);
+        if (cached != null && isFresh(cached, headers)) {
+            stats.hits.incrementAndGet();
+            return cached.toResponse();
+        }
+        return update(key, cached, userAgent, headers,
+                delegate.execute(userAgent, conditionalHeaders(headers, cached), httpVerb, completeUrl, bodyContents));
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            MultipartPayload bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            String bodyContents) throws InterruptedException, ExecutionException, IOException {
+        if (!isCacheable(httpVerb, bodyContents == null || bodyContents.isEmpty(), headers)) {
+            return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+        final String key = keyOf(completeUrl, headers);
+        final CachedResponse cached = lookup(key, userAgent, headers);
+        if (cached != null && isFresh(cached, headers)) {
+            stats.hits.incrementAndGet();
+            return cached.toResponse();
+        }
+        return update(key, cached, userAgent, headers,
+                delegate.execute(userAgent, conditionalHeaders(headers, cached), httpVerb, completeUrl, bodyContents));
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            File bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    private CachedResponse lookup(String key, String userAgent, Map<String, String> headers) {
+        final CachedResponse cached = store.get(key);
+        return cached == null || !cached.matches(userAgent, headers) ? null : cached;
+    }
+
+    /**
+     * @param key key
+     * @param cached entry the request was made conditional with, or null
+     * @param userAgent User-Agent of the request
+     * @param headers headers of the request
+     * @param response response from the server
+     * @return response to give to the caller: the refreshed entry, the stored one or the response itself
+     * @throws IOException IOException reading the body
+     */
+    private Response update(String key, CachedResponse cached, String userAgent, Map<String, String> headers,
+            Response response) throws IOException {
+        final long now = System.currentTimeMillis();
+        if (cached != null && response.getCode() == 304) {
+            stats.revalidated.incrementAndGet();
+            response.close();
+            final CachedResponse revalidated = cached.revalidate(response, now);
+            store.put(key, revalidated);
+            return revalidated.toResponse();
+        }
+        stats.misses.incrementAndGet();
+        final Map<String, String> varyValues = varyValues(response, userAgent, headers);
+        if (varyValues == null || !isStorable(response)) {
+            //a newer representation, the stale one is no good, while an error leaves it for the next revalidation
+            if (cached != null && response.getCode() == 200) {
+                store.remove(key);
+            }
+            return response;
+        }
+        final InputStream stream = response.getStream();
+        final byte[] body = stream == null ? response.getBodyAsBytes() : readAtMost(stream, maxEntryBytes + 1);
+        if (body == null) {
+            return response;
+        }
+        if (body.length > maxEntryBytes) {
+            if (cached != null) {
+                store.remove(key);
+            }
+            return stream == null ? response : withBodyPrefix(response, body, stream);
+        }
+        response.close();
+        final CachedResponse fetched = CachedResponse.of(response, body, varyValues, now);
+        if (fetched.hasValidators() || fetched.isFresh(now)) {
+            store.put(key, fetched);
+        } else if (cached != null) {
+            store.remove(key);
+        }
+        return fetched.toResponse();
+    }
+
+    /**
+     * @param stream stream
+     * @param limit limit
+     * @return the first limit bytes of the stream, fewer if it ends before
+     * @throws IOException IOException
+     */
+    private static byte[] readAtMost(InputStream stream, int limit) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(limit, BUFFER_SIZE));
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (out.size() < limit) {
+            final int read = stream.read(buffer, 0, Math.min(buffer.length, limit - out.size()));
+            if (read == -1) {
+                break;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param response response too big to be stored
+     * @param prefix the part of the decoded body already read
+     * @param rest the decoded body stream, positioned after the prefix
+     * @return the response streaming the prefix and then the rest, without the headers of the encoded body
+     */
+    private static Response withBodyPrefix(Response response, byte[] prefix, InputStream rest) {
+        final ResponseHeaders responseHeaders = response.getResponseHeaders();
+        final Map<String, List<String>> headers = new HashMap<>();
+        for (String name : responseHeaders.getNames()) {
+            if (!CONTENT_ENCODING.equalsIgnoreCase(name) && !CONTENT_LENGTH.equalsIgnoreCase(name)
+                    && !"Transfer-Encoding".equalsIgnoreCase(name)) {
+                headers.put(name, responseHeaders.getAll(name));
+            }
+        }
+        return Response.of(response.getCode(), response.getMessage(), ResponseHeaders.ofMultiValued(headers),
+                new SequenceInputStream(new ByteArrayInputStream(prefix), rest));
+    }
+
+    private boolean isStorable(Response response) {
+        if (response.getCode() != 200 || CacheControl.parse(response.getHeader("Cache-Control")).isNoStore()) {
+            return false;
+        }
+        final String contentLength = response.getHeader(CONTENT_LENGTH);
+        if (contentLength != null && response.getHeader(CONTENT_ENCODING) == null) {
+            try {
+                return Long.parseLong(contentLength.trim()) <= maxEntryBytes;
+            } catch (NumberFormatException nfE) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return values of the request headers named by the Vary header, null for "Vary: *"
+     */
+    private static Map<String, String> varyValues(Response response, String userAgent, Map<String, String> headers) {
+        final String vary = response.getHeader("Vary");
+        if (vary == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> varyValues = new HashMap<>();
+        for (String name : vary.split(",")) {
+            final String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if ("*".equals(trimmed)) {
+                return null;
+            }
+            if (!trimmed.isEmpty()) {
+                varyValues.put(trimmed, CachedResponse.requestHeader(trimmed, userAgent, headers));
+            }
+        }
+        return varyValues;
+    }
+
+    private static boolean isCacheable(Verb httpVerb, boolean withoutBody, Map<String, String> headers) {
+        return httpVerb == Verb.GET && withoutBody
+                && CachedResponse.requestHeader("if-none-match", null, headers) == null
+                && CachedResponse.requestHeader("if-modified-since", null, headers) == null
+                && !CacheControl.parse(CachedResponse.requestHeader("cache-control", null, headers)).isNoStore();
+    }
+
+    private static boolean isFresh(CachedResponse cached, Map<String, String> headers) {
+        return cached.isFresh(System.currentTimeMillis())
+                && !CacheControl.parse(CachedResponse.requestHeader("cache-control", null, headers)).isNoCache();
+    }
+
+    private static Map<String, String> conditionalHeaders(Map<String, String> headers, CachedResponse cached) {
+        if (cached == null || !cached.hasValidators()) {
+            return headers;
+        }
+        final Map<String, String> conditional = headers == null ? new HashMap<String, String>()
+                : new HashMap<>(headers);
+        if (cached.getEtag() != null) {
+            conditional.put("If-None-Match", cached.getEtag());
+        }
+        if (cached.getLastModified() != null) {
+            conditional.put("If-Modified-Since", cached.getLastModified());
+        }
+        return conditional;
+    }
+
+    private static <T> T convert(Response response, OAuthRequest.ResponseConverter<T> converter) throws IOException {
+        if (converter == null) {
+            @SuppressWarnings("unchecked")
+            final T t = (T) response;
+            return t;
+        }
+        return converter.convert(response);
+    }
+
+    /**
+     * @param url url
+     * @param headers request headers
+     * @return SHA-256 of the url and the access token, the OAuth 1.0a header changes on every request (nonce,
+     * signature), so only its oauth_token is taken
+     */
+    static String keyOf(String url, Map<String, String> headers) {
+        String credential = CachedResponse.requestHeader("authorization", null, headers);
+        if (credential != null && credential.startsWith("OAuth ")) {
+            final int tokenStart = credential.indexOf(OAUTH_TOKEN_PARAM);
+            if (tokenStart < 0) {
+                credential = null;
+            } else {
+                final int valueStart = tokenStart + OAUTH_TOKEN_PARAM.length();
+                final int valueEnd = credential.indexOf('"', valueStart);
+                credential = valueEnd < 0 ? null : credential.substring(valueStart, valueEnd);
+            }
+        }
+        final String source = credential == null ? url : url + '\n' + credential;
+        return HexEncoder.sha256(source);
+    }
+
+    private interface AsyncCall<T> {
+
+        Future<T> start(Map<String, String> headers, OAuthAsyncRequestCallback<T> callback,
+                OAuthRequest.ResponseConverter<T> converter);
+    }
+
+    /**
+     * shared by the views
+     */
+    private static class Stats {
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong revalidated = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.scribejava.core.httpclient.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ResponseCacheStore} in a directory, one file per entry, evicting the least recently used entries over
+ * maxBytes. The entries written by the previous runs are picked up, the least recently modified ones are evicted
+ * first. Only the index of the keys and the sizes is kept in memory.<br>
+ * The directory is owned by the store: don't share it between the stores and keep it private, the cached bodies are
+ * the protected resources of the users.
+ */
+public class DiskResponseCacheStore implements ResponseCacheStore {
+
+    public static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    private static final String SUFFIX = ".entry";
+    /**
+     * temp files of the puts: key.entry.N.tmp
+     */
+    private static final Pattern TEMP_FILE = Pattern.compile(".+\\.entry\\.\\d+\\.tmp");
+
+    private final File directory;
+    private final long maxBytes;
+    /**
+     * key -> file size, in the access order
+     */
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong tempFiles = new AtomicLong();
+    private long size;
+
+    public DiskResponseCacheStore(File directory) throws IOException {
+        this(directory, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param directory directory, created if missing
+     * @param maxBytes bound of the size of the entry files
+     * @throws IOException if the directory can't be created
+     */
+    public DiskResponseCacheStore(File directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("can't create the cache directory " + directory);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        loadIndex();
+    }
+
+    private void loadIndex() {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File first, File second) {
+                return Long.compare(first.lastModified(), second.lastModified());
+            }
+        });
+        synchronized (this) {
+            for (File file : files) {
+                final String name = file.getName();
+                if (name.endsWith(SUFFIX)) {
+                    index.put(name.substring(0, name.length() - SUFFIX.length()), file.length());
+                    size += file.length();
+                } else if (TEMP_FILE.matcher(name).matches()) {
+                    //left by a crash in the middle of a put
+                    file.delete();
+                }
+            }
+            evict();
+        }
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        synchronized (this) {
+            //get, not containsKey, to move it to the end of the access order
+            if (index.get(key) == null) {
+                return null;
+            }
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileOf(key))))) {
+            return CachedResponse.readFrom(in);
+        } catch (FileNotFoundException fnfE) {
+            //removed meanwhile
+            return null;
+        } catch (IOException ioE) {
+            remove(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        if (response.getSize() > maxBytes) {
+            remove(key);
+            return;
+        }
+        final File temp = new File(directory, key + SUFFIX + '.' + tempFiles.incrementAndGet() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            response.writeTo(out);
+        } catch (IOException ioE) {
+            temp.delete();
+            return;
+        }
+        synchronized (this) {
+            final File file = fileOf(key);
+            removeFromIndex(key);
+            //replaces the file atomically, but not on Windows
+            if (!temp.renameTo(file) && (!file.delete() || !temp.renameTo(file))) {
+                temp.delete();
+                return;
+            }
+            index.put(key, file.length());
+            size += file.length();
+            evict();
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        removeFromIndex(key);
+        fileOf(key).delete();
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (String key : index.keySet()) {
+            fileOf(key).delete();
+        }
+        index.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    private void removeFromIndex(String key) {
+        final Long removed = index.remove(key);
+        if (removed != null) {
+            size -= removed;
+        }
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (size > maxBytes) {
+            final Map.Entry<String, Long> entry = eldest.next();
+            size -= entry.getValue();
+            fileOf(entry.getKey()).delete();
+            eldest.remove();
+        }
+    }
+
+    private File fileOf(String key) {
+        return new File(directory, key + SUFFIX);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.scribejava.core.httpclient.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ResponseCacheStore} on the heap, evicting the least recently used entries over maxBytes.
+ */
+public class InMemoryResponseCacheStore implements ResponseCacheStore {
+
+    public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    public InMemoryResponseCacheStore() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public InMemoryResponseCacheStore(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(String key, CachedResponse response) {
+        remove(key);
+        final long entrySize = response.getSize();
+        if (entrySize > maxBytes) {
+            return;
+        }
+        entries.put(key, response);
+        size += entrySize;
+        final Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (size > maxBytes) {
+            size -= eldest.next().getValue().getSize();
+            eldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        final CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.getSize();
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
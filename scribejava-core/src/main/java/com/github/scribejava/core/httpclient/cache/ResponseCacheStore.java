@@ -0,0 +1,35 @@
+package com.github.scribejava.core.httpclient.cache;
+
+/**
+ * Size bounded storage of the {@link CachingHttpClient} entries. Implementations are thread-safe and never throw on
+ * storage problems, a failed read is a miss, a failed write is forgotten.
+ *
+ * @see InMemoryResponseCacheStore
+ * @see DiskResponseCacheStore
+ */
+public interface ResponseCacheStore {
+
+    /**
+     * @param key key, lowercase hex
+     * @return entry or null
+     */
+    CachedResponse get(String key);
+
+    /**
+     * Stores the entry, replacing the previous one, evicting the others to stay in the size bound. An entry larger
+     * than the bound is not stored.
+     *
+     * @param key key, lowercase hex
+     * @param response entry
+     */
+    void put(String key, CachedResponse response);
+
+    void remove(String key);
+
+    void clear();
+
+    /**
+     * @return size of the stored entries, in bytes
+     */
+    long getSize();
+}
@@ -0,0 +1,533 @@
+package com.github.scribejava.core.httpclient.coalescing;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.PriorityAwareHttpClient;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.ResponseHeaders;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces the identical GET and HEAD requests in flight in front of any HttpClient: the first caller sends the
+ * request, the ones asking for the same verb, complete URL, User-Agent and headers (Authorization included) before its
+ * response arrives wait for it instead of sending their own. Meant for the thundering herds, e.g. many sessions
+ * reading the same resource with the same app token at once.
+ * <ul>
+ * <li>the response body is read into memory once, every caller gets its own Response over a copy of the bytes, to
+ * read and close as usual, and its own converter and callback run on it</li>
+ * <li>a failure fails all the callers waiting for the request</li>
+ * <li>cancelling a caller's Future detaches the caller only, the request is cancelled when no caller waits for it
+ * anymore</li>
+ * <li>the OAuth 1.0a requests have a unique nonce and signature in the Authorization header, so they are never
+ * coalesced</li>
+ * </ul>
+ * The callers joining a request share its priority. Only the callers with the same per-request timeout (see
+ * {@link OAuthRequest#setTimeout(long, TimeUnit)}) join each other, so a caller's timeout bounds its wait too.
+ *
+ * <pre>
+ * final OAuth20Service service = new ServiceBuilder(apiKey).apiSecret(apiSecret)
+ *         .httpClient(new CoalescingHttpClient(new OkHttpHttpClient()))
+ *         .build(api);
+ * </pre>
+ */
+public class CoalescingHttpClient implements TimeoutAwareHttpClient, PriorityAwareHttpClient {
+
+    private final HttpClient delegate;
+    private final ConcurrentMap<String, InFlight> inFlight;
+    private final AtomicLong coalesced;
+    private final boolean view;
+    /**
+     * timeout of the view, 0 for none, part of the key
+     */
+    private final long timeoutMillis;
+
+    /**
+     * @param delegate client to send the calls with, closed by {@link #close()}
+     */
+    public CoalescingHttpClient(HttpClient delegate) {
+        this(delegate, new ConcurrentHashMap<String, InFlight>(), new AtomicLong(), false, 0);
+    }
+
+    private CoalescingHttpClient(HttpClient delegate, ConcurrentMap<String, InFlight> inFlight,
+            AtomicLong coalesced, boolean view, long timeoutMillis) {
+        Preconditions.checkNotNull(delegate, "delegate can't be null");
+        this.delegate = delegate;
+        this.inFlight = inFlight;
+        this.coalesced = coalesced;
+        this.view = view;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!view) {
+            delegate.close();
+        }
+    }
+
+    /**
+     * @param timeoutMillis timeoutMillis
+     * @return client coalescing with the calls of the same timeout, over the timeout bound view of the delegate, if
+     * it supports per-call timeouts, this client otherwise
+     */
+    @Override
+    public HttpClient withTimeout(long timeoutMillis) {
+        return delegate instanceof TimeoutAwareHttpClient
+                ? new CoalescingHttpClient(((TimeoutAwareHttpClient) delegate).withTimeout(timeoutMillis), inFlight,
+                        coalesced, true, timeoutMillis)
+                : this;
+    }
+
+    /**
+     * @param priority priority
+     * @return client coalescing with this one, over the priority bound view of the delegate, if it schedules by the
+     * priorities, this client otherwise
+     */
+    @Override
+    public HttpClient withPriority(RequestPriority priority) {
+        return delegate instanceof PriorityAwareHttpClient
+                ? new CoalescingHttpClient(((PriorityAwareHttpClient) delegate).withPriority(priority), inFlight,
+                        coalesced, true, timeoutMillis)
+                : this;
+    }
+
+    /**
+     * @return count of the calls which joined a request in flight instead of sending their own
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return count of the coalescable requests in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final byte[] bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        if (!isCoalescable(httpVerb, bodyContents == null || bodyContents.length == 0)) {
+            return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+        return executeAsync(keyOf(userAgent, headers, httpVerb, completeUrl, timeoutMillis), new AsyncCall() {
+            @Override
+            public Future<Void> start(OAuthAsyncRequestCallback<Void> callback,
+                    OAuthRequest.ResponseConverter<Void> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            MultipartPayload bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final String bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        if (!isCoalescable(httpVerb, bodyContents == null || bodyContents.isEmpty())) {
+            return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                    converter);
+        }
+        return executeAsync(keyOf(userAgent, headers, httpVerb, completeUrl, timeoutMillis), new AsyncCall() {
+            @Override
+            public Future<Void> start(OAuthAsyncRequestCallback<Void> callback,
+                    OAuthRequest.ResponseConverter<Void> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            File bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+        return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+    }
+
+    private <T> Future<T> executeAsync(String key, AsyncCall call, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        final Caller<T> caller = new Caller<>(callback, converter);
+        final InFlight leading = join(key, caller);
+        if (leading != null) {
+            leading.startAsync(call);
+        }
+        return caller;
+    }
+
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final byte[] bodyContents)
+            throws InterruptedException, ExecutionException, IOException {
+        if (!isCoalescable(httpVerb, bodyContents == null || bodyContents.length == 0)) {
+            return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+        return execute(keyOf(userAgent, headers, httpVerb, completeUrl, timeoutMillis), new SyncCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        });
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            MultipartPayload bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final String bodyContents)
+            throws InterruptedException, ExecutionException, IOException {
+        if (!isCoalescable(httpVerb, bodyContents == null || bodyContents.isEmpty())) {
+            return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        }
+        return execute(keyOf(userAgent, headers, httpVerb, completeUrl, timeoutMillis), new SyncCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        });
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            File bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    private Response execute(String key, SyncCall call) throws InterruptedException, ExecutionException, IOException {
+        final Caller<Response> caller = new Caller<>(null, null);
+        final InFlight leading = join(key, caller);
+        if (leading != null) {
+            //the leader sends the request from its own thread, as the delegate would
+            leading.startSync(call);
+        }
+        try {
+            return caller.get();
+        } catch (InterruptedException iE) {
+            caller.cancel(true);
+            throw iE;
+        } catch (ExecutionException eE) {
+            final Throwable cause = eE.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw eE;
+        }
+    }
+
+    /**
+     * @param key key
+     * @param caller caller
+     * @return the new request the caller leads and has to start, null if it joined one in flight
+     */
+    private InFlight join(String key, Caller<?> caller) {
+        while (true) {
+            final InFlight created = new InFlight(key);
+            final InFlight existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                created.attach(caller);
+                return created;
+            }
+            if (existing.attach(caller)) {
+                coalesced.incrementAndGet();
+                return null;
+            }
+            //completed meanwhile, but not yet removed
+            inFlight.remove(key, existing);
+        }
+    }
+
+    private static boolean isCoalescable(Verb httpVerb, boolean withoutBody) {
+        return (httpVerb == Verb.GET || httpVerb == Verb.HEAD) && withoutBody;
+    }
+
+    static String keyOf(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            long timeoutMillis) {
+        final StringBuilder key = new StringBuilder(httpVerb.name()).append(' ').append(completeUrl)
+                .append('\n').append(userAgent).append('\n').append(timeoutMillis);
+        if (headers != null) {
+            for (Map.Entry<String, String> header : new TreeMap<>(headers).entrySet()) {
+                key.append('\n').append(header.getKey()).append(": ").append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    private interface SyncCall {
+
+        Response execute() throws InterruptedException, ExecutionException, IOException;
+    }
+
+    private interface AsyncCall {
+
+        Future<Void> start(OAuthAsyncRequestCallback<Void> callback, OAuthRequest.ResponseConverter<Void> converter);
+    }
+
+    /**
+     * The status, the headers and the decoded body of the response, shared by the callers.
+     */
+    private static class BufferedResponse {
+
+        private final int code;
+        private final String message;
+        private final ResponseHeaders headers;
+        private final byte[] body;
+
+        BufferedResponse(Response response) throws IOException {
+            code = response.getCode();
+            message = response.getMessage();
+            final SortedMap<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            final ResponseHeaders responseHeaders = response.getResponseHeaders();
+            for (String name : responseHeaders.getNames()) {
+                //the body is decoded already
+                if (!CONTENT_ENCODING.equalsIgnoreCase(name) && !CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    copy.put(name, responseHeaders.getAll(name));
+                }
+            }
+            headers = ResponseHeaders.ofMultiValued(copy);
+            try {
+                body = response.getBodyAsBytes();
+            } finally {
+                response.close();
+            }
+        }
+
+        Response newResponse() {
+            return Response.of(code, message, headers, body == null ? null : new ByteArrayInputStream(body));
+        }
+    }
+
+    /**
+     * One request in flight and the callers waiting for it.
+     */
+    private class InFlight implements OAuthAsyncRequestCallback<Void>, OAuthRequest.ResponseConverter<Void> {
+
+        private final String key;
+        //guarded by this
+        private final List<Caller<?>> callers = new ArrayList<>();
+        private boolean completed;
+        private volatile Future<Void> future;
+
+        InFlight(String key) {
+            this.key = key;
+        }
+
+        synchronized boolean attach(Caller<?> caller) {
+            if (completed) {
+                return false;
+            }
+            callers.add(caller);
+            caller.inFlight = this;
+            return true;
+        }
+
+        void detach(Caller<?> caller) {
+            synchronized (this) {
+                if (!callers.remove(caller) || completed || !callers.isEmpty()) {
+                    return;
+                }
+                completed = true;
+            }
+            inFlight.remove(key, this);
+            final Future<Void> f = future;
+            if (f != null) {
+                f.cancel(true);
+            }
+        }
+
+        void startAsync(AsyncCall call) {
+            try {
+                future = call.start(this, this);
+            } catch (RuntimeException rE) {
+                complete(null, rE);
+                return;
+            }
+            //abandoned before the Future was known
+            synchronized (this) {
+                if (!completed || !callers.isEmpty()) {
+                    return;
+                }
+            }
+            future.cancel(true);
+        }
+
+        void startSync(SyncCall call) throws InterruptedException {
+            try {
+                complete(new BufferedResponse(call.execute()), null);
+            } catch (InterruptedException iE) {
+                complete(null, iE);
+                throw iE;
+            } catch (ExecutionException eE) {
+                complete(null, eE.getCause() == null ? eE : eE.getCause());
+            } catch (IOException | RuntimeException e) {
+                complete(null, e);
+            }
+        }
+
+        @Override
+        public Void convert(Response response) throws IOException {
+            complete(new BufferedResponse(response), null);
+            return null;
+        }
+
+        @Override
+        public void onCompleted(Void response) {
+            //completed by the converter
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            complete(null, t);
+        }
+
+        private void complete(BufferedResponse response, Throwable failure) {
+            final List<Caller<?>> waiting;
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                waiting = new ArrayList<>(callers);
+            }
+            inFlight.remove(key, this);
+            for (Caller<?> caller : waiting) {
+                caller.complete(response, failure);
+            }
+        }
+    }
+
+    /**
+     * Future of one caller, its converter and callback run on its own copy of the response.
+     */
+    private static class Caller<T> implements Future<T> {
+
+        private final OAuthAsyncRequestCallback<T> callback;
+        private final OAuthRequest.ResponseConverter<T> converter;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile InFlight inFlight;
+        private volatile T result;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        Caller(OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+            this.callback = callback;
+            this.converter = converter;
+        }
+
+        void complete(BufferedResponse response, Throwable t) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (t == null) {
+                    final Response copy = response.newResponse();
+                    @SuppressWarnings("unchecked")
+                    final T converted = converter == null ? (T) copy : converter.convert(copy);
+                    result = converted;
+                } else {
+                    failure = t;
+                }
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            }
+            try {
+                if (callback != null) {
+                    if (failure == null) {
+                        callback.onCompleted(result);
+                    } else {
+                        callback.onThrowable(failure);
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelled = true;
+            done.countDown();
+            final InFlight joined = inFlight;
+            if (joined != null) {
+                joined.detach(this);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            done.await();
+            return getResult();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+
+        private T getResult() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return result;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.github.scribejava.core.httpclient.jdk;
 
 import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.httpclient.ContentEncoding;
 import com.github.scribejava.core.httpclient.multipart.BodyPartPayload;
-import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
 import com.github.scribejava.core.httpclient.multipart.ByteArrayBodyPartPayload;
 import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
@@ -15,30 +16,49 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.net.UnknownHostException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-public class JDKHttpClient implements HttpClient {
+public class JDKHttpClient implements TimeoutAwareHttpClient {
 
     private final JDKHttpClientConfig config;
+    private final long timeoutMillis;
 
     public JDKHttpClient() {
         this(JDKHttpClientConfig.defaultConfig());
     }
 
     public JDKHttpClient(JDKHttpClientConfig clientConfig) {
+        this(clientConfig, 0);
+    }
+
+    private JDKHttpClient(JDKHttpClientConfig clientConfig, long timeoutMillis) {
         config = clientConfig;
+        this.timeoutMillis = timeoutMillis;
     }
 
     @Override
     public void close() {
     }
 
+    /**
+     * The timeout bounds the connect timeout and every read, the read timeout of the response is shortened to the time
+     * left after the request is sent.
+     *
+     * @param timeoutMillis timeoutMillis
+     * @return client with the timeout
+     */
+    @Override
+    public JDKHttpClient withTimeout(long timeoutMillis) {
+        return new JDKHttpClient(config, timeoutMillis);
+    }
+
     @Override
     public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
             byte[] bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
@@ -115,14 +135,20 @@ public class JDKHttpClient implements HttpClient {
 
     private Response doExecute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
             BodyType bodyType, Object bodyContents) throws IOException {
+        final long start = System.nanoTime();
         final HttpURLConnection connection = (HttpURLConnection) new URL(completeUrl).openConnection();
         connection.setInstanceFollowRedirects(config.isFollowRedirects());
         connection.setRequestMethod(httpVerb.name());
-        if (config.getConnectTimeout() != null) {
-            connection.setConnectTimeout(config.getConnectTimeout());
-        }
-        if (config.getReadTimeout() != null) {
-            connection.setReadTimeout(config.getReadTimeout());
+        if (timeoutMillis > 0) {
+            connection.setConnectTimeout(shorten(config.getConnectTimeout(), timeoutMillis));
+            connection.setReadTimeout(shorten(config.getReadTimeout(), timeoutMillis));
+        } else {
+            if (config.getConnectTimeout() != null) {
+                connection.setConnectTimeout(config.getConnectTimeout());
+            }
+            if (config.getReadTimeout() != null) {
+                connection.setReadTimeout(config.getReadTimeout());
+            }
         }
         addHeaders(connection, headers, userAgent);
         if (httpVerb.isPermitBody()) {
@@ -131,8 +157,17 @@ public class JDKHttpClient implements HttpClient {
 
         try {
             connection.connect();
+            if (timeoutMillis > 0) {
+                final long left = timeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (left <= 0) {
+                    connection.disconnect();
+                    throw new SocketTimeoutException("Call timed out after " + timeoutMillis + " ms");
+                }
+                connection.setReadTimeout(shorten(config.getReadTimeout(), left));
+            }
             final int responseCode = connection.getResponseCode();
-            return new Response(responseCode, connection.getResponseMessage(), parseHeaders(connection),
+            return Response.of(responseCode, connection.getResponseMessage(),
+                    new JDKResponseHeaders(connection),
                     responseCode >= 200 && responseCode < 400 ? connection.getInputStream()
                             : connection.getErrorStream());
         } catch (UnknownHostException e) {
@@ -140,6 +175,16 @@ public class JDKHttpClient implements HttpClient {
         }
     }
 
+    /**
+     * @param configured configured timeout, null or 0 for none
+     * @param timeoutMillis per-call timeout
+     * @return the shorter one
+     */
+    private static int shorten(Integer configured, long timeoutMillis) {
+        final int timeout = (int) Math.min(timeoutMillis, Integer.MAX_VALUE);
+        return configured == null || configured == 0 ? timeout : Math.min(configured, timeout);
+    }
+
     private enum BodyType {
         BYTE_ARRAY {
             @Override
@@ -164,26 +209,15 @@ public class JDKHttpClient implements HttpClient {
                 throws IOException;
     }
 
-    private static Map<String, String> parseHeaders(HttpURLConnection conn) {
-        final Map<String, String> headers = new HashMap<>();
-
-        for (Map.Entry<String, List<String>> headerField : conn.getHeaderFields().entrySet()) {
-            final String key = headerField.getKey();
-            final String value = headerField.getValue().get(0);
-            if ("Content-Encoding".equalsIgnoreCase(key)) {
-                headers.put("Content-Encoding", value);
-            } else {
-                headers.put(key, value);
-            }
-        }
-        return headers;
-    }
-
     private static void addHeaders(HttpURLConnection connection, Map<String, String> headers, String userAgent) {
         for (Map.Entry<String, String> header : headers.entrySet()) {
             connection.setRequestProperty(header.getKey(), header.getValue());
         }
 
+        if (!ContentEncoding.hasAcceptEncoding(headers)) {
+            connection.setRequestProperty(ACCEPT_ENCODING, ContentEncoding.getAcceptEncoding());
+        }
+
         if (userAgent != null) {
             connection.setRequestProperty(OAuthConstants.USER_AGENT_HEADER_NAME, userAgent);
         }
@@ -1,6 +1,7 @@
 package com.github.scribejava.core.httpclient.jdk;
 
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import java.util.Objects;
 
 public class JDKHttpClientConfig implements HttpClientConfig {
 
@@ -49,4 +50,26 @@ public class JDKHttpClientConfig implements HttpClientConfig {
     public void setFollowRedirects(boolean followRedirects) {
         this.followRedirects = followRedirects;
     }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(connectTimeout);
+        hash = 41 * hash + Objects.hashCode(readTimeout);
+        hash = 41 * hash + (followRedirects ? 1 : 0);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final JDKHttpClientConfig other = (JDKHttpClientConfig) obj;
+        return followRedirects == other.followRedirects && Objects.equals(connectTimeout, other.connectTimeout)
+                && Objects.equals(readTimeout, other.readTimeout);
+    }
 }
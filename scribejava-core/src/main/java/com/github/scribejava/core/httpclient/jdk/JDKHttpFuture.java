@@ -7,7 +7,9 @@ import java.util.concurrent.TimeoutException;
 
 /**
  * Fake Future. Just to have Future API for the default JDK Http client. It's NOT Async in any way. Just facade.<br>
- * That's it. Sync execution with Async methods. This class does NOT provide any async executions.
+ * That's it. Sync execution with Async methods. This class does NOT provide any async executions.<br>
+ * The call is over by the time the Future is returned, so there is nothing to cancel or to wait for. Bound the call
+ * itself by {@link com.github.scribejava.core.model.OAuthRequest#setTimeout(long, TimeUnit)}.
  */
 public class JDKHttpFuture<V> implements Future<V> {
 
@@ -51,6 +53,16 @@ public class JDKHttpFuture<V> implements Future<V> {
         return response;
     }
 
+    /**
+     * Never blocks, the Future is always done.
+     *
+     * @param timeout ignored
+     * @param unit ignored
+     * @return result
+     * @throws InterruptedException never
+     * @throws ExecutionException if the call failed
+     * @throws TimeoutException never
+     */
     @Override
     public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
         return get();
@@ -0,0 +1,63 @@
+package com.github.scribejava.core.httpclient.jdk;
+
+import com.github.scribejava.core.model.ResponseHeaders;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Looks the headers up by index in the {@link HttpURLConnection}, in the received order. Its
+ * {@link HttpURLConnection#getHeaderFields()} lists the values of a header last received first and
+ * {@link HttpURLConnection#getHeaderField(String)} returns the last one.
+ */
+class JDKResponseHeaders extends ResponseHeaders {
+
+    private final HttpURLConnection connection;
+
+    JDKResponseHeaders(HttpURLConnection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public String getFirst(String name) {
+        //0 is the status line, with the null key
+        for (int i = 1;; i++) {
+            final String key = connection.getHeaderFieldKey(i);
+            if (key == null) {
+                return null;
+            }
+            if (name.equalsIgnoreCase(key)) {
+                return connection.getHeaderField(i);
+            }
+        }
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        final List<String> values = new ArrayList<>();
+        for (int i = 1;; i++) {
+            final String key = connection.getHeaderFieldKey(i);
+            if (key == null) {
+                return Collections.unmodifiableList(values);
+            }
+            if (name.equalsIgnoreCase(key)) {
+                values.add(connection.getHeaderField(i));
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getNames() {
+        final Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 1;; i++) {
+            final String key = connection.getHeaderFieldKey(i);
+            if (key == null) {
+                return Collections.unmodifiableSet(names);
+            }
+            names.add(key);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+/**
+ * {@link LimitAlgorithm#AIMD}.
+ */
+class AimdLimit extends ConcurrencyLimit {
+
+    private final long slowCallThresholdNanos;
+
+    AimdLimit(ConcurrencyLimiterConfig config) {
+        super(config);
+        slowCallThresholdNanos = config.getSlowCallThresholdNanos();
+    }
+
+    @Override
+    double nextLimit(double limit, long rttNanos, int inFlight) {
+        if (rttNanos > slowCallThresholdNanos) {
+            return backOff(limit);
+        }
+        //grow only while the limit is really used, an idle client would grow it to the max
+        return inFlight * 2 >= limit ? limit + 1 : limit;
+    }
+}
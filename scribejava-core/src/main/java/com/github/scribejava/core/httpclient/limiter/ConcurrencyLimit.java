@@ -0,0 +1,48 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+/**
+ * Concurrency limit of one endpoint. Not thread safe, {@link EndpointLimiter} guards it.
+ */
+abstract class ConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private double limit;
+
+    ConcurrencyLimit(ConcurrencyLimiterConfig config) {
+        minLimit = config.getMinLimit();
+        maxLimit = config.getMaxLimit();
+        backoffRatio = config.getBackoffRatio();
+        limit = config.getInitialLimit();
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @param rttNanos round trip time of the call
+     * @param inFlight calls in flight when the call was sent, including it
+     * @param overloaded whether the call failed or was answered with 429 or 503
+     */
+    void onSample(long rttNanos, int inFlight, boolean overloaded) {
+        setLimit(overloaded ? backOff(limit) : nextLimit(limit, rttNanos, inFlight));
+    }
+
+    /**
+     * @param limit current limit
+     * @param rttNanos round trip time of the successful call
+     * @param inFlight calls in flight when the call was sent, including it
+     * @return new limit, bounded by min and max afterwards
+     */
+    abstract double nextLimit(double limit, long rttNanos, int inFlight);
+
+    double backOff(double limit) {
+        return limit * backoffRatio;
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import java.io.IOException;
+
+/**
+ * The call was not sent: the endpoint had as many calls in flight as its concurrency limit allows and the queue was
+ * full or the call waited in it too long.
+ */
+public class ConcurrencyLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = -3964107235373846093L;
+
+    private final String endpoint;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String endpoint, int limit) {
+        super("concurrency limit " + limit + " of " + endpoint + " exceeded");
+        this.endpoint = endpoint;
+        this.limit = limit;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
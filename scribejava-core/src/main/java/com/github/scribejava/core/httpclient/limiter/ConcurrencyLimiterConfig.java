@@ -0,0 +1,171 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import com.github.scribejava.core.model.RequestPriority;
+import com.github.scribejava.core.utils.Preconditions;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of {@link ConcurrencyLimitingHttpClient}, shared by all the endpoints, every endpoint adjusts its own limit.
+ * <ul>
+ * <li>the limit starts at initialLimit (20 by default) and stays from minLimit (1) to maxLimit (200)</li>
+ * <li>on overload the limit is multiplied by the backoffRatio (0.9)</li>
+ * <li>up to maxQueueSize (100) calls of every {@link RequestPriority} over the limit wait for a free slot, at most
+ * maxQueueTime (1 second), then (or when the queue is full) they fail fast with
+ * {@link ConcurrencyLimitExceededException}, 0 sheds every call over the limit</li>
+ * <li>the free slots go to the queues in proportion to the priority weights, 8 for TOKEN, 4 for INTERACTIVE and 1 for
+ * BACKGROUND by default, so the token requests (most of them) go first, yet the background calls aren't starved</li>
+ * </ul>
+ */
+public class ConcurrencyLimiterConfig {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final long DEFAULT_SLOW_CALL_THRESHOLD_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+    public static final long DEFAULT_MAX_QUEUE_TIME_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    public static final int DEFAULT_TOKEN_WEIGHT = 8;
+    public static final int DEFAULT_INTERACTIVE_WEIGHT = 4;
+    public static final int DEFAULT_BACKGROUND_WEIGHT = 1;
+
+    private final Map<RequestPriority, Integer> priorityWeights = new EnumMap<>(RequestPriority.class);
+    private LimitAlgorithm algorithm = LimitAlgorithm.GRADIENT;
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+    private long slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_CALL_THRESHOLD_MILLIS);
+    private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    private long maxQueueTimeNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_QUEUE_TIME_MILLIS);
+
+    public ConcurrencyLimiterConfig() {
+        priorityWeights.put(RequestPriority.TOKEN, DEFAULT_TOKEN_WEIGHT);
+        priorityWeights.put(RequestPriority.INTERACTIVE, DEFAULT_INTERACTIVE_WEIGHT);
+        priorityWeights.put(RequestPriority.BACKGROUND, DEFAULT_BACKGROUND_WEIGHT);
+    }
+
+    public static ConcurrencyLimiterConfig defaultConfig() {
+        return new ConcurrencyLimiterConfig();
+    }
+
+    /**
+     * @param algorithm {@link LimitAlgorithm#GRADIENT} by default
+     * @return this
+     */
+    public ConcurrencyLimiterConfig algorithm(LimitAlgorithm algorithm) {
+        Preconditions.checkNotNull(algorithm, "algorithm can't be null");
+        this.algorithm = algorithm;
+        return this;
+    }
+
+    /**
+     * @param initialLimit initialLimit
+     * @param minLimit minLimit
+     * @param maxLimit maxLimit, the connection pool of the underlying HttpClient should allow as many connections per
+     * host
+     * @return this
+     */
+    public ConcurrencyLimiterConfig limits(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("1 <= minLimit <= initialLimit <= maxLimit must hold");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    /**
+     * @param backoffRatio factor to decrease the limit by on overload, from 0.5 to 1 (exclusive)
+     * @return this
+     */
+    public ConcurrencyLimiterConfig backoffRatio(double backoffRatio) {
+        if (backoffRatio < 0.5 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be from 0.5 to 1 (exclusive)");
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * @param slowCallThreshold {@link LimitAlgorithm#AIMD} backs off on the slower calls too
+     * @param unit unit
+     * @return this
+     */
+    public ConcurrencyLimiterConfig slowCallThreshold(long slowCallThreshold, TimeUnit unit) {
+        if (slowCallThreshold <= 0) {
+            throw new IllegalArgumentException("slowCallThreshold must be positive");
+        }
+        slowCallThresholdNanos = unit.toNanos(slowCallThreshold);
+        return this;
+    }
+
+    /**
+     * @param maxQueueSize calls of every priority over the limit allowed to wait per endpoint, 0 to fail them right
+     * away
+     * @param maxQueueTime how long they may wait
+     * @param unit unit
+     * @return this
+     */
+    public ConcurrencyLimiterConfig queue(int maxQueueSize, long maxQueueTime, TimeUnit unit) {
+        if (maxQueueSize < 0 || maxQueueTime < 0) {
+            throw new IllegalArgumentException("maxQueueSize and maxQueueTime can't be negative");
+        }
+        this.maxQueueSize = maxQueueSize;
+        maxQueueTimeNanos = unit.toNanos(maxQueueTime);
+        return this;
+    }
+
+    /**
+     * @param priority priority
+     * @param weight share of the free slots the queued calls of the priority get, relative to the others
+     * @return this
+     */
+    public ConcurrencyLimiterConfig priorityWeight(RequestPriority priority, int weight) {
+        Preconditions.checkNotNull(priority, "priority can't be null");
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive");
+        }
+        priorityWeights.put(priority, weight);
+        return this;
+    }
+
+    public LimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public long getSlowCallThresholdNanos() {
+        return slowCallThresholdNanos;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public long getMaxQueueTimeNanos() {
+        return maxQueueTimeNanos;
+    }
+
+    public int getPriorityWeight(RequestPriority priority) {
+        return priorityWeights.get(priority);
+    }
+}
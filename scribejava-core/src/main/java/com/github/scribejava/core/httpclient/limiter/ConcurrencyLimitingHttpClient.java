@@ -0,0 +1,490 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.PriorityAwareHttpClient;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adaptive concurrency limit in front of any HttpClient, instead of tuning the pool sizes of the clients by hand. Every
+ * endpoint (scheme, host and port) gets its own limit of the calls in flight, adjusted after every call from its round
+ * trip time and the overload signals (IOExceptions, 429 and 503 responses) by the {@link LimitAlgorithm}, see
+ * {@link ConcurrencyLimiterConfig}.<br>
+ * The calls over the limit wait in a bounded queue or fail fast with {@link ConcurrencyLimitExceededException}, so a
+ * slow authorization server doesn't pile up the threads and connections of its callers. The sync calls wait in the
+ * calling thread, the queued async calls are sent from the thread completing another call of the same endpoint, or
+ * fail from the limiter's scheduler thread when they wait longer than maxQueueTime.<br>
+ * When the limit is reached, the {@link OAuthRequest#setPriority(RequestPriority) priorities} of the requests decide
+ * which queued calls go first, see {@link ConcurrencyLimiterConfig#priorityWeight(RequestPriority, int)}.
+ *
+ * <pre>
+ * final OAuth20Service service = new ServiceBuilder(apiKey).apiSecret(apiSecret)
+ *         .httpClient(new ConcurrencyLimitingHttpClient(new OkHttpHttpClient()))
+ *         .build(api);
+ * </pre>
+ */
+public class ConcurrencyLimitingHttpClient implements TimeoutAwareHttpClient, PriorityAwareHttpClient {
+
+    private final HttpClient delegate;
+    private final ConcurrencyLimiterConfig config;
+    private final ConcurrentMap<String, EndpointLimiter> limiters;
+    private final RequestPriority priority;
+    private final boolean view;
+
+    public ConcurrencyLimitingHttpClient(HttpClient delegate) {
+        this(delegate, ConcurrencyLimiterConfig.defaultConfig());
+    }
+
+    /**
+     * @param delegate client to send the calls with, closed by {@link #close()}
+     * @param config config
+     */
+    public ConcurrencyLimitingHttpClient(HttpClient delegate, ConcurrencyLimiterConfig config) {
+        this(delegate, config, new ConcurrentHashMap<String, EndpointLimiter>(), RequestPriority.INTERACTIVE, false);
+    }
+
+    private ConcurrencyLimitingHttpClient(HttpClient delegate, ConcurrencyLimiterConfig config,
+            ConcurrentMap<String, EndpointLimiter> limiters, RequestPriority priority, boolean view) {
+        Preconditions.checkNotNull(delegate, "delegate can't be null");
+        Preconditions.checkNotNull(config, "config can't be null");
+        this.delegate = delegate;
+        this.config = config;
+        this.limiters = limiters;
+        this.priority = priority;
+        this.view = view;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!view) {
+            delegate.close();
+        }
+    }
+
+    /**
+     * @param timeoutMillis timeoutMillis
+     * @return client sharing the limits and the priority of this one, over the timeout bound view of the delegate, if
+     * it supports per-call timeouts, this client otherwise
+     */
+    @Override
+    public HttpClient withTimeout(long timeoutMillis) {
+        return delegate instanceof TimeoutAwareHttpClient
+                ? new ConcurrencyLimitingHttpClient(((TimeoutAwareHttpClient) delegate).withTimeout(timeoutMillis),
+                        config, limiters, priority, true)
+                : this;
+    }
+
+    /**
+     * @param priority priority
+     * @return client sharing the limits and the queues of this one, queueing its calls with the priority
+     */
+    @Override
+    public HttpClient withPriority(RequestPriority priority) {
+        Preconditions.checkNotNull(priority, "priority can't be null");
+        return priority == this.priority ? this
+                : new ConcurrencyLimitingHttpClient(delegate, config, limiters, priority, true);
+    }
+
+    /**
+     * @param url url of the endpoint
+     * @return current concurrency limit of the endpoint
+     */
+    public int getLimit(String url) {
+        final EndpointLimiter limiter = limiters.get(endpointOf(url));
+        return limiter == null ? config.getInitialLimit() : limiter.getLimit();
+    }
+
+    /**
+     * @param url url of the endpoint
+     * @return calls to the endpoint in flight
+     */
+    public int getInFlight(String url) {
+        final EndpointLimiter limiter = limiters.get(endpointOf(url));
+        return limiter == null ? 0 : limiter.getInFlight();
+    }
+
+    /**
+     * @param url url of the endpoint
+     * @return calls to the endpoint waiting in the queue
+     */
+    public int getQueueSize(String url) {
+        final EndpointLimiter limiter = limiters.get(endpointOf(url));
+        return limiter == null ? 0 : limiter.getQueueSize();
+    }
+
+    /**
+     * @param url url of the endpoint
+     * @param priority priority
+     * @return calls of the priority to the endpoint waiting in the queue
+     */
+    public int getQueueSize(String url, RequestPriority priority) {
+        final EndpointLimiter limiter = limiters.get(endpointOf(url));
+        return limiter == null ? 0 : limiter.getQueueSize(priority);
+    }
+
+    /**
+     * @return count of the calls to all the endpoints failed with {@link ConcurrencyLimitExceededException}
+     */
+    public long getRejectedCount() {
+        long rejected = 0;
+        for (EndpointLimiter limiter : limiters.values()) {
+            rejected += limiter.getRejected();
+        }
+        return rejected;
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final byte[] bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return executeAsync(completeUrl, new AsyncCall<T>() {
+            @Override
+            public Future<T> start(OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final MultipartPayload bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return executeAsync(completeUrl, new AsyncCall<T>() {
+            @Override
+            public Future<T> start(OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final String bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return executeAsync(completeUrl, new AsyncCall<T>() {
+            @Override
+            public Future<T> start(OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final File bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return executeAsync(completeUrl, new AsyncCall<T>() {
+            @Override
+            public Future<T> start(OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+                return delegate.executeAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback,
+                        converter);
+            }
+        }, callback, converter);
+    }
+
+    private <T> Future<T> executeAsync(String completeUrl, AsyncCall<T> call, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        final LimitedCall<T> limitedCall = new LimitedCall<>(getLimiter(completeUrl), priority, call, callback,
+                converter);
+        limitedCall.enqueue();
+        return limitedCall;
+    }
+
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final byte[] bodyContents)
+            throws InterruptedException, ExecutionException, IOException {
+        return execute(completeUrl, new SyncCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        });
+    }
+
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final MultipartPayload bodyContents)
+            throws InterruptedException, ExecutionException, IOException {
+        return execute(completeUrl, new SyncCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        });
+    }
+
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final String bodyContents)
+            throws InterruptedException, ExecutionException, IOException {
+        return execute(completeUrl, new SyncCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        });
+    }
+
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final File bodyContents)
+            throws InterruptedException, ExecutionException, IOException {
+        return execute(completeUrl, new SyncCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        });
+    }
+
+    private Response execute(String completeUrl, SyncCall call)
+            throws InterruptedException, ExecutionException, IOException {
+        final EndpointLimiter limiter = getLimiter(completeUrl);
+        limiter.acquire(priority);
+        final long start = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            final Response response = call.execute();
+            overloaded = isOverloaded(response);
+            return response;
+        } finally {
+            limiter.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+    private EndpointLimiter getLimiter(String completeUrl) {
+        final String endpoint = endpointOf(completeUrl);
+        EndpointLimiter limiter = limiters.get(endpoint);
+        if (limiter == null) {
+            final EndpointLimiter newLimiter = new EndpointLimiter(endpoint, config);
+            limiter = limiters.putIfAbsent(endpoint, newLimiter);
+            if (limiter == null) {
+                limiter = newLimiter;
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * @param url url
+     * @return scheme, host and port of the url
+     */
+    static String endpointOf(String url) {
+        final int schemeEnd = url.indexOf("://");
+        final int authorityStart = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        for (int i = authorityStart; i < url.length(); i++) {
+            final char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                return url.substring(0, i);
+            }
+        }
+        return url;
+    }
+
+    private static boolean isOverloaded(Response response) {
+        return response.getCode() == 429 || response.getCode() == 503;
+    }
+
+    private interface SyncCall {
+
+        Response execute() throws InterruptedException, ExecutionException, IOException;
+    }
+
+    private interface AsyncCall<T> {
+
+        Future<T> start(OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter);
+    }
+
+    /**
+     * Async call, queued or sent. The callback and the converter of the delegate see the response first.
+     */
+    private static class LimitedCall<T> extends EndpointLimiter.Waiter implements Future<T>,
+            OAuthAsyncRequestCallback<T>, OAuthRequest.ResponseConverter<T> {
+
+        private final EndpointLimiter limiter;
+        private final AsyncCall<T> call;
+        private final OAuthAsyncRequestCallback<T> callback;
+        private final OAuthRequest.ResponseConverter<T> converter;
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Future<T> future;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+        private volatile boolean overloaded;
+        private volatile long startNanos;
+
+        LimitedCall(EndpointLimiter limiter, RequestPriority priority, AsyncCall<T> call,
+                OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+            super(priority);
+            this.limiter = limiter;
+            this.call = call;
+            this.callback = callback;
+            this.converter = converter;
+        }
+
+        void enqueue() {
+            try {
+                if (limiter.acquireOrEnqueue(this)) {
+                    grant();
+                }
+            } catch (ConcurrencyLimitExceededException clee) {
+                reject(clee);
+            }
+        }
+
+        @Override
+        void grant() {
+            startNanos = System.nanoTime();
+            try {
+                future = call.start(this, this);
+            } catch (RuntimeException rE) {
+                //not thrown to the thread which happened to release the slot
+                release(false);
+                fail(rE);
+                return;
+            }
+            sent.countDown();
+            if (cancelled) {
+                future.cancel(true);
+                release(false);
+            }
+        }
+
+        @Override
+        void reject(ConcurrencyLimitExceededException rejection) {
+            fail(rejection);
+        }
+
+        private void fail(Throwable t) {
+            failure = t;
+            try {
+                if (callback != null) {
+                    callback.onThrowable(t);
+                }
+            } finally {
+                sent.countDown();
+            }
+        }
+
+        private void release(boolean sample) {
+            if (released.compareAndSet(false, true)) {
+                if (sample) {
+                    limiter.release(System.nanoTime() - startNanos, overloaded);
+                } else {
+                    limiter.release();
+                }
+            }
+        }
+
+        @Override
+        public T convert(Response response) throws IOException {
+            overloaded = isOverloaded(response);
+            if (converter == null) {
+                @SuppressWarnings("unchecked")
+                final T t = (T) response;
+                return t;
+            }
+            return converter.convert(response);
+        }
+
+        @Override
+        public void onCompleted(T response) {
+            release(true);
+            if (callback != null) {
+                callback.onCompleted(response);
+            }
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            if (t instanceof IOException) {
+                overloaded = true;
+            }
+            //a cancelled call tells nothing about the endpoint
+            release(!cancelled);
+            if (callback != null) {
+                callback.onThrowable(t);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            cancelled = true;
+            if (limiter.remove(this)) {
+                sent.countDown();
+                return true;
+            }
+            final Future<T> f = future;
+            if (f != null) {
+                f.cancel(mayInterruptIfRunning);
+                release(false);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            if (sent.getCount() > 0) {
+                return false;
+            }
+            final Future<T> f = future;
+            return f == null || f.isDone();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            sent.await();
+            return getSent().get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            final long deadline = System.nanoTime() + unit.toNanos(timeout);
+            if (!sent.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getSent().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private Future<T> getSent() throws ExecutionException {
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            final Future<T> f = future;
+            if (f == null) {
+                throw new CancellationException();
+            }
+            return f;
+        }
+    }
+}
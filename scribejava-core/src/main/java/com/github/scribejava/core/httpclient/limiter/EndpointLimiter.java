@@ -0,0 +1,354 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import com.github.scribejava.core.model.RequestPriority;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-flight calls, concurrency limit and queues of one endpoint. There is a queue per {@link RequestPriority}, the free
+ * slots are handed to them by the stride scheduling (a weighted fair queuing): every grant advances the pass of its
+ * queue by 1 / weight, the non-empty queue with the lowest pass goes next. A queue becoming non-empty starts from the
+ * current pass, so an idle class doesn't save up a burst.
+ * <p>
+ * The waiters are granted one after another by the outermost release of the thread, a delegate completing the granted
+ * call synchronously doesn't recurse into the next grant. The waiters past maxQueueTime are rejected by the scheduler,
+ * not only when a slot is released.
+ */
+class EndpointLimiter {
+
+    /**
+     * waiters granted while the thread is granting already, its outermost grant loop takes them
+     */
+    private static final ThreadLocal<Deque<Waiter>> GRANTING = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final ConcurrencyLimit limit;
+    private final int maxQueueSize;
+    private final long maxQueueTimeNanos;
+    private final List<Deque<Waiter>> queues = new ArrayList<>();
+    private final double[] strides = new double[RequestPriority.values().length];
+    private final double[] passes = new double[RequestPriority.values().length];
+    private double currentPass;
+    private int queueSize;
+    private int inFlight;
+    private long rejected;
+    private boolean expiryScheduled;
+
+    EndpointLimiter(String endpoint, ConcurrencyLimiterConfig config) {
+        this.endpoint = endpoint;
+        limit = config.getAlgorithm().create(config);
+        maxQueueSize = config.getMaxQueueSize();
+        maxQueueTimeNanos = config.getMaxQueueTimeNanos();
+        for (RequestPriority priority : RequestPriority.values()) {
+            queues.add(new ArrayDeque<Waiter>());
+            strides[priority.ordinal()] = 1d / config.getPriorityWeight(priority);
+        }
+    }
+
+    /**
+     * @param waiter waiter to queue, if the limit is reached
+     * @return true if the slot is acquired, false if the waiter is queued
+     * @throws ConcurrencyLimitExceededException when the queue is full
+     */
+    synchronized boolean acquireOrEnqueue(Waiter waiter) throws ConcurrencyLimitExceededException {
+        if (inFlight < limit.getLimit()) {
+            inFlight++;
+            return true;
+        }
+        final int index = waiter.priority.ordinal();
+        final Deque<Waiter> queue = queues.get(index);
+        if (queue.size() < maxQueueSize) {
+            if (queue.isEmpty()) {
+                passes[index] = Math.max(passes[index], currentPass);
+            }
+            queue.addLast(waiter);
+            queueSize++;
+            if (!expiryScheduled) {
+                scheduleExpiry(maxQueueTimeNanos);
+            }
+            return false;
+        }
+        rejected++;
+        throw new ConcurrencyLimitExceededException(endpoint, limit.getLimit());
+    }
+
+    /**
+     * Blocks in the queue up to maxQueueTime.
+     *
+     * @param priority priority
+     * @throws ConcurrencyLimitExceededException when the queue is full or the time is up
+     * @throws InterruptedException InterruptedException
+     */
+    void acquire(RequestPriority priority) throws ConcurrencyLimitExceededException, InterruptedException {
+        final BlockingWaiter waiter = new BlockingWaiter(priority);
+        if (acquireOrEnqueue(waiter)) {
+            return;
+        }
+        final boolean granted;
+        try {
+            granted = waiter.latch.await(maxQueueTimeNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ie) {
+            if (!remove(waiter) && isGranted(waiter)) {
+                release();
+            }
+            throw ie;
+        }
+        if (!granted && remove(waiter)) {
+            synchronized (this) {
+                rejected++;
+            }
+            throw new ConcurrencyLimitExceededException(endpoint, getLimit());
+        }
+        waiter.latch.await();
+        if (waiter.rejection != null) {
+            throw waiter.rejection;
+        }
+    }
+
+    synchronized boolean remove(Waiter waiter) {
+        if (queues.get(waiter.priority.ordinal()).remove(waiter)) {
+            queueSize--;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized boolean isGranted(Waiter waiter) {
+        return waiter.granted;
+    }
+
+    /**
+     * Releases the slot of a completed call and adjusts the limit.
+     *
+     * @param rttNanos round trip time
+     * @param overloaded whether the call failed or was answered with 429 or 503
+     */
+    void release(long rttNanos, boolean overloaded) {
+        releaseAndGrant(true, rttNanos, overloaded);
+    }
+
+    /**
+     * Releases the slot of a call not sent or cancelled, the limit is kept.
+     */
+    void release() {
+        releaseAndGrant(false, 0, false);
+    }
+
+    synchronized int getLimit() {
+        return limit.getLimit();
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueueSize() {
+        return queueSize;
+    }
+
+    synchronized int getQueueSize(RequestPriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    synchronized long getRejected() {
+        return rejected;
+    }
+
+    private void releaseAndGrant(boolean sample, long rttNanos, boolean overloaded) {
+        final List<Waiter> granted = new ArrayList<>();
+        final List<Waiter> expired = new ArrayList<>();
+        final int currentLimit;
+        synchronized (this) {
+            if (sample) {
+                limit.onSample(rttNanos, inFlight, overloaded);
+            }
+            inFlight--;
+            currentLimit = limit.getLimit();
+            final long now = System.nanoTime();
+            while (inFlight < currentLimit && queueSize > 0) {
+                final Waiter waiter = pollNext();
+                if (now - waiter.enqueuedNanos > maxQueueTimeNanos) {
+                    rejected++;
+                    expired.add(waiter);
+                } else {
+                    inFlight++;
+                    waiter.granted = true;
+                    granted.add(waiter);
+                }
+            }
+        }
+        for (Waiter waiter : expired) {
+            waiter.reject(new ConcurrencyLimitExceededException(endpoint, currentLimit));
+        }
+        grantAll(granted);
+    }
+
+    /**
+     * Rejects the waiters past maxQueueTime, they are at the heads of the queues.
+     */
+    void expireWaiters() {
+        final List<Waiter> expired = new ArrayList<>();
+        final int currentLimit;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            long nextExpiryNanos = Long.MAX_VALUE;
+            for (Deque<Waiter> queue : queues) {
+                while (!queue.isEmpty() && now - queue.peekFirst().enqueuedNanos >= maxQueueTimeNanos) {
+                    expired.add(queue.pollFirst());
+                    queueSize--;
+                    rejected++;
+                }
+                if (!queue.isEmpty()) {
+                    nextExpiryNanos = Math.min(nextExpiryNanos,
+                            queue.peekFirst().enqueuedNanos + maxQueueTimeNanos - now);
+                }
+            }
+            currentLimit = limit.getLimit();
+            expiryScheduled = false;
+            if (queueSize > 0) {
+                scheduleExpiry(nextExpiryNanos);
+            }
+        }
+        for (Waiter waiter : expired) {
+            waiter.reject(new ConcurrencyLimitExceededException(endpoint, currentLimit));
+        }
+    }
+
+    /**
+     * guarded by this
+     */
+    private void scheduleExpiry(long delayNanos) {
+        try {
+            DefaultSchedulerHolder.SCHEDULER.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    expireWaiters();
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+            expiryScheduled = true;
+        } catch (RejectedExecutionException reE) {
+            //the waiters are still expired on release
+        }
+    }
+
+    /**
+     * Iterative: a grant releasing a slot (a call completed synchronously) queues the next waiters for this loop.
+     */
+    private static void grantAll(List<Waiter> granted) {
+        if (granted.isEmpty()) {
+            return;
+        }
+        Deque<Waiter> pending = GRANTING.get();
+        if (pending != null) {
+            pending.addAll(granted);
+            return;
+        }
+        pending = new ArrayDeque<>(granted);
+        GRANTING.set(pending);
+        RuntimeException failure = null;
+        try {
+            while (!pending.isEmpty()) {
+                try {
+                    pending.pollFirst().grant();
+                } catch (RuntimeException rE) {
+                    //the others have their slots already
+                    if (failure == null) {
+                        failure = rE;
+                    }
+                }
+            }
+        } finally {
+            GRANTING.remove();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return head of the non-empty queue with the lowest pass, the higher priority one on a tie
+     */
+    private Waiter pollNext() {
+        int next = -1;
+        for (int i = 0; i < passes.length; i++) {
+            if (!queues.get(i).isEmpty() && (next < 0 || passes[i] < passes[next])) {
+                next = i;
+            }
+        }
+        currentPass = passes[next];
+        passes[next] += strides[next];
+        queueSize--;
+        return queues.get(next).pollFirst();
+    }
+
+    /**
+     * Call over the limit, waiting in the queue.
+     */
+    abstract static class Waiter {
+
+        private final RequestPriority priority;
+        private final long enqueuedNanos = System.nanoTime();
+        /**
+         * guarded by the EndpointLimiter
+         */
+        private boolean granted;
+
+        Waiter(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        /**
+         * The slot is acquired, called outside of the lock.
+         */
+        abstract void grant();
+
+        /**
+         * The call waited too long, called outside of the lock.
+         *
+         * @param rejection rejection
+         */
+        abstract void reject(ConcurrencyLimitExceededException rejection);
+    }
+
+    private static class DefaultSchedulerHolder {
+
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, "scribejava-concurrency-limiter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private static class BlockingWaiter extends Waiter {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile ConcurrencyLimitExceededException rejection;
+
+        BlockingWaiter(RequestPriority priority) {
+            super(priority);
+        }
+
+        @Override
+        void grant() {
+            latch.countDown();
+        }
+
+        @Override
+        void reject(ConcurrencyLimitExceededException rejection) {
+            this.rejection = rejection;
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+/**
+ * {@link LimitAlgorithm#GRADIENT}: the new limit is {@code limit * gradient + sqrt(limit)}, where the gradient is the
+ * long term average latency (times the tolerance) divided by the latency of the call, from 0.5 to 1. The square root
+ * is the room for the queueing allowed at the endpoint, which lets the limit grow while the latency stays flat. The
+ * result is smoothed, so a single slow call doesn't halve the limit.
+ */
+class GradientLimit extends ConcurrencyLimit {
+
+    static final double TOLERANCE = 1.5;
+    static final double SMOOTHING = 0.2;
+    static final int LONG_WINDOW = 100;
+
+    private double longRttNanos;
+
+    GradientLimit(ConcurrencyLimiterConfig config) {
+        super(config);
+    }
+
+    @Override
+    double nextLimit(double limit, long rttNanos, int inFlight) {
+        final long rtt = Math.max(1, rttNanos);
+        if (longRttNanos == 0) {
+            longRttNanos = rtt;
+        } else {
+            longRttNanos += (rtt - longRttNanos) * 2 / (LONG_WINDOW + 1);
+        }
+        //the latency has dropped for good (e.g. the slow node is gone), forget the slow history faster
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        final double gradient = Math.max(0.5, Math.min(1, TOLERANCE * longRttNanos / rtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (inFlight * 2 < limit) {
+            //the limit isn't used, there is nothing to learn about the higher concurrency
+            newLimit = Math.min(limit, newLimit);
+        }
+        return limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    }
+}
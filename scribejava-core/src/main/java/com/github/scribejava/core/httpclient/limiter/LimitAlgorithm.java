@@ -0,0 +1,32 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+/**
+ * How {@link ConcurrencyLimitingHttpClient} adjusts the concurrency limit of an endpoint after every call. Both back
+ * off multiplicatively on the overload signals: IOExceptions, 429 and 503 responses.
+ */
+public enum LimitAlgorithm {
+
+    /**
+     * Additive increase while the limit is in use, multiplicative decrease also on the calls slower than
+     * {@link ConcurrencyLimiterConfig#slowCallThreshold(long, java.util.concurrent.TimeUnit)}. Reacts to the errors and
+     * timeouts, not to the growing latency.
+     */
+    AIMD {
+        @Override
+        ConcurrencyLimit create(ConcurrencyLimiterConfig config) {
+            return new AimdLimit(config);
+        }
+    },
+    /**
+     * Scales the limit by the ratio of the long term to the current latency, so the limit shrinks as soon as the
+     * endpoint queues the requests, before it starts failing them.
+     */
+    GRADIENT {
+        @Override
+        ConcurrencyLimit create(ConcurrencyLimiterConfig config) {
+            return new GradientLimit(config);
+        }
+    };
+
+    abstract ConcurrencyLimit create(ConcurrencyLimiterConfig config);
+}
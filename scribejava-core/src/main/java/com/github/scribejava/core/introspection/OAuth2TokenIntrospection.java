@@ -0,0 +1,159 @@
+package com.github.scribejava.core.introspection;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Introspection Response as stated in RFC 7662, 2.2.<br>
+ * Only "active" is required, all the other members are null if the authorization server didn't return them.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7662#section-2.2">RFC 7662, 2.2. Introspection Response</a>
+ */
+public class OAuth2TokenIntrospection implements Serializable {
+
+    private static final long serialVersionUID = -2786436278934536412L;
+
+    private final boolean active;
+    private final String scope;
+    private final String clientId;
+    private final String username;
+    private final String tokenType;
+    private final Long expiresAt;
+    private final Long issuedAt;
+    private final Long notBefore;
+    private final String subject;
+    private final String audience;
+    private final String issuer;
+    private final String tokenId;
+    private final String rawResponse;
+
+    public OAuth2TokenIntrospection(boolean active, String scope, String clientId, String username, String tokenType,
+            Long expiresAt, Long issuedAt, Long notBefore, String subject, String audience, String issuer,
+            String tokenId, String rawResponse) {
+        this.active = active;
+        this.scope = scope;
+        this.clientId = clientId;
+        this.username = username;
+        this.tokenType = tokenType;
+        this.expiresAt = expiresAt;
+        this.issuedAt = issuedAt;
+        this.notBefore = notBefore;
+        this.subject = subject;
+        this.audience = audience;
+        this.issuer = issuer;
+        this.tokenId = tokenId;
+        this.rawResponse = rawResponse;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    /**
+     * @return "exp", seconds since the epoch
+     */
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return "iat", seconds since the epoch
+     */
+    public Long getIssuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * @return "nbf", seconds since the epoch
+     */
+    public Long getNotBefore() {
+        return notBefore;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return "aud", as received (a string or a JSON array)
+     */
+    public String getAudience() {
+        return audience;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    /**
+     * @return "jti"
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getRawResponse() {
+        return rawResponse;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + (active ? 1 : 0);
+        hash = 41 * hash + Objects.hashCode(scope);
+        hash = 41 * hash + Objects.hashCode(clientId);
+        hash = 41 * hash + Objects.hashCode(subject);
+        hash = 41 * hash + Objects.hashCode(expiresAt);
+        hash = 41 * hash + Objects.hashCode(tokenId);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final OAuth2TokenIntrospection other = (OAuth2TokenIntrospection) obj;
+        return active == other.active
+                && Objects.equals(scope, other.scope)
+                && Objects.equals(clientId, other.clientId)
+                && Objects.equals(username, other.username)
+                && Objects.equals(tokenType, other.tokenType)
+                && Objects.equals(expiresAt, other.expiresAt)
+                && Objects.equals(issuedAt, other.issuedAt)
+                && Objects.equals(notBefore, other.notBefore)
+                && Objects.equals(subject, other.subject)
+                && Objects.equals(audience, other.audience)
+                && Objects.equals(issuer, other.issuer)
+                && Objects.equals(tokenId, other.tokenId);
+    }
+
+    @Override
+    public String toString() {
+        return "OAuth2TokenIntrospection{active=" + active + ", scope=" + scope + ", clientId=" + clientId
+                + ", username=" + username + ", tokenType=" + tokenType + ", expiresAt=" + expiresAt
+                + ", subject=" + subject + '}';
+    }
+}
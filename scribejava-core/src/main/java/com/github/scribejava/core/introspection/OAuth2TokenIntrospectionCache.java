@@ -0,0 +1,244 @@
+package com.github.scribejava.core.introspection;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.utils.HexEncoder;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Caches RFC 7662 introspection results for resource servers, so the authorization server is asked once per token and
+ * not on every inbound request.
+ * <ul>
+ * <li>entries are keyed by the SHA-256 of the token, the tokens themselves are not kept in memory</li>
+ * <li>an active token is cached until its "exp", but not longer than maxTtl (revocation is noticed at the latest after
+ * maxTtl), an inactive one for maxTtl</li>
+ * <li>concurrent lookups of the same token share one introspection request</li>
+ * <li>failures are not cached</li>
+ * <li>at most maxSize results are kept, the oldest one is dropped to cache a new one. The in-flight introspections
+ * are never dropped, their callers would start the same request again.</li>
+ * </ul>
+ */
+public class OAuth2TokenIntrospectionCache {
+
+    public static final long DEFAULT_MAX_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+
+    private final OAuth20Service service;
+    private final long maxTtlMillis;
+    private final int maxSize;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * the completed entries in the order they were cached, guarded by itself. Lookups don't touch it.
+     */
+    private final Map<String, Entry> completed = new LinkedHashMap<>();
+
+    public OAuth2TokenIntrospectionCache(OAuth20Service service) {
+        this(service, DEFAULT_MAX_TTL_MILLIS, DEFAULT_MAX_SIZE);
+    }
+
+    public OAuth2TokenIntrospectionCache(OAuth20Service service, long maxTtlMillis, int maxSize) {
+        Preconditions.checkNotNull(service, "service can't be null");
+        if (maxTtlMillis <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("maxTtlMillis and maxSize must be positive");
+        }
+        this.service = service;
+        this.maxTtlMillis = maxTtlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param token token
+     * @return cached or fetched introspection response
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     * @throws ExecutionException ExecutionException
+     */
+    public OAuth2TokenIntrospection introspect(String token)
+            throws IOException, InterruptedException, ExecutionException {
+        try {
+            return introspectAsync(token).get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param token token
+     * @return done Future if cached, otherwise Future of the (possibly already running) introspection request
+     */
+    public Future<OAuth2TokenIntrospection> introspectAsync(String token) {
+        final String key = hash(token);
+        final Entry cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.currentTimeMillis())) {
+                return cached;
+            }
+            entries.remove(key, cached);
+            forget(key, cached);
+        }
+
+        final Entry entry = new Entry(key);
+        final Entry concurrent = entries.putIfAbsent(key, entry);
+        if (concurrent != null) {
+            return concurrent;
+        }
+        try {
+            service.introspectToken(token, entry);
+        } catch (RuntimeException e) {
+            entry.onThrowable(e);
+        }
+        return entry;
+    }
+
+    /**
+     * Forgets the token, e.g. after revoking it.
+     *
+     * @param token token
+     */
+    public void invalidate(String token) {
+        final String key = hash(token);
+        entries.remove(key);
+        synchronized (completed) {
+            completed.remove(key);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        synchronized (completed) {
+            completed.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void cache(String key, Entry entry) {
+        synchronized (completed) {
+            //invalidated while in flight
+            if (entries.get(key) != entry) {
+                return;
+            }
+            //re-inserted at the end, not at the place of an expired entry of the same token
+            completed.remove(key);
+            completed.put(key, entry);
+            final Iterator<Map.Entry<String, Entry>> oldest = completed.entrySet().iterator();
+            while (completed.size() > maxSize) {
+                final Map.Entry<String, Entry> evicted = oldest.next();
+                oldest.remove();
+                entries.remove(evicted.getKey(), evicted.getValue());
+            }
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        synchronized (completed) {
+            if (completed.get(key) == entry) {
+                completed.remove(key);
+            }
+        }
+    }
+
+    private static String hash(String token) {
+        Preconditions.checkNotNull(token, "token can't be null");
+        return HexEncoder.sha256(token);
+    }
+
+    /**
+     * Both the cached value and the Future of the in-flight request all the concurrent callers wait on.
+     */
+    private class Entry implements Future<OAuth2TokenIntrospection>,
+            OAuthAsyncRequestCallback<OAuth2TokenIntrospection> {
+
+        private final String key;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile OAuth2TokenIntrospection introspection;
+        private volatile Throwable failure;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void onCompleted(OAuth2TokenIntrospection response) {
+            final long now = System.currentTimeMillis();
+            long expiration = now + maxTtlMillis;
+            if (response.isActive() && response.getExpiresAt() != null) {
+                expiration = Math.min(expiration, TimeUnit.SECONDS.toMillis(response.getExpiresAt()));
+            }
+            expiresAt = expiration;
+            introspection = response;
+            done.countDown();
+            cache(key, this);
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            failure = t;
+            entries.remove(key, this);
+            done.countDown();
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public OAuth2TokenIntrospection get() throws InterruptedException, ExecutionException {
+            done.await();
+            return getResult();
+        }
+
+        @Override
+        public OAuth2TokenIntrospection get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+
+        private OAuth2TokenIntrospection getResult() throws ExecutionException {
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return introspection;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.scribejava.core.introspection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.extractors.OAuth2AccessTokenJsonExtractor;
+import com.github.scribejava.core.model.Response;
+import java.io.IOException;
+
+/**
+ * Parses RFC 7662 Introspection Response, error responses are thrown as
+ * {@link com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse}.
+ */
+public class OAuth2TokenIntrospectionJsonExtractor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    protected OAuth2TokenIntrospectionJsonExtractor() {
+    }
+
+    private static class InstanceHolder {
+
+        private static final OAuth2TokenIntrospectionJsonExtractor INSTANCE
+                = new OAuth2TokenIntrospectionJsonExtractor();
+    }
+
+    public static OAuth2TokenIntrospectionJsonExtractor instance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public OAuth2TokenIntrospection extract(Response response) throws IOException {
+        final String body = response.getBody();
+        if (response.getCode() != 200) {
+            OAuth2AccessTokenJsonExtractor.instance().generateError(body);
+        }
+        final JsonNode json = OBJECT_MAPPER.readTree(body);
+        if (json == null || !json.isObject() || !json.has("active")) {
+            throw new OAuthException("Response body is not an introspection response: '" + body + '\'');
+        }
+        return createIntrospection(json, body);
+    }
+
+    protected OAuth2TokenIntrospection createIntrospection(JsonNode json, String rawResponse) {
+        return new OAuth2TokenIntrospection(json.get("active").asBoolean(), getText(json, "scope"),
+                getText(json, "client_id"), getText(json, "username"), getText(json, "token_type"),
+                getLong(json, "exp"), getLong(json, "iat"), getLong(json, "nbf"), getText(json, "sub"),
+                getText(json, "aud"), getText(json, "iss"), getText(json, "jti"), rawResponse);
+    }
+
+    private static String getText(JsonNode json, String name) {
+        final JsonNode value = json.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    private static Long getLong(JsonNode json, String name) {
+        final JsonNode value = json.get(name);
+        return value == null || !value.isNumber() ? null : value.asLong();
+    }
+}
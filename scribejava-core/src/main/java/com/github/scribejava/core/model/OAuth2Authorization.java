@@ -1,5 +1,7 @@
 package com.github.scribejava.core.model;
 
+import com.github.scribejava.core.pkce.PKCE;
+
 /**
  * represents Authorization Response http://tools.ietf.org/html/rfc6749#section-4.1.2
  *
@@ -24,6 +26,12 @@ public class OAuth2Authorization {
      * the client.
      */
     private String state;
+    /**
+     * PKCE of the authorization request, filled in by
+     * {@link com.github.scribejava.core.oauth.OAuth20Service#extractAuthorization(String,
+     * com.github.scribejava.core.pendingauthorization.PendingAuthorizationStore)}.
+     */
+    private PKCE pkce;
 
     public String getCode() {
         return code;
@@ -40,4 +48,12 @@ public class OAuth2Authorization {
     public void setState(String state) {
         this.state = state;
     }
+
+    public PKCE getPkce() {
+        return pkce;
+    }
+
+    public void setPkce(PKCE pkce) {
+        this.pkce = pkce;
+    }
 }
@@ -44,6 +44,11 @@ public interface OAuthConstants {
     String PASSWORD = "password";
     String RESPONSE_TYPE = "response_type";
     String RESPONSE_TYPE_CODE = "code";
+    String DEVICE_CODE = "device_code";
+    /**
+     * @see <a href="https://tools.ietf.org/html/rfc8628#section-3.4">RFC 8628, 3.4. Device Access Token Request</a>
+     */
+    String DEVICE_CODE_GRANT_TYPE = "urn:ietf:params:oauth:grant-type:device_code";
 
     //not OAuth specific
     String USER_AGENT_HEADER_NAME = "User-Agent";
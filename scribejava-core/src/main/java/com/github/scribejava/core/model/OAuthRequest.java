@@ -12,6 +12,7 @@ import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The representation of an OAuth HttpRequest.
@@ -36,6 +37,8 @@ public class OAuthRequest {
     private final Map<String, String> oauthParameters = new HashMap<>();
 
     private String realm;
+    private long timeoutMillis;
+    private RequestPriority priority = RequestPriority.INTERACTIVE;
 
     /**
      * Default constructor.
@@ -128,6 +131,20 @@ public class OAuthRequest {
         }
     }
 
+    /**
+     * Adds already constructed {@link Parameter}. Useful for the parameters shared between many requests, as
+     * {@link Parameter} caches its url encoded form.
+     *
+     * @param parameter parameter
+     */
+    public void addParameter(Parameter parameter) {
+        if (verb.isPermitBody()) {
+            bodyParams.add(parameter);
+        } else {
+            querystringParams.add(parameter);
+        }
+    }
+
     public MultipartPayload getMultipartPayload() {
         return multipartPayload;
     }
@@ -398,6 +415,57 @@ public class OAuthRequest {
         charset = charsetName;
     }
 
+    /**
+     * Bounds the call by the timeout, counted from the moment the request is executed. HttpClients implementing
+     * {@link com.github.scribejava.core.httpclient.TimeoutAwareHttpClient} (all the bundled ones) map it to their
+     * native timeouts on top of the client wide ones, failing the call with an {@link java.io.InterruptedIOException}
+     * (or a {@link java.util.concurrent.TimeoutException}, depending on the client) when it elapses, other HttpClients
+     * ignore it.
+     *
+     * What the timeout covers depends on the client. OkHttp bounds the whole call, reading the body included. The
+     * other async clients bound the call until the {@link Response} is returned. The JDK client bounds connecting and
+     * each read by the time left once connected, so a body streamed slowly, a little in every read, can take longer
+     * than the timeout.
+     *
+     * @param timeout timeout, 0 for no per-request timeout
+     * @param unit unit of the timeout
+     */
+    public void setTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout can't be negative");
+        }
+        timeoutMillis = unit.toMillis(timeout);
+        if (timeoutMillis == 0 && timeout > 0) {
+            timeoutMillis = 1;
+        }
+    }
+
+    /**
+     * @return per-request timeout, 0 if not set
+     * @see #setTimeout(long, java.util.concurrent.TimeUnit)
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Lets the latency sensitive calls overtake the others when the HttpClient queues them, see
+     * {@link com.github.scribejava.core.httpclient.PriorityAwareHttpClient}. The services mark their token requests
+     * with {@link RequestPriority#TOKEN}.
+     *
+     * @param priority priority, {@link RequestPriority#INTERACTIVE} by default
+     */
+    public void setPriority(RequestPriority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("priority can't be null");
+        }
+        this.priority = priority;
+    }
+
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
     public interface ResponseConverter<T> {
 
         T convert(Response response) throws IOException;
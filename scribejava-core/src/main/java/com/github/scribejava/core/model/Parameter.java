@@ -6,6 +6,10 @@ public class Parameter implements Comparable<Parameter> {
 
     private final String key;
     private final String value;
+    /**
+     * lazily computed, racy single-check is fine here as the value is immutable (just like String.hashCode)
+     */
+    private String urlEncodedPair;
 
     public Parameter(String key, String value) {
         this.key = key;
@@ -13,7 +17,12 @@ public class Parameter implements Comparable<Parameter> {
     }
 
     public String asUrlEncodedPair() {
-        return OAuthEncoder.encode(key).concat("=").concat(OAuthEncoder.encode(value));
+        String pair = urlEncodedPair;
+        if (pair == null) {
+            pair = OAuthEncoder.encode(key).concat("=").concat(OAuthEncoder.encode(value));
+            urlEncodedPair = pair;
+        }
+        return pair;
     }
 
     @Override
@@ -37,6 +37,10 @@ public class ParameterList {
         params.add(new Parameter(key, value));
     }
 
+    public void add(Parameter parameter) {
+        params.add(parameter);
+    }
+
     public String appendTo(String url) {
         Preconditions.checkNotNull(url, "Cannot append to null URL");
         final String queryString = asFormUrlEncodedString();
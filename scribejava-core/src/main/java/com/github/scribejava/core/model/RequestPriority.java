@@ -0,0 +1,23 @@
+package com.github.scribejava.core.model;
+
+/**
+ * Class of the traffic a request belongs to, see {@link OAuthRequest#setPriority(RequestPriority)}. HttpClients
+ * implementing {@link com.github.scribejava.core.httpclient.PriorityAwareHttpClient} serve the queued requests of the
+ * classes in proportion to their weights, others ignore it.
+ */
+public enum RequestPriority {
+
+    /**
+     * Token endpoint calls (every grant, OAuth 1.0a request and access tokens) and token introspection, the user
+     * requests wait for them. Set by the services.
+     */
+    TOKEN,
+    /**
+     * Default, calls made on behalf of a waiting user.
+     */
+    INTERACTIVE,
+    /**
+     * Sync jobs and other calls nobody waits for.
+     */
+    BACKGROUND
+}
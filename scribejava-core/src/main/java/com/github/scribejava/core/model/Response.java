@@ -3,50 +3,106 @@ package com.github.scribejava.core.model;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
+import com.github.scribejava.core.httpclient.ContentEncoding;
+import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.utils.StreamUtils;
 import java.io.Closeable;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 
 /**
  * An HTTP response.
  *
  * <p>
  * This response may contain a non-null body stream of the HttpUrlConnection. If so, this body must be closed to avoid
- * leaking resources. Use either {@link #getBody()} or {@link #close()} to close the body.
+ * leaking resources. Use either {@link #getBody()}, {@link #getBodyAsBytes()}, {@link #writeTo(OutputStream)} or
+ * {@link #close()} to close the body.
+ * <p>
+ * The body stream is read only once, {@link #getBody()}, {@link #getBodyAsBytes()} and {@link #getBodyAsByteBuffer()}
+ * share the read bytes.
+ * <p>
+ * The body is decoded according to the Content-Encoding header (see {@link ContentEncoding}), lazily, while it's
+ * being read.
  */
 public class Response implements Closeable {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private final int code;
     private final String message;
-    private final Map<String, String> headers;
+    private final ResponseHeaders headers;
     private String body;
+    private byte[] bodyBytes;
     private InputStream stream;
+    private InputStream decodedStream;
+    private boolean streamWrittenOut;
 
-    private Response(int code, String message, Map<String, String> headers) {
+    private Response(int code, String message, ResponseHeaders headers) {
         this.code = code;
         this.message = message;
         this.headers = headers;
     }
 
     public Response(int code, String message, Map<String, String> headers, InputStream stream) {
-        this(code, message, headers);
+        this(code, message, headers == null ? ResponseHeaders.empty() : ResponseHeaders.of(headers));
         this.stream = stream;
     }
 
     public Response(int code, String message, Map<String, String> headers, String body) {
-        this(code, message, headers);
+        this(code, message, headers == null ? ResponseHeaders.empty() : ResponseHeaders.of(headers));
         this.body = body;
     }
 
+    /**
+     * A factory method rather than a constructor, so that a null headers argument of the constructors above stays
+     * unambiguous.
+     *
+     * @param code code
+     * @param message message
+     * @param headers native headers of the client, null for none
+     * @param stream body stream or null
+     * @return response
+     */
+    public static Response of(int code, String message, ResponseHeaders headers, InputStream stream) {
+        final Response response = new Response(code, message, headers == null ? ResponseHeaders.empty() : headers);
+        response.stream = stream;
+        return response;
+    }
+
     private String parseBodyContents() throws IOException {
+        final byte[] bytes = getBodyAsBytes();
+        if (bytes == null) {
+            return null;
+        }
+        body = new String(bytes, UTF_8);
+        return body;
+    }
+
+    private byte[] readBodyBytes() throws IOException {
+        if (streamWrittenOut) {
+            throw new IllegalStateException("The body stream has already been written out");
+        }
         if (stream == null) {
             return null;
         }
-        if ("gzip".equals(getHeader("Content-Encoding"))) {
-            body = StreamUtils.getGzipStreamContents(stream);
-        } else {
-            body = StreamUtils.getStreamContents(stream);
+        final InputStream bodyStream = getStream();
+        //Content-Length of the encoded body is the compressed size, useless for presizing
+        bodyBytes = StreamUtils.getStreamBytes(bodyStream, bodyStream == stream ? getContentLength() : -1);
+        return bodyBytes;
+    }
+
+    private long getContentLength() {
+        final String contentLength = getHeader("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException nfE) {
+            return -1;
         }
-        return body;
     }
 
     public boolean isSuccessful() {
@@ -63,14 +119,93 @@ public class Response implements Closeable {
         return body == null ? parseBodyContents() : body;
     }
 
+    /**
+     * Returns the response body as bytes (decoded according to the Content-Encoding), closing the stream that backs
+     * it. Idempotent. No char decoding is done, so it's the cheapest way to get the binary payloads.
+     *
+     * @return body as bytes, not a copy, do not modify it
+     * @throws IOException IO Exception
+     */
+    public byte[] getBodyAsBytes() throws IOException {
+        if (bodyBytes != null) {
+            return bodyBytes;
+        }
+        if (body != null) {
+            bodyBytes = body.getBytes(UTF_8);
+            return bodyBytes;
+        }
+        return readBodyBytes();
+    }
+
+    /**
+     * Returns read-only {@link ByteBuffer} view of the body bytes. No copying is done.
+     *
+     * @return body as ByteBuffer
+     * @throws IOException IO Exception
+     * @see #getBodyAsBytes()
+     */
+    public ByteBuffer getBodyAsByteBuffer() throws IOException {
+        final byte[] bytes = getBodyAsBytes();
+        return bytes == null ? null : ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the decoded body to the output stream. If the body wasn't read yet, it's streamed
+     * directly from the connection without buffering the whole body in memory. In that case the body can't be
+     * obtained again after this call.
+     *
+     * @param out output stream, it's not closed
+     * @return number of bytes written
+     * @throws IOException IO Exception
+     */
+    public long writeTo(OutputStream out) throws IOException {
+        if (bodyBytes != null || body != null) {
+            final byte[] bytes = getBodyAsBytes();
+            out.write(bytes);
+            return bytes.length;
+        }
+        if (stream == null) {
+            return 0;
+        }
+        streamWrittenOut = true;
+        return StreamUtils.copy(getStream(), out);
+    }
+
+    /**
+     * Writes the decoded body to the channel.
+     *
+     * @param channel channel, it's not closed
+     * @return number of bytes written
+     * @throws IOException IO Exception
+     * @see #writeTo(java.io.OutputStream)
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        if (bodyBytes != null || body != null) {
+            final ByteBuffer buffer = ByteBuffer.wrap(getBodyAsBytes());
+            long written = 0;
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            return written;
+        }
+        if (stream == null) {
+            return 0;
+        }
+        streamWrittenOut = true;
+        return StreamUtils.copy(getStream(), channel);
+    }
+
     /**
      * Obtains the meaningful stream of the HttpUrlConnection, either inputStream or errorInputStream, depending on the
-     * status code
+     * status code. The stream decodes the body according to the Content-Encoding header.
      *
      * @return input stream / error stream
      */
     public InputStream getStream() {
-        return stream;
+        if (decodedStream == null && stream != null) {
+            decodedStream = ContentEncoding.decode(getHeader(HttpClient.CONTENT_ENCODING), stream);
+        }
+        return decodedStream;
     }
 
     /**
@@ -93,23 +228,33 @@ public class Response implements Closeable {
     }
 
     /**
-     * Obtains a {@link Map} containing the HTTP Response Headers
+     * Obtains a {@link Map} containing the HTTP Response Headers (the first values only). The Map is built on the
+     * first call, use {@link #getHeader(java.lang.String)} or {@link #getResponseHeaders()} to avoid copying.
      *
      * @return headers
      */
     public Map<String, String> getHeaders() {
+        return headers.asMap();
+    }
+
+    /**
+     * Obtains all the HTTP Response Headers, with multiple values and case-insensitive names
+     *
+     * @return headers
+     */
+    public ResponseHeaders getResponseHeaders() {
         return headers;
     }
 
     /**
-     * Obtains a single HTTP Header value, or null if undefined
+     * Obtains a single (the first) HTTP Header value, or null if undefined
      *
-     * @param name the header name.
+     * @param name the header name, case-insensitive.
      *
      * @return header value or null.
      */
     public String getHeader(String name) {
-        return headers.get(name);
+        return headers.getFirst(name);
     }
 
     @Override
@@ -124,7 +269,9 @@ public class Response implements Closeable {
 
     @Override
     public void close() throws IOException {
-        if (stream != null) {
+        if (decodedStream != null) {
+            decodedStream.close();
+        } else if (stream != null) {
             stream.close();
         }
     }
@@ -0,0 +1,171 @@
+package com.github.scribejava.core.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Read-only HTTP response headers with case-insensitive names and multiple values per name.<br>
+ * Implementations wrap the native headers of the underlying HTTP library and look the values up there, nothing is
+ * copied unless {@link #asMap()} is called.
+ */
+public abstract class ResponseHeaders {
+
+    private static final ResponseHeaders EMPTY = of(Collections.<String, String>emptyMap());
+
+    private volatile Map<String, String> map;
+
+    /**
+     * @param name header name, case-insensitive
+     * @return first value of the header or null if there is no such header
+     */
+    public abstract String getFirst(String name);
+
+    /**
+     * @param name header name, case-insensitive
+     * @return all the values of the header in the received order, empty list if there is no such header
+     */
+    public abstract List<String> getAll(String name);
+
+    /**
+     * @return names of all the headers
+     */
+    public abstract Set<String> getNames();
+
+    /**
+     * Returns the headers as a Map of the first values with case-insensitive keys. The Map is built on the first call.
+     *
+     * @return unmodifiable Map
+     */
+    public Map<String, String> asMap() {
+        Map<String, String> result = map;
+        if (result == null) {
+            result = createMap();
+            map = result;
+        }
+        return result;
+    }
+
+    protected Map<String, String> createMap() {
+        final Map<String, String> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : getNames()) {
+            result.put(name, getFirst(name));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    public static ResponseHeaders empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Wraps the Map of single values, {@link #asMap()} returns the Map itself.
+     *
+     * @param headers headers
+     * @return wrapper
+     */
+    public static ResponseHeaders of(Map<String, String> headers) {
+        return new SingleValuedResponseHeaders(headers);
+    }
+
+    /**
+     * Wraps the Map of multiple values, e.g. {@link java.net.HttpURLConnection#getHeaderFields()}. null key (status
+     * line) is ignored.
+     *
+     * @param headers headers
+     * @return wrapper
+     */
+    public static ResponseHeaders ofMultiValued(Map<String, List<String>> headers) {
+        return new MultiValuedResponseHeaders(headers);
+    }
+
+    /**
+     * Direct lookup first (most of the callers use canonical names), then case-insensitive scan.
+     */
+    private static <V> V get(Map<String, V> headers, String name) {
+        final V value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, V> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> collectNames(Map<String, ?> headers) {
+        final Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : headers.keySet()) {
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    private static class SingleValuedResponseHeaders extends ResponseHeaders {
+
+        private final Map<String, String> headers;
+
+        SingleValuedResponseHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public String getFirst(String name) {
+            return get(headers, name);
+        }
+
+        @Override
+        public List<String> getAll(String name) {
+            final String value = get(headers, name);
+            return value == null ? Collections.<String>emptyList() : Collections.singletonList(value);
+        }
+
+        @Override
+        public Set<String> getNames() {
+            return collectNames(headers);
+        }
+
+        @Override
+        public Map<String, String> asMap() {
+            return headers;
+        }
+    }
+
+    private static class MultiValuedResponseHeaders extends ResponseHeaders {
+
+        private final Map<String, List<String>> headers;
+
+        MultiValuedResponseHeaders(Map<String, List<String>> headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public String getFirst(String name) {
+            final List<String> values = get(headers, name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        @Override
+        public List<String> getAll(String name) {
+            final List<String> values = get(headers, name);
+            return values == null ? Collections.<String>emptyList() : Collections.unmodifiableList(values);
+        }
+
+        @Override
+        public Set<String> getNames() {
+            return collectNames(headers);
+        }
+    }
+}
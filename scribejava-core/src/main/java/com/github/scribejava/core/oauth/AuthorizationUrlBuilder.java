@@ -1,18 +1,27 @@
 package com.github.scribejava.core.oauth;
 
+import com.github.scribejava.core.java8.Base64;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorization;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorizationStore;
 import com.github.scribejava.core.pkce.PKCE;
 import com.github.scribejava.core.pkce.PKCEService;
+import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.Map;
 
 public class AuthorizationUrlBuilder {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder BASE_64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final int STATE_OCTETS = 16;
+
     private final OAuth20Service oauth20Service;
 
     private String state;
     private Map<String, String> additionalParams;
     private PKCE pkce;
     private String scope;
+    private PendingAuthorizationStore pendingAuthorizationStore;
 
     public AuthorizationUrlBuilder(OAuth20Service oauth20Service) {
         this.oauth20Service = oauth20Service;
@@ -43,11 +52,42 @@ public class AuthorizationUrlBuilder {
         return this;
     }
 
+    /**
+     * Remembers the PKCE of this authorization request in the store, keyed by state, for
+     * {@link OAuth20Service#extractAuthorization(String, PendingAuthorizationStore)}. A random state is generated if
+     * none was set.
+     *
+     * @param pendingAuthorizationStore pendingAuthorizationStore
+     * @return this
+     */
+    public AuthorizationUrlBuilder pendingAuthorizationStore(PendingAuthorizationStore pendingAuthorizationStore) {
+        this.pendingAuthorizationStore = pendingAuthorizationStore;
+        return this;
+    }
+
     public PKCE getPkce() {
         return pkce;
     }
 
+    public String getState() {
+        return state;
+    }
+
     public String build() {
+        if (pendingAuthorizationStore != null) {
+            if (state == null) {
+                final byte[] bytes = new byte[STATE_OCTETS];
+                RANDOM.nextBytes(bytes);
+                state = BASE_64_ENCODER.encodeToString(bytes);
+            }
+            pendingAuthorizationStore.put(state, new PendingAuthorization(pkce));
+        }
+        final String effectiveScope = scope == null ? oauth20Service.getDefaultScope() : scope;
+        final String url = oauth20Service.buildAuthorizationUrl(effectiveScope, state, additionalParams, pkce);
+        if (url != null) {
+            return url;
+        }
+
         final Map<String, String> params;
         if (pkce == null) {
             params = additionalParams;
@@ -56,6 +96,6 @@ public class AuthorizationUrlBuilder {
             params.putAll(pkce.getAuthorizationUrlParams());
         }
         return oauth20Service.getApi().getAuthorizationUrl(oauth20Service.getResponseType(), oauth20Service.getApiKey(),
-                oauth20Service.getCallback(), scope == null ? oauth20Service.getDefaultScope() : scope, state, params);
+                oauth20Service.getCallback(), effectiveScope, state, params);
     }
 }
@@ -0,0 +1,115 @@
+package com.github.scribejava.core.oauth;
+
+import com.github.scribejava.core.model.OAuthConstants;
+import com.github.scribejava.core.pkce.PKCE;
+import com.github.scribejava.core.utils.OAuthEncoder;
+import java.util.Map;
+
+/**
+ * Precompiled authorization URL of one service and one scope.
+ *
+ * The base URL and the static {@code response_type}, {@code client_id}, {@code redirect_uri} and {@code scope}
+ * parameters are encoded once. {@link #build(String, Map, PKCE)} only encodes {@code state}, the PKCE challenge and
+ * the additional params, and produces the same URL as
+ * {@link com.github.scribejava.core.builder.api.DefaultApi20#getAuthorizationUrl(String, String, String, String,
+ * String, Map)}: additional params first, then the static ones, then {@code state}. The PKCE params take precedence
+ * over additional params of the same name, as they did when {@link AuthorizationUrlBuilder} merged both maps.
+ */
+public class AuthorizationUrlTemplate {
+
+    private static final int ESTIMATED_PAIR_LENGTH = 32;
+    private static final int PKCE_PARAMS_LENGTH = 96;
+
+    private final String prefix;
+    private final String staticParams;
+
+    public AuthorizationUrlTemplate(String authorizationBaseUrl, String responseType, String apiKey, String callback,
+            String scope) {
+        prefix = authorizationBaseUrl + (authorizationBaseUrl.indexOf('?') == -1 ? '?' : '&');
+
+        final StringBuilder params = new StringBuilder();
+        appendPair(params, OAuthConstants.RESPONSE_TYPE, responseType);
+        params.append('&');
+        appendPair(params, OAuthConstants.CLIENT_ID, apiKey);
+        if (callback != null) {
+            params.append('&');
+            appendPair(params, OAuthConstants.REDIRECT_URI, callback);
+        }
+        if (scope != null) {
+            params.append('&');
+            appendPair(params, OAuthConstants.SCOPE, scope);
+        }
+        staticParams = params.toString();
+    }
+
+    /**
+     * @param state state, can be null
+     * @param additionalParams additional GET params, can be null
+     * @param pkce PKCE, can be null
+     * @return the URL where you should redirect your users
+     */
+    public String build(String state, Map<String, String> additionalParams, PKCE pkce) {
+        return build(null, state, additionalParams, pkce);
+    }
+
+    /**
+     * Builds the URL of a scope without a template of its own, from the template created without a scope. The scope
+     * is the last of the static params, so the URL is the same as the one of the scope's template.
+     *
+     * @param scope scope, can be null
+     * @param state state, can be null
+     * @param additionalParams additional GET params, can be null
+     * @param pkce PKCE, can be null
+     * @return the URL where you should redirect your users
+     */
+    public String build(String scope, String state, Map<String, String> additionalParams, PKCE pkce) {
+        int capacity = prefix.length() + staticParams.length();
+        if (scope != null) {
+            capacity += OAuthConstants.SCOPE.length() + scope.length() + 2;
+        }
+        if (state != null) {
+            capacity += OAuthConstants.STATE.length() + state.length() + 2;
+        }
+        if (additionalParams != null) {
+            capacity += additionalParams.size() * ESTIMATED_PAIR_LENGTH;
+        }
+        if (pkce != null) {
+            capacity += PKCE_PARAMS_LENGTH;
+        }
+
+        final StringBuilder url = new StringBuilder(capacity).append(prefix);
+        if (additionalParams != null) {
+            for (Map.Entry<String, String> param : additionalParams.entrySet()) {
+                if (pkce != null && isPkceParam(param.getKey())) {
+                    continue;
+                }
+                appendPair(url, param.getKey(), param.getValue());
+                url.append('&');
+            }
+        }
+        if (pkce != null) {
+            appendPair(url, PKCE.PKCE_CODE_CHALLENGE_PARAM, pkce.getCodeChallenge());
+            url.append('&');
+            appendPair(url, PKCE.PKCE_CODE_CHALLENGE_METHOD_PARAM, pkce.getCodeChallengeMethod().name());
+            url.append('&');
+        }
+        url.append(staticParams);
+        if (scope != null) {
+            url.append('&');
+            appendPair(url, OAuthConstants.SCOPE, scope);
+        }
+        if (state != null) {
+            url.append('&');
+            appendPair(url, OAuthConstants.STATE, state);
+        }
+        return url.toString();
+    }
+
+    private static boolean isPkceParam(String key) {
+        return PKCE.PKCE_CODE_CHALLENGE_PARAM.equals(key) || PKCE.PKCE_CODE_CHALLENGE_METHOD_PARAM.equals(key);
+    }
+
+    private static void appendPair(StringBuilder builder, String key, String value) {
+        builder.append(OAuthEncoder.encode(key)).append('=').append(OAuthEncoder.encode(value));
+    }
+}
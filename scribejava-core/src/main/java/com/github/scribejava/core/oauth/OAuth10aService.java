@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.concurrent.Future;
 import com.github.scribejava.core.builder.api.DefaultApi10a;
 import com.github.scribejava.core.builder.api.OAuth1SignatureType;
+import com.github.scribejava.core.exceptions.OAuthException;
 import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
 import com.github.scribejava.core.model.OAuth1AccessToken;
@@ -11,7 +12,10 @@ import com.github.scribejava.core.model.OAuth1RequestToken;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
 import com.github.scribejava.core.model.OAuthConstants;
 import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
 import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorization;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorizationStore;
 import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -68,6 +72,7 @@ public class OAuth10aService extends OAuthService {
 
     protected OAuthRequest prepareRequestTokenRequest() {
         final OAuthRequest request = new OAuthRequest(api.getRequestTokenVerb(), api.getRequestTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
         String callback = getCallback();
         if (callback == null) {
             callback = OAuthConstants.OOB;
@@ -137,6 +142,7 @@ public class OAuth10aService extends OAuthService {
 
     protected OAuthRequest prepareAccessTokenRequest(OAuth1RequestToken requestToken, String oauthVerifier) {
         final OAuthRequest request = new OAuthRequest(api.getAccessTokenVerb(), api.getAccessTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
         request.addOAuthParameter(OAuthConstants.TOKEN, requestToken.getToken());
         request.addOAuthParameter(OAuthConstants.VERIFIER, oauthVerifier);
         if (isDebug()) {
@@ -177,6 +183,36 @@ public class OAuth10aService extends OAuthService {
         return api.getAuthorizationUrl(requestToken);
     }
 
+    /**
+     * Remembers the request token in the store and returns the URL where you should redirect your users. Take the
+     * token back with {@link #takeRequestToken(String, PendingAuthorizationStore)} in the callback.
+     *
+     * @param requestToken the request token you need to authorize
+     * @param pendingAuthorizationStore pendingAuthorizationStore
+     * @return the URL where you should redirect your users
+     */
+    public String getAuthorizationUrl(OAuth1RequestToken requestToken,
+            PendingAuthorizationStore pendingAuthorizationStore) {
+        pendingAuthorizationStore.put(requestToken.getToken(), new PendingAuthorization(requestToken));
+        return getAuthorizationUrl(requestToken);
+    }
+
+    /**
+     * Takes the request token with its secret out of the store. Each request token is accepted once.
+     *
+     * @param oauthToken oauth_token of the callback
+     * @param pendingAuthorizationStore pendingAuthorizationStore
+     * @return the request token
+     * @throws OAuthException if the request token is unknown, expired or already used
+     */
+    public OAuth1RequestToken takeRequestToken(String oauthToken, PendingAuthorizationStore pendingAuthorizationStore) {
+        final PendingAuthorization pendingAuthorization = pendingAuthorizationStore.take(oauthToken);
+        if (pendingAuthorization == null || pendingAuthorization.getRequestToken() == null) {
+            throw new OAuthException("oauth_token of the callback is unknown, expired or already used");
+        }
+        return pendingAuthorization.getRequestToken();
+    }
+
     private String getSignature(OAuthRequest request, String tokenSecret) {
         log("generating signature...");
         final String baseString = api.getBaseStringExtractor().extract(request);
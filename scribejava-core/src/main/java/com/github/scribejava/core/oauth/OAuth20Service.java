@@ -4,18 +4,30 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.concurrent.Future;
 import com.github.scribejava.core.builder.api.DefaultApi20;
+import com.github.scribejava.core.deviceauthorization.DeviceAuthorization;
+import com.github.scribejava.core.deviceauthorization.DeviceAuthorizationJsonExtractor;
+import com.github.scribejava.core.exceptions.OAuthException;
 import com.github.scribejava.core.extractors.OAuth2AccessTokenJsonExtractor;
 import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.introspection.OAuth2TokenIntrospection;
+import com.github.scribejava.core.introspection.OAuth2TokenIntrospectionJsonExtractor;
 import com.github.scribejava.core.model.OAuth2AccessToken;
 import com.github.scribejava.core.model.OAuth2Authorization;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
 import com.github.scribejava.core.model.OAuthConstants;
 import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
 import com.github.scribejava.core.model.Response;
 import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth2.clientauthentication.BindableClientAuthentication;
+import com.github.scribejava.core.oauth2.clientauthentication.ClientAuthentication;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorization;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorizationStore;
 import com.github.scribejava.core.pkce.PKCE;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import com.github.scribejava.core.revoke.TokenTypeHint;
 import java.io.UnsupportedEncodingException;
@@ -24,9 +36,16 @@ import java.net.URLDecoder;
 public class OAuth20Service extends OAuthService {
 
     private static final String VERSION = "2.0";
+    private static final int MAX_AUTHORIZATION_URL_TEMPLATES = 32;
     private final DefaultApi20 api;
     private final String responseType;
     private final String defaultScope;
+    private final ConcurrentMap<String, AuthorizationUrlTemplate> authorizationUrlTemplates
+            = new ConcurrentHashMap<>();
+    private volatile AuthorizationUrlTemplate defaultScopeAuthorizationUrlTemplate;
+    private volatile AuthorizationUrlTemplate unscopedAuthorizationUrlTemplate;
+    private volatile boolean authorizationUrlTemplatesUnsupported;
+    private ClientAuthentication clientAuthentication;
 
     public OAuth20Service(DefaultApi20 api, String apiKey, String apiSecret, String callback, String defaultScope,
             String responseType, OutputStream debugStream, String userAgent, HttpClientConfig httpClientConfig,
@@ -117,8 +136,9 @@ public class OAuth20Service extends OAuthService {
 
     protected OAuthRequest createAccessTokenRequest(AccessTokenRequestParams params) {
         final OAuthRequest request = new OAuthRequest(api.getAccessTokenVerb(), api.getAccessTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
 
-        api.getClientAuthentication().addClientAuthentication(request, getApiKey(), getApiSecret());
+        addClientAuthentication(request);
 
         request.addParameter(OAuthConstants.CODE, params.getCode());
         final String callback = getCallback();
@@ -186,8 +206,9 @@ public class OAuth20Service extends OAuthService {
             throw new IllegalArgumentException("The refreshToken cannot be null or empty");
         }
         final OAuthRequest request = new OAuthRequest(api.getAccessTokenVerb(), api.getRefreshTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
 
-        api.getClientAuthentication().addClientAuthentication(request, getApiKey(), getApiSecret());
+        addClientAuthentication(request);
 
         if (scope != null) {
             request.addParameter(OAuthConstants.SCOPE, scope);
@@ -252,6 +273,7 @@ public class OAuth20Service extends OAuthService {
 
     protected OAuthRequest createAccessTokenPasswordGrantRequest(String username, String password, String scope) {
         final OAuthRequest request = new OAuthRequest(api.getAccessTokenVerb(), api.getAccessTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
         request.addParameter(OAuthConstants.USERNAME, username);
         request.addParameter(OAuthConstants.PASSWORD, password);
 
@@ -263,7 +285,7 @@ public class OAuth20Service extends OAuthService {
 
         request.addParameter(OAuthConstants.GRANT_TYPE, OAuthConstants.PASSWORD);
 
-        api.getClientAuthentication().addClientAuthentication(request, getApiKey(), getApiSecret());
+        addClientAuthentication(request);
 
         if (isDebug()) {
             log("created access token password grant request with body params [%s], query string params [%s]",
@@ -318,8 +340,9 @@ public class OAuth20Service extends OAuthService {
 
     protected OAuthRequest createAccessTokenClientCredentialsGrantRequest(String scope) {
         final OAuthRequest request = new OAuthRequest(api.getAccessTokenVerb(), api.getAccessTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
 
-        api.getClientAuthentication().addClientAuthentication(request, getApiKey(), getApiSecret());
+        addClientAuthentication(request);
 
         if (scope != null) {
             request.addParameter(OAuthConstants.SCOPE, scope);
@@ -336,6 +359,25 @@ public class OAuth20Service extends OAuthService {
         return request;
     }
 
+    /**
+     * Adds client authentication to the request using {@link DefaultApi20#getClientAuthentication()} bound to this
+     * service's credentials.
+     *
+     * @param request request
+     */
+    protected void addClientAuthentication(OAuthRequest request) {
+        ClientAuthentication boundClientAuthentication = clientAuthentication;
+        if (boundClientAuthentication == null) {
+            //racy single-check is fine, bound instances are immutable
+            final ClientAuthentication apiClientAuthentication = api.getClientAuthentication();
+            boundClientAuthentication = apiClientAuthentication instanceof BindableClientAuthentication
+                    ? ((BindableClientAuthentication) apiClientAuthentication).bind(getApiKey(), getApiSecret())
+                    : apiClientAuthentication;
+            clientAuthentication = boundClientAuthentication;
+        }
+        boundClientAuthentication.addClientAuthentication(request, getApiKey(), getApiSecret());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -389,6 +431,72 @@ public class OAuth20Service extends OAuthService {
         return new AuthorizationUrlBuilder(this);
     }
 
+    /**
+     * Builds the authorization URL from the precompiled templates, see {@link #getAuthorizationUrlTemplate(String)}.
+     * The scopes past the cached ones are appended to the template without a scope.
+     *
+     * @param scope scope
+     * @param state state, can be null
+     * @param additionalParams additional GET params, can be null
+     * @param pkce PKCE, can be null
+     * @return the URL or null if the api builds the authorization URL its own way
+     */
+    String buildAuthorizationUrl(String scope, String state, Map<String, String> additionalParams, PKCE pkce) {
+        final AuthorizationUrlTemplate template = getAuthorizationUrlTemplate(scope);
+        if (template != null) {
+            return template.build(state, additionalParams, pkce);
+        }
+        if (authorizationUrlTemplatesUnsupported) {
+            return null;
+        }
+        AuthorizationUrlTemplate unscoped = unscopedAuthorizationUrlTemplate;
+        if (unscoped == null) {
+            unscoped = api.createAuthorizationUrlTemplate(responseType, getApiKey(), getCallback(), null);
+            unscopedAuthorizationUrlTemplate = unscoped;
+        }
+        return unscoped.build(scope, state, additionalParams, pkce);
+    }
+
+    /**
+     * Returns the precompiled authorization URL for the scope. The template of the default scope and of up to
+     * {@value #MAX_AUTHORIZATION_URL_TEMPLATES} other scopes are kept for the lifetime of this service.
+     *
+     * @param scope scope
+     * @return template or null if the api builds the authorization URL its own way or the scope is past the cached
+     * ones
+     */
+    AuthorizationUrlTemplate getAuthorizationUrlTemplate(String scope) {
+        if (authorizationUrlTemplatesUnsupported) {
+            return null;
+        }
+        final boolean isDefaultScope = scope == null ? defaultScope == null : scope.equals(defaultScope);
+        AuthorizationUrlTemplate template;
+        if (isDefaultScope) {
+            template = defaultScopeAuthorizationUrlTemplate;
+        } else {
+            template = scope == null ? null : authorizationUrlTemplates.get(scope);
+        }
+        if (template != null) {
+            return template;
+        }
+        if (!isDefaultScope && scope != null && authorizationUrlTemplates.size() >= MAX_AUTHORIZATION_URL_TEMPLATES) {
+            return null;
+        }
+
+        template = api.createAuthorizationUrlTemplate(responseType, getApiKey(), getCallback(), scope);
+        if (template == null) {
+            authorizationUrlTemplatesUnsupported = true;
+        } else if (isDefaultScope) {
+            defaultScopeAuthorizationUrlTemplate = template;
+        } else if (scope != null) {
+            final AuthorizationUrlTemplate cached = authorizationUrlTemplates.putIfAbsent(scope, template);
+            if (cached != null) {
+                template = cached;
+            }
+        }
+        return template;
+    }
+
     public DefaultApi20 getApi() {
         return api;
     }
@@ -396,7 +504,7 @@ public class OAuth20Service extends OAuthService {
     protected OAuthRequest createRevokeTokenRequest(String tokenToRevoke, TokenTypeHint tokenTypeHint) {
         final OAuthRequest request = new OAuthRequest(Verb.POST, api.getRevokeTokenEndpoint());
 
-        api.getClientAuthentication().addClientAuthentication(request, getApiKey(), getApiSecret());
+        addClientAuthentication(request);
 
         request.addParameter("token", tokenToRevoke);
         if (tokenTypeHint != null) {
@@ -456,6 +564,190 @@ public class OAuth20Service extends OAuthService {
         }
     }
 
+    protected OAuthRequest createIntrospectTokenRequest(String tokenToIntrospect, TokenTypeHint tokenTypeHint) {
+        final OAuthRequest request = new OAuthRequest(Verb.POST, api.getIntrospectionEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
+
+        addClientAuthentication(request);
+
+        request.addParameter("token", tokenToIntrospect);
+        if (tokenTypeHint != null) {
+            request.addParameter("token_type_hint", tokenTypeHint.getValue());
+        }
+
+        if (isDebug()) {
+            log("created introspect token request with body params [%s], query string params [%s]",
+                    request.getBodyParams().asFormUrlEncodedString(),
+                    request.getQueryStringParams().asFormUrlEncodedString());
+        }
+
+        return request;
+    }
+
+    public Future<OAuth2TokenIntrospection> introspectTokenAsync(String tokenToIntrospect) {
+        return introspectTokenAsync(tokenToIntrospect, null);
+    }
+
+    public Future<OAuth2TokenIntrospection> introspectTokenAsync(String tokenToIntrospect,
+            TokenTypeHint tokenTypeHint) {
+        return introspectToken(tokenToIntrospect, null, tokenTypeHint);
+    }
+
+    /**
+     * RFC 7662 Token Introspection. An inactive (expired, revoked, unknown) token is not an error, check
+     * {@link OAuth2TokenIntrospection#isActive()}. To not call the authorization server on every request, see
+     * {@link com.github.scribejava.core.introspection.OAuth2TokenIntrospectionCache}.
+     *
+     * @param tokenToIntrospect tokenToIntrospect
+     * @return introspection response
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     * @throws ExecutionException ExecutionException
+     */
+    public OAuth2TokenIntrospection introspectToken(String tokenToIntrospect)
+            throws IOException, InterruptedException, ExecutionException {
+        return introspectToken(tokenToIntrospect, (TokenTypeHint) null);
+    }
+
+    public OAuth2TokenIntrospection introspectToken(String tokenToIntrospect, TokenTypeHint tokenTypeHint)
+            throws IOException, InterruptedException, ExecutionException {
+        final OAuthRequest request = createIntrospectTokenRequest(tokenToIntrospect, tokenTypeHint);
+
+        try (Response response = execute(request)) {
+            return OAuth2TokenIntrospectionJsonExtractor.instance().extract(response);
+        }
+    }
+
+    public Future<OAuth2TokenIntrospection> introspectToken(String tokenToIntrospect,
+            OAuthAsyncRequestCallback<OAuth2TokenIntrospection> callback) {
+        return introspectToken(tokenToIntrospect, callback, null);
+    }
+
+    public Future<OAuth2TokenIntrospection> introspectToken(String tokenToIntrospect,
+            OAuthAsyncRequestCallback<OAuth2TokenIntrospection> callback, TokenTypeHint tokenTypeHint) {
+        final OAuthRequest request = createIntrospectTokenRequest(tokenToIntrospect, tokenTypeHint);
+
+        return execute(request, callback, new OAuthRequest.ResponseConverter<OAuth2TokenIntrospection>() {
+            @Override
+            public OAuth2TokenIntrospection convert(Response response) throws IOException {
+                return OAuth2TokenIntrospectionJsonExtractor.instance().extract(response);
+            }
+        });
+    }
+
+    protected OAuthRequest createDeviceAuthorizationCodesRequest(String scope) {
+        final OAuthRequest request = new OAuthRequest(Verb.POST, api.getDeviceAuthorizationEndpoint());
+
+        addClientAuthentication(request);
+
+        if (scope != null) {
+            request.addParameter(OAuthConstants.SCOPE, scope);
+        } else if (defaultScope != null) {
+            request.addParameter(OAuthConstants.SCOPE, defaultScope);
+        }
+
+        if (isDebug()) {
+            log("created device authorization codes request with body params [%s], query string params [%s]",
+                    request.getBodyParams().asFormUrlEncodedString(),
+                    request.getQueryStringParams().asFormUrlEncodedString());
+        }
+        return request;
+    }
+
+    public Future<DeviceAuthorization> getDeviceAuthorizationCodesAsync() {
+        return getDeviceAuthorizationCodes((OAuthAsyncRequestCallback<DeviceAuthorization>) null);
+    }
+
+    public Future<DeviceAuthorization> getDeviceAuthorizationCodesAsync(String scope) {
+        return getDeviceAuthorizationCodes(scope, null);
+    }
+
+    /**
+     * RFC 8628 Device Authorization Request. Show the user code and the verification URI to the user, then poll for
+     * the access token with {@link com.github.scribejava.core.deviceauthorization.DeviceAuthorizationPoller}.
+     *
+     * @return device authorization response
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     * @throws ExecutionException ExecutionException
+     */
+    public DeviceAuthorization getDeviceAuthorizationCodes()
+            throws IOException, InterruptedException, ExecutionException {
+        return getDeviceAuthorizationCodes((String) null);
+    }
+
+    public DeviceAuthorization getDeviceAuthorizationCodes(String scope)
+            throws IOException, InterruptedException, ExecutionException {
+        final OAuthRequest request = createDeviceAuthorizationCodesRequest(scope);
+
+        try (Response response = execute(request)) {
+            return DeviceAuthorizationJsonExtractor.instance().extract(response);
+        }
+    }
+
+    public Future<DeviceAuthorization> getDeviceAuthorizationCodes(
+            OAuthAsyncRequestCallback<DeviceAuthorization> callback) {
+        return getDeviceAuthorizationCodes(null, callback);
+    }
+
+    public Future<DeviceAuthorization> getDeviceAuthorizationCodes(String scope,
+            OAuthAsyncRequestCallback<DeviceAuthorization> callback) {
+        final OAuthRequest request = createDeviceAuthorizationCodesRequest(scope);
+
+        return execute(request, callback, new OAuthRequest.ResponseConverter<DeviceAuthorization>() {
+            @Override
+            public DeviceAuthorization convert(Response response) throws IOException {
+                return DeviceAuthorizationJsonExtractor.instance().extract(response);
+            }
+        });
+    }
+
+    protected OAuthRequest createAccessTokenDeviceAuthorizationGrantRequest(DeviceAuthorization deviceAuthorization) {
+        final OAuthRequest request = new OAuthRequest(api.getAccessTokenVerb(), api.getAccessTokenEndpoint());
+        request.setPriority(RequestPriority.TOKEN);
+
+        addClientAuthentication(request);
+
+        request.addParameter(OAuthConstants.GRANT_TYPE, OAuthConstants.DEVICE_CODE_GRANT_TYPE);
+        request.addParameter(OAuthConstants.DEVICE_CODE, deviceAuthorization.getDeviceCode());
+
+        if (isDebug()) {
+            log("created access token device authorization grant request with body params [%s], "
+                    + "query string params [%s]", request.getBodyParams().asFormUrlEncodedString(),
+                    request.getQueryStringParams().asFormUrlEncodedString());
+        }
+        return request;
+    }
+
+    public Future<OAuth2AccessToken> getAccessTokenDeviceAuthorizationGrantAsync(
+            DeviceAuthorization deviceAuthorization) {
+        return getAccessTokenDeviceAuthorizationGrant(deviceAuthorization, null);
+    }
+
+    /**
+     * Single poll of the token endpoint. Until the user authorizes the device it throws
+     * {@link com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse} with
+     * {@link com.github.scribejava.core.oauth2.OAuth2Error#AUTHORIZATION_PENDING} or
+     * {@link com.github.scribejava.core.oauth2.OAuth2Error#SLOW_DOWN}.
+     *
+     * @param deviceAuthorization deviceAuthorization
+     * @return access token
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     * @throws ExecutionException ExecutionException
+     * @see com.github.scribejava.core.deviceauthorization.DeviceAuthorizationPoller
+     */
+    public OAuth2AccessToken getAccessTokenDeviceAuthorizationGrant(DeviceAuthorization deviceAuthorization)
+            throws IOException, InterruptedException, ExecutionException {
+        return sendAccessTokenRequestSync(createAccessTokenDeviceAuthorizationGrantRequest(deviceAuthorization));
+    }
+
+    public Future<OAuth2AccessToken> getAccessTokenDeviceAuthorizationGrant(DeviceAuthorization deviceAuthorization,
+            OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+        return sendAccessTokenRequestAsync(createAccessTokenDeviceAuthorizationGrantRequest(deviceAuthorization),
+                callback);
+    }
+
     public OAuth2Authorization extractAuthorization(String redirectLocation) {
         final OAuth2Authorization authorization = new OAuth2Authorization();
         int end = redirectLocation.indexOf('#');
@@ -483,6 +775,27 @@ public class OAuth20Service extends OAuthService {
         return authorization;
     }
 
+    /**
+     * Extracts the authorization and takes its pending authorization, remembered by
+     * {@link AuthorizationUrlBuilder#pendingAuthorizationStore(PendingAuthorizationStore)}, out of the store. Each
+     * state is accepted once.
+     *
+     * @param redirectLocation redirectLocation
+     * @param pendingAuthorizationStore pendingAuthorizationStore
+     * @return authorization with the PKCE of the authorization request, if it had one
+     * @throws OAuthException if the state is missing, unknown, expired or already used
+     */
+    public OAuth2Authorization extractAuthorization(String redirectLocation,
+            PendingAuthorizationStore pendingAuthorizationStore) {
+        final OAuth2Authorization authorization = extractAuthorization(redirectLocation);
+        final PendingAuthorization pendingAuthorization = pendingAuthorizationStore.take(authorization.getState());
+        if (pendingAuthorization == null) {
+            throw new OAuthException("state of the redirect is missing, unknown, expired or already used");
+        }
+        authorization.setPkce(pendingAuthorization.getPkce());
+        return authorization;
+    }
+
     public String getResponseType() {
         return responseType;
     }
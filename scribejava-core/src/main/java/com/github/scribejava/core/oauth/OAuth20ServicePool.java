@@ -0,0 +1,310 @@
+package com.github.scribejava.core.oauth;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.HttpClientRegistry;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of {@link OAuth20Service}s per tenant (realm, customer, etc.).<br>
+ * All the services share one underlying {@link HttpClient} created from the {@link HttpClientConfig} (see
+ * {@link HttpClientRegistry}). When there are more than maxSize services, the least recently used ones are evicted,
+ * a few more at once (down to 15/16 of maxSize) to not look for them on every new tenant. Services not used for
+ * maxIdle time are evicted too, the pool looks for them every quarter of maxIdle. Evicted services are closed, which
+ * releases only their reference to the shared client, so the requests still running on them are not affected.<br>
+ * Lookups don't lock, the service of a new tenant is created once, only its concurrent callers wait for it.
+ *
+ * <pre>
+ * final OAuth20ServicePool&lt;String&gt; pool = new OAuth20ServicePool&lt;&gt;(config,
+ *         new OAuth20ServicePool.ServiceFactory&lt;String&gt;() {
+ *     &#64;Override
+ *     public OAuth20Service createService(String realm, HttpClient httpClient) {
+ *         return new ServiceBuilder(apiKey).apiSecret(apiSecret).httpClient(httpClient)
+ *                 .build(KeycloakApi.instance(baseUrl, realm));
+ *     }
+ * }, 10000, 30, TimeUnit.MINUTES);
+ * </pre>
+ *
+ * @param <K> tenant key type, must implement equals and hashCode
+ */
+public class OAuth20ServicePool<K> implements Closeable {
+
+    private static final int EVICTION_BATCH_DIVISOR = 16;
+    private static final int IDLE_SWEEPS_PER_MAX_IDLE = 4;
+
+    private final HttpClientConfig httpClientConfig;
+    private final ServiceFactory<K> serviceFactory;
+    private final int maxSize;
+    private final long maxIdleNanos;
+    private final HttpClient sharedHttpClient;
+    private final ConcurrentMap<K, Entry> services = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong nextIdleSweepNanos;
+    private volatile boolean closed;
+
+    public OAuth20ServicePool(HttpClientConfig httpClientConfig, ServiceFactory<K> serviceFactory, int maxSize,
+            long maxIdle, TimeUnit maxIdleUnit) {
+        Preconditions.checkNotNull(httpClientConfig, "httpClientConfig can't be null");
+        Preconditions.checkNotNull(serviceFactory, "serviceFactory can't be null");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.httpClientConfig = httpClientConfig;
+        this.serviceFactory = serviceFactory;
+        this.maxSize = maxSize;
+        this.maxIdleNanos = maxIdleUnit.toNanos(maxIdle);
+        nextIdleSweepNanos = new AtomicLong(System.nanoTime() + getIdleSweepIntervalNanos());
+        //the pool holds its own reference, so the client survives even when all the services were evicted
+        this.sharedHttpClient = acquireHttpClient();
+    }
+
+    /**
+     * Returns cached service for the tenant or creates the new one.
+     *
+     * @param tenant tenant key
+     * @return service
+     */
+    public OAuth20Service getService(K tenant) {
+        checkNotClosed();
+        Entry entry = services.get(tenant);
+        if (entry == null) {
+            final Entry created = new Entry();
+            entry = services.putIfAbsent(tenant, created);
+            if (entry == null) {
+                entry = created;
+                create(tenant, created);
+            }
+        }
+        final OAuth20Service service = entry.await();
+        final long now = System.nanoTime();
+        entry.lastAccess = now;
+        if (services.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+        final long nextIdleSweep = nextIdleSweepNanos.get();
+        if (now - nextIdleSweep >= 0
+                && nextIdleSweepNanos.compareAndSet(nextIdleSweep, now + getIdleSweepIntervalNanos())) {
+            evictIdle();
+        }
+        return service;
+    }
+
+    /**
+     * Removes and closes the service for the tenant, if any.
+     *
+     * @param tenant tenant key
+     */
+    public void invalidate(K tenant) {
+        final Entry entry = services.remove(tenant);
+        if (entry != null) {
+            entry.close();
+        }
+    }
+
+    /**
+     * Evicts idle services. The pool does it on {@link #getService(java.lang.Object)} anyway, call it periodically
+     * only if you want to release idle services of the otherwise unused pool.
+     */
+    public void evictIdle() {
+        final long now = System.nanoTime();
+        for (Map.Entry<K, Entry> service : services.entrySet()) {
+            final Entry entry = service.getValue();
+            if (entry.isCreated() && now - entry.lastAccess > maxIdleNanos
+                    && services.remove(service.getKey(), entry)) {
+                entry.close();
+            }
+        }
+    }
+
+    public int size() {
+        return services.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final Iterator<Entry> iterator = services.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            iterator.remove();
+            entry.close();
+        }
+        sharedHttpClient.close();
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The pool is closed");
+        }
+    }
+
+    /**
+     * Runs the factory without any lock, only the concurrent callers for the same tenant wait for it.
+     */
+    private void create(K tenant, Entry entry) {
+        try {
+            final HttpClient httpClient = acquireHttpClient();
+            try {
+                entry.service = serviceFactory.createService(tenant, httpClient);
+            } catch (RuntimeException rE) {
+                closeQuietly(httpClient);
+                throw rE;
+            }
+        } catch (RuntimeException rE) {
+            entry.failure = rE;
+            services.remove(tenant, entry);
+            throw rE;
+        } finally {
+            entry.created.countDown();
+        }
+        if (services.get(tenant) != entry) {
+            //invalidated or the pool closed meanwhile, nobody else closes it
+            entry.close();
+            checkNotClosed();
+        }
+    }
+
+    private HttpClient acquireHttpClient() {
+        final HttpClient httpClient = HttpClientRegistry.instance().acquire(httpClientConfig);
+        if (httpClient == null) {
+            throw new IllegalArgumentException("There is no HttpClientProvider for " + httpClientConfig);
+        }
+        return httpClient;
+    }
+
+    private long getIdleSweepIntervalNanos() {
+        return Math.max(1, maxIdleNanos / IDLE_SWEEPS_PER_MAX_IDLE);
+    }
+
+    /**
+     * Sorts the services by their last access, one caller at a time, the others don't wait for it. The services still
+     * being created are skipped, their callers are about to use them.
+     */
+    private void evictLeastRecentlyUsed() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final List<Candidate<K>> candidates = new ArrayList<>(services.size());
+            for (Map.Entry<K, Entry> service : services.entrySet()) {
+                if (service.getValue().isCreated()) {
+                    candidates.add(new Candidate<>(service.getKey(), service.getValue()));
+                }
+            }
+            Collections.sort(candidates);
+            int excess = services.size() - (maxSize - maxSize / EVICTION_BATCH_DIVISOR);
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                final Candidate<K> candidate = candidates.get(i);
+                if (services.remove(candidate.tenant, candidate.entry)) {
+                    candidate.entry.close();
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException | RuntimeException e) {
+            //not used anymore, nothing to do with its close problems
+        }
+    }
+
+    public interface ServiceFactory<K> {
+
+        /**
+         * Creates the service for the tenant. Pass the httpClient to the
+         * {@link com.github.scribejava.core.builder.ServiceBuilder#httpClient(HttpClient)}, it's the pool's shared
+         * client and closing the service releases just this reference.
+         *
+         * @param tenant tenant key
+         * @param httpClient handle to the shared client
+         * @return service
+         */
+        OAuth20Service createService(K tenant, HttpClient httpClient);
+    }
+
+    private static class Entry {
+
+        private final CountDownLatch created = new CountDownLatch(1);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile OAuth20Service service;
+        private volatile RuntimeException failure;
+        private volatile long lastAccess = System.nanoTime();
+
+        boolean isCreated() {
+            return created.getCount() == 0 && service != null;
+        }
+
+        OAuth20Service await() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        created.await();
+                        break;
+                    } catch (InterruptedException iE) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return service;
+        }
+
+        /**
+         * Once, either by the thread that removed it or, if it wasn't created yet, by the creating one.
+         */
+        void close() {
+            if (isCreated() && closed.compareAndSet(false, true)) {
+                closeQuietly(service);
+            }
+        }
+    }
+
+    /**
+     * last access at the time of the eviction, the entry's own may change while sorting
+     */
+    private static class Candidate<T> implements Comparable<Candidate<T>> {
+
+        private final T tenant;
+        private final Entry entry;
+        private final long lastAccess;
+
+        Candidate(T tenant, Entry entry) {
+            this.tenant = tenant;
+            this.entry = entry;
+            lastAccess = entry.lastAccess;
+        }
+
+        @Override
+        public int compareTo(Candidate<T> other) {
+            return Long.compare(lastAccess - other.lastAccess, 0);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.scribejava.core.oauth;
 
-import com.github.scribejava.core.httpclient.HttpClientProvider;
 import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.HttpClientRegistry;
+import com.github.scribejava.core.httpclient.PriorityAwareHttpClient;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
 import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
 import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
@@ -13,7 +15,6 @@ import java.io.File;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.ServiceLoader;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -41,16 +42,22 @@ public abstract class OAuthService implements Closeable {
         }
     }
 
+    /**
+     * Services built with equal configs share the underlying client, see {@link HttpClientRegistry}.
+     *
+     * @param config config
+     * @return shared client
+     */
     private static HttpClient getClient(HttpClientConfig config) {
-        for (HttpClientProvider provider : ServiceLoader.load(HttpClientProvider.class)) {
-            final HttpClient client = provider.createClient(config);
-            if (client != null) {
-                return client;
-            }
-        }
-        return null;
+        return HttpClientRegistry.instance().acquire(config);
     }
 
+    /**
+     * Closes the http client. If it was created from the {@link HttpClientConfig}, it just releases the reference to
+     * the shared client, which is really closed only by the last service using it.
+     *
+     * @throws IOException IOException
+     */
     @Override
     public void close() throws IOException {
         httpClient.close();
@@ -86,36 +93,50 @@ public abstract class OAuthService implements Closeable {
     public <R> Future<R> execute(OAuthRequest request, OAuthAsyncRequestCallback<R> callback,
             OAuthRequest.ResponseConverter<R> converter) {
 
+        final HttpClient client = getHttpClient(request);
         final File filePayload = request.getFilePayload();
         if (filePayload != null) {
-            return httpClient.executeAsync(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.executeAsync(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     filePayload, callback, converter);
         } else if (request.getStringPayload() != null) {
-            return httpClient.executeAsync(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.executeAsync(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     request.getStringPayload(), callback, converter);
         } else {
-            return httpClient.executeAsync(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.executeAsync(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     request.getByteArrayPayload(), callback, converter);
         }
     }
 
     public Response execute(OAuthRequest request) throws InterruptedException, ExecutionException, IOException {
+        final HttpClient client = getHttpClient(request);
         final File filePayload = request.getFilePayload();
         if (filePayload != null) {
-            return httpClient.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     filePayload);
         } else if (request.getStringPayload() != null) {
-            return httpClient.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     request.getStringPayload());
         } else if (request.getMultipartPayload() != null) {
-            return httpClient.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     request.getMultipartPayload());
         } else {
-            return httpClient.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
+            return client.execute(userAgent, request.getHeaders(), request.getVerb(), request.getCompleteUrl(),
                     request.getByteArrayPayload());
         }
     }
 
+    /**
+     * @param request request
+     * @return the client bound to the priority and the per-request timeout, if the client supports them
+     */
+    private HttpClient getHttpClient(OAuthRequest request) {
+        final HttpClient client = httpClient instanceof PriorityAwareHttpClient
+                ? ((PriorityAwareHttpClient) httpClient).withPriority(request.getPriority()) : httpClient;
+        final long timeoutMillis = request.getTimeoutMillis();
+        return timeoutMillis > 0 && client instanceof TimeoutAwareHttpClient
+                ? ((TimeoutAwareHttpClient) client).withTimeout(timeoutMillis) : client;
+    }
+
     /**
      * No need to wrap usages in {@link #isDebug()}.
      *
@@ -67,7 +67,19 @@ public enum OAuth2Error {
      * @see <a href="https://tools.ietf.org/html/rfc7009#section-4.1">RFC 7009, 4.1. OAuth Extensions Error
      * Registration</a>
      */
-    UNSUPPORTED_TOKEN_TYPE("unsupported_token_type");
+    UNSUPPORTED_TOKEN_TYPE("unsupported_token_type"),
+    /**
+     * @see <a href="https://tools.ietf.org/html/rfc8628#section-3.5">RFC 8628, 3.5. Device Access Token Response</a>
+     */
+    AUTHORIZATION_PENDING("authorization_pending"),
+    /**
+     * @see <a href="https://tools.ietf.org/html/rfc8628#section-3.5">RFC 8628, 3.5. Device Access Token Response</a>
+     */
+    SLOW_DOWN("slow_down"),
+    /**
+     * @see <a href="https://tools.ietf.org/html/rfc8628#section-3.5">RFC 8628, 3.5. Device Access Token Response</a>
+     */
+    EXPIRED_TOKEN("expired_token");
 
     private final String errorString;
 
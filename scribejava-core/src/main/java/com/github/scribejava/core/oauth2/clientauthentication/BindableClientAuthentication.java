@@ -0,0 +1,19 @@
+package com.github.scribejava.core.oauth2.clientauthentication;
+
+/**
+ * {@link ClientAuthentication}, which can precompute everything it needs for the fixed pair of client credentials.
+ * <br>
+ * {@link com.github.scribejava.core.oauth.OAuth20Service} binds it once to its apiKey and apiSecret and reuses the
+ * bound instance for every token, refresh and revoke request.
+ */
+public interface BindableClientAuthentication extends ClientAuthentication {
+
+    /**
+     * @param apiKey apiKey
+     * @param apiSecret apiSecret
+     * @return ClientAuthentication with precomputed data for the given credentials. It still works for any other
+     * credentials passed to {@link #addClientAuthentication(com.github.scribejava.core.model.OAuthRequest,
+     * java.lang.String, java.lang.String)}, just without the precomputed shortcut.
+     */
+    ClientAuthentication bind(String apiKey, String apiSecret);
+}
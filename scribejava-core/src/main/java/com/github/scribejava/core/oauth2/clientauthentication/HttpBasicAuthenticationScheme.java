@@ -12,7 +12,9 @@ import java.nio.charset.Charset;
  * <br>
  * НTTP Basic authentication scheme
  */
-public class HttpBasicAuthenticationScheme implements ClientAuthentication {
+public class HttpBasicAuthenticationScheme implements BindableClientAuthentication {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
 
     private final Base64.Encoder base64Encoder = Base64.getEncoder();
 
@@ -31,10 +33,41 @@ public class HttpBasicAuthenticationScheme implements ClientAuthentication {
     @Override
     public void addClientAuthentication(OAuthRequest request, String apiKey, String apiSecret) {
         if (apiKey != null && apiSecret != null) {
-            request.addHeader(OAuthConstants.HEADER, OAuthConstants.BASIC + ' '
-                    + base64Encoder.encodeToString(
-                            String.format("%s:%s", apiKey, apiSecret).getBytes(Charset.forName("UTF-8"))));
+            request.addHeader(OAuthConstants.HEADER, createHeaderValue(apiKey, apiSecret));
         }
     }
 
+    @Override
+    public ClientAuthentication bind(String apiKey, String apiSecret) {
+        return new BoundHttpBasicAuthenticationScheme(this, apiKey, apiSecret);
+    }
+
+    protected String createHeaderValue(String apiKey, String apiSecret) {
+        return OAuthConstants.BASIC + ' '
+                + base64Encoder.encodeToString((apiKey + ':' + apiSecret).getBytes(UTF_8));
+    }
+
+    private static class BoundHttpBasicAuthenticationScheme implements ClientAuthentication {
+
+        private final HttpBasicAuthenticationScheme scheme;
+        private final String apiKey;
+        private final String apiSecret;
+        private final String headerValue;
+
+        BoundHttpBasicAuthenticationScheme(HttpBasicAuthenticationScheme scheme, String apiKey, String apiSecret) {
+            this.scheme = scheme;
+            this.apiKey = apiKey;
+            this.apiSecret = apiSecret;
+            headerValue = apiKey == null || apiSecret == null ? null : scheme.createHeaderValue(apiKey, apiSecret);
+        }
+
+        @Override
+        public void addClientAuthentication(OAuthRequest request, String apiKey, String apiSecret) {
+            if (headerValue != null && this.apiKey.equals(apiKey) && this.apiSecret.equals(apiSecret)) {
+                request.addHeader(OAuthConstants.HEADER, headerValue);
+            } else {
+                scheme.addClientAuthentication(request, apiKey, apiSecret);
+            }
+        }
+    }
 }
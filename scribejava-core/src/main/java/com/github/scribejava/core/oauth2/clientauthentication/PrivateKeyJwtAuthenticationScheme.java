@@ -0,0 +1,407 @@
+package com.github.scribejava.core.oauth2.clientauthentication;
+
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.java8.Base64;
+import com.github.scribejava.core.model.OAuthConstants;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.utils.Preconditions;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 2.3. Client Authentication<br>
+ * 2.3.2. Other Authentication Methods<br>
+ * https://tools.ietf.org/html/rfc6749#section-2.3.2
+ * <br>
+ * JWT client assertion (RFC 7523, 2.2.) signed with the client's private key, known as "private_key_jwt" in OpenID
+ * Connect (Keycloak, Microsoft Azure Active Directory, etc.).
+ * <p>
+ * Signing with RSA takes milliseconds, so the {@link com.github.scribejava.core.oauth.OAuth20Service} bound instance
+ * (see {@link BindableClientAuthentication}) keeps the assertions per audience:
+ * <ul>
+ * <li>with reuseMillis &gt; 0 a signed assertion is sent again during that window. Only use it if the authorization
+ * server doesn't enforce single-use "jti" (Keycloak does by default).</li>
+ * <li>the next assertions are signed in the background (the executor) before they are needed, so token requests don't
+ * wait for the signature. When none is ready, the requesting thread signs its own, concurrent requests never wait for
+ * each other.</li>
+ * </ul>
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7523#section-2.2">RFC 7523, 2.2. Using JWTs for Client
+ * Authentication</a>
+ * @see <a href="https://openid.net/specs/openid-connect-core-1_0.html#ClientAuthentication">OpenID Connect Core, 9.
+ * Client Authentication</a>
+ */
+public class PrivateKeyJwtAuthenticationScheme implements BindableClientAuthentication {
+
+    public static final String CLIENT_ASSERTION_TYPE_JWT_BEARER
+            = "urn:ietf:params:oauth:client-assertion-type:jwt-bearer";
+    public static final long DEFAULT_LIFETIME_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * single-use assertions kept pre-signed per audience
+     */
+    static final int PRESIGN_DEPTH = 4;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final PrivateKey privateKey;
+    private final String algorithm;
+    private final String jcaAlgorithm;
+    private final int ecSignatureLength;
+    private final String keyId;
+    private final String audience;
+    private final long lifetimeMillis;
+    private final long reuseMillis;
+    private final Executor executor;
+
+    /**
+     * Fresh assertion for every request, pre-signed in the background, audience is the endpoint URL.
+     *
+     * @param privateKey RSA or EC private key
+     * @param algorithm JWS algorithm: RS256, RS384, RS512, ES256, ES384 or ES512
+     * @param keyId "kid" of the registered public key or null
+     */
+    public PrivateKeyJwtAuthenticationScheme(PrivateKey privateKey, String algorithm, String keyId) {
+        this(privateKey, algorithm, keyId, null, DEFAULT_LIFETIME_MILLIS, 0, DefaultExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * @param privateKey RSA or EC private key
+     * @param algorithm JWS algorithm: RS256, RS384, RS512, ES256, ES384 or ES512
+     * @param keyId "kid" of the registered public key or null
+     * @param audience "aud", null to use the URL of the endpoint the request is sent to (token, revoke, etc.)
+     * @param lifetimeMillis from "iat" to "exp"
+     * @param reuseMillis how long the same assertion may be sent again, 0 for single-use assertions. Must be less
+     * than the half of lifetimeMillis, a pre-signed assertion may be up to that old when its reuse starts.
+     * @param executor executor to pre-sign the assertions on, null to sign in the requesting thread
+     */
+    public PrivateKeyJwtAuthenticationScheme(PrivateKey privateKey, String algorithm, String keyId, String audience,
+            long lifetimeMillis, long reuseMillis, Executor executor) {
+        Preconditions.checkNotNull(privateKey, "privateKey can't be null");
+        jcaAlgorithm = getJcaAlgorithm(algorithm);
+        if (jcaAlgorithm == null) {
+            throw new IllegalArgumentException("Unsupported JWS algorithm '" + algorithm + '\'');
+        }
+        if (reuseMillis < 0 || reuseMillis >= lifetimeMillis / 2) {
+            throw new IllegalArgumentException("reuseMillis must be from 0 to the half of lifetimeMillis");
+        }
+        this.privateKey = privateKey;
+        this.algorithm = algorithm;
+        ecSignatureLength = getEcSignatureLength(algorithm);
+        this.keyId = keyId;
+        this.audience = audience;
+        this.lifetimeMillis = lifetimeMillis;
+        this.reuseMillis = reuseMillis;
+        this.executor = executor;
+    }
+
+    @Override
+    public void addClientAuthentication(OAuthRequest request, String apiKey, String apiSecret) {
+        addAssertion(request, apiKey, createAssertion(apiKey, getAudience(request), System.currentTimeMillis()).jwt);
+    }
+
+    @Override
+    public ClientAuthentication bind(String apiKey, String apiSecret) {
+        return apiKey == null ? this : new BoundPrivateKeyJwtAuthenticationScheme(this, apiKey);
+    }
+
+    protected String getAudience(OAuthRequest request) {
+        return audience == null ? request.getUrl() : audience;
+    }
+
+    /**
+     * Signs the JWT. Override to add claims.
+     *
+     * @param apiKey client_id, used as "iss" and "sub"
+     * @param audience "aud"
+     * @param now issuing time in millis
+     * @return signed assertion
+     */
+    protected ClientAssertion createAssertion(String apiKey, String audience, long now) {
+        final long issuedAt = TimeUnit.MILLISECONDS.toSeconds(now);
+        final String claims = "{\"iss\":\"" + escape(apiKey) + "\",\"sub\":\"" + escape(apiKey) + "\",\"aud\":\""
+                + escape(audience) + "\",\"jti\":\"" + UUID.randomUUID() + "\",\"iat\":" + issuedAt + ",\"exp\":"
+                + (issuedAt + TimeUnit.MILLISECONDS.toSeconds(lifetimeMillis)) + '}';
+
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String signingInput = encoder.encodeToString(createHeader().getBytes(UTF_8)) + '.'
+                + encoder.encodeToString(claims.getBytes(UTF_8));
+        try {
+            final Signature signature = Signature.getInstance(jcaAlgorithm);
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(UTF_8));
+            final byte[] signed = signature.sign();
+            return new ClientAssertion(signingInput + '.' + encoder.encodeToString(
+                    ecSignatureLength == 0 ? signed : toJose(signed, ecSignatureLength)), now);
+        } catch (GeneralSecurityException e) {
+            throw new OAuthException("Can't sign the client assertion", e);
+        }
+    }
+
+    /**
+     * JOSE header with "alg", "typ" and "kid". Microsoft Azure Active Directory identifies the certificate by "x5t"
+     * instead of "kid", override this to add it.
+     *
+     * @return JOSE header JSON
+     */
+    protected String createHeader() {
+        final StringBuilder header = new StringBuilder("{\"alg\":\"").append(algorithm).append("\",\"typ\":\"JWT\"");
+        if (keyId != null) {
+            header.append(",\"kid\":\"").append(escape(keyId)).append('"');
+        }
+        return header.append('}').toString();
+    }
+
+    private static void addAssertion(OAuthRequest request, String apiKey, String assertion) {
+        request.addParameter(OAuthConstants.CLIENT_ID, apiKey);
+        request.addParameter("client_assertion_type", CLIENT_ASSERTION_TYPE_JWT_BEARER);
+        request.addParameter("client_assertion", assertion);
+    }
+
+    protected static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String getJcaAlgorithm(String algorithm) {
+        if (algorithm == null) {
+            return null;
+        }
+        switch (algorithm) {
+            case "RS256":
+                return "SHA256withRSA";
+            case "RS384":
+                return "SHA384withRSA";
+            case "RS512":
+                return "SHA512withRSA";
+            case "ES256":
+                return "SHA256withECDSA";
+            case "ES384":
+                return "SHA384withECDSA";
+            case "ES512":
+                return "SHA512withECDSA";
+            default:
+                return null;
+        }
+    }
+
+    private static int getEcSignatureLength(String algorithm) {
+        switch (algorithm) {
+            case "ES256":
+                return 64;
+            case "ES384":
+                return 96;
+            case "ES512":
+                return 132;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * JCA produces ECDSA signatures as ASN.1 DER SEQUENCE { INTEGER r, INTEGER s }, JWS wants R | S of the fixed
+     * length.
+     */
+    private static byte[] toJose(byte[] der, int length) throws GeneralSecurityException {
+        int offset = 2;
+        if ((der[1] & 0xff) == 0x81) {
+            offset = 3;
+        }
+        final byte[] jose = new byte[length];
+        final int half = length / 2;
+        for (int part = 0; part < 2; part++) {
+            if (der[offset] != 0x02) {
+                throw new GeneralSecurityException("Unexpected ECDSA signature encoding");
+            }
+            int integerLength = der[offset + 1] & 0xff;
+            int integerStart = offset + 2;
+            while (integerLength > half) {
+                //leading zero byte(s) of the positive INTEGER
+                integerStart++;
+                integerLength--;
+            }
+            System.arraycopy(der, integerStart, jose, part * half + half - integerLength, integerLength);
+            offset = integerStart + integerLength;
+        }
+        return jose;
+    }
+
+    /**
+     * Signed client assertion and the time it was issued at.
+     */
+    protected static class ClientAssertion {
+
+        private final String jwt;
+        private final long issuedAt;
+
+        public ClientAssertion(String jwt, long issuedAt) {
+            this.jwt = jwt;
+            this.issuedAt = issuedAt;
+        }
+
+        public String getJwt() {
+            return jwt;
+        }
+
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+    }
+
+    private static class BoundPrivateKeyJwtAuthenticationScheme implements ClientAuthentication {
+
+        private final PrivateKeyJwtAuthenticationScheme scheme;
+        private final String apiKey;
+        private final ConcurrentMap<String, AssertionSlot> slots = new ConcurrentHashMap<>();
+
+        BoundPrivateKeyJwtAuthenticationScheme(PrivateKeyJwtAuthenticationScheme scheme, String apiKey) {
+            this.scheme = scheme;
+            this.apiKey = apiKey;
+        }
+
+        @Override
+        public void addClientAuthentication(OAuthRequest request, String apiKey, String apiSecret) {
+            if (!this.apiKey.equals(apiKey)) {
+                scheme.addClientAuthentication(request, apiKey, apiSecret);
+                return;
+            }
+            final String audience = scheme.getAudience(request);
+            AssertionSlot slot = slots.get(audience);
+            if (slot == null) {
+                slot = new AssertionSlot(scheme, apiKey, audience);
+                final AssertionSlot concurrent = slots.putIfAbsent(audience, slot);
+                if (concurrent != null) {
+                    slot = concurrent;
+                }
+            }
+            addAssertion(request, apiKey, slot.take());
+        }
+    }
+
+    /**
+     * Assertions of one client for one audience: the one being reused (if allowed) and the pre-signed next ones. Never
+     * blocks: if no pre-signed assertion is ready, the caller signs one itself, so concurrent token requests sign in
+     * parallel instead of queueing behind one signer.
+     */
+    private static class AssertionSlot {
+
+        private final PrivateKeyJwtAuthenticationScheme scheme;
+        private final String apiKey;
+        private final String audience;
+        private final int presignDepth;
+        private final Queue<ClientAssertion> presigned = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger presigning = new AtomicInteger();
+        private final AtomicReference<ReusedAssertion> reused = new AtomicReference<>();
+
+        AssertionSlot(PrivateKeyJwtAuthenticationScheme scheme, String apiKey, String audience) {
+            this.scheme = scheme;
+            this.apiKey = apiKey;
+            this.audience = audience;
+            //a reused assertion is replaced once per window, single-use ones are taken by every request
+            presignDepth = scheme.reuseMillis > 0 ? 1 : PRESIGN_DEPTH;
+        }
+
+        String take() {
+            final long now = System.currentTimeMillis();
+            if (scheme.reuseMillis == 0) {
+                final String jwt = next(now).jwt;
+                presign();
+                return jwt;
+            }
+            final ReusedAssertion current = reused.get();
+            if (current != null && now - current.since < scheme.reuseMillis) {
+                if (now - current.since >= scheme.reuseMillis / 2) {
+                    presign();
+                }
+                return current.assertion.jwt;
+            }
+            final ReusedAssertion fresh = new ReusedAssertion(next(now), now);
+            //if a concurrent caller replaced it first, this assertion is just sent once
+            reused.compareAndSet(current, fresh);
+            return fresh.assertion.jwt;
+        }
+
+        private ClientAssertion next(long now) {
+            ClientAssertion assertion = presigned.poll();
+            //a pre-signed assertion waiting too long must still be valid on the server
+            while (assertion != null && now - assertion.issuedAt >= scheme.lifetimeMillis / 2) {
+                assertion = presigned.poll();
+            }
+            return assertion == null ? scheme.createAssertion(apiKey, audience, now) : assertion;
+        }
+
+        private void presign() {
+            if (scheme.executor == null) {
+                return;
+            }
+            while (reservePresigning()) {
+                try {
+                    scheme.executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                presigned.offer(scheme.createAssertion(apiKey, audience, System.currentTimeMillis()));
+                            } finally {
+                                presigning.decrementAndGet();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException reE) {
+                    //will be signed on demand
+                    presigning.decrementAndGet();
+                    return;
+                }
+            }
+        }
+
+        private boolean reservePresigning() {
+            while (true) {
+                final int inProgress = presigning.get();
+                if (inProgress + presigned.size() >= presignDepth) {
+                    return false;
+                }
+                if (presigning.compareAndSet(inProgress, inProgress + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static class ReusedAssertion {
+
+        private final ClientAssertion assertion;
+        private final long since;
+
+        ReusedAssertion(ClientAssertion assertion, long since) {
+            this.assertion = assertion;
+            this.since = since;
+        }
+    }
+
+    private static class DefaultExecutorHolder {
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(PRESIGN_DEPTH, Runtime.getRuntime().availableProcessors())), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, "scribejava-client-assertion-signer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.github.scribejava.core.oauth2.clientauthentication;
 
 import com.github.scribejava.core.model.OAuthConstants;
 import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Parameter;
 
 /**
  * 2.3. Client Authentication<br>
@@ -10,7 +11,7 @@ import com.github.scribejava.core.model.OAuthRequest;
  * <br>
  * request-body authentication scheme
  */
-public class RequestBodyAuthenticationScheme implements ClientAuthentication {
+public class RequestBodyAuthenticationScheme implements BindableClientAuthentication {
 
     protected RequestBodyAuthenticationScheme() {
     }
@@ -31,4 +32,40 @@ public class RequestBodyAuthenticationScheme implements ClientAuthentication {
             request.addParameter(OAuthConstants.CLIENT_SECRET, apiSecret);
         }
     }
+
+    @Override
+    public ClientAuthentication bind(String apiKey, String apiSecret) {
+        return apiKey == null ? this : new BoundRequestBodyAuthenticationScheme(this, apiKey, apiSecret);
+    }
+
+    private static class BoundRequestBodyAuthenticationScheme implements ClientAuthentication {
+
+        private final RequestBodyAuthenticationScheme scheme;
+        private final Parameter clientId;
+        private final Parameter clientSecret;
+
+        BoundRequestBodyAuthenticationScheme(RequestBodyAuthenticationScheme scheme, String apiKey, String apiSecret) {
+            this.scheme = scheme;
+            clientId = new Parameter(OAuthConstants.CLIENT_ID, apiKey);
+            clientSecret = apiSecret == null ? null : new Parameter(OAuthConstants.CLIENT_SECRET, apiSecret);
+            //encode once here, all the requests will reuse the encoded pairs
+            clientId.asUrlEncodedPair();
+            if (clientSecret != null) {
+                clientSecret.asUrlEncodedPair();
+            }
+        }
+
+        @Override
+        public void addClientAuthentication(OAuthRequest request, String apiKey, String apiSecret) {
+            if (clientId.getValue().equals(apiKey)
+                    && (clientSecret == null ? apiSecret == null : clientSecret.getValue().equals(apiSecret))) {
+                request.addParameter(clientId);
+                if (clientSecret != null) {
+                    request.addParameter(clientSecret);
+                }
+            } else {
+                scheme.addClientAuthentication(request, apiKey, apiSecret);
+            }
+        }
+    }
 }
@@ -0,0 +1,195 @@
+package com.github.scribejava.core.pendingauthorization;
+
+import com.github.scribejava.core.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PendingAuthorizationStore} on the heap, sized for millions of concurrent logins.
+ *
+ * Keys are spread over lock stripes, so threads only contend when their keys share a stripe. Within a stripe the
+ * entries live in time buckets, each covering ttl / bucketsPerTtl. An expired bucket is dropped as a whole, without
+ * looking at its entries, so an entry lives between ttl and ttl + ttl / bucketsPerTtl. put and take touch at most
+ * bucketsPerTtl + 1 buckets of one stripe.
+ *
+ * The store never holds more than about maxSize entries: when a stripe is full, the oldest entry of its oldest bucket
+ * makes room for the new one. A burst of logins only ever evicts as many entries as it adds.
+ */
+public class InMemoryPendingAuthorizationStore implements PendingAuthorizationStore {
+
+    public static final long DEFAULT_TTL_MINUTES = 10;
+    public static final int DEFAULT_MAX_SIZE = 1 << 20;
+    public static final int DEFAULT_STRIPES = 64;
+    public static final int DEFAULT_BUCKETS_PER_TTL = 10;
+
+    private final Stripe[] stripes;
+    private final long bucketNanos;
+    private final int bucketsPerTtl;
+    private final long origin = System.nanoTime();
+
+    public InMemoryPendingAuthorizationStore() {
+        this(DEFAULT_TTL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public InMemoryPendingAuthorizationStore(long ttl, TimeUnit unit) {
+        this(ttl, unit, DEFAULT_MAX_SIZE);
+    }
+
+    public InMemoryPendingAuthorizationStore(long ttl, TimeUnit unit, int maxSize) {
+        this(ttl, unit, maxSize, DEFAULT_STRIPES, DEFAULT_BUCKETS_PER_TTL);
+    }
+
+    /**
+     * @param ttl how long a pending authorization is kept at least
+     * @param unit unit of ttl
+     * @param maxSize maximum number of pending authorizations
+     * @param stripes number of lock stripes, rounded up to a power of two
+     * @param bucketsPerTtl number of time buckets covering the ttl. More buckets expire entries closer to the ttl,
+     * fewer make put and take cheaper.
+     */
+    public InMemoryPendingAuthorizationStore(long ttl, TimeUnit unit, int maxSize, int stripes, int bucketsPerTtl) {
+        Preconditions.checkNotNull(unit, "unit must not be null");
+        if (ttl <= 0 || maxSize <= 0 || stripes <= 0 || bucketsPerTtl <= 0) {
+            throw new IllegalArgumentException("ttl, maxSize, stripes and bucketsPerTtl must be positive");
+        }
+        this.bucketsPerTtl = bucketsPerTtl;
+        final long ttlNanos = unit.toNanos(ttl);
+        bucketNanos = Math.max(1, (ttlNanos + bucketsPerTtl - 1) / bucketsPerTtl);
+
+        int stripeCount = 1;
+        while (stripeCount < stripes) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        final int stripeCapacity = Math.max(1, maxSize / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(bucketsPerTtl + 1, stripeCapacity);
+        }
+    }
+
+    @Override
+    public void put(String key, PendingAuthorization pendingAuthorization) {
+        Preconditions.checkNotNull(key, "key must not be null");
+        Preconditions.checkNotNull(pendingAuthorization, "pendingAuthorization must not be null");
+        stripeOf(key).put(key, pendingAuthorization, currentBucket(), bucketsPerTtl);
+    }
+
+    @Override
+    public PendingAuthorization take(String key) {
+        return key == null ? null : stripeOf(key).take(key, currentBucket(), bucketsPerTtl);
+    }
+
+    @Override
+    public int getSize() {
+        final long bucket = currentBucket();
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.getSize(bucket, bucketsPerTtl);
+        }
+        return size;
+    }
+
+    //package-private to let tests move the clock
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private long currentBucket() {
+        return (nanoTime() - origin) / bucketNanos;
+    }
+
+    private Stripe stripeOf(String key) {
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static class Stripe {
+
+        private final List<Map<String, PendingAuthorization>> buckets;
+        private final long[] bucketIds;
+        private final int capacity;
+        private int size;
+
+        Stripe(int bucketCount, int capacity) {
+            this.capacity = capacity;
+            buckets = new ArrayList<>(bucketCount);
+            bucketIds = new long[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.add(new LinkedHashMap<String, PendingAuthorization>());
+                bucketIds[i] = -1;
+            }
+        }
+
+        synchronized void put(String key, PendingAuthorization pendingAuthorization, long currentBucket,
+                int bucketsPerTtl) {
+            sweep(currentBucket, bucketsPerTtl);
+            remove(key);
+            if (size >= capacity) {
+                removeOldestEntry();
+            }
+            //after the sweep the slot holds either the current bucket or an empty expired one
+            final int slot = (int) (currentBucket % bucketIds.length);
+            bucketIds[slot] = currentBucket;
+            buckets.get(slot).put(key, pendingAuthorization);
+            size++;
+        }
+
+        synchronized PendingAuthorization take(String key, long currentBucket, int bucketsPerTtl) {
+            sweep(currentBucket, bucketsPerTtl);
+            return remove(key);
+        }
+
+        synchronized int getSize(long currentBucket, int bucketsPerTtl) {
+            sweep(currentBucket, bucketsPerTtl);
+            return size;
+        }
+
+        private PendingAuthorization remove(String key) {
+            for (Map<String, PendingAuthorization> bucket : buckets) {
+                final PendingAuthorization removed = bucket.remove(key);
+                if (removed != null) {
+                    size--;
+                    return removed;
+                }
+            }
+            return null;
+        }
+
+        private void sweep(long currentBucket, int bucketsPerTtl) {
+            for (int i = 0; i < bucketIds.length; i++) {
+                if (bucketIds[i] < currentBucket - bucketsPerTtl) {
+                    drop(i);
+                }
+            }
+        }
+
+        private void removeOldestEntry() {
+            int oldest = -1;
+            for (int i = 0; i < bucketIds.length; i++) {
+                if (!buckets.get(i).isEmpty() && (oldest == -1 || bucketIds[i] < bucketIds[oldest])) {
+                    oldest = i;
+                }
+            }
+            if (oldest != -1) {
+                //buckets keep the insertion order, so the first entry is the oldest one
+                final Iterator<PendingAuthorization> entries = buckets.get(oldest).values().iterator();
+                entries.next();
+                entries.remove();
+                size--;
+            }
+        }
+
+        private void drop(int slot) {
+            final Map<String, PendingAuthorization> bucket = buckets.get(slot);
+            if (!bucket.isEmpty()) {
+                size -= bucket.size();
+                //a fresh map instead of clear() also releases the table of a bucket that was once large
+                buckets.set(slot, new LinkedHashMap<String, PendingAuthorization>());
+            }
+        }
+    }
+}
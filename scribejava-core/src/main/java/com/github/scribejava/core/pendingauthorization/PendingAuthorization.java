@@ -0,0 +1,41 @@
+package com.github.scribejava.core.pendingauthorization;
+
+import com.github.scribejava.core.model.OAuth1RequestToken;
+import com.github.scribejava.core.pkce.PKCE;
+
+/**
+ * What the client has to remember between redirecting the user to the authorization URL and receiving the callback:
+ * the PKCE of an OAuth 2.0 authorization request (if any) or the OAuth 1.0a request token with its secret.
+ */
+public class PendingAuthorization {
+
+    private final PKCE pkce;
+    private final OAuth1RequestToken requestToken;
+
+    /**
+     * @param pkce PKCE of the OAuth 2.0 authorization request, can be null
+     */
+    public PendingAuthorization(PKCE pkce) {
+        this(pkce, null);
+    }
+
+    /**
+     * @param requestToken OAuth 1.0a request token
+     */
+    public PendingAuthorization(OAuth1RequestToken requestToken) {
+        this(null, requestToken);
+    }
+
+    private PendingAuthorization(PKCE pkce, OAuth1RequestToken requestToken) {
+        this.pkce = pkce;
+        this.requestToken = requestToken;
+    }
+
+    public PKCE getPkce() {
+        return pkce;
+    }
+
+    public OAuth1RequestToken getRequestToken() {
+        return requestToken;
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.scribejava.core.pendingauthorization;
+
+/**
+ * Keeps pending authorizations until the user comes back to the callback. OAuth 2.0 authorizations are keyed by
+ * {@code state}, OAuth 1.0a ones by the request token.
+ *
+ * Entries are single use: {@link #take(String)} removes what it returns, so a replayed callback finds nothing.
+ * Implementations must be thread-safe.
+ */
+public interface PendingAuthorizationStore {
+
+    /**
+     * @param key state or request token
+     * @param pendingAuthorization pendingAuthorization
+     */
+    void put(String key, PendingAuthorization pendingAuthorization);
+
+    /**
+     * Removes and returns the pending authorization.
+     *
+     * @param key state or request token
+     * @return pending authorization or null if it's unknown, expired or already taken
+     */
+    PendingAuthorization take(String key);
+
+    /**
+     * @return number of pending authorizations
+     */
+    int getSize();
+}
@@ -0,0 +1,38 @@
+package com.github.scribejava.core.utils;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Table-driven lowercase hex encoding. Cheaper than {@link java.util.Formatter} with "%02x" for digests and MACs.
+ */
+public abstract class HexEncoder {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public static String encode(byte[] bytes) {
+        Preconditions.checkNotNull(bytes, "Cannot encode null object");
+        final char[] chars = new char[bytes.length << 1];
+        int i = 0;
+        for (byte b : bytes) {
+            chars[i++] = HEX_DIGITS[(b >> 4) & 0xF];
+            chars[i++] = HEX_DIGITS[b & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param source source
+     * @return lowercase hex of the SHA-256 of the UTF-8 bytes of the source
+     */
+    public static String sha256(String source) {
+        Preconditions.checkNotNull(source, "Cannot hash null object");
+        try {
+            return encode(MessageDigest.getInstance("SHA-256").digest(source.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException nsaE) {
+            throw new IllegalStateException("jvm without SHA-256, really?", nsaE);
+        }
+    }
+}
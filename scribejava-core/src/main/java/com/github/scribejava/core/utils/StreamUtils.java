@@ -2,8 +2,13 @@ package com.github.scribejava.core.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -11,6 +16,10 @@ import java.util.zip.GZIPInputStream;
  */
 public abstract class StreamUtils {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int DEFAULT_BUFFER_SIZE = 0x2000;
+    private static final int MAX_PRESIZE = 0x800000;
+
     /**
      * Returns the stream contents as an UTF-8 encoded string
      *
@@ -20,18 +29,87 @@ public abstract class StreamUtils {
      */
     public static String getStreamContents(InputStream is) throws IOException {
         Preconditions.checkNotNull(is, "Cannot get String from a null object");
-        final char[] buffer = new char[0x10000];
-        final StringBuilder out = new StringBuilder();
-        try (Reader in = new InputStreamReader(is, "UTF-8")) {
+        return new String(getStreamBytes(is, -1), UTF_8);
+    }
+
+    /**
+     * Reads the whole stream into the byte array and closes the stream.
+     *
+     * @param is input stream
+     * @param expectedLength expected length of the content (from Content-Length for example) to presize the buffer,
+     * any negative value if unknown. The stream is read till EOF anyway, the value is just a hint.
+     * @return stream contents
+     * @throws java.io.IOException in any. SocketTimeout in example
+     */
+    public static byte[] getStreamBytes(InputStream is, long expectedLength) throws IOException {
+        Preconditions.checkNotNull(is, "Cannot get bytes from a null object");
+        try (InputStream in = is) {
+            byte[] buffer = new byte[expectedLength < 0 ? DEFAULT_BUFFER_SIZE
+                    : (int) Math.min(expectedLength, MAX_PRESIZE)];
+            int length = 0;
+            while (true) {
+                if (length == buffer.length) {
+                    //presized exactly? check for EOF before growing
+                    final int next = in.read();
+                    if (next < 0) {
+                        return buffer;
+                    }
+                    buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, DEFAULT_BUFFER_SIZE));
+                    buffer[length++] = (byte) next;
+                }
+                final int read = in.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+                }
+                length += read;
+            }
+        }
+    }
+
+    /**
+     * Copies the whole stream to the output stream and closes the input stream (but not the output one).
+     *
+     * @param is input stream
+     * @param os output stream
+     * @return number of bytes copied
+     * @throws java.io.IOException in any. SocketTimeout in example
+     */
+    public static long copy(InputStream is, OutputStream os) throws IOException {
+        Preconditions.checkNotNull(is, "Cannot copy from a null object");
+        long copied = 0;
+        try (InputStream in = is) {
+            final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
             int read;
-            do {
-                read = in.read(buffer, 0, buffer.length);
-                if (read > 0) {
-                    out.append(buffer, 0, read);
+            while ((read = in.read(buffer)) >= 0) {
+                os.write(buffer, 0, read);
+                copied += read;
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Copies the whole stream to the channel and closes the input stream (but not the channel).
+     *
+     * @param is input stream
+     * @param channel channel
+     * @return number of bytes copied
+     * @throws java.io.IOException in any. SocketTimeout in example
+     */
+    public static long copy(InputStream is, WritableByteChannel channel) throws IOException {
+        Preconditions.checkNotNull(is, "Cannot copy from a null object");
+        long copied = 0;
+        try (ReadableByteChannel in = Channels.newChannel(is)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    copied += channel.write(buffer);
                 }
-            } while (read >= 0);
+                buffer.clear();
+            }
         }
-        return out.toString();
+        return copied;
     }
 
     /**
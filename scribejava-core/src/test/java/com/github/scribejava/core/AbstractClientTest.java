@@ -9,16 +9,34 @@ import com.github.scribejava.core.oauth.OAuth20Service;
 import com.github.scribejava.core.oauth.OAuthService;
 import com.github.scribejava.core.utils.StreamUtils;
 import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public abstract class AbstractClientTest {
 
@@ -55,6 +73,13 @@ public abstract class AbstractClientTest {
 
     protected abstract HttpClient createNewClient();
 
+    /**
+     * @return whether the async calls return before the response comes
+     */
+    protected boolean isAsync() {
+        return true;
+    }
+
     @Test
     public void shouldSendGetRequest() throws Exception {
         final String expectedResponseBody = "response body for test shouldSendGetRequest";
@@ -134,6 +159,90 @@ public abstract class AbstractClientTest {
         server.shutdown();
     }
 
+    @Test
+    public void shouldKeepReceivedOrderOfHeaderValues() throws Exception {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().addHeader("X-Value", "1").addHeader("X-Value", "2")
+                .addHeader("X-Value", "3").setBody("body"));
+        server.start();
+
+        final OAuthRequest request = new OAuthRequest(Verb.GET, server.url("/testUrl").toString());
+        try (Response response = oAuthService.execute(request, null).get(30, TimeUnit.SECONDS)) {
+            assertEquals("1", response.getHeader("x-value"));
+            assertEquals(Arrays.asList("1", "2", "3"), response.getResponseHeaders().getAll("X-VALUE"));
+        }
+
+        server.shutdown();
+    }
+
+    @Test
+    public void shouldDecodeGzippedResponse() throws Exception {
+        final String expectedResponseBody = "response body for test shouldDecodeGzippedResponse";
+
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody(new Buffer().write(gzip(expectedResponseBody)))
+                .setHeader("Content-Encoding", "gzip"));
+        server.start();
+
+        final HttpUrl baseUrl = server.url("/testUrl");
+
+        final OAuthRequest request = new OAuthRequest(Verb.GET, baseUrl.toString());
+        try (Response response = oAuthService.execute(request, null).get(30, TimeUnit.SECONDS)) {
+            assertEquals(expectedResponseBody, StreamUtils.getStreamContents(response.getStream()));
+        }
+
+        final RecordedRequest recordedRequest = server.takeRequest();
+        assertTrue(recordedRequest.getHeader("Accept-Encoding").contains("gzip"));
+
+        server.shutdown();
+    }
+
+    @Test
+    public void shouldKeepAcceptEncodingOfRequestInAnyCase() throws Exception {
+        final String expectedResponseBody = "response body for test shouldKeepAcceptEncodingOfRequestInAnyCase";
+
+        final MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final String acceptEncoding = request.getHeader("Accept-Encoding");
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    try {
+                        return new MockResponse().setBody(new Buffer().write(gzip(expectedResponseBody)))
+                                .setHeader("Content-Encoding", "gzip");
+                    } catch (IOException ioE) {
+                        throw new IllegalStateException(ioE);
+                    }
+                }
+                return new MockResponse().setBody(expectedResponseBody);
+            }
+        });
+        server.start();
+
+        //OAuthRequest keeps its headers case-insensitively, a plain Map passed to the client directly doesn't
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("accept-encoding", "identity");
+        try (HttpClient client = createNewClient();
+                Response response = client.execute(null, headers, Verb.GET, server.url("/testUrl").toString(),
+                        (byte[]) null)) {
+            assertNull(response.getHeader("Content-Encoding"));
+            assertEquals(expectedResponseBody, response.getBody());
+        }
+
+        final RecordedRequest recordedRequest = server.takeRequest();
+        assertEquals(Collections.singletonList("identity"), recordedRequest.getHeaders().values("Accept-Encoding"));
+
+        server.shutdown();
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(body.getBytes(Charset.forName("UTF-8")));
+        }
+        return gzipped.toByteArray();
+    }
+
     @Test
     public void shouldCallCallback() throws Exception {
         final String expectedResponseBody = "response body for test shouldCallCallback";
@@ -174,4 +283,58 @@ public abstract class AbstractClientTest {
 
         server.shutdown();
     }
+
+    @Test
+    public void shouldTimeOutStalledRequest() throws Exception {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.start();
+
+        final OAuthRequest request = new OAuthRequest(Verb.GET, server.url("/testUrl").toString());
+        request.setTimeout(300, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        try {
+            oAuthService.execute(request).close();
+            fail();
+        } catch (IOException | ExecutionException e) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+
+        start = System.nanoTime();
+        try {
+            oAuthService.execute(request, null).get(30, TimeUnit.SECONDS).close();
+            fail();
+        } catch (ExecutionException eE) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+
+        server.shutdown();
+    }
+
+    @Test
+    public void shouldCancelInFlightRequest() throws Exception {
+        Assume.assumeTrue(isAsync());
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.start();
+
+        final OAuthRequest request = new OAuthRequest(Verb.GET, server.url("/testUrl").toString());
+        final Future<Response> future = oAuthService.execute(request, null);
+        server.takeRequest();
+
+        final long start = System.nanoTime();
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        assertTrue(future.isDone());
+        try {
+            future.get(30, TimeUnit.SECONDS).close();
+            fail();
+        } catch (CancellationException | ExecutionException e) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+
+        server.shutdown();
+    }
 }
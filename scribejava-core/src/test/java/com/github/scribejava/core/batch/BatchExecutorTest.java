@@ -0,0 +1,150 @@
+package com.github.scribejava.core.batch;
+
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchExecutorTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private String accessToken;
+    private final List<BatchItem> items = Collections.synchronizedList(new ArrayList<BatchItem>());
+    private final List<String> bodies = Collections.synchronizedList(new ArrayList<String>());
+    private final BatchListener listener = new BatchListener() {
+        @Override
+        public void onItem(BatchItem item) {
+            items.add(item);
+            if (item.isSuccessful()) {
+                try {
+                    bodies.add(item.getResponse().getBody());
+                } catch (IOException ioE) {
+                    throw new IllegalStateException(ioE);
+                }
+            }
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+    }
+
+    @Test
+    public void shouldDeliverEveryItemWithItsError() throws Exception {
+        final BatchResult result = new BatchExecutor(mock.getService()).execute(accessToken, requests(30, 3), listener)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(30, result.getSubmitted());
+        assertEquals(20, result.getSucceeded());
+        assertEquals(10, result.getFailed());
+        assertFalse(result.isStoppedEarly());
+        assertEquals(30, items.size());
+        for (BatchItem item : items) {
+            assertEquals(item.getIndex() % 3 != 0, item.isSuccessful());
+        }
+        assertTrue(bodies.get(0).contains("id=1"));
+    }
+
+    @Test
+    public void shouldDeliverInSubmissionOrder() throws Exception {
+        new BatchExecutor(mock.getService(), BatchPolicy.defaultPolicy().order(BatchOrder.SUBMISSION).maxInFlight(4))
+                .execute(accessToken, requests(20, 0), listener).get(10, TimeUnit.SECONDS);
+
+        assertEquals(20, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i).getIndex());
+            assertTrue(bodies.get(i).contains("id=" + i));
+        }
+    }
+
+    @Test
+    public void shouldStopAfterMaxFailures() throws Exception {
+        final CountingIterator requests = new CountingIterator(requests(100, 1).iterator());
+        final BatchResult result = new BatchExecutor(mock.getService(), BatchPolicy.defaultPolicy().maxFailures(5))
+                .execute(accessToken, requests, listener).get(10, TimeUnit.SECONDS);
+
+        assertTrue(result.isStoppedEarly());
+        assertEquals(5, result.getFailed());
+        assertEquals(5, requests.taken);
+        assertEquals(5, items.size());
+    }
+
+    @Test
+    public void shouldFailBatchOnListenerException() throws Exception {
+        try {
+            new BatchExecutor(mock.getService()).execute(accessToken, requests(10, 0), new BatchListener() {
+                @Override
+                public void onItem(BatchItem item) {
+                    throw new IllegalStateException("listener");
+                }
+            }).get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException eE) {
+            assertEquals("listener", eE.getCause().getMessage());
+        }
+    }
+
+    /**
+     * @param count count
+     * @param failEvery every failEvery-th request (from the first) gets 404, 0 for none
+     * @return requests
+     */
+    private List<OAuthRequest> requests(int count, int failEvery) {
+        final List<OAuthRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final boolean failing = failEvery > 0 && i % failEvery == 0;
+            final OAuthRequest request = new OAuthRequest(Verb.GET,
+                    failing ? mock.getServer().url("/missing") : mock.getServer().getResourceUrl());
+            request.addQuerystringParameter("id", String.valueOf(i));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static class CountingIterator implements Iterator<OAuthRequest> {
+
+        private final Iterator<OAuthRequest> delegate;
+        private int taken;
+
+        CountingIterator(Iterator<OAuthRequest> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public OAuthRequest next() {
+            if (!delegate.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            taken++;
+            return delegate.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
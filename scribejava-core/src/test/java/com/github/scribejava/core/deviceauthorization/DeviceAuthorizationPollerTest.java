@@ -0,0 +1,115 @@
+package com.github.scribejava.core.deviceauthorization;
+
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.oauth2.OAuth2Error;
+import com.github.scribejava.core.testserver.MockAuthorizationServer;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DeviceAuthorizationPollerTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock
+            = new MockAuthorizationServerRule(new MockAuthorizationServer().deviceCodes(1, 60));
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldPollManyDevicesFromOneThread() throws Exception {
+        final DeviceAuthorizationPoller poller = new DeviceAuthorizationPoller(scheduler);
+        final List<DeviceAuthorization> devices = new ArrayList<>();
+        final List<Future<OAuth2AccessToken>> tokens = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final DeviceAuthorization device = mock.getService().getDeviceAuthorizationCodes("tv");
+            devices.add(device);
+            tokens.add(poller.poll(mock.getService(), device));
+        }
+        assertEquals(200, poller.getPendingCount());
+
+        //let every device see "authorization_pending" at least once
+        TimeUnit.MILLISECONDS.sleep(1500);
+        for (DeviceAuthorization device : devices) {
+            assertTrue(mock.getServer().approveDevice(device.getUserCode()));
+        }
+        for (Future<OAuth2AccessToken> token : tokens) {
+            final OAuth2AccessToken accessToken = token.get(10, TimeUnit.SECONDS);
+            assertNotNull(accessToken.getAccessToken());
+            assertEquals("tv", accessToken.getScope());
+        }
+        assertEquals(0, poller.getPendingCount());
+        assertEquals(1, scheduler.getLargestPoolSize());
+    }
+
+    @Test
+    public void shouldSlowDown() throws Exception {
+        final DeviceAuthorization device = mock.getService().getDeviceAuthorizationCodes();
+        //ignore the advertised interval, the server answers "slow_down" to the second poll
+        final DeviceAuthorization impatient = new DeviceAuthorization(device.getDeviceCode(), device.getUserCode(),
+                device.getVerificationUri(), null, 60, 0, null);
+        final long requests = mock.getServer().getRequestCount();
+
+        final long start = System.nanoTime();
+        final Future<OAuth2AccessToken> token = new DeviceAuthorizationPoller(scheduler, 1200)
+                .poll(mock.getService(), impatient);
+        TimeUnit.MILLISECONDS.sleep(600);
+        mock.getServer().approveDevice(device.getUserCode());
+
+        assertNotNull(token.get(10, TimeUnit.SECONDS).getAccessToken());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1200);
+        //authorization_pending, slow_down, token
+        assertEquals(requests + 3, mock.getServer().getRequestCount());
+    }
+
+    @Test
+    public void shouldFailWhenDenied() throws Exception {
+        final DeviceAuthorization device = mock.getService().getDeviceAuthorizationCodes();
+        mock.getServer().denyDevice(device.getUserCode());
+        try {
+            new DeviceAuthorizationPoller(scheduler).poll(mock.getService(), device).get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException eE) {
+            assertEquals(OAuth2Error.ACCESS_DENIED, ((OAuth2AccessTokenErrorResponse) eE.getCause()).getError());
+        }
+    }
+
+    @Test
+    public void shouldStopPollingWhenCancelled() throws Exception {
+        final DeviceAuthorizationPoller poller = new DeviceAuthorizationPoller(scheduler);
+        final OAuth20Service service = mock.getService();
+        final Future<OAuth2AccessToken> token = poller.poll(service, service.getDeviceAuthorizationCodes());
+
+        TimeUnit.MILLISECONDS.sleep(1500);
+        poller.close();
+        assertTrue(token.isCancelled());
+        assertEquals(0, poller.getPendingCount());
+        final long requests = mock.getServer().getRequestCount();
+        TimeUnit.MILLISECONDS.sleep(1500);
+        assertEquals(requests, mock.getServer().getRequestCount());
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.scribejava.core.hedging;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyTrackerTest {
+
+    private static final HedgingPolicy MEDIAN = HedgingPolicy.defaultPolicy().minSamples(1).percentile(50)
+            .minDelay(0, TimeUnit.MILLISECONDS);
+
+    @Test
+    public void shouldUseNearestRankWithoutCensoredSamples() {
+        final LatencyTracker tracker = new LatencyTracker();
+        for (long latency = 10; latency <= 40; latency += 10) {
+            tracker.record(latency, false);
+        }
+        assertEquals(20, tracker.getDelayMillis(MEDIAN));
+    }
+
+    @Test
+    public void shouldNotShrinkDelayWithLostRequests() {
+        final LatencyTracker tracker = new LatencyTracker();
+        tracker.record(10, false);
+        //the slow requests lost to their hedges after 50ms
+        tracker.record(50, true);
+        tracker.record(50, true);
+        tracker.record(50, true);
+        assertEquals(50, tracker.getDelayMillis(MEDIAN));
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.scribejava.core.hedging;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestHedgerTest {
+
+    private static final long AWAIT_MILLIS = 10_000;
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldNotHedgeFastCall() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy());
+        final ManualCall call = new ManualCall();
+        final Future<String> future = hedger.execute("op", call, null);
+        call.awaitStarts(1).onCompleted("primary");
+
+        assertEquals("primary", future.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(0, scheduler.getQueue().size());
+        assertEquals(1, call.callbacks.size());
+        assertEquals(0, hedger.getMetrics().getHedges());
+    }
+
+    @Test
+    public void shouldCompleteWithHedgeAndCancelSlowRequest() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy()
+                .initialDelay(20, TimeUnit.MILLISECONDS));
+        final ManualCall call = new ManualCall();
+        final Future<String> future = hedger.execute("op", call, null);
+        call.awaitStarts(2).onCompleted("hedge");
+
+        assertEquals("hedge", future.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(call.futures.get(0).isCancelled());
+        //a late result of the loser is ignored
+        call.callbacks.get(0).onCompleted("primary");
+        assertEquals("hedge", future.get());
+        final HedgingMetrics metrics = hedger.getMetrics();
+        assertEquals(1, metrics.getCalls());
+        assertEquals(1, metrics.getHedges());
+        assertEquals(1, metrics.getHedgeWins());
+        assertEquals(1, metrics.getHedgeWinRate(), 0);
+    }
+
+    @Test
+    public void shouldFailWhenBothRequestsFail() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy().initialDelay(0, TimeUnit.MILLISECONDS));
+        final ManualCall call = new ManualCall();
+        final Future<String> future = hedger.execute("op", call, null);
+        call.awaitStarts(2).onThrowable(new IOException("hedge"));
+        assertFalse(future.isDone());
+        final IOException primaryFailure = new IOException("primary");
+        call.callbacks.get(0).onThrowable(primaryFailure);
+
+        try {
+            future.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (ExecutionException eE) {
+            assertEquals("hedge", eE.getCause().getMessage());
+        }
+        assertEquals(0, hedger.getMetrics().getHedgeWins());
+    }
+
+    @Test
+    public void shouldNotHedgeFailedRequest() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy());
+        final ManualCall call = new ManualCall();
+        final Future<String> future = hedger.execute("op", call, null);
+        call.awaitStarts(1).onThrowable(new IOException("primary"));
+
+        try {
+            future.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (ExecutionException eE) {
+            assertEquals("primary", eE.getCause().getMessage());
+        }
+        assertEquals(0, scheduler.getQueue().size());
+    }
+
+    @Test
+    public void shouldStopHedgingWhenBudgetIsUsedUp() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy().initialDelay(0, TimeUnit.MILLISECONDS)
+                .budget(0, 1));
+        final ManualCall first = new ManualCall();
+        hedger.execute("op", first, null);
+        first.awaitStarts(2).onCompleted("hedge");
+
+        final ManualCall second = new ManualCall();
+        final Future<String> future = hedger.execute("op", second, null);
+        final long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+        while (hedger.getMetrics().getBudgetExhausted() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        second.callbacks.get(0).onCompleted("primary");
+
+        assertEquals("primary", future.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(1, second.callbacks.size());
+        final HedgingMetrics metrics = hedger.getMetrics();
+        assertEquals(2, metrics.getCalls());
+        assertEquals(1, metrics.getHedges());
+        assertEquals(1, metrics.getBudgetExhausted());
+    }
+
+    @Test
+    public void shouldDelayHedgeByPercentileOfLatencies() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy().minSamples(1).percentile(50)
+                .minDelay(0, TimeUnit.MILLISECONDS));
+        final ManualCall fast = new ManualCall();
+        hedger.execute("op", fast, null);
+        fast.awaitStarts(1).onCompleted("fast");
+
+        final ManualCall call = new ManualCall();
+        final long start = System.nanoTime();
+        final Future<String> future = hedger.execute("op", call, null);
+        call.awaitStarts(2).onCompleted("hedge");
+
+        //not after the initial delay
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(
+                HedgingPolicy.DEFAULT_INITIAL_DELAY_MILLIS));
+        assertEquals("hedge", future.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldPassThroughRefreshTokenRequestByDefault() throws Exception {
+        final String refreshToken = mock.getService().getAccessTokenClientCredentialsGrant().getRefreshToken();
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy());
+
+        assertNotNull(hedger.refreshAccessToken(refreshToken, null).getAccessToken());
+        assertEquals(0, hedger.getMetrics().getCalls());
+    }
+
+    @Test
+    public void shouldCancelBothRequests() throws Exception {
+        final RequestHedger hedger = createHedger(HedgingPolicy.defaultPolicy().initialDelay(0, TimeUnit.MILLISECONDS));
+        final ManualCall call = new ManualCall();
+        final Future<String> future = hedger.execute("op", call, null);
+        call.awaitStarts(2);
+
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        assertTrue(call.futures.get(0).isCancelled());
+        assertTrue(call.futures.get(1).isCancelled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonIdempotentRequest() {
+        createHedger(HedgingPolicy.defaultPolicy()).execute(new OAuthRequest(Verb.POST, "http://localhost/"), null,
+                null);
+    }
+
+    private RequestHedger createHedger(HedgingPolicy policy) {
+        return new RequestHedger(mock.getService(), policy, scheduler);
+    }
+
+    /**
+     * records the callbacks, the test completes them
+     */
+    private static class ManualCall implements HedgeableCall<String> {
+
+        private final List<OAuthAsyncRequestCallback<String>> callbacks = new CopyOnWriteArrayList<>();
+        private final List<Future<String>> futures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Future<String> start(OAuthAsyncRequestCallback<String> callback) {
+            final FutureTask<String> future = new FutureTask<>(new Callable<String>() {
+                @Override
+                public String call() {
+                    return null;
+                }
+            });
+            futures.add(future);
+            callbacks.add(callback);
+            return future;
+        }
+
+        OAuthAsyncRequestCallback<String> awaitStarts(int starts) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+            while (callbacks.size() < starts) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("expected " + starts + " requests, got " + callbacks.size());
+                }
+                Thread.sleep(1);
+            }
+            return callbacks.get(starts - 1);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.scribejava.core.httpclient;
+
+import com.github.scribejava.core.utils.StreamUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ContentEncodingTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String BODY = "{\"access_token\":\"ya29.token\",\"token_type\":\"Bearer\"}";
+
+    @Test
+    public void shouldDecodeGzip() throws IOException {
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(encoded)) {
+            gzip.write(BODY.getBytes(UTF_8));
+        }
+        assertEquals(BODY, StreamUtils.getStreamContents(
+                ContentEncoding.decode("GZIP", new ByteArrayInputStream(encoded.toByteArray()))));
+    }
+
+    @Test
+    public void shouldDecodeZlibAndRawDeflate() throws IOException {
+        assertEquals(BODY, StreamUtils.getStreamContents(ContentEncoding.decode("deflate", deflate(false))));
+        assertEquals(BODY, StreamUtils.getStreamContents(ContentEncoding.decode("deflate", deflate(true))));
+    }
+
+    @Test
+    public void shouldDecodeLazily() throws IOException {
+        final ByteArrayInputStream garbage = new ByteArrayInputStream("not gzipped".getBytes(UTF_8));
+        final InputStream decoded = ContentEncoding.decode("gzip", garbage);
+        assertEquals("not gzipped".length(), garbage.available());
+        decoded.close();
+    }
+
+    @Test
+    public void shouldNotDecodeIdentityUnsupportedAndEmptyBodies() throws IOException {
+        final InputStream stream = new ByteArrayInputStream(BODY.getBytes(UTF_8));
+        assertSame(stream, ContentEncoding.decode(null, stream));
+        assertSame(stream, ContentEncoding.decode("identity", stream));
+        assertSame(stream, ContentEncoding.decode("compress", stream));
+
+        assertEquals("", StreamUtils.getStreamContents(
+                ContentEncoding.decode("gzip", new ByteArrayInputStream(new byte[0]))));
+    }
+
+    @Test
+    public void shouldAdvertiseGzipAndDeflate() {
+        assertTrue(ContentEncoding.getAcceptEncoding().startsWith("gzip, deflate"));
+    }
+
+    private static InputStream deflate(boolean raw) throws IOException {
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(encoded,
+                new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            deflater.write(BODY.getBytes(UTF_8));
+        }
+        return new ByteArrayInputStream(encoded.toByteArray());
+    }
+}
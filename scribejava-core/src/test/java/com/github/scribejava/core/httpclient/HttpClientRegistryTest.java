@@ -0,0 +1,127 @@
+package com.github.scribejava.core.httpclient;
+
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class HttpClientRegistryTest {
+
+    private final HttpClientRegistry registry = new HttpClientRegistry();
+
+    @Test
+    public void shouldShareClientForEqualConfigs() throws IOException {
+        final JDKHttpClientConfig config = JDKHttpClientConfig.defaultConfig();
+        config.setReadTimeout(1000);
+        final JDKHttpClientConfig equalConfig = JDKHttpClientConfig.defaultConfig();
+        equalConfig.setReadTimeout(1000);
+        final JDKHttpClientConfig otherConfig = JDKHttpClientConfig.defaultConfig();
+        otherConfig.setReadTimeout(2000);
+
+        final HttpClientRegistry.SharedHttpClient client
+                = (HttpClientRegistry.SharedHttpClient) registry.acquire(config);
+        final HttpClientRegistry.SharedHttpClient sameClient
+                = (HttpClientRegistry.SharedHttpClient) registry.acquire(equalConfig);
+        final HttpClientRegistry.SharedHttpClient otherClient
+                = (HttpClientRegistry.SharedHttpClient) registry.acquire(otherConfig);
+
+        assertSame(client.getDelegate(), sameClient.getDelegate());
+        assertNotSame(client.getDelegate(), otherClient.getDelegate());
+        assertEquals(2, registry.size());
+
+        client.close();
+        //second close of the same handle must not release the reference once more
+        client.close();
+        assertEquals(2, registry.size());
+
+        sameClient.close();
+        otherClient.close();
+        assertEquals(0, registry.size());
+
+        final HttpClientRegistry.SharedHttpClient newClient
+                = (HttpClientRegistry.SharedHttpClient) registry.acquire(config);
+        assertNotSame(client.getDelegate(), newClient.getDelegate());
+        newClient.close();
+    }
+
+    @Test
+    public void shouldReleaseClientOfModifiedConfig() throws IOException {
+        final JDKHttpClientConfig config = JDKHttpClientConfig.defaultConfig();
+        final HttpClientRegistry.SharedHttpClient client
+                = (HttpClientRegistry.SharedHttpClient) registry.acquire(config);
+        config.setReadTimeout(1000);
+
+        final HttpClientRegistry.SharedHttpClient modifiedClient
+                = (HttpClientRegistry.SharedHttpClient) registry.acquire(config);
+        assertNotSame(client.getDelegate(), modifiedClient.getDelegate());
+        assertEquals(2, registry.size());
+
+        client.close();
+        modifiedClient.close();
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void shouldCreateClientOutsideOfLockAndCloseLoserOfRace() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger closed = new AtomicInteger();
+        final HttpClientRegistry racyRegistry = new HttpClientRegistry() {
+            @Override
+            protected HttpClient createClient(HttpClientConfig config) {
+                creating.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return new JDKHttpClient() {
+                    @Override
+                    public void close() {
+                        closed.incrementAndGet();
+                    }
+                };
+            }
+        };
+        final Callable<HttpClientRegistry.SharedHttpClient> acquire
+                = new Callable<HttpClientRegistry.SharedHttpClient>() {
+            @Override
+            public HttpClientRegistry.SharedHttpClient call() {
+                return (HttpClientRegistry.SharedHttpClient) racyRegistry.acquire(
+                        JDKHttpClientConfig.defaultConfig());
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<HttpClientRegistry.SharedHttpClient> first = executor.submit(acquire);
+            final Future<HttpClientRegistry.SharedHttpClient> second = executor.submit(acquire);
+            //with the creation under the lock, the second thread couldn't get into createClient
+            assertTrue(creating.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            final HttpClientRegistry.SharedHttpClient firstClient = first.get(5, TimeUnit.SECONDS);
+            final HttpClientRegistry.SharedHttpClient secondClient = second.get(5, TimeUnit.SECONDS);
+            assertSame(firstClient.getDelegate(), secondClient.getDelegate());
+            assertEquals(1, racyRegistry.size());
+            assertEquals(1, closed.get());
+
+            firstClient.close();
+            secondClient.close();
+            assertEquals(0, racyRegistry.size());
+            assertEquals(2, closed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.scribejava.core.httpclient.cache;
+
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CachingHttpClientTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private CachingHttpClient client;
+    private OAuth20Service service;
+    private String accessToken;
+
+    @Before
+    public void setUp() throws Exception {
+        createService(new InMemoryResponseCacheStore());
+    }
+
+    @Test
+    public void shouldRevalidateWithEtag() throws Exception {
+        final String body = get(accessToken).getBody();
+        final Response revalidated = get(accessToken);
+
+        assertEquals(200, revalidated.getCode());
+        assertEquals(body, revalidated.getBody());
+        assertNotNull(revalidated.getHeader("ETag"));
+        assertEquals(1, mock.getServer().getNotModifiedCount());
+        assertEquals(1, client.getRevalidatedCount());
+        assertEquals(1, client.getMissCount());
+    }
+
+    @Test
+    public void shouldServeFreshEntryWithoutRequest() throws Exception {
+        mock.getServer().resourceMaxAge(1, TimeUnit.MINUTES);
+        final String body = get(accessToken).getBody();
+
+        assertEquals(body, get(accessToken).getBody());
+        assertEquals(body, service.executeAsync(signedGet(accessToken)).get().getBody());
+        assertEquals(1, mock.getServer().getResourceRequestCount());
+        assertEquals(2, client.getHitCount());
+    }
+
+    @Test
+    public void shouldRevalidateFreshEntryOnNoCache() throws Exception {
+        mock.getServer().resourceMaxAge(1, TimeUnit.MINUTES);
+        get(accessToken).getBody();
+        final OAuthRequest request = signedGet(accessToken);
+        request.addHeader("Cache-Control", "no-cache");
+
+        assertEquals(200, service.execute(request).getCode());
+        assertEquals(1, mock.getServer().getNotModifiedCount());
+    }
+
+    @Test
+    public void shouldNotShareEntriesBetweenTokens() throws Exception {
+        mock.getServer().resourceMaxAge(1, TimeUnit.MINUTES);
+        get(accessToken).getBody();
+        final String otherToken = service.getAccessTokenClientCredentialsGrant().getAccessToken();
+        get(otherToken).getBody();
+
+        assertEquals(2, mock.getServer().getResourceRequestCount());
+        assertEquals(0, mock.getServer().getNotModifiedCount());
+        assertEquals(0, client.getHitCount());
+    }
+
+    @Test
+    public void shouldNotStoreErrors() throws Exception {
+        assertEquals(401, get("unknown").getCode());
+        assertEquals(401, get("unknown").getCode());
+
+        assertEquals(0, client.getStore().getSize());
+        assertEquals(0, mock.getServer().getNotModifiedCount());
+    }
+
+    @Test
+    public void shouldKeepEntriesOnDisk() throws Exception {
+        service.close();
+        createService(new DiskResponseCacheStore(folder.getRoot()));
+        final String body = get(accessToken).getBody();
+
+        service.close();
+        createService(new DiskResponseCacheStore(folder.getRoot()));
+        assertEquals(body, get(accessToken).getBody());
+        assertEquals(1, mock.getServer().getNotModifiedCount());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() throws IOException {
+        final CachedResponse entry = entry(new byte[400]);
+        for (ResponseCacheStore store : new ResponseCacheStore[] {new InMemoryResponseCacheStore(1000),
+            new DiskResponseCacheStore(folder.newFolder(), 1000)}) {
+            store.put("a", entry);
+            store.put("b", entry);
+            assertNotNull(store.get("a"));
+            store.put("c", entry);
+
+            assertNotNull(store.get("a"));
+            assertNull(store.get("b"));
+            assertNotNull(store.get("c"));
+            store.put("d", entry(new byte[2000]));
+            assertNull(store.get("d"));
+        }
+    }
+
+    @Test
+    public void shouldStreamChunkedBodyOverMaxEntryBytes() throws Exception {
+        final String body = new String(new char[5000]).replace('\0', 'x');
+        try (MockWebServer chunkedServer = new MockWebServer()) {
+            chunkedServer.enqueue(new MockResponse().setChunkedBody(body, 512).setHeader("ETag", "\"1\""));
+            chunkedServer.start();
+            final CachingHttpClient smallClient = new CachingHttpClient(
+                    new JDKHttpClient(JDKHttpClientConfig.defaultConfig()), new InMemoryResponseCacheStore(), 1000);
+
+            final Response response = smallClient.execute(null, Collections.<String, String>emptyMap(), Verb.GET,
+                    chunkedServer.url("/").toString(), (byte[]) null);
+            assertEquals(200, response.getCode());
+            assertEquals(body, response.getBody());
+            assertEquals(0, smallClient.getStore().getSize());
+        }
+    }
+
+    @Test
+    public void shouldDeleteOnlyOwnTempFiles() throws IOException {
+        final File directory = folder.newFolder();
+        final File userFile = new File(directory, "notes.txt");
+        final File tempFile = new File(directory, "a.entry.3.tmp");
+        assertTrue(userFile.createNewFile());
+        assertTrue(tempFile.createNewFile());
+
+        new DiskResponseCacheStore(directory);
+        assertTrue(userFile.exists());
+        assertFalse(tempFile.exists());
+    }
+
+    @Test
+    public void shouldSerializeLongAndMultiValuedHeaders() throws IOException {
+        final String longValue = new String(new char[70000]).replace('\0', 'v');
+        final SortedMap<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put("Link", Arrays.asList("<a>; rel=next", "<b>; rel=last"));
+        headers.put("X-Long", Collections.singletonList(longValue));
+        final CachedResponse entry = new CachedResponse(200, "OK", headers, Collections.<String, String>emptyMap(),
+                new byte[] {1, 2}, 0, 0);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        entry.writeTo(new DataOutputStream(bytes));
+        final CachedResponse read = CachedResponse.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(Arrays.asList("<a>; rel=next", "<b>; rel=last"), read.getHeaders().get("link"));
+        assertEquals(longValue, read.getHeader("X-Long"));
+        assertEquals(2, read.toResponse().getResponseHeaders().getAll("Link").size());
+    }
+
+    @Test
+    public void shouldKeyOAuth1RequestsByToken() {
+        final String url = mock.getServer().getResourceUrl();
+        assertEquals(CachingHttpClient.keyOf(url, oauth1Header("1")), CachingHttpClient.keyOf(url, oauth1Header("2")));
+        assertNotEquals(CachingHttpClient.keyOf(url, oauth1Header("1")),
+                CachingHttpClient.keyOf(url, Collections.<String, String>emptyMap()));
+    }
+
+    private void createService(ResponseCacheStore store) throws Exception {
+        client = new CachingHttpClient(new JDKHttpClient(JDKHttpClientConfig.defaultConfig()), store);
+        service = mock.createService(client);
+        if (accessToken == null) {
+            accessToken = service.getAccessTokenClientCredentialsGrant().getAccessToken();
+        }
+    }
+
+    private Response get(String token) throws Exception {
+        return service.execute(signedGet(token));
+    }
+
+    private OAuthRequest signedGet(String token) {
+        final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+        service.signRequest(token, request);
+        return request;
+    }
+
+    private static CachedResponse entry(byte[] body) {
+        return new CachedResponse(200, "OK", new TreeMap<String, List<String>>(),
+                Collections.<String, String>emptyMap(), body, 0, 0);
+    }
+
+    private static Map<String, String> oauth1Header(String nonce) {
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", "OAuth oauth_nonce=\"" + nonce + "\", oauth_token=\"token\"");
+        return headers;
+    }
+}
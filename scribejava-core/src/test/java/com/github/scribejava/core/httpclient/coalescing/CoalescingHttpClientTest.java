@@ -0,0 +1,132 @@
+package com.github.scribejava.core.httpclient.coalescing;
+
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CoalescingHttpClientTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private ExecutorService executor;
+    private CoalescingHttpClient client;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        client = new CoalescingHttpClient(new JDKHttpClient(JDKHttpClientConfig.defaultConfig()));
+        mock.httpClient(client);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldCoalesceIdenticalRequests() throws Exception {
+        final String accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        mock.getServer().latency(500, TimeUnit.MILLISECONDS);
+
+        final List<Future<Response>> responses = getConcurrently(accessToken, accessToken, accessToken, accessToken);
+        final String body = responses.get(0).get().getBody();
+        for (Future<Response> response : responses) {
+            assertEquals(200, response.get().getCode());
+            assertEquals(body, response.get().getBody());
+        }
+        assertEquals(1, mock.getServer().getResourceRequestCount());
+        assertEquals(3, client.getCoalescedCount());
+        assertEquals(0, client.getInFlightCount());
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestsOfOtherTokens() throws Exception {
+        final String accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final String otherToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        mock.getServer().latency(300, TimeUnit.MILLISECONDS);
+
+        for (Future<Response> response : getConcurrently(accessToken, otherToken)) {
+            assertEquals(200, response.get().getCode());
+        }
+        assertEquals(2, mock.getServer().getResourceRequestCount());
+        assertEquals(0, client.getCoalescedCount());
+    }
+
+    @Test
+    public void shouldNotJoinRequestWithoutTimeout() throws Exception {
+        final String accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        mock.getServer().latency(1, TimeUnit.SECONDS);
+        final Future<Response> withoutTimeout = getConcurrently(accessToken).get(0);
+        while (client.getInFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+        request.setTimeout(100, TimeUnit.MILLISECONDS);
+        mock.getService().signRequest(accessToken, request);
+        try {
+            mock.getService().execute(request);
+            fail();
+        } catch (IOException ioE) {
+            //timed out on its own request instead of waiting for the one without timeout
+        }
+        assertEquals(0, client.getCoalescedCount());
+        assertEquals(200, withoutTimeout.get().getCode());
+    }
+
+    @Test
+    public void shouldNotCoalesceTokenRequests() throws Exception {
+        mock.getServer().latency(300, TimeUnit.MILLISECONDS);
+        final List<Future<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            tokens.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+                }
+            }));
+        }
+        for (Future<String> token : tokens) {
+            token.get();
+        }
+        assertEquals(0, client.getCoalescedCount());
+    }
+
+    private List<Future<Response>> getConcurrently(String... accessTokens) {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Response>> responses = new ArrayList<>();
+        for (final String accessToken : accessTokens) {
+            responses.add(executor.submit(new Callable<Response>() {
+                @Override
+                public Response call() throws Exception {
+                    final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+                    mock.getService().signRequest(accessToken, request);
+                    start.await();
+                    return mock.getService().execute(request);
+                }
+            }));
+        }
+        start.countDown();
+        return responses;
+    }
+}
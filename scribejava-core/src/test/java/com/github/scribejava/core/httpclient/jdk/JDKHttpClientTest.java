@@ -19,6 +19,11 @@ public class JDKHttpClientTest extends AbstractClientTest {
         return new JDKHttpClient();
     }
 
+    @Override
+    protected boolean isAsync() {
+        return false;
+    }
+
     @Test
     public void testEmptyMultipartPayload() throws IOException {
         final MultipartPayload mP = new MultipartPayload();
@@ -0,0 +1,60 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrencyLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    public void aimdShouldGrowWhileLimitIsUsed() {
+        final ConcurrencyLimit limit = LimitAlgorithm.AIMD.create(config());
+        limit.onSample(RTT, 1, false);
+        assertEquals(10, limit.getLimit());
+        limit.onSample(RTT, 10, false);
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    public void aimdShouldBackOffOnOverloadAndSlowCall() {
+        final ConcurrencyLimit limit = LimitAlgorithm.AIMD.create(config());
+        limit.onSample(RTT, 10, true);
+        assertEquals(9, limit.getLimit());
+        limit.onSample(TimeUnit.SECONDS.toNanos(2), 9, false);
+        assertEquals(8, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 1, true);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void gradientShouldGrowWhileLatencyIsFlat() {
+        final ConcurrencyLimit limit = LimitAlgorithm.GRADIENT.create(config());
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, limit.getLimit(), false);
+        }
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    public void gradientShouldShrinkWhenLatencyGrows() {
+        final ConcurrencyLimit limit = LimitAlgorithm.GRADIENT.create(config());
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, 10, false);
+        }
+        final int before = limit.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT * 4, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() + " should be below " + before, limit.getLimit() < before);
+    }
+
+    private static ConcurrencyLimiterConfig config() {
+        return ConcurrencyLimiterConfig.defaultConfig().limits(10, 2, 50).slowCallThreshold(1, TimeUnit.SECONDS);
+    }
+}
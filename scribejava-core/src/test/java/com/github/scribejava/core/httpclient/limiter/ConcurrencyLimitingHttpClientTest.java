@@ -0,0 +1,143 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrencyLimitingHttpClientTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private ExecutorService executor;
+    private ConcurrencyLimitingHttpClient client;
+    private OAuth20Service service;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShedCallsOverLimit() throws Exception {
+        createService(ConcurrencyLimiterConfig.defaultConfig().limits(1, 1, 1).queue(0, 0, TimeUnit.MILLISECONDS));
+        mock.getServer().latency(300, TimeUnit.MILLISECONDS);
+        final Future<Response> first = executeInBackground();
+        awaitInFlight(1);
+
+        try {
+            service.execute(resourceRequest());
+            fail();
+        } catch (ConcurrencyLimitExceededException cleE) {
+            assertEquals(1, cleE.getLimit());
+        }
+        assertEquals(401, first.get(10, TimeUnit.SECONDS).getCode());
+        assertEquals(1, client.getRejectedCount());
+        assertEquals(0, client.getInFlight(mock.getServer().getResourceUrl()));
+    }
+
+    @Test
+    public void shouldSendQueuedAsyncCallWhenSlotIsFree() throws Exception {
+        createService(ConcurrencyLimiterConfig.defaultConfig().limits(1, 1, 1).queue(1, 10, TimeUnit.SECONDS));
+        mock.getServer().latency(300, TimeUnit.MILLISECONDS);
+        final Future<Response> first = executeInBackground();
+        awaitInFlight(1);
+
+        final Future<Response> queued = service.execute(resourceRequest(), null);
+        assertFalse(queued.isDone());
+        assertEquals(1, client.getQueueSize(mock.getServer().getResourceUrl()));
+
+        assertEquals(401, first.get(10, TimeUnit.SECONDS).getCode());
+        assertEquals(401, queued.get(10, TimeUnit.SECONDS).getCode());
+        assertEquals(0, client.getRejectedCount());
+    }
+
+    @Test
+    public void shouldFailCallWaitingInQueueTooLong() throws Exception {
+        createService(ConcurrencyLimiterConfig.defaultConfig().limits(1, 1, 1).queue(1, 50, TimeUnit.MILLISECONDS));
+        mock.getServer().latency(500, TimeUnit.MILLISECONDS);
+        final Future<Response> first = executeInBackground();
+        awaitInFlight(1);
+
+        final long start = System.nanoTime();
+        try {
+            service.execute(resourceRequest());
+            fail();
+        } catch (ConcurrencyLimitExceededException cleE) {
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(400));
+        }
+        assertEquals(0, client.getQueueSize(mock.getServer().getResourceUrl()));
+        first.get(10, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    public void shouldBackOffOnServiceUnavailable() throws Exception {
+        createService(ConcurrencyLimiterConfig.defaultConfig().algorithm(LimitAlgorithm.AIMD).limits(10, 2, 10));
+        mock.getServer().errorRate(1, 503);
+        for (int i = 0; i < 20; i++) {
+            try (Response response = service.execute(resourceRequest())) {
+                assertEquals(503, response.getCode());
+            }
+        }
+        assertEquals(2, client.getLimit(mock.getServer().getResourceUrl()));
+    }
+
+    @Test
+    public void shouldKeyLimitsByEndpoint() {
+        assertEquals("https://example.com:8443", ConcurrencyLimitingHttpClient.endpointOf(
+                "https://example.com:8443/oauth2/token?x=y"));
+        assertEquals("http://example.com", ConcurrencyLimitingHttpClient.endpointOf("http://example.com?x=y"));
+        assertEquals("http://example.com", ConcurrencyLimitingHttpClient.endpointOf("http://example.com"));
+    }
+
+    private void createService(ConcurrencyLimiterConfig config) {
+        client = new ConcurrencyLimitingHttpClient(new JDKHttpClient(JDKHttpClientConfig.defaultConfig()), config);
+        service = mock.createService(client);
+    }
+
+    private OAuthRequest resourceRequest() {
+        return new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+    }
+
+    private Future<Response> executeInBackground() {
+        return executor.submit(new Callable<Response>() {
+            @Override
+            public Response call() throws Exception {
+                return service.execute(resourceRequest());
+            }
+        });
+    }
+
+    private void awaitInFlight(int inFlight) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (client.getInFlight(mock.getServer().getResourceUrl()) < inFlight) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("expected " + inFlight + " calls in flight");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.scribejava.core.httpclient.limiter;
+
+import com.github.scribejava.core.model.RequestPriority;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EndpointLimiterTest {
+
+    private final List<RequestPriority> granted = new ArrayList<>();
+    private EndpointLimiter limiter;
+
+    @Before
+    public void setUp() throws ConcurrencyLimitExceededException {
+        limiter = new EndpointLimiter("http://localhost", ConcurrencyLimiterConfig.defaultConfig().limits(1, 1, 1)
+                .queue(100, 1, TimeUnit.MINUTES));
+        assertTrue(limiter.acquireOrEnqueue(new RecordingWaiter(RequestPriority.INTERACTIVE)));
+    }
+
+    @Test
+    public void shouldGrantSlotsInProportionToWeights() throws ConcurrencyLimitExceededException {
+        for (int i = 0; i < 20; i++) {
+            for (RequestPriority priority : RequestPriority.values()) {
+                limiter.acquireOrEnqueue(new RecordingWaiter(priority));
+            }
+        }
+        for (int i = 0; i < 13; i++) {
+            limiter.release(1, false);
+        }
+
+        final Map<RequestPriority, Integer> counts = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            counts.put(priority, 0);
+        }
+        for (RequestPriority priority : granted) {
+            counts.put(priority, counts.get(priority) + 1);
+        }
+        assertEquals(8, (int) counts.get(RequestPriority.TOKEN));
+        assertEquals(4, (int) counts.get(RequestPriority.INTERACTIVE));
+        assertEquals(1, (int) counts.get(RequestPriority.BACKGROUND));
+        assertEquals(RequestPriority.TOKEN, granted.get(0));
+    }
+
+    @Test
+    public void shouldNotLetIdleClassSaveUpBurst() throws ConcurrencyLimitExceededException {
+        for (int i = 0; i < 10; i++) {
+            limiter.acquireOrEnqueue(new RecordingWaiter(RequestPriority.BACKGROUND));
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(1, false);
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.acquireOrEnqueue(new RecordingWaiter(RequestPriority.INTERACTIVE));
+        }
+        granted.clear();
+        for (int i = 0; i < 8; i++) {
+            limiter.release(1, false);
+        }
+        assertEquals(RequestPriority.INTERACTIVE, granted.get(0));
+        assertTrue(granted.contains(RequestPriority.BACKGROUND));
+    }
+
+    @Test(expected = ConcurrencyLimitExceededException.class)
+    public void shouldBoundQueueOfEveryPriority() throws ConcurrencyLimitExceededException {
+        for (int i = 0; i < 100; i++) {
+            limiter.acquireOrEnqueue(new RecordingWaiter(RequestPriority.TOKEN));
+        }
+        limiter.acquireOrEnqueue(new RecordingWaiter(RequestPriority.BACKGROUND));
+        assertEquals(101, limiter.getQueueSize());
+        limiter.acquireOrEnqueue(new RecordingWaiter(RequestPriority.TOKEN));
+    }
+
+    @Test
+    public void shouldRejectExpiredWaiterWithoutRelease() throws Exception {
+        final EndpointLimiter shortQueue = new EndpointLimiter("http://localhost", ConcurrencyLimiterConfig
+                .defaultConfig().limits(1, 1, 1).queue(10, 50, TimeUnit.MILLISECONDS));
+        assertTrue(shortQueue.acquireOrEnqueue(new RecordingWaiter(RequestPriority.INTERACTIVE)));
+        final CountDownLatch rejected = new CountDownLatch(1);
+        shortQueue.acquireOrEnqueue(new EndpointLimiter.Waiter(RequestPriority.INTERACTIVE) {
+            @Override
+            void grant() {
+            }
+
+            @Override
+            void reject(ConcurrencyLimitExceededException rejection) {
+                rejected.countDown();
+            }
+        });
+
+        assertTrue(rejected.await(10, TimeUnit.SECONDS));
+        assertEquals(0, shortQueue.getQueueSize());
+        assertEquals(1, shortQueue.getRejected());
+    }
+
+    @Test
+    public void shouldGrantIterativelyWhenGrantedCallsCompleteSynchronously() throws Exception {
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicInteger maxDepth = new AtomicInteger();
+        final AtomicInteger grants = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquireOrEnqueue(new EndpointLimiter.Waiter(RequestPriority.INTERACTIVE) {
+                @Override
+                void grant() {
+                    grants.incrementAndGet();
+                    maxDepth.set(Math.max(maxDepth.get(), depth.incrementAndGet()));
+                    //as a synchronous delegate completing the call
+                    limiter.release(1, false);
+                    depth.decrementAndGet();
+                }
+
+                @Override
+                void reject(ConcurrencyLimitExceededException rejection) {
+                }
+            });
+        }
+        limiter.release(1, false);
+
+        assertEquals(100, grants.get());
+        assertEquals(1, maxDepth.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private class RecordingWaiter extends EndpointLimiter.Waiter {
+
+        private final RequestPriority priority;
+
+        RecordingWaiter(RequestPriority priority) {
+            super(priority);
+            this.priority = priority;
+        }
+
+        @Override
+        void grant() {
+            granted.add(priority);
+        }
+
+        @Override
+        void reject(ConcurrencyLimitExceededException rejection) {
+        }
+    }
+}
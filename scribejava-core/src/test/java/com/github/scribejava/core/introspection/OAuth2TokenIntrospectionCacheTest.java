@@ -0,0 +1,134 @@
+package com.github.scribejava.core.introspection;
+
+import com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse;
+import com.github.scribejava.core.testserver.MockAuthorizationServer;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.function.ThrowingRunnable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class OAuth2TokenIntrospectionCacheTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    @Test
+    public void shouldCacheActiveAndInactiveResults() throws Exception {
+        final String token = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final OAuth2TokenIntrospectionCache cache = new OAuth2TokenIntrospectionCache(mock.getService());
+        final long requests = mock.getServer().getRequestCount();
+
+        for (int i = 0; i < 3; i++) {
+            final OAuth2TokenIntrospection introspection = cache.introspect(token);
+            assertTrue(introspection.isActive());
+            assertEquals(MockAuthorizationServer.DEFAULT_API_KEY, introspection.getClientId());
+            assertFalse(cache.introspect("unknown").isActive());
+        }
+        assertEquals(requests + 2, mock.getServer().getRequestCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheActiveTokenLongerThanItsExpiration() throws Exception {
+        mock.getServer().accessTokenLifetime(1, TimeUnit.SECONDS);
+        final String token = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final OAuth2TokenIntrospectionCache cache = new OAuth2TokenIntrospectionCache(mock.getService());
+
+        assertTrue(cache.introspect(token).isActive());
+        TimeUnit.MILLISECONDS.sleep(1100);
+        assertFalse(cache.introspect(token).isActive());
+    }
+
+    @Test
+    public void shouldShareOneRequestBetweenConcurrentLookups() throws Exception {
+        final String token = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        mock.getServer().latency(300, TimeUnit.MILLISECONDS);
+        final OAuth2TokenIntrospectionCache cache = new OAuth2TokenIntrospectionCache(mock.getService());
+        final long requests = mock.getServer().getRequestCount();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<OAuth2TokenIntrospection>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<OAuth2TokenIntrospection>() {
+                    @Override
+                    public OAuth2TokenIntrospection call() throws Exception {
+                        return cache.introspect(token);
+                    }
+                }));
+            }
+            for (Future<OAuth2TokenIntrospection> result : results) {
+                assertTrue(result.get().isActive());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(requests + 1, mock.getServer().getRequestCount());
+    }
+
+    @Test
+    public void shouldEvictOldestResultButNotInFlightLookups() throws Exception {
+        final String first = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final String second = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final OAuth2TokenIntrospectionCache cache = new OAuth2TokenIntrospectionCache(mock.getService(),
+                OAuth2TokenIntrospectionCache.DEFAULT_MAX_TTL_MILLIS, 1);
+        mock.getServer().slowNext(1, 300, TimeUnit.MILLISECONDS);
+        final long sent = mock.getServer().getRequestCount();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            //the default client is synchronous, the lookup stays in flight in its own thread
+            final Future<OAuth2TokenIntrospection> inFlight = executor.submit(
+                    new Callable<OAuth2TokenIntrospection>() {
+                @Override
+                public OAuth2TokenIntrospection call() throws Exception {
+                    return cache.introspect(first);
+                }
+            });
+            //the slow response is the first one's
+            while (mock.getServer().getRequestCount() == sent) {
+                Thread.sleep(1);
+            }
+            assertTrue(cache.introspect(second).isActive());
+            assertEquals(2, cache.size());
+            assertTrue(inFlight.get().isActive());
+            assertEquals(1, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final long requests = mock.getServer().getRequestCount();
+        assertTrue(cache.introspect(first).isActive());
+        assertEquals(requests, mock.getServer().getRequestCount());
+        assertTrue(cache.introspect(second).isActive());
+        assertEquals(requests + 1, mock.getServer().getRequestCount());
+    }
+
+    @Test
+    public void shouldNotCacheFailures() throws Exception {
+        final String token = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final OAuth2TokenIntrospectionCache cache = new OAuth2TokenIntrospectionCache(mock.getService());
+        mock.getServer().failNext(1);
+
+        assertThrows(OAuth2AccessTokenErrorResponse.class, new ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                cache.introspect(token);
+            }
+        });
+        assertEquals(0, cache.size());
+        assertTrue(cache.introspect(token).isActive());
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.scribejava.core.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ResponseHeadersTest {
+
+    @Test
+    public void shouldLookUpMultipleValuesCaseInsensitively() {
+        final Map<String, List<String>> nativeHeaders = new HashMap<>();
+        nativeHeaders.put(null, Collections.singletonList("HTTP/1.1 200 OK"));
+        nativeHeaders.put("set-cookie", Arrays.asList("a=1", "b=2"));
+        nativeHeaders.put("Content-Type", Collections.singletonList("application/json"));
+        final ResponseHeaders headers = ResponseHeaders.ofMultiValued(nativeHeaders);
+
+        assertEquals("a=1", headers.getFirst("Set-Cookie"));
+        assertEquals(Arrays.asList("a=1", "b=2"), headers.getAll("SET-COOKIE"));
+        assertEquals("application/json", headers.getFirst("content-type"));
+        assertNull(headers.getFirst("ETag"));
+        assertTrue(headers.getAll("ETag").isEmpty());
+        assertEquals(2, headers.getNames().size());
+
+        final Map<String, String> map = headers.asMap();
+        assertEquals("a=1", map.get("SET-cookie"));
+        assertSame(map, headers.asMap());
+    }
+
+    @Test
+    public void shouldMakeResponseHeaderLookupCaseInsensitive() {
+        final Map<String, String> nativeHeaders = new HashMap<>();
+        nativeHeaders.put("content-length", "10");
+        final Response response = new Response(200, "OK", nativeHeaders, "0123456789");
+
+        assertEquals("10", response.getHeader("Content-Length"));
+        assertEquals(Collections.singletonList("10"), response.getResponseHeaders().getAll("CONTENT-LENGTH"));
+        assertSame(nativeHeaders, response.getHeaders());
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.scribejava.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ResponseTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String BODY = "{\"name\":\"значение\"}";
+
+    @Test
+    public void shouldShareReadBytesBetweenBodyViews() throws IOException {
+        final byte[] bytes = BODY.getBytes(UTF_8);
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Length", String.valueOf(bytes.length));
+        try (Response response = new Response(200, "OK", headers, new ByteArrayInputStream(bytes))) {
+            final byte[] bodyBytes = response.getBodyAsBytes();
+            assertArrayEquals(bytes, bodyBytes);
+            assertSame(bodyBytes, response.getBodyAsBytes());
+            assertEquals(BODY, response.getBody());
+
+            final ByteBuffer buffer = response.getBodyAsByteBuffer();
+            assertEquals(bytes.length, buffer.remaining());
+            assertEquals(bytes[0], buffer.get(0));
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(bytes.length, response.writeTo(out));
+            assertArrayEquals(bytes, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void shouldStreamGzippedBodyToChannel() throws IOException {
+        final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(BODY.getBytes(UTF_8));
+        }
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Encoding", "gzip");
+        try (Response response = new Response(200, "OK", headers,
+                new ByteArrayInputStream(gzipped.toByteArray()))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            response.writeTo(Channels.newChannel(out));
+            assertEquals(BODY, new String(out.toByteArray(), UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldEncodeStringBody() throws IOException {
+        final Response response = new Response(200, "OK", new HashMap<String, String>(), BODY);
+        assertArrayEquals(BODY.getBytes(UTF_8), response.getBodyAsBytes());
+        assertTrue(response.getBodyAsByteBuffer().isReadOnly());
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.scribejava.core.oauth;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.pkce.PKCE;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AuthorizationUrlTemplateTest {
+
+    private static final String CALLBACK = "http://localhost/callback?a=b c";
+
+    @Test
+    public void shouldBuildSameUrlAsApi() {
+        final OAuth20ApiUnit api = new OAuth20ApiUnit();
+        final OAuth20Service service = new ServiceBuilder("your api key")
+                .callback(CALLBACK)
+                .defaultScope("read write")
+                .build(api);
+        final Map<String, String> additionalParams = new LinkedHashMap<>();
+        additionalParams.put("prompt", "consent");
+        additionalParams.put("login*hint", "user@example.com");
+
+        assertEquals(api.getAuthorizationUrl("code", "your api key", CALLBACK, "read write", null, null),
+                service.getAuthorizationUrl());
+        assertEquals(api.getAuthorizationUrl("code", "your api key", CALLBACK, "read write", "st~ate", null),
+                service.getAuthorizationUrl("st~ate"));
+        assertEquals(api.getAuthorizationUrl("code", "your api key", CALLBACK, "other", "state", additionalParams),
+                service.createAuthorizationUrlBuilder().scope("other").state("state")
+                        .additionalParams(additionalParams).build());
+    }
+
+    @Test
+    public void shouldAppendToBaseUrlWithQuery() {
+        final AuthorizationUrlTemplate template
+                = new AuthorizationUrlTemplate("http://localhost/authorize?tenant=1", "code", "key", null, null);
+
+        assertEquals("http://localhost/authorize?tenant=1&response_type=code&client_id=key&state=s",
+                template.build("s", null, null));
+    }
+
+    @Test
+    public void shouldPreferPkceParams() {
+        final PKCE pkce = new PKCE();
+        pkce.setCodeChallenge("challenge");
+        final Map<String, String> additionalParams = new LinkedHashMap<>();
+        additionalParams.put(PKCE.PKCE_CODE_CHALLENGE_PARAM, "stale");
+        additionalParams.put("prompt", "none");
+        final AuthorizationUrlTemplate template
+                = new AuthorizationUrlTemplate("http://localhost/authorize", "code", "key", null, "scope");
+
+        assertEquals("http://localhost/authorize?prompt=none&code_challenge=challenge&code_challenge_method=S256"
+                + "&response_type=code&client_id=key&scope=scope", template.build(null, additionalParams, pkce));
+    }
+
+    @Test
+    public void shouldCacheTemplatesPerScope() {
+        final OAuth20Service service = new ServiceBuilder("your_api_key")
+                .defaultScope("read")
+                .build(new OAuth20ApiUnit());
+
+        assertSame(service.getAuthorizationUrlTemplate("read"), service.getAuthorizationUrlTemplate("read"));
+        assertSame(service.getAuthorizationUrlTemplate("write"), service.getAuthorizationUrlTemplate("write"));
+    }
+
+    @Test
+    public void shouldBuildScopesPastCachedOnesWithoutCachingThem() {
+        final OAuth20ApiUnit api = new OAuth20ApiUnit();
+        final OAuth20Service service = new ServiceBuilder("your api key")
+                .callback(CALLBACK)
+                .defaultScope("read")
+                .build(api);
+
+        for (int i = 0; i < 40; i++) {
+            final String scope = "scope " + i;
+            assertEquals(api.getAuthorizationUrl("code", "your api key", CALLBACK, scope, "state", null),
+                    service.createAuthorizationUrlBuilder().scope(scope).state("state").build());
+        }
+        assertNotNull(service.getAuthorizationUrlTemplate("scope 0"));
+        assertNull(service.getAuthorizationUrlTemplate("scope 39"));
+    }
+
+    @Test
+    public void shouldFallBackToOverriddenGetAuthorizationUrl() {
+        final OAuth20Service service = new ServiceBuilder("your_api_key")
+                .build(new OAuth20ApiUnit() {
+                    @Override
+                    public String getAuthorizationUrl(String responseType, String apiKey, String callback,
+                            String scope, String state, Map<String, String> additionalParams) {
+                        return "http://localhost/custom?state=" + state;
+                    }
+                });
+
+        assertNull(service.getAuthorizationUrlTemplate(null));
+        assertEquals("http://localhost/custom?state=s", service.getAuthorizationUrl("s"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.scribejava.core.oauth;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class OAuth20ServicePoolTest {
+
+    private static final OAuth20ServicePool.ServiceFactory<String> FACTORY
+            = new OAuth20ServicePool.ServiceFactory<String>() {
+        @Override
+        public OAuth20Service createService(String tenant, HttpClient httpClient) {
+            return new ServiceBuilder(tenant)
+                    .httpClient(httpClient)
+                    .build(new OAuth20ApiUnit());
+        }
+    };
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedServices() throws IOException {
+        try (OAuth20ServicePool<String> pool = new OAuth20ServicePool<>(JDKHttpClientConfig.defaultConfig(), FACTORY,
+                2, 1, TimeUnit.HOURS)) {
+            final OAuth20Service first = pool.getService("first");
+            assertEquals("first", first.getApiKey());
+            assertSame(first, pool.getService("first"));
+
+            pool.getService("second");
+            pool.getService("first");
+            pool.getService("third");
+            assertEquals(2, pool.size());
+            assertSame(first, pool.getService("first"));
+            assertEquals("second", pool.getService("second").getApiKey());
+            assertEquals(2, pool.size());
+
+            pool.invalidate("first");
+            assertEquals(1, pool.size());
+            assertNotSame(first, pool.getService("first"));
+        }
+    }
+
+    @Test
+    public void shouldEvictIdleServices() throws IOException, InterruptedException {
+        try (OAuth20ServicePool<String> pool = new OAuth20ServicePool<>(JDKHttpClientConfig.defaultConfig(), FACTORY,
+                10, 1, TimeUnit.MILLISECONDS)) {
+            pool.getService("first");
+            pool.getService("second");
+            Thread.sleep(10);
+            pool.evictIdle();
+            assertEquals(0, pool.size());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldCreateServiceOnceWithoutBlockingOtherTenants() throws Exception {
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger slowCreations = new AtomicInteger();
+        try (OAuth20ServicePool<String> pool = new OAuth20ServicePool<>(JDKHttpClientConfig.defaultConfig(),
+                new OAuth20ServicePool.ServiceFactory<String>() {
+            @Override
+            public OAuth20Service createService(String tenant, HttpClient httpClient) {
+                if ("slow".equals(tenant)) {
+                    slowCreations.incrementAndGet();
+                    slowStarted.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException iE) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return FACTORY.createService(tenant, httpClient);
+            }
+        }, 10, 1, TimeUnit.HOURS)) {
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                final Callable<OAuth20Service> getSlow = new Callable<OAuth20Service>() {
+                    @Override
+                    public OAuth20Service call() {
+                        return pool.getService("slow");
+                    }
+                };
+                final Future<OAuth20Service> first = executor.submit(getSlow);
+                slowStarted.await();
+                final Future<OAuth20Service> second = executor.submit(getSlow);
+
+                assertEquals("fast", pool.getService("fast").getApiKey());
+                release.countDown();
+                assertSame(first.get(), second.get());
+                assertEquals(1, slowCreations.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.scribejava.core.oauth;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.model.OAuth2Authorization;
+import com.github.scribejava.core.pendingauthorization.InMemoryPendingAuthorizationStore;
+import com.github.scribejava.core.pendingauthorization.PendingAuthorizationStore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class PendingAuthorizationTest {
+
+    private final OAuth20Service service = new ServiceBuilder("your_api_key")
+            .callback("http://localhost/callback")
+            .build(new OAuth20ApiUnit());
+    private final PendingAuthorizationStore store = new InMemoryPendingAuthorizationStore();
+
+    @Test
+    public void shouldRememberPkceByGeneratedState() {
+        final AuthorizationUrlBuilder builder = service.createAuthorizationUrlBuilder()
+                .initPKCE()
+                .pendingAuthorizationStore(store);
+        final String url = builder.build();
+        assertNotNull(builder.getState());
+        assertTrue(url.endsWith("&state=" + builder.getState()));
+
+        final OAuth2Authorization authorization = service.extractAuthorization(
+                "http://localhost/callback?code=code&state=" + builder.getState(), store);
+        assertEquals("code", authorization.getCode());
+        assertEquals(builder.getPkce().getCodeVerifier(), authorization.getPkce().getCodeVerifier());
+    }
+
+    @Test(expected = OAuthException.class)
+    public void shouldRejectReplayedState() {
+        service.createAuthorizationUrlBuilder()
+                .state("state")
+                .pendingAuthorizationStore(store)
+                .build();
+        service.extractAuthorization("http://localhost/callback?code=code&state=state", store);
+        service.extractAuthorization("http://localhost/callback?code=code&state=state", store);
+    }
+
+    @Test(expected = OAuthException.class)
+    public void shouldRejectMissingState() {
+        service.extractAuthorization("http://localhost/callback?code=code", store);
+    }
+}
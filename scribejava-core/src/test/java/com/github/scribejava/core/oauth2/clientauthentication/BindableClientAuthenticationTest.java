@@ -0,0 +1,46 @@
+package com.github.scribejava.core.oauth2.clientauthentication;
+
+import com.github.scribejava.core.model.OAuthConstants;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class BindableClientAuthenticationTest {
+
+    @Test
+    public void shouldProduceSameBasicHeaderWhenBound() {
+        final HttpBasicAuthenticationScheme scheme = HttpBasicAuthenticationScheme.instance();
+        final ClientAuthentication bound = scheme.bind("key", "sécret");
+
+        final OAuthRequest unboundRequest = new OAuthRequest(Verb.POST, "http://example.com/token");
+        scheme.addClientAuthentication(unboundRequest, "key", "sécret");
+        final OAuthRequest boundRequest = new OAuthRequest(Verb.POST, "http://example.com/token");
+        bound.addClientAuthentication(boundRequest, "key", "sécret");
+
+        assertEquals("Basic a2V5OnPDqWNyZXQ=", boundRequest.getHeaders().get(OAuthConstants.HEADER));
+        assertEquals(unboundRequest.getHeaders(), boundRequest.getHeaders());
+
+        final OAuthRequest otherRequest = new OAuthRequest(Verb.POST, "http://example.com/token");
+        bound.addClientAuthentication(otherRequest, "other", "secret");
+        assertEquals("Basic b3RoZXI6c2VjcmV0", otherRequest.getHeaders().get(OAuthConstants.HEADER));
+    }
+
+    @Test
+    public void shouldProduceSameBodyWhenBound() {
+        final RequestBodyAuthenticationScheme scheme = RequestBodyAuthenticationScheme.instance();
+        final ClientAuthentication bound = scheme.bind("key", "s&cret");
+
+        final OAuthRequest request = new OAuthRequest(Verb.POST, "http://example.com/token");
+        bound.addClientAuthentication(request, "key", "s&cret");
+        assertEquals("client_id=key&client_secret=s%26cret", request.getBodyParams().asFormUrlEncodedString());
+
+        final OAuthRequest getRequest = new OAuthRequest(Verb.GET, "http://example.com/token");
+        bound.addClientAuthentication(getRequest, "key", "s&cret");
+        assertEquals("http://example.com/token?client_id=key&client_secret=s%26cret", getRequest.getCompleteUrl());
+
+        final OAuthRequest otherRequest = new OAuthRequest(Verb.POST, "http://example.com/token");
+        bound.addClientAuthentication(otherRequest, "other", null);
+        assertEquals("client_id=other", otherRequest.getBodyParams().asFormUrlEncodedString());
+    }
+}
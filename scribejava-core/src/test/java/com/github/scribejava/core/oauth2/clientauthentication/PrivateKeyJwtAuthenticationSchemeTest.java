@@ -0,0 +1,199 @@
+package com.github.scribejava.core.oauth2.clientauthentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scribejava.core.java8.Base64;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Parameter;
+import com.github.scribejava.core.model.Verb;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrivateKeyJwtAuthenticationSchemeTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String TOKEN_URL = "https://idp.example.com/token";
+
+    @Test
+    public void shouldSendSingleUseRsaAssertions() throws Exception {
+        final KeyPair keyPair = generate("RSA", null);
+        final ClientAuthentication bound = new PrivateKeyJwtAuthenticationScheme(keyPair.getPrivate(), "RS256",
+                "key-1", null, TimeUnit.MINUTES.toMillis(5), 0, null).bind("client", null);
+
+        final String first = authenticate(bound, TOKEN_URL);
+        final String second = authenticate(bound, TOKEN_URL);
+        assertNotEquals(first, second);
+
+        final JsonNode header = decode(first, 0);
+        assertEquals("RS256", header.get("alg").asText());
+        assertEquals("key-1", header.get("kid").asText());
+        final JsonNode claims = decode(first, 1);
+        assertEquals("client", claims.get("iss").asText());
+        assertEquals("client", claims.get("sub").asText());
+        assertEquals(TOKEN_URL, claims.get("aud").asText());
+        assertEquals(300, claims.get("exp").asLong() - claims.get("iat").asLong());
+        assertNotEquals(claims.get("jti"), decode(second, 1).get("jti"));
+        assertTrue(verify(first, "SHA256withRSA", keyPair.getPublic(), false));
+    }
+
+    @Test
+    public void shouldSignEcAssertions() throws Exception {
+        final KeyPair keyPair = generate("EC", new ECGenParameterSpec("secp256r1"));
+        final PrivateKeyJwtAuthenticationScheme scheme = new PrivateKeyJwtAuthenticationScheme(keyPair.getPrivate(),
+                "ES256", null);
+
+        final OAuthRequest request = new OAuthRequest(Verb.POST, TOKEN_URL);
+        scheme.addClientAuthentication(request, "client", null);
+        assertTrue(verify(getAssertion(request), "SHA256withECDSA", keyPair.getPublic(), true));
+    }
+
+    @Test
+    public void shouldReuseAssertionPerAudienceWithinWindow() throws Exception {
+        final KeyPair keyPair = generate("RSA", null);
+        final ClientAuthentication bound = new PrivateKeyJwtAuthenticationScheme(keyPair.getPrivate(), "RS256",
+                null, null, TimeUnit.MINUTES.toMillis(5), TimeUnit.MINUTES.toMillis(1), null).bind("client", null);
+
+        final String assertion = authenticate(bound, TOKEN_URL);
+        assertEquals(assertion, authenticate(bound, TOKEN_URL));
+        final String revokeAssertion = authenticate(bound, "https://idp.example.com/revoke");
+        assertNotEquals(assertion, revokeAssertion);
+        assertEquals("https://idp.example.com/revoke", decode(revokeAssertion, 1).get("aud").asText());
+    }
+
+    @Test
+    public void shouldUsePresignedAssertion() throws Exception {
+        final KeyPair keyPair = generate("RSA", null);
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final ClientAuthentication bound = new PrivateKeyJwtAuthenticationScheme(keyPair.getPrivate(), "RS256",
+                null, null, TimeUnit.MINUTES.toMillis(5), 0, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        }).bind("client", null);
+
+        final String first = authenticate(bound, TOKEN_URL);
+        assertEquals(PrivateKeyJwtAuthenticationScheme.PRESIGN_DEPTH, tasks.size());
+        tasks.poll().run();
+        final long issuedBefore = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        final String second = authenticate(bound, TOKEN_URL);
+        assertNotEquals(first, second);
+        //signed by the background task, not while authenticating
+        assertTrue(decode(second, 1).get("iat").asLong() <= issuedBefore);
+        assertEquals(PrivateKeyJwtAuthenticationScheme.PRESIGN_DEPTH, tasks.size());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldSignOnCallerThreadWhileExecutorIsBusy() throws Exception {
+        final KeyPair keyPair = generate("RSA", null);
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        final ClientAuthentication bound = new PrivateKeyJwtAuthenticationScheme(keyPair.getPrivate(), "RS256",
+                null, null, TimeUnit.MINUTES.toMillis(5), 0, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                //never runs them, as a signer stuck behind other work
+                tasks.add(command);
+            }
+        }).bind("client", null);
+
+        final Set<String> assertions = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 3; j++) {
+                        assertions.add(authenticate(bound, TOKEN_URL));
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(12, assertions.size());
+        assertEquals(PrivateKeyJwtAuthenticationScheme.PRESIGN_DEPTH, tasks.size());
+    }
+
+    private static String authenticate(ClientAuthentication clientAuthentication, String url) {
+        final OAuthRequest request = new OAuthRequest(Verb.POST, url);
+        clientAuthentication.addClientAuthentication(request, "client", null);
+        return getAssertion(request);
+    }
+
+    private static String getAssertion(OAuthRequest request) {
+        String assertion = null;
+        for (Parameter parameter : request.getBodyParams().getParams()) {
+            if ("client_assertion_type".equals(parameter.getKey())) {
+                assertEquals(PrivateKeyJwtAuthenticationScheme.CLIENT_ASSERTION_TYPE_JWT_BEARER,
+                        parameter.getValue());
+            } else if ("client_assertion".equals(parameter.getKey())) {
+                assertion = parameter.getValue();
+            }
+        }
+        return assertion;
+    }
+
+    private static KeyPair generate(String algorithm, ECGenParameterSpec spec) throws GeneralSecurityException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        if (spec == null) {
+            generator.initialize(2048);
+        } else {
+            generator.initialize(spec);
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static JsonNode decode(String jwt, int part) throws IOException {
+        return OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(jwt.split("\\.")[part]));
+    }
+
+    private static boolean verify(String jwt, String jcaAlgorithm, PublicKey publicKey, boolean ec)
+            throws GeneralSecurityException {
+        final int signatureStart = jwt.lastIndexOf('.');
+        final byte[] signature = Base64.getUrlDecoder().decode(jwt.substring(signatureStart + 1));
+        final Signature verifier = Signature.getInstance(jcaAlgorithm);
+        verifier.initVerify(publicKey);
+        verifier.update(jwt.substring(0, signatureStart).getBytes(UTF_8));
+        return verifier.verify(ec ? toDer(signature) : signature);
+    }
+
+    private static byte[] toDer(byte[] jose) {
+        final byte[] r = new BigInteger(1, Arrays.copyOfRange(jose, 0, jose.length / 2)).toByteArray();
+        final byte[] s = new BigInteger(1, Arrays.copyOfRange(jose, jose.length / 2, jose.length)).toByteArray();
+        final ByteArrayOutputStream der = new ByteArrayOutputStream();
+        der.write(0x30);
+        der.write(r.length + s.length + 4);
+        der.write(0x02);
+        der.write(r.length);
+        der.write(r, 0, r.length);
+        der.write(0x02);
+        der.write(s.length);
+        der.write(s, 0, s.length);
+        return der.toByteArray();
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.scribejava.core.pendingauthorization;
+
+import com.github.scribejava.core.model.OAuth1RequestToken;
+import com.github.scribejava.core.pkce.PKCE;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InMemoryPendingAuthorizationStoreTest {
+
+    @Test
+    public void shouldTakeEntryOnce() {
+        final PendingAuthorizationStore store = new InMemoryPendingAuthorizationStore();
+        final PendingAuthorization pending = new PendingAuthorization(new OAuth1RequestToken("token", "secret"));
+        store.put("token", pending);
+
+        assertEquals(1, store.getSize());
+        assertSame(pending, store.take("token"));
+        assertNull(store.take("token"));
+        assertNull(store.take(null));
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    public void shouldExpireWholeBuckets() {
+        final ManualClockStore store = new ManualClockStore(10, 5);
+        store.put("old", new PendingAuthorization((PKCE) null));
+        store.advance(6);
+        store.put("new", new PendingAuthorization((PKCE) null));
+
+        store.advance(6);
+        assertEquals(1, store.getSize());
+        assertNull(store.take("old"));
+        assertNotNull(store.take("new"));
+    }
+
+    @Test
+    public void shouldKeepEntryForTtl() {
+        final ManualClockStore store = new ManualClockStore(10, 5);
+        store.put("state", new PendingAuthorization((PKCE) null));
+        store.advance(9);
+
+        assertNotNull(store.take("state"));
+    }
+
+    @Test
+    public void shouldEvictOldestEntryWhenFull() {
+        final ManualClockStore store = new ManualClockStore(10, 5, 2);
+        store.put("a", new PendingAuthorization((PKCE) null));
+        store.advance(2);
+        store.put("b", new PendingAuthorization((PKCE) null));
+        store.advance(2);
+        store.put("c", new PendingAuthorization((PKCE) null));
+
+        assertEquals(2, store.getSize());
+        assertNull(store.take("a"));
+        assertNotNull(store.take("b"));
+        assertNotNull(store.take("c"));
+    }
+
+    @Test
+    public void shouldEvictOnlyOneEntryOfBurstWhenFull() {
+        final ManualClockStore store = new ManualClockStore(10, 5, 100);
+        for (int i = 0; i <= 100; i++) {
+            store.put("state" + i, new PendingAuthorization((PKCE) null));
+        }
+
+        assertEquals(100, store.getSize());
+        assertNull(store.take("state0"));
+        for (int i = 1; i <= 100; i++) {
+            assertNotNull(store.take("state" + i));
+        }
+    }
+
+    private static class ManualClockStore extends InMemoryPendingAuthorizationStore {
+
+        private long offset;
+
+        ManualClockStore(long ttlSeconds, int bucketsPerTtl) {
+            this(ttlSeconds, bucketsPerTtl, DEFAULT_MAX_SIZE);
+        }
+
+        ManualClockStore(long ttlSeconds, int bucketsPerTtl, int maxSize) {
+            super(ttlSeconds, TimeUnit.SECONDS, maxSize, 1, bucketsPerTtl);
+        }
+
+        void advance(long seconds) {
+            offset += TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        @Override
+        long nanoTime() {
+            return super.nanoTime() + offset;
+        }
+    }
+}
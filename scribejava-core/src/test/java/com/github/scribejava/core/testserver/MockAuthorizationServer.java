@@ -0,0 +1,846 @@
+package com.github.scribejava.core.testserver;
+
+import com.github.scribejava.core.builder.api.DefaultApi10a;
+import com.github.scribejava.core.builder.api.DefaultApi20;
+import com.github.scribejava.core.extractors.BaseStringExtractorImpl;
+import com.github.scribejava.core.java8.Base64;
+import com.github.scribejava.core.model.OAuthConstants;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.services.HMACSha1SignatureService;
+import com.github.scribejava.core.utils.OAuthEncoder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ServerSocketFactory;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Embeddable stand-in for the OAuth 2.0 and OAuth 1.0a authorization servers, to drive {@link DefaultApi20} and
+ * {@link DefaultApi10a} based services (and every HttpClient module) in the integration and load tests without the
+ * real IdPs.<br>
+ * It implements the token (authorization_code, refresh_token, client_credentials, password and device_code grants),
+ * revoke, introspection, device authorization, request-token and access-token endpoints plus the protected resource
+ * accepting both the Bearer tokens and the OAuth 1.0a HMAC-SHA1 signed requests. Latency, errors, access token
+ * lifetime, client credentials, device codes and signature verification are configurable, also while the server is
+ * running.
+ *
+ * <pre>
+ * try (MockAuthorizationServer server = new MockAuthorizationServer().latency(5, TimeUnit.MILLISECONDS).start();
+ *         OAuth20Service service = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+ *                 .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).build(server.getApi20())) {
+ *     final OAuth2AccessToken token = service.getAccessTokenClientCredentialsGrant();
+ * }
+ * </pre>
+ */
+public class MockAuthorizationServer implements Closeable {
+
+    public static final String DEFAULT_API_KEY = "mock-api-key";
+    public static final String DEFAULT_API_SECRET = "mock-api-secret";
+
+    public static final String AUTHORIZE_PATH = "/oauth2/authorize";
+    public static final String TOKEN_PATH = "/oauth2/token";
+    public static final String REVOKE_PATH = "/oauth2/revoke";
+    public static final String INTROSPECT_PATH = "/oauth2/introspect";
+    public static final String DEVICE_AUTHORIZATION_PATH = "/oauth2/device_authorization";
+    public static final String DEVICE_VERIFICATION_PATH = "/oauth2/device";
+    public static final String REQUEST_TOKEN_PATH = "/oauth1/request_token";
+    public static final String OAUTH1_AUTHORIZE_PATH = "/oauth1/authorize";
+    public static final String ACCESS_TOKEN_PATH = "/oauth1/access_token";
+    public static final String RESOURCE_PATH = "/api/resource";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String JSON = "application/json;charset=UTF-8";
+    private static final String FORM = "application/x-www-form-urlencoded";
+    private static final String OAUTH_HEADER_PREFIX = "OAuth ";
+    private static final String BEARER_HEADER_PREFIX = "Bearer ";
+
+    private final MockWebServer server = new MockWebServer();
+    /**
+     * access token -> expiration time in millis
+     */
+    private final ConcurrentMap<String, Long> accessTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Boolean> refreshTokens = new ConcurrentHashMap<>();
+    /**
+     * OAuth 1.0a token -> token secret
+     */
+    private final ConcurrentMap<String, String> requestTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> oauth1AccessTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DeviceCode> deviceCodes = new ConcurrentHashMap<>();
+    /**
+     * user code -> device code
+     */
+    private final ConcurrentMap<String, String> userCodes = new ConcurrentHashMap<>();
+    private final HMACSha1SignatureService signatureService = new HMACSha1SignatureService();
+    private final BaseStringExtractorImpl baseStringExtractor = new BaseStringExtractorImpl();
+    private final AtomicLong tokenCounter = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong resourceRequestCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicInteger failNext = new AtomicInteger();
+    private final AtomicInteger slowNext = new AtomicInteger();
+
+    private volatile String apiKey = DEFAULT_API_KEY;
+    private volatile String apiSecret = DEFAULT_API_SECRET;
+    private volatile long latencyMillis;
+    private volatile long slowLatencyMillis;
+    private volatile double errorRate;
+    private volatile int errorCode = 503;
+    private volatile long accessTokenLifetimeMillis = TimeUnit.HOURS.toMillis(1);
+    private volatile boolean issueRefreshTokens = true;
+    private volatile boolean verifySignatures = true;
+    private volatile int deviceCodeIntervalSeconds = 5;
+    private volatile int deviceCodeLifetimeSeconds = 600;
+    private volatile long resourceMaxAgeSeconds = -1;
+
+    public MockAuthorizationServer start() throws IOException {
+        return start(0);
+    }
+
+    public MockAuthorizationServer start(int port) throws IOException {
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new AuthorizationServerDispatcher());
+        server.start(port);
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Client credentials (OAuth 2.0 client_id/client_secret and OAuth 1.0a consumer key/secret) the server accepts.
+     *
+     * @param apiKey apiKey
+     * @param apiSecret apiSecret
+     * @return this
+     */
+    public MockAuthorizationServer clientCredentials(String apiKey, String apiSecret) {
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        return this;
+    }
+
+    /**
+     * Delays every response.
+     *
+     * @param latency latency
+     * @param unit unit
+     * @return this
+     */
+    public MockAuthorizationServer latency(long latency, TimeUnit unit) {
+        latencyMillis = unit.toMillis(latency);
+        return this;
+    }
+
+    /**
+     * Delays the next count responses by the latency instead of the {@link #latency(long, TimeUnit)}, like a slow
+     * node behind the load balancer.
+     *
+     * @param count count
+     * @param latency latency
+     * @param unit unit
+     * @return this
+     */
+    public MockAuthorizationServer slowNext(int count, long latency, TimeUnit unit) {
+        slowLatencyMillis = unit.toMillis(latency);
+        slowNext.set(count);
+        return this;
+    }
+
+    /**
+     * Fails the random share of the requests with the errorCode and "temporarily_unavailable" error.
+     *
+     * @param errorRate from 0 (never) to 1 (always)
+     * @param errorCode HTTP status code
+     * @return this
+     */
+    public MockAuthorizationServer errorRate(double errorRate, int errorCode) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be from 0 to 1");
+        }
+        this.errorRate = errorRate;
+        this.errorCode = errorCode;
+        return this;
+    }
+
+    /**
+     * Fails the next count requests with the errorCode (see {@link #errorRate(double, int)}).
+     *
+     * @param count count
+     * @return this
+     */
+    public MockAuthorizationServer failNext(int count) {
+        failNext.set(count);
+        return this;
+    }
+
+    /**
+     * @param lifetime access token lifetime, 0 to issue the tokens without expires_in, which never expire
+     * @param unit unit
+     * @return this
+     */
+    public MockAuthorizationServer accessTokenLifetime(long lifetime, TimeUnit unit) {
+        accessTokenLifetimeMillis = unit.toMillis(lifetime);
+        return this;
+    }
+
+    /**
+     * The resource responses always have an ETag and are answered with 304 when it matches If-None-Match.
+     *
+     * @param maxAge max-age of their "Cache-Control: private", negative for none
+     * @param unit unit
+     * @return this
+     */
+    public MockAuthorizationServer resourceMaxAge(long maxAge, TimeUnit unit) {
+        resourceMaxAgeSeconds = maxAge < 0 ? -1 : unit.toSeconds(maxAge);
+        return this;
+    }
+
+    public MockAuthorizationServer issueRefreshTokens(boolean issueRefreshTokens) {
+        this.issueRefreshTokens = issueRefreshTokens;
+        return this;
+    }
+
+    /**
+     * @param verifySignatures whether to verify OAuth 1.0a signatures and OAuth 2.0 client credentials, turn it off
+     * to measure the pure client side costs
+     * @return this
+     */
+    public MockAuthorizationServer verifySignatures(boolean verifySignatures) {
+        this.verifySignatures = verifySignatures;
+        return this;
+    }
+
+    /**
+     * @param intervalSeconds polling interval returned with the device codes, polling sooner is answered with
+     * "slow_down"
+     * @param lifetimeSeconds device code lifetime
+     * @return this
+     */
+    public MockAuthorizationServer deviceCodes(int intervalSeconds, int lifetimeSeconds) {
+        deviceCodeIntervalSeconds = intervalSeconds;
+        deviceCodeLifetimeSeconds = lifetimeSeconds;
+        return this;
+    }
+
+    /**
+     * Simulates the user entering the user code and granting the access.
+     *
+     * @param userCode userCode
+     * @return false for an unknown user code
+     */
+    public boolean approveDevice(String userCode) {
+        return setDeviceStatus(userCode, DeviceCode.APPROVED);
+    }
+
+    /**
+     * Simulates the user entering the user code and denying the access.
+     *
+     * @param userCode userCode
+     * @return false for an unknown user code
+     */
+    public boolean denyDevice(String userCode) {
+        return setDeviceStatus(userCode, DeviceCode.DENIED);
+    }
+
+    private boolean setDeviceStatus(String userCode, int status) {
+        final String deviceCode = userCodes.get(userCode);
+        final DeviceCode device = deviceCode == null ? null : deviceCodes.get(deviceCode);
+        if (device == null) {
+            return false;
+        }
+        device.status = status;
+        return true;
+    }
+
+    public String url(String path) {
+        return server.url(path).toString();
+    }
+
+    public String getResourceUrl() {
+        return url(RESOURCE_PATH);
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getResourceRequestCount() {
+        return resourceRequestCount.get();
+    }
+
+    /**
+     * @return count of the resource requests answered with 304 Not Modified
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public int getActiveAccessTokenCount() {
+        return accessTokens.size() + oauth1AccessTokens.size();
+    }
+
+    /**
+     * Forgets all the issued tokens, e.g. between the load test runs.
+     */
+    public void clearTokens() {
+        accessTokens.clear();
+        refreshTokens.clear();
+        requestTokens.clear();
+        oauth1AccessTokens.clear();
+        deviceCodes.clear();
+        userCodes.clear();
+    }
+
+    /**
+     * @return API pointing to this server, use it with the {@link com.github.scribejava.core.builder.ServiceBuilder}
+     */
+    public DefaultApi20 getApi20() {
+        return new MockApi20(url(TOKEN_PATH), url(REVOKE_PATH), url(INTROSPECT_PATH),
+                url(DEVICE_AUTHORIZATION_PATH), url(AUTHORIZE_PATH));
+    }
+
+    /**
+     * @return API pointing to this server, use it with the {@link com.github.scribejava.core.builder.ServiceBuilder}
+     */
+    public DefaultApi10a getApi10a() {
+        return new MockApi10a(url(REQUEST_TOKEN_PATH), url(ACCESS_TOKEN_PATH), url(OAUTH1_AUTHORIZE_PATH));
+    }
+
+    private MockResponse dispatch(RecordedRequest request) {
+        final String path = request.getRequestUrl().encodedPath();
+        switch (path) {
+            case TOKEN_PATH:
+                return token(request, parseParams(request));
+            case REVOKE_PATH:
+                return revoke(request, parseParams(request));
+            case INTROSPECT_PATH:
+                return introspect(request, parseParams(request));
+            case DEVICE_AUTHORIZATION_PATH:
+                return deviceAuthorization(request, parseParams(request));
+            case REQUEST_TOKEN_PATH:
+                return requestToken(request);
+            case ACCESS_TOKEN_PATH:
+                return accessToken(request);
+            case RESOURCE_PATH:
+                return resource(request);
+            default:
+                return new MockResponse().setResponseCode(404);
+        }
+    }
+
+    private MockResponse token(RecordedRequest request, Map<String, String> params) {
+        if (!isClientAuthenticated(request, params)) {
+            return error(401, "invalid_client");
+        }
+        final String grantType = params.get(OAuthConstants.GRANT_TYPE);
+        if (grantType == null) {
+            return error(400, "invalid_request");
+        }
+        switch (grantType) {
+            case OAuthConstants.AUTHORIZATION_CODE:
+                return params.get(OAuthConstants.CODE) == null ? error(400, "invalid_request")
+                        : issueAccessToken(params.get(OAuthConstants.SCOPE));
+            case OAuthConstants.REFRESH_TOKEN:
+                final String refreshToken = params.get(OAuthConstants.REFRESH_TOKEN);
+                return refreshToken == null || !refreshTokens.containsKey(refreshToken) ? error(400, "invalid_grant")
+                        : issueAccessToken(params.get(OAuthConstants.SCOPE));
+            case OAuthConstants.PASSWORD:
+                return params.get(OAuthConstants.USERNAME) == null ? error(400, "invalid_request")
+                        : issueAccessToken(params.get(OAuthConstants.SCOPE));
+            case OAuthConstants.CLIENT_CREDENTIALS:
+                return issueAccessToken(params.get(OAuthConstants.SCOPE));
+            case OAuthConstants.DEVICE_CODE_GRANT_TYPE:
+                return deviceToken(params.get(OAuthConstants.DEVICE_CODE));
+            default:
+                return error(400, "unsupported_grant_type");
+        }
+    }
+
+    private MockResponse issueAccessToken(String scope) {
+        final String accessToken = generateToken("at");
+        final long lifetimeMillis = accessTokenLifetimeMillis;
+        accessTokens.put(accessToken,
+                lifetimeMillis > 0 ? System.currentTimeMillis() + lifetimeMillis : Long.MAX_VALUE);
+
+        final StringBuilder json = new StringBuilder("{\"access_token\":\"").append(accessToken)
+                .append("\",\"token_type\":\"Bearer\"");
+        if (lifetimeMillis > 0) {
+            json.append(",\"expires_in\":").append(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lifetimeMillis)));
+        }
+        if (issueRefreshTokens) {
+            final String refreshToken = generateToken("rt");
+            refreshTokens.put(refreshToken, Boolean.TRUE);
+            json.append(",\"refresh_token\":\"").append(refreshToken).append('"');
+        }
+        if (scope != null) {
+            json.append(",\"scope\":\"").append(scope).append('"');
+        }
+        return new MockResponse().setHeader("Content-Type", JSON).setHeader("Cache-Control", "no-store")
+                .setBody(json.append('}').toString());
+    }
+
+    private MockResponse revoke(RecordedRequest request, Map<String, String> params) {
+        if (!isClientAuthenticated(request, params)) {
+            return error(401, "invalid_client");
+        }
+        final String token = params.get("token");
+        if (token == null) {
+            return error(400, "invalid_request");
+        }
+        //RFC 7009: invalid tokens do not cause an error response
+        accessTokens.remove(token);
+        refreshTokens.remove(token);
+        return new MockResponse();
+    }
+
+    private MockResponse introspect(RecordedRequest request, Map<String, String> params) {
+        if (!isClientAuthenticated(request, params)) {
+            return error(401, "invalid_client");
+        }
+        final String token = params.get("token");
+        if (token == null) {
+            return error(400, "invalid_request");
+        }
+        final Long expiresAt = accessTokens.get(token);
+        final String json;
+        if (expiresAt == null || expiresAt <= System.currentTimeMillis()) {
+            json = "{\"active\":false}";
+        } else {
+            json = "{\"active\":true,\"client_id\":\"" + apiKey + "\",\"token_type\":\"Bearer\""
+                    + (expiresAt == Long.MAX_VALUE ? "" : ",\"exp\":" + TimeUnit.MILLISECONDS.toSeconds(expiresAt))
+                    + '}';
+        }
+        return new MockResponse().setHeader("Content-Type", JSON).setBody(json);
+    }
+
+    private MockResponse deviceAuthorization(RecordedRequest request, Map<String, String> params) {
+        if (!isClientAuthenticated(request, params)) {
+            return error(401, "invalid_client");
+        }
+        final String deviceCode = generateToken("dc");
+        final String userCode = Long.toString(tokenCounter.incrementAndGet(), 36).toUpperCase();
+        final int interval = deviceCodeIntervalSeconds;
+        final int lifetime = deviceCodeLifetimeSeconds;
+        deviceCodes.put(deviceCode, new DeviceCode(params.get(OAuthConstants.SCOPE),
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(lifetime), TimeUnit.SECONDS.toMillis(interval)));
+        userCodes.put(userCode, deviceCode);
+        final String verificationUri = url(DEVICE_VERIFICATION_PATH);
+        return new MockResponse().setHeader("Content-Type", JSON).setHeader("Cache-Control", "no-store")
+                .setBody("{\"device_code\":\"" + deviceCode + "\",\"user_code\":\"" + userCode
+                        + "\",\"verification_uri\":\"" + verificationUri + "\",\"verification_uri_complete\":\""
+                        + verificationUri + "?user_code=" + userCode + "\",\"expires_in\":" + lifetime
+                        + ",\"interval\":" + interval + '}');
+    }
+
+    private MockResponse deviceToken(String deviceCode) {
+        final DeviceCode device = deviceCode == null ? null : deviceCodes.get(deviceCode);
+        if (device == null) {
+            return error(400, "invalid_grant");
+        }
+        final String error = device.poll(System.currentTimeMillis());
+        if (error != null) {
+            return error(400, error);
+        }
+        deviceCodes.remove(deviceCode);
+        return issueAccessToken(device.scope);
+    }
+
+    private MockResponse requestToken(RecordedRequest request) {
+        final Map<String, String> oauthParams = parseOAuthParams(request);
+        if (oauthParams == null || !apiKey.equals(oauthParams.get(OAuthConstants.CONSUMER_KEY))
+                || !isSignatureValid(request, oauthParams, "")) {
+            return new MockResponse().setResponseCode(401).setBody("oauth_problem=signature_invalid");
+        }
+        final String token = generateToken("rt");
+        final String tokenSecret = generateToken("rts");
+        requestTokens.put(token, tokenSecret);
+        return new MockResponse().setHeader("Content-Type", FORM)
+                .setBody("oauth_token=" + token + "&oauth_token_secret=" + tokenSecret
+                        + "&oauth_callback_confirmed=true");
+    }
+
+    private MockResponse accessToken(RecordedRequest request) {
+        final Map<String, String> oauthParams = parseOAuthParams(request);
+        final String requestToken = oauthParams == null ? null : oauthParams.get(OAuthConstants.TOKEN);
+        //request tokens are single-use
+        final String requestTokenSecret = requestToken == null ? null : requestTokens.remove(requestToken);
+        if (requestTokenSecret == null || oauthParams.get(OAuthConstants.VERIFIER) == null
+                || !apiKey.equals(oauthParams.get(OAuthConstants.CONSUMER_KEY))
+                || !isSignatureValid(request, oauthParams, requestTokenSecret)) {
+            return new MockResponse().setResponseCode(401).setBody("oauth_problem=token_rejected");
+        }
+        final String token = generateToken("at");
+        final String tokenSecret = generateToken("ats");
+        oauth1AccessTokens.put(token, tokenSecret);
+        return new MockResponse().setHeader("Content-Type", FORM)
+                .setBody("oauth_token=" + token + "&oauth_token_secret=" + tokenSecret);
+    }
+
+    private MockResponse resource(RecordedRequest request) {
+        resourceRequestCount.incrementAndGet();
+        final String authorization = request.getHeader(OAuthConstants.HEADER);
+        final boolean authorized;
+        if (authorization != null && authorization.startsWith(BEARER_HEADER_PREFIX)) {
+            final Long expiresAt = accessTokens.get(authorization.substring(BEARER_HEADER_PREFIX.length()));
+            authorized = expiresAt != null && expiresAt > System.currentTimeMillis();
+        } else {
+            final Map<String, String> oauthParams = parseOAuthParams(request);
+            final String tokenSecret = oauthParams == null ? null
+                    : oauth1AccessTokens.get(oauthParams.get(OAuthConstants.TOKEN));
+            authorized = tokenSecret != null && isSignatureValid(request, oauthParams, tokenSecret);
+        }
+        if (!authorized) {
+            return error(401, "invalid_token").setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+        }
+        final String body = "{\"id\":\"42\",\"name\":\"Mock Resource\",\"path\":\"" + request.getPath() + "\"}";
+        final String etag = '"' + Integer.toHexString(body.hashCode()) + '"';
+        final MockResponse response = new MockResponse().setHeader("ETag", etag);
+        if (resourceMaxAgeSeconds >= 0) {
+            response.setHeader("Cache-Control", "private, max-age=" + resourceMaxAgeSeconds);
+        }
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            notModifiedCount.incrementAndGet();
+            return response.setResponseCode(304);
+        }
+        return response.setHeader("Content-Type", JSON).setBody(body);
+    }
+
+    private boolean isClientAuthenticated(RecordedRequest request, Map<String, String> params) {
+        if (!verifySignatures) {
+            return true;
+        }
+        final String authorization = request.getHeader(OAuthConstants.HEADER);
+        if (authorization != null) {
+            return authorization.equals(OAuthConstants.BASIC + ' ' + Base64.getEncoder()
+                    .encodeToString((apiKey + ':' + apiSecret).getBytes(UTF_8)));
+        }
+        return apiKey.equals(params.get(OAuthConstants.CLIENT_ID))
+                && apiSecret.equals(params.get(OAuthConstants.CLIENT_SECRET));
+    }
+
+    /**
+     * Recomputes the signature with the core {@link BaseStringExtractorImpl}, so it verifies what the services
+     * actually send over the wire with any HttpClient.
+     */
+    private boolean isSignatureValid(RecordedRequest request, Map<String, String> oauthParams, String tokenSecret) {
+        if (!verifySignatures) {
+            return true;
+        }
+        final String signature = oauthParams.get(OAuthConstants.SIGNATURE);
+        if (signature == null) {
+            return false;
+        }
+        //oauth_* query parameters (QUERY_STRING signature type) are added below as the OAuth parameters
+        final HttpUrl.Builder url = request.getRequestUrl().newBuilder();
+        for (String name : request.getRequestUrl().queryParameterNames()) {
+            if (name.startsWith(OAuthConstants.PARAM_PREFIX)) {
+                url.removeAllQueryParameters(name);
+            }
+        }
+        final OAuthRequest oAuthRequest = new OAuthRequest(Verb.valueOf(request.getMethod()), url.build().toString());
+        for (Map.Entry<String, String> param : parseForm(readBody(request)).entrySet()) {
+            oAuthRequest.addBodyParameter(param.getKey(), param.getValue());
+        }
+        for (Map.Entry<String, String> param : oauthParams.entrySet()) {
+            if (!OAuthConstants.SIGNATURE.equals(param.getKey()) && !OAuthConstants.REALM.equals(param.getKey())) {
+                oAuthRequest.addOAuthParameter(param.getKey(), param.getValue());
+            }
+        }
+        final String expected = signatureService.getSignature(baseStringExtractor.extract(oAuthRequest), apiSecret,
+                tokenSecret);
+        return expected.equals(signature);
+    }
+
+    /**
+     * @return OAuth 1.0a parameters from the Authorization header or from the query string, null if there are none
+     */
+    private static Map<String, String> parseOAuthParams(RecordedRequest request) {
+        final Map<String, String> oauthParams = new LinkedHashMap<>();
+        final String authorization = request.getHeader(OAuthConstants.HEADER);
+        if (authorization != null && authorization.startsWith(OAUTH_HEADER_PREFIX)) {
+            for (String param : authorization.substring(OAUTH_HEADER_PREFIX.length()).split(",")) {
+                final int separator = param.indexOf('=');
+                if (separator > 0) {
+                    String value = param.substring(separator + 1).trim();
+                    if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    oauthParams.put(param.substring(0, separator).trim(), OAuthEncoder.decode(value));
+                }
+            }
+        } else {
+            final HttpUrl url = request.getRequestUrl();
+            for (String name : url.queryParameterNames()) {
+                if (name.startsWith(OAuthConstants.PARAM_PREFIX)) {
+                    oauthParams.put(name, url.queryParameter(name));
+                }
+            }
+        }
+        return oauthParams.isEmpty() ? null : oauthParams;
+    }
+
+    private static Map<String, String> parseParams(RecordedRequest request) {
+        final Map<String, String> params = parseForm(readBody(request));
+        final HttpUrl url = request.getRequestUrl();
+        for (String name : url.queryParameterNames()) {
+            if (!params.containsKey(name)) {
+                params.put(name, url.queryParameter(name));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * RecordedRequest body is a Buffer, reading consumes it, so we read a copy.
+     */
+    private static String readBody(RecordedRequest request) {
+        return request.getBody().clone().readUtf8();
+    }
+
+    private static Map<String, String> parseForm(String form) {
+        final Map<String, String> params = new HashMap<>();
+        if (form == null || form.isEmpty()) {
+            return params;
+        }
+        for (String pair : form.split("&")) {
+            final int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(OAuthEncoder.decode(pair.substring(0, separator)),
+                        OAuthEncoder.decode(pair.substring(separator + 1)));
+            } else if (!pair.isEmpty()) {
+                params.put(OAuthEncoder.decode(pair), "");
+            }
+        }
+        return params;
+    }
+
+    private static MockResponse error(int code, String error) {
+        return new MockResponse().setResponseCode(code).setHeader("Content-Type", JSON)
+                .setBody("{\"error\":\"" + error + "\"}");
+    }
+
+    private String generateToken(String prefix) {
+        return prefix + '-' + Long.toHexString(ThreadLocalRandom.current().nextLong()) + '-'
+                + tokenCounter.incrementAndGet();
+    }
+
+    private boolean shouldFail() {
+        if (decrementIfPositive(failNext)) {
+            return true;
+        }
+        final double rate = errorRate;
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static boolean decrementIfPositive(AtomicInteger counter) {
+        while (true) {
+            final int remaining = counter.get();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (counter.compareAndSet(remaining, remaining - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private class AuthorizationServerDispatcher extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            //MockWebServer keeps every request for takeRequest(), nobody takes them here, don't let them pile up
+            server.takeRequest(0, TimeUnit.NANOSECONDS);
+            requestCount.incrementAndGet();
+            final MockResponse response = shouldFail()
+                    ? error(errorCode, "temporarily_unavailable").setHeader("Retry-After", "1")
+                    : MockAuthorizationServer.this.dispatch(request);
+            final long latency = decrementIfPositive(slowNext) ? slowLatencyMillis : latencyMillis;
+            if (latency > 0) {
+                response.setHeadersDelay(latency, TimeUnit.MILLISECONDS);
+            }
+            return response;
+        }
+    }
+
+    /**
+     * MockWebServer flushes the headers and the body separately, with Nagle's algorithm on the client's delayed ACK
+     * would stall every response by ~40 ms.
+     */
+    private static class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new NoDelayServerSocket();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            final ServerSocket serverSocket = createServerSocket();
+            serverSocket.bind(new InetSocketAddress(port));
+            return serverSocket;
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            final ServerSocket serverSocket = createServerSocket();
+            serverSocket.bind(new InetSocketAddress(port), backlog);
+            return serverSocket;
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress bindAddress) throws IOException {
+            final ServerSocket serverSocket = createServerSocket();
+            serverSocket.bind(new InetSocketAddress(bindAddress, port), backlog);
+            return serverSocket;
+        }
+    }
+
+    private static class NoDelayServerSocket extends ServerSocket {
+
+        NoDelayServerSocket() throws IOException {
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            final Socket socket = super.accept();
+            socket.setTcpNoDelay(true);
+            return socket;
+        }
+    }
+
+    /**
+     * RFC 8628 device code state, "slow_down" is answered to the polls sooner than the interval.
+     */
+    private static class DeviceCode {
+
+        private static final int PENDING = 0;
+        private static final int APPROVED = 1;
+        private static final int DENIED = 2;
+
+        private final String scope;
+        private final long expiresAt;
+        private volatile int status = PENDING;
+        private final long intervalMillis;
+        private long lastPoll;
+
+        DeviceCode(String scope, long expiresAt, long intervalMillis) {
+            this.scope = scope;
+            this.expiresAt = expiresAt;
+            this.intervalMillis = intervalMillis;
+        }
+
+        /**
+         * @param now now
+         * @return error code or null if the token can be issued
+         */
+        synchronized String poll(long now) {
+            if (now >= expiresAt) {
+                return "expired_token";
+            }
+            final long previousPoll = lastPoll;
+            lastPoll = now;
+            if (previousPoll > 0 && now - previousPoll < intervalMillis) {
+                return "slow_down";
+            }
+            switch (status) {
+                case APPROVED:
+                    return null;
+                case DENIED:
+                    return "access_denied";
+                default:
+                    return "authorization_pending";
+            }
+        }
+    }
+
+    private static class MockApi20 extends DefaultApi20 {
+
+        private final String accessTokenEndpoint;
+        private final String revokeTokenEndpoint;
+        private final String introspectionEndpoint;
+        private final String deviceAuthorizationEndpoint;
+        private final String authorizationBaseUrl;
+
+        MockApi20(String accessTokenEndpoint, String revokeTokenEndpoint, String introspectionEndpoint,
+                String deviceAuthorizationEndpoint, String authorizationBaseUrl) {
+            this.accessTokenEndpoint = accessTokenEndpoint;
+            this.revokeTokenEndpoint = revokeTokenEndpoint;
+            this.introspectionEndpoint = introspectionEndpoint;
+            this.deviceAuthorizationEndpoint = deviceAuthorizationEndpoint;
+            this.authorizationBaseUrl = authorizationBaseUrl;
+        }
+
+        @Override
+        public String getAccessTokenEndpoint() {
+            return accessTokenEndpoint;
+        }
+
+        @Override
+        public String getRevokeTokenEndpoint() {
+            return revokeTokenEndpoint;
+        }
+
+        @Override
+        public String getIntrospectionEndpoint() {
+            return introspectionEndpoint;
+        }
+
+        @Override
+        public String getDeviceAuthorizationEndpoint() {
+            return deviceAuthorizationEndpoint;
+        }
+
+        @Override
+        protected String getAuthorizationBaseUrl() {
+            return authorizationBaseUrl;
+        }
+    }
+
+    private static class MockApi10a extends DefaultApi10a {
+
+        private final String requestTokenEndpoint;
+        private final String accessTokenEndpoint;
+        private final String authorizationBaseUrl;
+
+        MockApi10a(String requestTokenEndpoint, String accessTokenEndpoint, String authorizationBaseUrl) {
+            this.requestTokenEndpoint = requestTokenEndpoint;
+            this.accessTokenEndpoint = accessTokenEndpoint;
+            this.authorizationBaseUrl = authorizationBaseUrl;
+        }
+
+        @Override
+        public String getRequestTokenEndpoint() {
+            return requestTokenEndpoint;
+        }
+
+        @Override
+        public String getAccessTokenEndpoint() {
+            return accessTokenEndpoint;
+        }
+
+        @Override
+        protected String getAuthorizationBaseUrl() {
+            return authorizationBaseUrl;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.scribejava.core.testserver;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.rules.ExternalResource;
+
+/**
+ * Starts the {@link MockAuthorizationServer} before every test and closes it after, along with the
+ * {@link OAuth20Service}s of its default client: the one of {@link #getService()}, created on first use, and the ones
+ * of {@link #createService(HttpClient)}.
+ *
+ * <pre>
+ * &#64;Rule
+ * public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule().httpClient(new OkHttpHttpClient());
+ * </pre>
+ */
+public class MockAuthorizationServerRule extends ExternalResource {
+
+    private final MockAuthorizationServer server;
+    private final List<OAuth20Service> services = new ArrayList<>();
+    private HttpClient httpClient;
+    private OAuth20Service service;
+
+    public MockAuthorizationServerRule() {
+        this(new MockAuthorizationServer());
+    }
+
+    /**
+     * @param server configured server, not started yet
+     */
+    public MockAuthorizationServerRule(MockAuthorizationServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @param httpClient client of the default service, closed with it. The JDK one if not set. May be set in a
+     * &#64;Before method, until the default service is created.
+     * @return this
+     */
+    public MockAuthorizationServerRule httpClient(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        return this;
+    }
+
+    @Override
+    protected void before() throws IOException {
+        server.start();
+    }
+
+    @Override
+    protected void after() {
+        try {
+            if (service == null && httpClient != null) {
+                httpClient.close();
+            }
+            for (OAuth20Service created : services) {
+                created.close();
+            }
+            server.close();
+        } catch (IOException ioE) {
+            throw new IllegalStateException(ioE);
+        }
+    }
+
+    /**
+     * @param client client of the service, closed with it after the test, null for the JDK one
+     * @return new service of the default client credentials of the server
+     */
+    public synchronized OAuth20Service createService(HttpClient client) {
+        final ServiceBuilder builder = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET);
+        if (client != null) {
+            builder.httpClient(client);
+        }
+        final OAuth20Service created = builder.build(server.getApi20());
+        services.add(created);
+        return created;
+    }
+
+    public MockAuthorizationServer getServer() {
+        return server;
+    }
+
+    public synchronized OAuth20Service getService() {
+        if (service == null) {
+            service = createService(httpClient);
+        }
+        return service;
+    }
+}
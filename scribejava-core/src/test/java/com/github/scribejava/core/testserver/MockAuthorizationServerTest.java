@@ -0,0 +1,117 @@
+package com.github.scribejava.core.testserver;
+
+import com.github.scribejava.core.builder.ServiceBuilder;
+import com.github.scribejava.core.model.OAuth1AccessToken;
+import com.github.scribejava.core.model.OAuth1RequestToken;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth10aService;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.oauth2.OAuth2Error;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MockAuthorizationServerTest {
+
+    private MockAuthorizationServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockAuthorizationServer().start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void shouldIssueRefreshAndRevokeOAuth2Tokens() throws Exception {
+        try (OAuth20Service service = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).build(server.getApi20())) {
+
+            final OAuth2AccessToken token = service.getAccessToken("code");
+            assertEquals(Integer.valueOf(3600), token.getExpiresIn());
+            assertNotNull(token.getRefreshToken());
+            assertEquals(200, callResource(service, token.getAccessToken()));
+
+            final OAuth2AccessToken refreshed = service.refreshAccessToken(token.getRefreshToken());
+            assertEquals(200, callResource(service, refreshed.getAccessToken()));
+
+            service.revokeToken(refreshed.getAccessToken());
+            assertEquals(401, callResource(service, refreshed.getAccessToken()));
+        }
+    }
+
+    @Test
+    public void shouldExpireAccessTokens() throws Exception {
+        server.accessTokenLifetime(1, TimeUnit.MILLISECONDS);
+        try (OAuth20Service service = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).build(server.getApi20())) {
+            final OAuth2AccessToken token = service.getAccessTokenClientCredentialsGrant();
+            Thread.sleep(10);
+            assertEquals(401, callResource(service, token.getAccessToken()));
+        }
+    }
+
+    @Test
+    public void shouldRejectWrongClientCredentialsAndInjectErrors() throws Exception {
+        try (OAuth20Service service = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret("wrong").build(server.getApi20())) {
+            service.getAccessTokenClientCredentialsGrant();
+            fail();
+        } catch (OAuth2AccessTokenErrorResponse e) {
+            assertEquals(OAuth2Error.INVALID_CLIENT, e.getError());
+        }
+
+        server.failNext(1);
+        try (OAuth20Service service = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).build(server.getApi20())) {
+            try {
+                service.getAccessTokenPasswordGrant("user", "password");
+                fail();
+            } catch (OAuth2AccessTokenErrorResponse e) {
+                assertEquals(OAuth2Error.TEMPORARILY_UNAVAILABLE, e.getError());
+            }
+            assertNotNull(service.getAccessTokenPasswordGrant("user", "password").getAccessToken());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void shouldVerifyOAuth1Signatures() throws Exception {
+        try (OAuth10aService service = new ServiceBuilder(MockAuthorizationServer.DEFAULT_API_KEY)
+                .apiSecret(MockAuthorizationServer.DEFAULT_API_SECRET).build(server.getApi10a())) {
+            final OAuth1RequestToken requestToken = service.getRequestToken();
+            final OAuth1AccessToken accessToken = service.getAccessToken(requestToken, "verifier");
+
+            final OAuthRequest request = new OAuthRequest(Verb.GET, server.getResourceUrl() + "?fields=id,name");
+            service.signRequest(accessToken, request);
+            try (Response response = service.execute(request)) {
+                assertEquals(200, response.getCode());
+            }
+
+            final OAuthRequest forged = new OAuthRequest(Verb.GET, server.getResourceUrl() + "?fields=id,name");
+            service.signRequest(new OAuth1AccessToken(accessToken.getToken(), "stolen"), forged);
+            try (Response response = service.execute(forged)) {
+                assertEquals(401, response.getCode());
+            }
+        }
+    }
+
+    private int callResource(OAuth20Service service, String accessToken) throws Exception {
+        final OAuthRequest request = new OAuthRequest(Verb.GET, server.getResourceUrl());
+        service.signRequest(accessToken, request);
+        try (Response response = service.execute(request)) {
+            return response.getCode();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.scribejava.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class HexEncoderTest {
+
+    @Test
+    public void shouldEncodeBytesAsLowercaseHex() {
+        assertEquals("", HexEncoder.encode(new byte[0]));
+        assertEquals("00017f80ff0a", HexEncoder.encode(new byte[]{0, 1, 127, -128, -1, 10}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionForNullBytes() {
+        HexEncoder.encode(null);
+    }
+
+    @Test
+    public void shouldHashAsLowercaseHexSha256() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", HexEncoder.sha256("abc"));
+    }
+}
@@ -3,6 +3,7 @@ package com.github.scribejava.core.utils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import org.junit.Test;
@@ -39,4 +40,15 @@ public class StreamUtilsTest {
         StreamUtils.getStreamContents(ALLWAYS_ERROR_INPUT_STREAM);
         fail("Must throw exception before getting here");
     }
+
+    @Test
+    public void shouldReadBytesWithAnySizeHint() throws IOException {
+        final byte[] value = new byte[20000];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) i;
+        }
+        for (long sizeHint : new long[]{-1, 0, 1, 19999, 20000, 20001, 1000000}) {
+            assertArrayEquals(value, StreamUtils.getStreamBytes(new ByteArrayInputStream(value), sizeHint));
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.github.scribejava.httpclient.ahc;
 
 import com.github.scribejava.core.httpclient.AbstractAsyncOnlyHttpClient;
+import com.github.scribejava.core.httpclient.ContentEncoding;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
 import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
 import com.github.scribejava.core.java8.Consumer;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
@@ -18,26 +20,53 @@ import java.io.File;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.BoundRequestBuilder;
 
-public class AhcHttpClient extends AbstractAsyncOnlyHttpClient {
+public class AhcHttpClient extends AbstractAsyncOnlyHttpClient implements TimeoutAwareHttpClient {
 
     private final AsyncHttpClient client;
+    /**
+     * request timeout of the clients returned by {@link #withTimeout(long)}, which share (and don't close) the client
+     */
+    private final long timeoutMillis;
 
     public AhcHttpClient() {
         this(AhcHttpClientConfig.defaultConfig());
     }
 
     public AhcHttpClient(AhcHttpClientConfig ahcConfig) {
-        final AsyncHttpClientConfig clientConfig = ahcConfig.getClientConfig();
-        client = clientConfig == null ? new DefaultAsyncHttpClient() : new DefaultAsyncHttpClient(clientConfig);
+        this(ahcConfig.getClientConfig() == null ? new DefaultAsyncHttpClient()
+                : new DefaultAsyncHttpClient(ahcConfig.getClientConfig()));
     }
 
     public AhcHttpClient(AsyncHttpClient ahcClient) {
+        this(ahcClient, 0);
+    }
+
+    private AhcHttpClient(AsyncHttpClient ahcClient, long timeoutMillis) {
         client = ahcClient;
+        this.timeoutMillis = timeoutMillis;
     }
 
     @Override
     public void close() throws IOException {
-        client.close();
+        if (timeoutMillis == 0) {
+            client.close();
+        }
+    }
+
+    /**
+     * The timeout bounds the request timeout (of the whole call) and the read timeout.
+     *
+     * @param timeoutMillis timeoutMillis
+     * @return client with the timeout
+     */
+    @Override
+    public AhcHttpClient withTimeout(long timeoutMillis) {
+        return new AhcHttpClient(client, timeoutMillis);
+    }
+
+    @Override
+    protected long getTimeoutMillis() {
+        return timeoutMillis;
     }
 
     @Override
@@ -104,13 +133,33 @@ public class AhcHttpClient extends AbstractAsyncOnlyHttpClient {
             boundRequestBuilder.addHeader(header.getKey(), header.getValue());
         }
 
+        if (!ContentEncoding.hasAcceptEncoding(headers)) {
+            boundRequestBuilder.addHeader(ACCEPT_ENCODING, ContentEncoding.getAcceptEncoding());
+        }
+
         if (userAgent != null) {
             boundRequestBuilder.setHeader(OAuthConstants.USER_AGENT_HEADER_NAME, userAgent);
         }
 
+        if (timeoutMillis > 0) {
+            final int timeout = (int) Math.min(timeoutMillis, Integer.MAX_VALUE);
+            final AsyncHttpClientConfig config = client.getConfig();
+            boundRequestBuilder.setRequestTimeout(shorten(config.getRequestTimeout(), timeout));
+            boundRequestBuilder.setReadTimeout(shorten(config.getReadTimeout(), timeout));
+        }
+
         return boundRequestBuilder.execute(new OAuthAsyncCompletionHandler<>(callback, converter));
     }
 
+    /**
+     * @param configured configured timeout, not positive for none
+     * @param timeout per-call timeout
+     * @return the shorter one
+     */
+    private static int shorten(int configured, int timeout) {
+        return configured > 0 ? Math.min(configured, timeout) : timeout;
+    }
+
     private static class ByteArrayConsumer implements Consumer<BoundRequestBuilder> {
 
         private final byte[] bodyContents;
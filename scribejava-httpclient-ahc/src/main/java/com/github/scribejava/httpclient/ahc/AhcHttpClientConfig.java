@@ -1,6 +1,7 @@
 package com.github.scribejava.httpclient.ahc;
 
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import java.util.Objects;
 import org.asynchttpclient.AsyncHttpClientConfig;
 
 public class AhcHttpClientConfig implements HttpClientConfig {
@@ -23,4 +24,23 @@ public class AhcHttpClientConfig implements HttpClientConfig {
     public static AhcHttpClientConfig defaultConfig() {
         return new AhcHttpClientConfig(null);
     }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(clientConfig);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final AhcHttpClientConfig other = (AhcHttpClientConfig) obj;
+        return Objects.equals(clientConfig, other.clientConfig);
+    }
 }
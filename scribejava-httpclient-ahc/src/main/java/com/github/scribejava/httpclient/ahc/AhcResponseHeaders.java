@@ -0,0 +1,31 @@
+package com.github.scribejava.httpclient.ahc;
+
+import com.github.scribejava.core.model.ResponseHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+class AhcResponseHeaders extends ResponseHeaders {
+
+    private final HttpHeaders headers;
+
+    AhcResponseHeaders(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public String getFirst(String name) {
+        return headers.get(name);
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        return Collections.unmodifiableList(headers.getAll(name));
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(headers.names());
+    }
+}
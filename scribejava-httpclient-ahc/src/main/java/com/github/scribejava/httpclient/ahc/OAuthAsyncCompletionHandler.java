@@ -4,8 +4,6 @@ import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
 import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.model.Response;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 import org.asynchttpclient.AsyncCompletionHandler;
 
 public class OAuthAsyncCompletionHandler<T> extends AsyncCompletionHandler<T> {
@@ -22,13 +20,8 @@ public class OAuthAsyncCompletionHandler<T> extends AsyncCompletionHandler<T> {
     @Override
     public T onCompleted(org.asynchttpclient.Response ahcResponse) {
         try {
-            final Map<String, String> headersMap = new HashMap<>();
-            for (Map.Entry<String, String> header : ahcResponse.getHeaders()) {
-                headersMap.put(header.getKey(), header.getValue());
-            }
-
-            final Response response = new Response(ahcResponse.getStatusCode(), ahcResponse.getStatusText(), headersMap,
-                    ahcResponse.getResponseBodyAsStream());
+            final Response response = Response.of(ahcResponse.getStatusCode(), ahcResponse.getStatusText(),
+                    new AhcResponseHeaders(ahcResponse.getHeaders()), ahcResponse.getResponseBodyAsStream());
 
             @SuppressWarnings("unchecked")
             final T t = converter == null ? (T) response : converter.convert(response);
@@ -0,0 +1,93 @@
+package com.github.scribejava.httpclient.ahc;
+
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import com.github.scribejava.reactive.AsyncCall;
+import com.github.scribejava.reactive.OAuthPublishers;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AhcPublishersTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule().httpClient(new AhcHttpClient());
+
+    @Test
+    public void shouldNotStartCallRequestedAfterCancel() throws Exception {
+        final CountingCall call = new CountingCall();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        OAuthPublishers.fromCall(call).subscribe(subscriber);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+        assertEquals(0, call.starts.get());
+        assertEquals(0, mock.getServer().getRequestCount());
+    }
+
+    @Test
+    public void shouldCancelCallInFlight() throws Exception {
+        mock.getServer().latency(10, TimeUnit.SECONDS);
+        final CountingCall call = new CountingCall();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        OAuthPublishers.fromCall(call).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        assertEquals(1, call.starts.get());
+        assertTrue(call.future.isCancelled() || call.future.isDone());
+        //a cancelled subscription gets no signals
+        assertNull(subscriber.token);
+        assertFalse(subscriber.terminated);
+    }
+
+    private class CountingCall implements AsyncCall<OAuth2AccessToken> {
+
+        private final AtomicInteger starts = new AtomicInteger();
+        private volatile Future<OAuth2AccessToken> future;
+
+        @Override
+        public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+            starts.incrementAndGet();
+            future = mock.getService().getAccessTokenClientCredentialsGrant(null, callback);
+            return future;
+        }
+    }
+
+    private static class RecordingSubscriber implements Subscriber<OAuth2AccessToken> {
+
+        private volatile Subscription subscription;
+        private volatile OAuth2AccessToken token;
+        private volatile boolean terminated;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(OAuth2AccessToken item) {
+            token = item;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminated = true;
+        }
+
+        @Override
+        public void onComplete() {
+            terminated = true;
+        }
+    }
+}
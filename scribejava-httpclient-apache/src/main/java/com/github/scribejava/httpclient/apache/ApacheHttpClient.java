@@ -1,6 +1,8 @@
 package com.github.scribejava.httpclient.apache;
 
 import com.github.scribejava.core.httpclient.AbstractAsyncOnlyHttpClient;
+import com.github.scribejava.core.httpclient.ContentEncoding;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
 import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
 import com.github.scribejava.core.model.OAuthConstants;
@@ -8,6 +10,7 @@ import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.model.Verb;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.FileEntity;
@@ -21,30 +24,82 @@ import java.util.Map;
 import java.util.concurrent.Future;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
-public class ApacheHttpClient extends AbstractAsyncOnlyHttpClient {
+public class ApacheHttpClient extends AbstractAsyncOnlyHttpClient implements TimeoutAwareHttpClient {
 
     private final CloseableHttpAsyncClient client;
+    private final RequestConfig defaultRequestConfig;
+    /**
+     * timeout of the clients returned by {@link #withTimeout(long)}, which share (and don't close) the client
+     */
+    private final long timeoutMillis;
 
     public ApacheHttpClient() {
         this(ApacheHttpClientConfig.defaultConfig());
     }
 
     public ApacheHttpClient(ApacheHttpClientConfig config) {
-        this(config.getHttpAsyncClientBuilder());
+        this(config.createHttpAsyncClientBuilder().build(), config.getDefaultRequestConfig());
     }
 
+    /**
+     * The requests with a timeout are sent with {@link RequestConfig#DEFAULT} plus the timeout, not with a default
+     * RequestConfig set on the builder. Use {@link ApacheHttpClientConfig#ApacheHttpClientConfig(
+     * HttpAsyncClientBuilder, RequestConfig)} to keep it.
+     *
+     * @param builder builder
+     */
     public ApacheHttpClient(HttpAsyncClientBuilder builder) {
         this(builder.build());
     }
 
+    /**
+     * The same applies as for {@link #ApacheHttpClient(HttpAsyncClientBuilder)}, prefer
+     * {@link #ApacheHttpClient(CloseableHttpAsyncClient, RequestConfig)}.
+     *
+     * @param client client
+     */
     public ApacheHttpClient(CloseableHttpAsyncClient client) {
-        this.client = client;
+        this(client, RequestConfig.DEFAULT);
+    }
+
+    /**
+     * @param client client
+     * @param defaultRequestConfig the default RequestConfig the client was built with, the per-request timeouts
+     * (see {@link #withTimeout(long)}) are applied over it
+     */
+    public ApacheHttpClient(CloseableHttpAsyncClient client, RequestConfig defaultRequestConfig) {
+        this(client, defaultRequestConfig, 0);
         this.client.start();
     }
 
+    private ApacheHttpClient(CloseableHttpAsyncClient client, RequestConfig defaultRequestConfig, long timeoutMillis) {
+        this.client = client;
+        this.defaultRequestConfig = defaultRequestConfig;
+        this.timeoutMillis = timeoutMillis;
+    }
+
     @Override
     public void close() throws IOException {
-        client.close();
+        if (timeoutMillis == 0) {
+            client.close();
+        }
+    }
+
+    /**
+     * The timeout bounds the connect, the connection request (from the pool) and the socket timeouts, the sync calls
+     * are cancelled when it elapses as a whole.
+     *
+     * @param timeoutMillis timeoutMillis
+     * @return client with the timeout
+     */
+    @Override
+    public ApacheHttpClient withTimeout(long timeoutMillis) {
+        return new ApacheHttpClient(client, defaultRequestConfig, timeoutMillis);
+    }
+
+    @Override
+    protected long getTimeoutMillis() {
+        return timeoutMillis;
     }
 
     @Override
@@ -93,14 +148,43 @@ public class ApacheHttpClient extends AbstractAsyncOnlyHttpClient {
             builder.addHeader(header.getKey(), header.getValue());
         }
 
+        if (!ContentEncoding.hasAcceptEncoding(headers)) {
+            builder.addHeader(ACCEPT_ENCODING, ContentEncoding.getAcceptEncoding());
+        }
+
         if (userAgent != null) {
             builder.setHeader(OAuthConstants.USER_AGENT_HEADER_NAME, userAgent);
         }
+        if (timeoutMillis > 0) {
+            builder.setConfig(getTimeoutRequestConfig());
+        }
         final OAuthAsyncCompletionHandler<T> handler = new OAuthAsyncCompletionHandler<>(callback, converter);
         final Future<HttpResponse> future = client.execute(builder.build(), handler);
         return new ApacheHttpFuture<>(future, handler);
     }
 
+    /**
+     * @return the default RequestConfig with the connect, connection request and socket timeouts shortened to the
+     * timeout of this client, everything else (proxy, redirects, cookie spec...) as configured
+     */
+    RequestConfig getTimeoutRequestConfig() {
+        final int timeout = (int) Math.min(timeoutMillis, Integer.MAX_VALUE);
+        return RequestConfig.copy(defaultRequestConfig)
+                .setConnectTimeout(shorten(defaultRequestConfig.getConnectTimeout(), timeout))
+                .setConnectionRequestTimeout(shorten(defaultRequestConfig.getConnectionRequestTimeout(), timeout))
+                .setSocketTimeout(shorten(defaultRequestConfig.getSocketTimeout(), timeout))
+                .build();
+    }
+
+    /**
+     * @param configured configured timeout, not positive for none
+     * @param timeout per-call timeout
+     * @return the shorter one
+     */
+    private static int shorten(int configured, int timeout) {
+        return configured > 0 ? Math.min(configured, timeout) : timeout;
+    }
+
     private static RequestBuilder getRequestBuilder(Verb httpVerb) {
         switch (httpVerb) {
             case GET:
@@ -1,26 +1,78 @@
 package com.github.scribejava.httpclient.apache;
 
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import java.util.Objects;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 public class ApacheHttpClientConfig implements HttpClientConfig {
 
     private final HttpAsyncClientBuilder httpAsyncClientBuilder;
+    private final RequestConfig defaultRequestConfig;
 
     public ApacheHttpClientConfig(HttpAsyncClientBuilder httpAsyncClientBuilder) {
-        this.httpAsyncClientBuilder = httpAsyncClientBuilder;
+        this(httpAsyncClientBuilder, RequestConfig.DEFAULT);
+    }
+
+    /**
+     * Sets the default RequestConfig on the builder. Use this constructor instead of
+     * {@link HttpAsyncClientBuilder#setDefaultRequestConfig(RequestConfig)}: the builder doesn't expose it, and the
+     * requests with a timeout (see {@link ApacheHttpClient#withTimeout(long)}) are sent with a copy of it.
+     *
+     * @param httpAsyncClientBuilder httpAsyncClientBuilder, null means {@link HttpAsyncClientBuilder#create()} at the
+     * client creation
+     * @param defaultRequestConfig defaultRequestConfig
+     */
+    public ApacheHttpClientConfig(HttpAsyncClientBuilder httpAsyncClientBuilder, RequestConfig defaultRequestConfig) {
+        this.httpAsyncClientBuilder = httpAsyncClientBuilder == null
+                ? null : httpAsyncClientBuilder.setDefaultRequestConfig(defaultRequestConfig);
+        this.defaultRequestConfig = defaultRequestConfig;
     }
 
     public HttpAsyncClientBuilder getHttpAsyncClientBuilder() {
         return httpAsyncClientBuilder;
     }
 
+    /**
+     * @return the builder of this config or a new default one (with the default RequestConfig set) if there is none
+     */
+    HttpAsyncClientBuilder createHttpAsyncClientBuilder() {
+        return httpAsyncClientBuilder == null
+                ? HttpAsyncClientBuilder.create().setDefaultRequestConfig(defaultRequestConfig)
+                : httpAsyncClientBuilder;
+    }
+
+    public RequestConfig getDefaultRequestConfig() {
+        return defaultRequestConfig;
+    }
+
     @Override
     public HttpClientConfig createDefaultConfig() {
         return defaultConfig();
     }
 
     public static ApacheHttpClientConfig defaultConfig() {
-        return new ApacheHttpClientConfig(HttpAsyncClientBuilder.create());
+        return new ApacheHttpClientConfig(null);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(httpAsyncClientBuilder);
+        hash = 41 * hash + Objects.hashCode(defaultRequestConfig);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final ApacheHttpClientConfig other = (ApacheHttpClientConfig) obj;
+        return Objects.equals(httpAsyncClientBuilder, other.httpAsyncClientBuilder)
+                && Objects.equals(defaultRequestConfig, other.defaultRequestConfig);
     }
 }
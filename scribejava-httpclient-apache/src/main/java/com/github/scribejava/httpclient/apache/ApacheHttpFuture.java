@@ -19,7 +19,8 @@ public class ApacheHttpFuture<T> implements Future<T> {
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
-        return future.cancel(mayInterruptIfRunning);
+        //HttpAsyncClient aborts the exchange first, which already cancels the future, so its cancel returns false
+        return future.cancel(mayInterruptIfRunning) || future.isCancelled();
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.github.scribejava.httpclient.apache;
+
+import com.github.scribejava.core.model.ResponseHeaders;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+
+class ApacheResponseHeaders extends ResponseHeaders {
+
+    private final HttpResponse httpResponse;
+
+    ApacheResponseHeaders(HttpResponse httpResponse) {
+        this.httpResponse = httpResponse;
+    }
+
+    @Override
+    public String getFirst(String name) {
+        final Header header = httpResponse.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        final Header[] headers = httpResponse.getHeaders(name);
+        final List<String> values = new ArrayList<>(headers.length);
+        for (Header header : headers) {
+            values.add(header.getValue());
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public Set<String> getNames() {
+        final Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : httpResponse.getAllHeaders()) {
+            names.add(header.getName());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
@@ -1,14 +1,11 @@
 package com.github.scribejava.httpclient.apache;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.concurrent.FutureCallback;
@@ -36,16 +33,11 @@ public class OAuthAsyncCompletionHandler<T> implements FutureCallback<HttpRespon
     @Override
     public void completed(HttpResponse httpResponse) {
         try {
-            final Map<String, String> headersMap = new HashMap<>();
-            for (Header header : httpResponse.getAllHeaders()) {
-                headersMap.put(header.getName(), header.getValue());
-            }
-
             final StatusLine statusLine = httpResponse.getStatusLine();
 
             final HttpEntity httpEntity = httpResponse.getEntity();
-            final Response response = new Response(statusLine.getStatusCode(), statusLine.getReasonPhrase(), headersMap,
-                    httpEntity == null ? null : httpEntity.getContent());
+            final Response response = Response.of(statusLine.getStatusCode(), statusLine.getReasonPhrase(),
+                    new ApacheResponseHeaders(httpResponse), httpEntity == null ? null : httpEntity.getContent());
 
             @SuppressWarnings("unchecked")
             final T t = converter == null ? (T) response : converter.convert(response);
@@ -0,0 +1,32 @@
+package com.github.scribejava.httpclient.apache;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.HttpClientRegistry;
+import java.io.IOException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ApacheHttpClientRegistryTest {
+
+    private final HttpClientRegistry registry = new HttpClientRegistry() {
+    };
+
+    @Test
+    public void shouldShareClientForDefaultConfigs() throws IOException {
+        assertEquals(ApacheHttpClientConfig.defaultConfig(), ApacheHttpClientConfig.defaultConfig());
+        assertEquals(ApacheHttpClientConfig.defaultConfig().hashCode(),
+                ApacheHttpClientConfig.defaultConfig().hashCode());
+
+        final HttpClient client = registry.acquire(ApacheHttpClientConfig.defaultConfig());
+        final HttpClient sameClient = registry.acquire(ApacheHttpClientConfig.defaultConfig());
+        assertNotNull(client);
+        assertNotNull(sameClient);
+        assertEquals(1, registry.size());
+
+        client.close();
+        sameClient.close();
+        assertEquals(0, registry.size());
+    }
+}
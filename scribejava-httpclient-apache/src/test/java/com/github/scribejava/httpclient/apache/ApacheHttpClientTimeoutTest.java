@@ -0,0 +1,37 @@
+package com.github.scribejava.httpclient.apache;
+
+import java.io.IOException;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ApacheHttpClientTimeoutTest {
+
+    @Test
+    public void shouldKeepDefaultRequestConfigWithTimeout() throws IOException {
+        final HttpHost proxy = new HttpHost("proxy.example.com", 3128);
+        final RequestConfig defaultRequestConfig = RequestConfig.custom()
+                .setProxy(proxy)
+                .setRedirectsEnabled(false)
+                .setCookieSpec(CookieSpecs.STANDARD)
+                .setSocketTimeout(500)
+                .build();
+
+        try (ApacheHttpClient client = new ApacheHttpClient(
+                new ApacheHttpClientConfig(HttpAsyncClientBuilder.create(), defaultRequestConfig))) {
+            final RequestConfig config = client.withTimeout(1000).getTimeoutRequestConfig();
+
+            assertEquals(proxy, config.getProxy());
+            assertFalse(config.isRedirectsEnabled());
+            assertEquals(CookieSpecs.STANDARD, config.getCookieSpec());
+            assertEquals(500, config.getSocketTimeout());
+            assertEquals(1000, config.getConnectTimeout());
+            assertEquals(1000, config.getConnectionRequestTimeout());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.scribejava.httpclient.ning;
 
 import com.github.scribejava.core.httpclient.AbstractAsyncOnlyHttpClient;
+import com.github.scribejava.core.httpclient.ContentEncoding;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
 import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
 import com.github.scribejava.core.java8.Consumer;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
@@ -15,9 +17,13 @@ import java.util.concurrent.Future;
 import com.ning.http.client.AsyncHttpClientConfig;
 import java.io.File;
 
-public class NingHttpClient extends AbstractAsyncOnlyHttpClient {
+public class NingHttpClient extends AbstractAsyncOnlyHttpClient implements TimeoutAwareHttpClient {
 
     private final AsyncHttpClient client;
+    /**
+     * request timeout of the clients returned by {@link #withTimeout(long)}, which share (and don't close) the client
+     */
+    private final long timeoutMillis;
 
     public NingHttpClient() {
         this(NingHttpClientConfig.defaultConfig());
@@ -34,15 +40,39 @@ public class NingHttpClient extends AbstractAsyncOnlyHttpClient {
             }
             client = new AsyncHttpClient(ningAsyncHttpProviderClassName, config);
         }
+        timeoutMillis = 0;
     }
 
     public NingHttpClient(AsyncHttpClient client) {
+        this(client, 0);
+    }
+
+    private NingHttpClient(AsyncHttpClient client, long timeoutMillis) {
         this.client = client;
+        this.timeoutMillis = timeoutMillis;
     }
 
     @Override
     public void close() {
-        client.close();
+        if (timeoutMillis == 0) {
+            client.close();
+        }
+    }
+
+    /**
+     * The timeout bounds the request timeout (of the whole call).
+     *
+     * @param timeoutMillis timeoutMillis
+     * @return client with the timeout
+     */
+    @Override
+    public NingHttpClient withTimeout(long timeoutMillis) {
+        return new NingHttpClient(client, timeoutMillis);
+    }
+
+    @Override
+    protected long getTimeoutMillis() {
+        return timeoutMillis;
     }
 
     @Override
@@ -112,10 +142,20 @@ public class NingHttpClient extends AbstractAsyncOnlyHttpClient {
             boundRequestBuilder.addHeader(header.getKey(), header.getValue());
         }
 
+        if (!ContentEncoding.hasAcceptEncoding(headers)) {
+            boundRequestBuilder.addHeader(ACCEPT_ENCODING, ContentEncoding.getAcceptEncoding());
+        }
+
         if (userAgent != null) {
             boundRequestBuilder.setHeader(OAuthConstants.USER_AGENT_HEADER_NAME, userAgent);
         }
 
+        if (timeoutMillis > 0) {
+            final int timeout = (int) Math.min(timeoutMillis, Integer.MAX_VALUE);
+            final int configured = client.getConfig().getRequestTimeout();
+            boundRequestBuilder.setRequestTimeout(configured > 0 ? Math.min(configured, timeout) : timeout);
+        }
+
         return boundRequestBuilder.execute(new OAuthAsyncCompletionHandler<>(callback, converter));
     }
 
@@ -1,6 +1,7 @@
 package com.github.scribejava.httpclient.ning;
 
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import java.util.Objects;
 import com.ning.http.client.AsyncHttpClientConfig;
 
 public class NingHttpClientConfig implements HttpClientConfig {
@@ -32,4 +33,25 @@ public class NingHttpClientConfig implements HttpClientConfig {
     public static NingHttpClientConfig defaultConfig() {
         return new NingHttpClientConfig(null);
     }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(config);
+        hash = 41 * hash + Objects.hashCode(ningAsyncHttpProviderClassName);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final NingHttpClientConfig other = (NingHttpClientConfig) obj;
+        return Objects.equals(config, other.config)
+                && Objects.equals(ningAsyncHttpProviderClassName, other.ningAsyncHttpProviderClassName);
+    }
 }
@@ -3,11 +3,9 @@ package com.github.scribejava.httpclient.ning;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
 import com.github.scribejava.core.model.OAuthRequest;
 import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.ResponseHeaders;
 import com.ning.http.client.AsyncCompletionHandler;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 public class OAuthAsyncCompletionHandler<T> extends AsyncCompletionHandler<T> {
 
@@ -23,18 +21,9 @@ public class OAuthAsyncCompletionHandler<T> extends AsyncCompletionHandler<T> {
     @Override
     public T onCompleted(com.ning.http.client.Response ningResponse) {
         try {
-            final Map<String, String> headersMap = new HashMap<>();
-
-            for (Map.Entry<String, List<String>> header : ningResponse.getHeaders().entrySet()) {
-                final StringBuilder value = new StringBuilder();
-                for (String str : header.getValue()) {
-                    value.append(str);
-                }
-                headersMap.put(header.getKey(), value.toString());
-            }
-
-            final Response response = new Response(ningResponse.getStatusCode(), ningResponse.getStatusText(),
-                    headersMap, ningResponse.getResponseBodyAsStream());
+            //FluentCaseInsensitiveStringsMap is case-insensitive Map of the multiple values already
+            final Response response = Response.of(ningResponse.getStatusCode(), ningResponse.getStatusText(),
+                    ResponseHeaders.ofMultiValued(ningResponse.getHeaders()), ningResponse.getResponseBodyAsStream());
 
             @SuppressWarnings("unchecked")
             final T t = converter == null ? (T) response : converter.convert(response);
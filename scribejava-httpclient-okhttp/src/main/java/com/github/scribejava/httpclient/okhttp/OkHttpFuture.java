@@ -32,7 +32,7 @@ public class OkHttpFuture<T> implements Future<T> {
 
     @Override
     public boolean isDone() {
-        return call.isExecuted();
+        return latch.getCount() == 0 || call.isCanceled();
     }
 
     public void setException(Exception exception) {
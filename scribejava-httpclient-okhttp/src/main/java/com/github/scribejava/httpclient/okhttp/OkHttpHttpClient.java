@@ -1,6 +1,7 @@
 package com.github.scribejava.httpclient.okhttp;
 
-import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.ContentEncoding;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
 import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
 import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
 import com.github.scribejava.core.model.OAuthConstants;
@@ -15,35 +16,57 @@ import okhttp3.internal.http.HttpMethod;
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import com.github.scribejava.core.model.Response;
 import java.io.File;
-import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 import okhttp3.Cache;
-import okhttp3.Headers;
 import okhttp3.ResponseBody;
 
-public class OkHttpHttpClient implements HttpClient {
+public class OkHttpHttpClient implements TimeoutAwareHttpClient {
 
     private static final MediaType DEFAULT_CONTENT_TYPE_MEDIA_TYPE = MediaType.parse(DEFAULT_CONTENT_TYPE);
 
     private final OkHttpClient client;
+    /**
+     * call timeout of the clients returned by {@link #withTimeout(long)}, which share (and don't close) the client
+     */
+    private final long timeoutMillis;
 
     public OkHttpHttpClient() {
         this(OkHttpHttpClientConfig.defaultConfig());
     }
 
     public OkHttpHttpClient(OkHttpHttpClientConfig config) {
-        final OkHttpClient.Builder clientBuilder = config.getClientBuilder();
-        client = clientBuilder == null ? new OkHttpClient() : clientBuilder.build();
+        this(config.getClientBuilder() == null ? new OkHttpClient() : config.getClientBuilder().build());
     }
 
     public OkHttpHttpClient(OkHttpClient client) {
+        this(client, 0);
+    }
+
+    private OkHttpHttpClient(OkHttpClient client, long timeoutMillis) {
         this.client = client;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * The timeout is the OkHttp call timeout, spanning the whole call including reading the response body. A
+     * shorter call timeout of the client still applies.
+     *
+     * @param timeoutMillis timeoutMillis
+     * @return client with the timeout
+     */
+    @Override
+    public OkHttpHttpClient withTimeout(long timeoutMillis) {
+        return new OkHttpHttpClient(client, timeoutMillis);
     }
 
     @Override
     public void close() throws IOException {
+        if (timeoutMillis > 0) {
+            return;
+        }
         client.dispatcher().executorService().shutdown();
         client.connectionPool().evictAll();
         final Cache cache = client.cache();
@@ -153,12 +176,24 @@ public class OkHttpHttpClient implements HttpClient {
             requestBuilder.addHeader(header.getKey(), header.getValue());
         }
 
+        //OkHttp decompresses gzip itself only if it added Accept-Encoding, we do it for all the codings instead
+        if (!ContentEncoding.hasAcceptEncoding(headers)) {
+            requestBuilder.header(ACCEPT_ENCODING, ContentEncoding.getAcceptEncoding());
+        }
+
         if (userAgent != null) {
             requestBuilder.header(OAuthConstants.USER_AGENT_HEADER_NAME, userAgent);
         }
 
         // create a new call
-        return client.newCall(requestBuilder.build());
+        final Call call = client.newCall(requestBuilder.build());
+        if (timeoutMillis > 0) {
+            //the call timeout replaces the client wide one, so keep the shorter of both
+            final long callTimeoutMillis = client.callTimeoutMillis() > 0
+                    ? Math.min(client.callTimeoutMillis(), timeoutMillis) : timeoutMillis;
+            call.timeout().timeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return call;
     }
 
     private enum BodyType {
@@ -185,15 +220,9 @@ public class OkHttpHttpClient implements HttpClient {
     }
 
     static Response convertResponse(okhttp3.Response okHttpResponse) {
-        final Headers headers = okHttpResponse.headers();
-        final Map<String, String> headersMap = new HashMap<>();
-        for (String headerName : headers.names()) {
-            headersMap.put(headerName, headers.get(headerName));
-        }
-
         final ResponseBody body = okHttpResponse.body();
-        return new Response(okHttpResponse.code(), okHttpResponse.message(), headersMap,
-                body == null ? null : body.byteStream());
+        return Response.of(okHttpResponse.code(), okHttpResponse.message(),
+                new OkHttpResponseHeaders(okHttpResponse.headers()), body == null ? null : body.byteStream());
     }
 
 }
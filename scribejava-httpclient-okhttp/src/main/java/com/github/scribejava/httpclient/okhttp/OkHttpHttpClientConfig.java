@@ -1,6 +1,7 @@
 package com.github.scribejava.httpclient.okhttp;
 
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import java.util.Objects;
 import okhttp3.OkHttpClient;
 
 public class OkHttpHttpClientConfig implements HttpClientConfig {
@@ -23,4 +24,23 @@ public class OkHttpHttpClientConfig implements HttpClientConfig {
     public static OkHttpHttpClientConfig defaultConfig() {
         return new OkHttpHttpClientConfig(null);
     }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(clientBuilder);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final OkHttpHttpClientConfig other = (OkHttpHttpClientConfig) obj;
+        return Objects.equals(clientBuilder, other.clientBuilder);
+    }
 }
@@ -0,0 +1,39 @@
+package com.github.scribejava.httpclient.okhttp;
+
+import com.github.scribejava.core.model.ResponseHeaders;
+import java.util.List;
+import java.util.Set;
+import okhttp3.Headers;
+
+class OkHttpResponseHeaders extends ResponseHeaders {
+
+    private final Headers headers;
+
+    OkHttpResponseHeaders(Headers headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * Scans the headers instead of Headers#get(String), which returns the last value, and Headers#values(String),
+     * which allocates a list per lookup.
+     */
+    @Override
+    public String getFirst(String name) {
+        for (int i = 0; i < headers.size(); i++) {
+            if (name.equalsIgnoreCase(headers.name(i))) {
+                return headers.value(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        return headers.values(name);
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return headers.names();
+    }
+}
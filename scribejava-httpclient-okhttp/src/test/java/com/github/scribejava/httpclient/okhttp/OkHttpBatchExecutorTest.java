@@ -0,0 +1,74 @@
+package com.github.scribejava.httpclient.okhttp;
+
+import com.github.scribejava.core.batch.BatchExecutor;
+import com.github.scribejava.core.batch.BatchItem;
+import com.github.scribejava.core.batch.BatchListener;
+import com.github.scribejava.core.batch.BatchPolicy;
+import com.github.scribejava.core.batch.BatchResult;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OkHttpBatchExecutorTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule()
+            .httpClient(new OkHttpHttpClient());
+
+    @Test
+    public void shouldKeepWindowOfRequestsInFlight() throws Exception {
+        final String accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        mock.getServer().latency(20, TimeUnit.MILLISECONDS);
+        final AtomicInteger taken = new AtomicInteger();
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger maxWindow = new AtomicInteger();
+        final Iterator<OAuthRequest> requests = new Iterator<OAuthRequest>() {
+            @Override
+            public boolean hasNext() {
+                return taken.get() < 40;
+            }
+
+            @Override
+            public OAuthRequest next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final int window = taken.incrementAndGet() - delivered.get();
+                if (window > maxWindow.get()) {
+                    maxWindow.set(window);
+                }
+                return new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        final BatchExecutor executor = new BatchExecutor(mock.getService(), BatchPolicy.defaultPolicy().maxInFlight(4));
+        final Future<BatchResult> batch = executor
+                .execute(accessToken, requests, new BatchListener() {
+                    @Override
+                    public void onItem(BatchItem item) {
+                        delivered.incrementAndGet();
+                    }
+                });
+        assertTrue(taken.get() <= 4);
+
+        final BatchResult result = batch.get(10, TimeUnit.SECONDS);
+        assertEquals(40, result.getSucceeded());
+        assertEquals(40, delivered.get());
+        assertEquals(4, maxWindow.get());
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.scribejava.httpclient.okhttp;
+
+import com.github.scribejava.core.httpclient.cache.CachingHttpClient;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class OkHttpCachingTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private CachingHttpClient client;
+
+    @Before
+    public void setUp() {
+        client = new CachingHttpClient(new OkHttpHttpClient());
+        mock.httpClient(client);
+    }
+
+    @Test
+    public void shouldRevalidateAsyncCalls() throws Exception {
+        final String accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final String body = executeAsync(accessToken).getBody();
+
+        final Response revalidated = executeAsync(accessToken);
+        assertEquals(200, revalidated.getCode());
+        assertEquals(body, revalidated.getBody());
+        assertEquals(1, mock.getServer().getNotModifiedCount());
+        assertEquals(1, client.getRevalidatedCount());
+    }
+
+    private Response executeAsync(String accessToken) throws Exception {
+        final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+        mock.getService().signRequest(accessToken, request);
+        return mock.getService().executeAsync(request).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.scribejava.httpclient.okhttp;
+
+import com.github.scribejava.core.httpclient.coalescing.CoalescingHttpClient;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OkHttpCoalescingTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private CoalescingHttpClient client;
+    private String accessToken;
+
+    @Before
+    public void setUp() throws Exception {
+        client = new CoalescingHttpClient(new OkHttpHttpClient());
+        mock.httpClient(client);
+        accessToken = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        mock.getServer().latency(300, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shouldGiveEveryCallerOwnBody() throws Exception {
+        final Future<Response> first = mock.getService().executeAsync(signedGet());
+        final Future<Response> second = mock.getService().executeAsync(signedGet());
+
+        final String body = first.get(10, TimeUnit.SECONDS).getBody();
+        assertEquals(body, second.get(10, TimeUnit.SECONDS).getBody());
+        assertEquals(1, client.getCoalescedCount());
+        assertEquals(1, mock.getServer().getResourceRequestCount());
+    }
+
+    @Test
+    public void shouldKeepRequestForRemainingCallers() throws Exception {
+        final Future<Response> first = mock.getService().executeAsync(signedGet());
+        final Future<Response> second = mock.getService().executeAsync(signedGet());
+        assertTrue(first.cancel(true));
+
+        assertEquals(200, second.get(10, TimeUnit.SECONDS).getCode());
+    }
+
+    @Test
+    public void shouldCancelRequestWithoutCallers() throws Exception {
+        final Future<Response> first = mock.getService().executeAsync(signedGet());
+        final Future<Response> second = mock.getService().executeAsync(signedGet());
+        assertTrue(first.cancel(true));
+        assertTrue(second.cancel(true));
+
+        assertEquals(0, client.getInFlightCount());
+        assertEquals(200, mock.getService().execute(signedGet()).getCode());
+        assertEquals(1, client.getCoalescedCount());
+    }
+
+    private OAuthRequest signedGet() {
+        final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+        mock.getService().signRequest(accessToken, request);
+        return request;
+    }
+}
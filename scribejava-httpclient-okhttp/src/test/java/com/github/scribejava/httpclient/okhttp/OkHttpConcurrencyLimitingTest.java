@@ -0,0 +1,93 @@
+package com.github.scribejava.httpclient.okhttp;
+
+import com.github.scribejava.core.httpclient.limiter.ConcurrencyLimiterConfig;
+import com.github.scribejava.core.httpclient.limiter.ConcurrencyLimitingHttpClient;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.RequestPriority;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServer;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class OkHttpConcurrencyLimitingTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock
+            = new MockAuthorizationServerRule(new MockAuthorizationServer().latency(50, TimeUnit.MILLISECONDS));
+
+    private ConcurrencyLimitingHttpClient client;
+
+    @Before
+    public void setUp() {
+        client = new ConcurrencyLimitingHttpClient(new OkHttpHttpClient(), ConcurrencyLimiterConfig.defaultConfig()
+                .limits(2, 2, 2).queue(20, 10, TimeUnit.SECONDS));
+        mock.httpClient(client);
+    }
+
+    @Test
+    public void shouldQueueAsyncCallsOverLimit() throws Exception {
+        final List<Future<OAuth2AccessToken>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(mock.getService().getAccessTokenClientCredentialsGrantAsync());
+        }
+        assertEquals(2, client.getInFlight(mock.getServer().getResourceUrl()));
+        assertEquals(8, client.getQueueSize(mock.getServer().getResourceUrl()));
+
+        for (Future<OAuth2AccessToken> future : futures) {
+            assertNotNull(future.get(10, TimeUnit.SECONDS).getAccessToken());
+        }
+        assertEquals(0, client.getInFlight(mock.getServer().getResourceUrl()));
+        assertEquals(0, client.getRejectedCount());
+    }
+
+    @Test
+    public void shouldFreeSlotOfCancelledCalls() throws Exception {
+        final List<Future<OAuth2AccessToken>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(mock.getService().getAccessTokenClientCredentialsGrantAsync());
+        }
+        for (Future<OAuth2AccessToken> future : futures) {
+            assertTrue(future.cancel(true));
+        }
+        assertEquals(0, client.getQueueSize(mock.getServer().getResourceUrl()));
+        //a call granted by the OkHttp thread of a cancelled one releases its slot once its start returns
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (client.getInFlight(mock.getServer().getResourceUrl()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, client.getInFlight(mock.getServer().getResourceUrl()));
+        assertNotNull(mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken());
+    }
+
+    @Test
+    public void shouldQueueTokenRequestsWithTokenPriority() throws Exception {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            futures.add(mock.getService().getAccessTokenClientCredentialsGrantAsync());
+        }
+        final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+        request.setPriority(RequestPriority.BACKGROUND);
+        final Future<Response> background = mock.getService().executeAsync(request);
+        futures.add(background);
+        futures.add(mock.getService().getAccessTokenClientCredentialsGrantAsync());
+
+        assertEquals(1, client.getQueueSize(mock.getServer().getResourceUrl(), RequestPriority.TOKEN));
+        assertEquals(1, client.getQueueSize(mock.getServer().getResourceUrl(), RequestPriority.BACKGROUND));
+        for (Future<?> future : futures) {
+            assertNotNull(future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(401, background.get().getCode());
+    }
+}
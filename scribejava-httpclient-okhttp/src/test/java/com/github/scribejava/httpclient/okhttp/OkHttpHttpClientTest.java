@@ -2,6 +2,18 @@ package com.github.scribejava.httpclient.okhttp;
 
 import com.github.scribejava.core.AbstractClientTest;
 import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.model.Verb;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class OkHttpHttpClientTest extends AbstractClientTest {
 
@@ -9,4 +21,25 @@ public class OkHttpHttpClientTest extends AbstractClientTest {
     protected HttpClient createNewClient() {
         return new OkHttpHttpClient();
     }
+
+    @Test
+    public void shouldKeepShorterCallTimeoutOfClient() throws Exception {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.start();
+
+        try (OkHttpHttpClient client = new OkHttpHttpClient(new OkHttpClient.Builder()
+                .callTimeout(300, TimeUnit.MILLISECONDS).build())) {
+            final long start = System.nanoTime();
+            try {
+                client.withTimeout(TimeUnit.SECONDS.toMillis(30)).execute(null, Collections.<String, String>emptyMap(),
+                        Verb.GET, server.url("/testUrl").toString(), (byte[]) null).close();
+                fail();
+            } catch (IOException ioE) {
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            }
+        }
+
+        server.shutdown();
+    }
 }
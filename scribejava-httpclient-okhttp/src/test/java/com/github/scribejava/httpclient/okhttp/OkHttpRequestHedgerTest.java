@@ -0,0 +1,54 @@
+package com.github.scribejava.httpclient.okhttp;
+
+import com.github.scribejava.core.hedging.HedgingMetrics;
+import com.github.scribejava.core.hedging.HedgingPolicy;
+import com.github.scribejava.core.hedging.RequestHedger;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OkHttpRequestHedgerTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule()
+            .httpClient(new OkHttpHttpClient());
+
+    private RequestHedger hedger;
+
+    @Before
+    public void setUp() {
+        hedger = new RequestHedger(mock.getService(), HedgingPolicy.defaultPolicy()
+                .initialDelay(100, TimeUnit.MILLISECONDS).hedgeRefreshTokens(true));
+    }
+
+    @Test
+    public void shouldCompleteClientCredentialsGrantWithHedge() throws Exception {
+        mock.getServer().slowNext(1, 2, TimeUnit.SECONDS);
+        final long start = System.nanoTime();
+        final OAuth2AccessToken token = hedger.getAccessTokenClientCredentialsGrant("read");
+
+        assertEquals("read", token.getScope());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        final HedgingMetrics metrics = hedger.getMetrics();
+        assertEquals(1, metrics.getHedges());
+        assertEquals(1, metrics.getHedgeWins());
+    }
+
+    @Test
+    public void shouldNotHedgeFastRefresh() throws Exception {
+        final String refreshToken = mock.getService().getAccessTokenClientCredentialsGrant().getRefreshToken();
+        final long requestCount = mock.getServer().getRequestCount();
+
+        hedger.refreshAccessToken(refreshToken, null);
+
+        assertEquals(requestCount + 1, mock.getServer().getRequestCount());
+        assertEquals(1, hedger.getMetrics().getCalls());
+        assertEquals(0, hedger.getMetrics().getHedges());
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.scribejava.reactive;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import java.util.concurrent.Future;
+
+/**
+ * Starts one async ScribeJava operation, e.g.
+ * {@code service.getAccessTokenClientCredentialsGrant(scope, callback)}. Adapted to a Publisher by
+ * {@link OAuthPublishers#fromCall(AsyncCall)}.
+ *
+ * @param <T> result type
+ */
+public interface AsyncCall<T> {
+
+    /**
+     * @param callback callback to complete the subscription with
+     * @return Future of the operation, cancelled on the subscription's cancel. Cancelling the Futures of the async
+     * HttpClients aborts the underlying OkHttp Call, Apache HttpClient or AHC/Ning ListenableFuture.
+     */
+    Future<T> start(OAuthAsyncRequestCallback<T> callback);
+}
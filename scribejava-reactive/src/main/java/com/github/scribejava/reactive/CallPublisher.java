@@ -0,0 +1,114 @@
+package com.github.scribejava.reactive;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Cold Publisher of at most one element: every subscriber starts its own call on its first request, a null result
+ * (e.g. of revoke) completes without onNext.
+ *
+ * @param <T> result type
+ */
+class CallPublisher<T> implements Publisher<T> {
+
+    private final AsyncCall<T> call;
+
+    CallPublisher(AsyncCall<T> call) {
+        this.call = call;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber can't be null");
+        }
+        subscriber.onSubscribe(new CallSubscription<>(call, subscriber));
+    }
+
+    private static class CallSubscription<T> implements Subscription, OAuthAsyncRequestCallback<T> {
+
+        private final AsyncCall<T> call;
+        private final Subscriber<? super T> subscriber;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile Future<T> future;
+        private volatile boolean cancelled;
+
+        CallSubscription(AsyncCall<T> call, Subscriber<? super T> subscriber) {
+            this.call = call;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                started.set(true);
+                cancelled = true;
+                if (terminated.compareAndSet(false, true)) {
+                    cancelFuture();
+                    subscriber.onError(new IllegalArgumentException("3.9: request must be positive, was " + n));
+                }
+                return;
+            }
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                final Future<T> callFuture = call.start(this);
+                future = callFuture;
+                if (cancelled && callFuture != null) {
+                    callFuture.cancel(true);
+                }
+            } catch (RuntimeException rE) {
+                onThrowable(rE);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            //3.6: a request after cancel is a NOP, the call must not start
+            started.set(true);
+            cancelled = true;
+            if (terminated.compareAndSet(false, true)) {
+                cancelFuture();
+            }
+        }
+
+        private void cancelFuture() {
+            final Future<T> callFuture = future;
+            if (callFuture != null) {
+                callFuture.cancel(true);
+            }
+        }
+
+        @Override
+        public void onCompleted(T response) {
+            if (terminated.compareAndSet(false, true)) {
+                if (response != null) {
+                    subscriber.onNext(response);
+                }
+                subscriber.onComplete();
+            } else if (response instanceof Closeable) {
+                //cancelled meanwhile, nobody is going to close the Response
+                try {
+                    ((Closeable) response).close();
+                } catch (IOException ignored) {
+                    //already cancelled, nothing to report it to
+                }
+            }
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            if (terminated.compareAndSet(false, true)) {
+                subscriber.onError(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.scribejava.reactive;
+
+import com.github.scribejava.core.introspection.OAuth2TokenIntrospection;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.oauth.AccessTokenRequestParams;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.oauth.OAuthService;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive Streams Publishers of {@link OAuthService#execute(OAuthRequest, OAuthAsyncRequestCallback)} and the
+ * {@link OAuth20Service} token operations.
+ * <ul>
+ * <li>the Publishers are cold, every subscriber sends its own request on its first request(n)</li>
+ * <li>cancelling the subscription cancels the HttpClient's Future, aborting the OkHttp Call, the Apache HttpClient
+ * or the AHC/Ning ListenableFuture</li>
+ * <li>the token Publishers emit one element, the revoke one none, errors (e.g.
+ * {@link com.github.scribejava.core.model.OAuth2AccessTokenErrorResponse}) are signalled with onError</li>
+ * <li>the body Publishers emit the response body as ByteBuffer chunks, reading the next chunk only on demand</li>
+ * </ul>
+ */
+public abstract class OAuthPublishers {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private static final Executor SAME_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    /**
+     * @param <T> result type
+     * @param call call
+     * @return Publisher of the single result of the call
+     */
+    public static <T> Publisher<T> fromCall(AsyncCall<T> call) {
+        return new CallPublisher<>(call);
+    }
+
+    /**
+     * @param service service
+     * @param request signed request
+     * @return Publisher of the Response, the subscriber must close it
+     */
+    public static Publisher<Response> execute(OAuthService service, OAuthRequest request) {
+        return execute(service, request, null);
+    }
+
+    public static <T> Publisher<T> execute(final OAuthService service, final OAuthRequest request,
+            final OAuthRequest.ResponseConverter<T> converter) {
+        return fromCall(new AsyncCall<T>() {
+            @Override
+            public Future<T> start(OAuthAsyncRequestCallback<T> callback) {
+                return service.execute(request, callback, converter);
+            }
+        });
+    }
+
+    public static Publisher<ByteBuffer> body(OAuthService service, OAuthRequest request) {
+        return body(service, request, DEFAULT_CHUNK_SIZE, SAME_THREAD);
+    }
+
+    /**
+     * Response body of the successful (2xx) response, other status codes are signalled as
+     * {@link com.github.scribejava.core.exceptions.OAuthException}.
+     *
+     * @param service service
+     * @param request signed request
+     * @param chunkSize max size of the emitted ByteBuffers
+     * @param executor executor to read the body on (blocking reads of the stream), by default the thread calling
+     * request(n) or delivering the response
+     * @return Publisher of the body chunks
+     */
+    public static Publisher<ByteBuffer> body(final OAuthService service, final OAuthRequest request, int chunkSize,
+            Executor executor) {
+        return new ResponseBodyPublisher(new AsyncCall<Response>() {
+            @Override
+            public Future<Response> start(OAuthAsyncRequestCallback<Response> callback) {
+                return service.execute(request, callback);
+            }
+        }, chunkSize, executor, true);
+    }
+
+    public static Publisher<ByteBuffer> body(Response response) {
+        return body(response, DEFAULT_CHUNK_SIZE, SAME_THREAD);
+    }
+
+    /**
+     * Body of an already received response, whatever its status code. The body can be read once, so the Publisher
+     * accepts one subscriber only.
+     *
+     * @param response response
+     * @param chunkSize max size of the emitted ByteBuffers
+     * @param executor executor to read the body on
+     * @return Publisher of the body chunks
+     */
+    public static Publisher<ByteBuffer> body(final Response response, int chunkSize, Executor executor) {
+        final AtomicBoolean subscribed = new AtomicBoolean();
+        return new ResponseBodyPublisher(new AsyncCall<Response>() {
+            @Override
+            public Future<Response> start(OAuthAsyncRequestCallback<Response> callback) {
+                if (subscribed.compareAndSet(false, true)) {
+                    callback.onCompleted(response);
+                } else {
+                    callback.onThrowable(new IllegalStateException("The response body can be subscribed to once"));
+                }
+                return null;
+            }
+        }, chunkSize, executor, false);
+    }
+
+    public static Publisher<OAuth2AccessToken> accessToken(final OAuth20Service service,
+            final AccessTokenRequestParams params) {
+        return fromCall(new AsyncCall<OAuth2AccessToken>() {
+            @Override
+            public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+                return service.getAccessToken(params, callback);
+            }
+        });
+    }
+
+    /**
+     * @param service service
+     * @param refreshToken refreshToken
+     * @param scope scope, null for the service's default scope
+     * @return Publisher of the refreshed access token
+     */
+    public static Publisher<OAuth2AccessToken> refreshAccessToken(final OAuth20Service service,
+            final String refreshToken, final String scope) {
+        return fromCall(new AsyncCall<OAuth2AccessToken>() {
+            @Override
+            public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+                return service.refreshAccessToken(refreshToken, scope, callback);
+            }
+        });
+    }
+
+    public static Publisher<OAuth2AccessToken> accessTokenPasswordGrant(final OAuth20Service service,
+            final String username, final String password, final String scope) {
+        return fromCall(new AsyncCall<OAuth2AccessToken>() {
+            @Override
+            public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+                return service.getAccessTokenPasswordGrantAsync(username, password, scope, callback);
+            }
+        });
+    }
+
+    public static Publisher<OAuth2AccessToken> accessTokenClientCredentialsGrant(final OAuth20Service service,
+            final String scope) {
+        return fromCall(new AsyncCall<OAuth2AccessToken>() {
+            @Override
+            public Future<OAuth2AccessToken> start(OAuthAsyncRequestCallback<OAuth2AccessToken> callback) {
+                return service.getAccessTokenClientCredentialsGrant(scope, callback);
+            }
+        });
+    }
+
+    /**
+     * @param service service
+     * @param tokenToRevoke tokenToRevoke
+     * @return Publisher completing without any element once the token is revoked
+     */
+    public static Publisher<Void> revokeToken(final OAuth20Service service, final String tokenToRevoke) {
+        return fromCall(new AsyncCall<Void>() {
+            @Override
+            public Future<Void> start(OAuthAsyncRequestCallback<Void> callback) {
+                return service.revokeToken(tokenToRevoke, callback);
+            }
+        });
+    }
+
+    public static Publisher<OAuth2TokenIntrospection> introspectToken(final OAuth20Service service,
+            final String tokenToIntrospect) {
+        return fromCall(new AsyncCall<OAuth2TokenIntrospection>() {
+            @Override
+            public Future<OAuth2TokenIntrospection> start(
+                    OAuthAsyncRequestCallback<OAuth2TokenIntrospection> callback) {
+                return service.introspectToken(tokenToIntrospect, callback);
+            }
+        });
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.scribejava.reactive;
+
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the response body as ByteBuffer chunks of up to chunkSize bytes. A chunk is read from the body stream only
+ * when there is outstanding demand, so a slow subscriber slows down the reading (and the connection) instead of
+ * buffering the body. The reads run on the executor, serialized, the response is closed on completion, error or
+ * cancel.
+ */
+class ResponseBodyPublisher implements Publisher<ByteBuffer> {
+
+    private final AsyncCall<Response> call;
+    private final int chunkSize;
+    private final Executor executor;
+    private final boolean failOnUnsuccessful;
+
+    ResponseBodyPublisher(AsyncCall<Response> call, int chunkSize, Executor executor, boolean failOnUnsuccessful) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.call = call;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.failOnUnsuccessful = failOnUnsuccessful;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber can't be null");
+        }
+        subscriber.onSubscribe(new BodySubscription(subscriber));
+    }
+
+    private class BodySubscription implements Subscription, OAuthAsyncRequestCallback<Response>, Runnable {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Future<Response> future;
+        private volatile Response response;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+        /**
+         * accessed only from the serialized drain loop
+         */
+        private InputStream stream;
+        private boolean done;
+
+        BodySubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                started.set(true);
+                fail(new IllegalArgumentException("3.9: request must be positive, was " + n));
+                return;
+            }
+            long current;
+            do {
+                current = demand.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+            } while (!demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+
+            if (started.compareAndSet(false, true)) {
+                try {
+                    final Future<Response> callFuture = call.start(this);
+                    future = callFuture;
+                    if (cancelled && callFuture != null) {
+                        callFuture.cancel(true);
+                    }
+                } catch (RuntimeException rE) {
+                    fail(rE);
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            //3.6: a request after cancel is a NOP, the call must not start
+            started.set(true);
+            cancelled = true;
+            final Future<Response> callFuture = future;
+            if (callFuture != null) {
+                callFuture.cancel(true);
+            }
+            //let the drain loop close the response
+            drain();
+        }
+
+        @Override
+        public void onCompleted(Response received) {
+            if (failOnUnsuccessful && !received.isSuccessful()) {
+                closeQuietly(received);
+                fail(new OAuthException("Unsuccessful response: " + received.getCode() + ' ' + received.getMessage()));
+                return;
+            }
+            response = received;
+            drain();
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            fail(t);
+        }
+
+        private void fail(Throwable t) {
+            error = t;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException reE) {
+                    error = reE;
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (done || cancelled) {
+                //closes also a response that arrived after the termination
+                terminate();
+                return;
+            }
+            final Throwable failure = error;
+            if (failure != null) {
+                terminate();
+                subscriber.onError(failure);
+                return;
+            }
+            final Response received = response;
+            if (received == null) {
+                return;
+            }
+            try {
+                if (stream == null) {
+                    stream = getBodyStream(received);
+                }
+                while (demand.get() > 0 && !cancelled) {
+                    final byte[] chunk = new byte[chunkSize];
+                    final int read = stream.read(chunk);
+                    if (read < 0) {
+                        terminate();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (read > 0) {
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        subscriber.onNext(ByteBuffer.wrap(chunk, 0, read));
+                    }
+                }
+            } catch (IOException ioE) {
+                terminate();
+                if (!cancelled) {
+                    subscriber.onError(ioE);
+                }
+                return;
+            }
+            if (cancelled) {
+                terminate();
+            }
+        }
+
+        private void terminate() {
+            done = true;
+            final Response received = response;
+            if (received != null) {
+                closeQuietly(received);
+            }
+        }
+    }
+
+    private static InputStream getBodyStream(Response response) throws IOException {
+        final InputStream stream = response.getStream();
+        if (stream != null) {
+            return stream;
+        }
+        final byte[] body = response.getBodyAsBytes();
+        return new ByteArrayInputStream(body == null ? new byte[0] : body);
+    }
+
+    private static void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            //the body isn't needed any more
+        }
+    }
+}
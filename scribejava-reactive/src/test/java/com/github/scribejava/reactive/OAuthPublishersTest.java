@@ -0,0 +1,199 @@
+package com.github.scribejava.reactive;
+
+import com.github.scribejava.core.exceptions.OAuthException;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OAuthPublishersTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    @Test
+    public void shouldRequestTokenOnDemand() {
+        final RecordingSubscriber<OAuth2AccessToken> subscriber = new RecordingSubscriber<>();
+        OAuthPublishers.accessTokenClientCredentialsGrant(mock.getService(), "read").subscribe(subscriber);
+        assertEquals(0, mock.getServer().getRequestCount());
+
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.items.size());
+        assertEquals("read", subscriber.items.get(0).getScope());
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertEquals(1, mock.getServer().getRequestCount());
+    }
+
+    @Test
+    public void shouldCompleteRevokeWithoutElement() throws Exception {
+        final String token = mock.getService().getAccessTokenClientCredentialsGrant().getAccessToken();
+        final RecordingSubscriber<Void> subscriber = new RecordingSubscriber<>();
+        OAuthPublishers.revokeToken(mock.getService(), token).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.items.isEmpty());
+        assertTrue(subscriber.completed);
+        assertEquals(0, mock.getServer().getActiveAccessTokenCount());
+    }
+
+    @Test
+    public void shouldCancelUnderlyingFuture() {
+        final FutureTask<String> future = new FutureTask<>(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, "never");
+        final RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        OAuthPublishers.fromCall(new AsyncCall<String>() {
+            @Override
+            public Future<String> start(OAuthAsyncRequestCallback<String> callback) {
+                return future;
+            }
+        }).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        assertTrue(future.isCancelled());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void shouldNotStartCallRequestedAfterCancel() {
+        final AtomicInteger starts = new AtomicInteger();
+        final AsyncCall<Response> call = new AsyncCall<Response>() {
+            @Override
+            public Future<Response> start(OAuthAsyncRequestCallback<Response> callback) {
+                starts.incrementAndGet();
+                final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+                return mock.getService().execute(request, callback);
+            }
+        };
+        final RecordingSubscriber<Response> subscriber = new RecordingSubscriber<>();
+        OAuthPublishers.fromCall(call).subscribe(subscriber);
+        final RecordingSubscriber<ByteBuffer> bodySubscriber = new RecordingSubscriber<>();
+        new ResponseBodyPublisher(call, OAuthPublishers.DEFAULT_CHUNK_SIZE, new DirectExecutor(), true)
+                .subscribe(bodySubscriber);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+        bodySubscriber.subscription.cancel();
+        bodySubscriber.subscription.request(1);
+        assertEquals(0, starts.get());
+        assertTrue(subscriber.items.isEmpty());
+        assertTrue(bodySubscriber.items.isEmpty());
+        assertEquals(0, mock.getServer().getRequestCount());
+    }
+
+    @Test
+    public void shouldReadBodyChunksOnDemand() {
+        final byte[] body = new byte[20_000];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        final ClosingInputStream stream = new ClosingInputStream(body);
+        final RecordingSubscriber<ByteBuffer> subscriber = new RecordingSubscriber<>();
+        OAuthPublishers.body(new Response(200, "OK", Collections.<String, String>emptyMap(), stream), 8192,
+                new DirectExecutor()).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.items.size());
+        assertEquals(8192, subscriber.items.get(0).remaining());
+        assertEquals(body.length - 8192, stream.available());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.completed);
+        int position = 0;
+        for (ByteBuffer chunk : subscriber.items) {
+            while (chunk.hasRemaining()) {
+                assertEquals(body[position++], chunk.get());
+            }
+        }
+        assertEquals(body.length, position);
+        assertTrue(stream.closed.get());
+    }
+
+    @Test
+    public void shouldFailBodyOfUnsuccessfulResponse() {
+        final RecordingSubscriber<ByteBuffer> subscriber = new RecordingSubscriber<>();
+        OAuthPublishers.body(mock.getService(), new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl()))
+                .subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof OAuthException);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    private static class RecordingSubscriber<T> implements Subscriber<T> {
+
+        private final List<T> items = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static class ClosingInputStream extends ByteArrayInputStream {
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ClosingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed.set(true);
+            super.close();
+        }
+    }
+
+    private static class DirectExecutor implements Executor {
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+}
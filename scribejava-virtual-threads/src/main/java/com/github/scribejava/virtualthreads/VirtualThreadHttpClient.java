@@ -0,0 +1,200 @@
+package com.github.scribejava.virtualthreads;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.TimeoutAwareHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.utils.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the async API of a blocking HttpClient ({@link JDKHttpClient} by default, which otherwise completes the async
+ * calls in the calling thread) on a new virtual thread per call. Tens of thousands of concurrent calls then cost no
+ * pooled platform threads, cancelling the Future interrupts the call.<br>
+ * The sync API runs in the calling thread: call it (e.g. the blocking
+ * {@link com.github.scribejava.core.oauth.OAuth20Service} token methods) from virtual threads, see
+ * {@link VirtualThreads#newThreadPerTaskExecutor()}, to get the same scalability.
+ *
+ * <pre>
+ * final OAuth20Service service = new ServiceBuilder(apiKey).apiSecret(apiSecret)
+ *         .httpClientConfig(VirtualThreadHttpClientConfig.defaultConfig())
+ *         .build(api);
+ * </pre>
+ */
+public class VirtualThreadHttpClient implements TimeoutAwareHttpClient {
+
+    private final HttpClient delegate;
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+
+    /**
+     * @param config config of the underlying {@link JDKHttpClient}
+     * @throws UnsupportedOperationException on JVMs without virtual threads
+     */
+    public VirtualThreadHttpClient(VirtualThreadHttpClientConfig config) {
+        this(new JDKHttpClient(config.getJdkHttpClientConfig()));
+    }
+
+    /**
+     * @param delegate blocking HttpClient to run on virtual threads
+     * @throws UnsupportedOperationException on JVMs without virtual threads
+     */
+    public VirtualThreadHttpClient(HttpClient delegate) {
+        this(delegate, VirtualThreads.newThreadPerTaskExecutor(), true);
+    }
+
+    /**
+     * @param delegate blocking HttpClient
+     * @param executor executor to run the async calls on, e.g. a platform thread pool to compare with, not shut down
+     * by {@link #close()}
+     */
+    public VirtualThreadHttpClient(HttpClient delegate, ExecutorService executor) {
+        this(delegate, executor, false);
+    }
+
+    private VirtualThreadHttpClient(HttpClient delegate, ExecutorService executor, boolean ownExecutor) {
+        Preconditions.checkNotNull(delegate, "delegate can't be null");
+        Preconditions.checkNotNull(executor, "executor can't be null");
+        this.delegate = delegate;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+        delegate.close();
+    }
+
+    /**
+     * @param timeoutMillis timeoutMillis
+     * @return client running the calls of the delegate bound to the timeout on the same executor, if the delegate
+     * supports per-call timeouts, this client otherwise
+     */
+    @Override
+    public HttpClient withTimeout(long timeoutMillis) {
+        return delegate instanceof TimeoutAwareHttpClient
+                ? new VirtualThreadHttpClient(((TimeoutAwareHttpClient) delegate).withTimeout(timeoutMillis), executor,
+                        false)
+                : this;
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final byte[] bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return submit(new BlockingCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final MultipartPayload bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return submit(new BlockingCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final String bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return submit(new BlockingCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+            final String completeUrl, final File bodyContents, OAuthAsyncRequestCallback<T> callback,
+            OAuthRequest.ResponseConverter<T> converter) {
+        return submit(new BlockingCall() {
+            @Override
+            public Response execute() throws InterruptedException, ExecutionException, IOException {
+                return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+            }
+        }, callback, converter);
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            byte[] bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            MultipartPayload bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            String bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    @Override
+    public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+            File bodyContents) throws InterruptedException, ExecutionException, IOException {
+        return delegate.execute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+    }
+
+    private <T> Future<T> submit(final BlockingCall call, final OAuthAsyncRequestCallback<T> callback,
+            final OAuthRequest.ResponseConverter<T> converter) {
+        return executor.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                try {
+                    final Response response = call.execute();
+                    @SuppressWarnings("unchecked")
+                    final T t = converter == null ? (T) response : converter.convert(response);
+                    if (callback != null) {
+                        callback.onCompleted(t);
+                    }
+                    return t;
+                } catch (ExecutionException eE) {
+                    //the async only clients wrap the failure
+                    final Throwable cause = eE.getCause() == null ? eE : eE.getCause();
+                    if (callback != null) {
+                        callback.onThrowable(cause);
+                    }
+                    throw eE;
+                } catch (IOException | InterruptedException | RuntimeException e) {
+                    if (callback != null) {
+                        callback.onThrowable(e);
+                    }
+                    throw e;
+                }
+            }
+        });
+    }
+
+    private interface BlockingCall {
+
+        Response execute() throws InterruptedException, ExecutionException, IOException;
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.scribejava.virtualthreads;
+
+import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.utils.Preconditions;
+import java.util.Objects;
+
+/**
+ * {@link VirtualThreadHttpClient} over the {@link com.github.scribejava.core.httpclient.jdk.JDKHttpClient} configured
+ * by the wrapped {@link JDKHttpClientConfig}.
+ */
+public class VirtualThreadHttpClientConfig implements HttpClientConfig {
+
+    private final JDKHttpClientConfig jdkHttpClientConfig;
+
+    public VirtualThreadHttpClientConfig(JDKHttpClientConfig jdkHttpClientConfig) {
+        Preconditions.checkNotNull(jdkHttpClientConfig, "jdkHttpClientConfig can't be null");
+        this.jdkHttpClientConfig = jdkHttpClientConfig;
+    }
+
+    @Override
+    public VirtualThreadHttpClientConfig createDefaultConfig() {
+        return defaultConfig();
+    }
+
+    public static VirtualThreadHttpClientConfig defaultConfig() {
+        return new VirtualThreadHttpClientConfig(JDKHttpClientConfig.defaultConfig());
+    }
+
+    public JDKHttpClientConfig getJdkHttpClientConfig() {
+        return jdkHttpClientConfig;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 41 * hash + Objects.hashCode(jdkHttpClientConfig);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return Objects.equals(jdkHttpClientConfig, ((VirtualThreadHttpClientConfig) obj).jdkHttpClientConfig);
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.scribejava.virtualthreads;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.HttpClientProvider;
+
+public class VirtualThreadHttpProvider implements HttpClientProvider {
+
+    @Override
+    public HttpClient createClient(HttpClientConfig config) {
+        if (config instanceof VirtualThreadHttpClientConfig) {
+            return new VirtualThreadHttpClient((VirtualThreadHttpClientConfig) config);
+        }
+        return null;
+    }
+}
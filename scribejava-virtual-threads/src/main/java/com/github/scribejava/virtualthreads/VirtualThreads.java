@@ -0,0 +1,63 @@
+package com.github.scribejava.virtualthreads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the Java 21+ virtual threads from the Java 7 compatible code. The JDK methods are looked up reflectively
+ * once, so this module runs (without virtual threads) on any JDK.
+ */
+public abstract class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class,
+            "newVirtualThreadPerTaskExecutor");
+    private static final Method IS_VIRTUAL = findMethod(Thread.class, "isVirtual");
+
+    /**
+     * @return whether this JVM has virtual threads (Java 21 or newer)
+     */
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return {@code Executors.newVirtualThreadPerTaskExecutor()}, starting a new virtual thread for every task
+     * @throws UnsupportedOperationException on JVMs without virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or newer, this is Java "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can't create virtual thread per task executor", e);
+        }
+    }
+
+    /**
+     * @param thread thread
+     * @return whether the thread is a virtual one, always false on JVMs without virtual threads
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return false;
+        }
+    }
+
+    private static Method findMethod(Class<?> clazz, String name) {
+        try {
+            return clazz.getMethod(name);
+        } catch (NoSuchMethodException nsmE) {
+            return null;
+        }
+    }
+}
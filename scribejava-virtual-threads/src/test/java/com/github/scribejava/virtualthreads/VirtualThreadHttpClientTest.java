@@ -0,0 +1,137 @@
+package com.github.scribejava.virtualthreads;
+
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.model.OAuth2AccessToken;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Verb;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import com.github.scribejava.core.testserver.MockAuthorizationServerRule;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VirtualThreadHttpClientTest {
+
+    @Rule
+    public final MockAuthorizationServerRule mock = new MockAuthorizationServerRule();
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunAsyncCallsOnExecutor() throws Exception {
+        try (OAuth20Service service = mock.createService(new VirtualThreadHttpClient(
+                new JDKHttpClient(JDKHttpClientConfig.defaultConfig()), executor))) {
+            final RecordingCallback callback = new RecordingCallback();
+            final Future<OAuth2AccessToken> future = service.getAccessTokenClientCredentialsGrant("read", callback);
+
+            assertEquals("read", future.get(10, TimeUnit.SECONDS).getScope());
+            assertTrue(callback.done.await(10, TimeUnit.SECONDS));
+            assertEquals(future.get(), callback.token.get());
+            assertNotSame(Thread.currentThread(), callback.thread.get());
+        }
+        assertFalse(executor.isShutdown());
+    }
+
+    @Test
+    public void shouldReportFailureToCallback() throws Exception {
+        mock.getServer().failNext(1);
+        try (OAuth20Service service = mock.createService(new VirtualThreadHttpClient(
+                new JDKHttpClient(JDKHttpClientConfig.defaultConfig()), executor))) {
+            final RecordingCallback callback = new RecordingCallback();
+            final Future<OAuth2AccessToken> future = service.getAccessTokenClientCredentialsGrant(callback);
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException eE) {
+                assertEquals(eE.getCause(), callback.error.get());
+            }
+        }
+    }
+
+    @Test
+    public void shouldApplyRequestTimeoutOfDelegate() throws Exception {
+        mock.getServer().latency(2, TimeUnit.SECONDS);
+        try (OAuth20Service service = mock.createService(new VirtualThreadHttpClient(
+                new JDKHttpClient(JDKHttpClientConfig.defaultConfig()), executor))) {
+            final OAuthRequest request = new OAuthRequest(Verb.GET, mock.getServer().getResourceUrl());
+            request.setTimeout(200, TimeUnit.MILLISECONDS);
+            final long start = System.nanoTime();
+            try {
+                service.execute(request, null).get(30, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException eE) {
+                assertTrue(eE.getCause() instanceof SocketTimeoutException);
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+    }
+
+    @Test
+    public void shouldRunAsyncCallsOnVirtualThreads() throws Exception {
+        Assume.assumeTrue(VirtualThreads.isAvailable());
+        try (OAuth20Service service = mock.createService(
+                new VirtualThreadHttpClient(VirtualThreadHttpClientConfig.defaultConfig()))) {
+            final RecordingCallback callback = new RecordingCallback();
+            service.getAccessTokenClientCredentialsGrant(callback).get(10, TimeUnit.SECONDS);
+
+            assertTrue(callback.done.await(10, TimeUnit.SECONDS));
+            assertTrue(VirtualThreads.isVirtual(callback.thread.get()));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldRejectVirtualThreadsOnOldJvm() {
+        Assume.assumeFalse(VirtualThreads.isAvailable());
+        VirtualThreads.newThreadPerTaskExecutor();
+    }
+
+    private static class RecordingCallback implements OAuthAsyncRequestCallback<OAuth2AccessToken> {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicReference<OAuth2AccessToken> token = new AtomicReference<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        @Override
+        public void onCompleted(OAuth2AccessToken response) {
+            token.set(response);
+            thread.set(Thread.currentThread());
+            done.countDown();
+        }
+
+        @Override
+        public void onThrowable(Throwable t) {
+            error.set(t);
+            thread.set(Thread.currentThread());
+            done.countDown();
+        }
+    }
+}